@@ -0,0 +1,138 @@
+package com.endava.petstore.cache;
+
+import com.endava.petstore.model.Versioned;
+import com.endava.petstore.storage.EntityListener;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the serialized form of single entities, each with the version of the entity it was serialized from, so an entity read
+ * again at the same version is served without being serialized again. A lookup with an entity at another version misses,
+ * which keeps the cache correct on its own; the {@link #invalidator()} registered with a repository additionally drops
+ * the encoding of an entity as soon as it changes or is deleted, so outdated encodings do not hold memory until evicted.
+ * <p>
+ * Memory is bounded by the total size of the encodings, which are evicted by the W-TinyLFU policy of Caffeine.
+ * <p>
+ * Metrics: {@code petstore.encodings.cache.hits}, {@code petstore.encodings.cache.misses} and
+ * {@code petstore.encodings.cache.evictions} counters, {@code petstore.encodings.cache.size} and
+ * {@code petstore.encodings.cache.bytes} gauges.
+ */
+public class EntityEncodingCache {
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final Cache<EntityKey, Encoding> cache;
+    private final AtomicLong weight = new AtomicLong();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    public EntityEncodingCache(long maxBytes, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+              .maximumWeight(maxBytes)
+              .weigher(EntityEncodingCache::weigh)
+              .executor(Runnable::run)
+              .removalListener(this::onRemoval)
+              .build();
+        this.hitCounter = Counter.builder("petstore.encodings.cache.hits")
+              .description("Entities written from their cached encoding")
+              .register(meterRegistry);
+        this.missCounter = Counter.builder("petstore.encodings.cache.misses")
+              .description("Entities serialized because the cache held none or an outdated encoding of them")
+              .register(meterRegistry);
+        this.evictionCounter = Counter.builder("petstore.encodings.cache.evictions")
+              .description("Encodings evicted to keep the cache within its size")
+              .register(meterRegistry);
+        Gauge.builder("petstore.encodings.cache.size", cache, Cache::estimatedSize)
+              .description("Encodings held by the cache")
+              .register(meterRegistry);
+        Gauge.builder("petstore.encodings.cache.bytes", weight, AtomicLong::get)
+              .description("Approximate memory held by the cached encodings")
+              .baseUnit("bytes")
+              .register(meterRegistry);
+    }
+
+    /**
+     * @return the encoding cached for the entity, if it was serialized from the same version of it
+     */
+    public Optional<byte[]> find(Versioned<?> entity) {
+        Encoding encoding = entity.getVersion() == null ? null : cache.getIfPresent(EntityKey.of(entity));
+        if (encoding == null || encoding.getVersion() != entity.getVersion()) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+        hitCounter.increment();
+        return Optional.of(encoding.getBody());
+    }
+
+    /**
+     * Caches the encoding of the entity, unless it has no version to tell whether it is still current.
+     */
+    public void put(Versioned<?> entity, byte[] body) {
+        if (entity.getVersion() != null) {
+            Encoding encoding = new Encoding(entity.getVersion(), body);
+            weight.addAndGet(weigh(null, encoding));
+            cache.put(EntityKey.of(entity), encoding);
+        }
+    }
+
+    public void invalidate(Versioned<?> entity) {
+        cache.invalidate(EntityKey.of(entity));
+    }
+
+    /**
+     * @return a listener dropping the encoding of every entity it is notified to be changed or removed
+     */
+    public <T extends Versioned<T>> EntityListener<T> invalidator() {
+        return (previous, current) -> {
+            if (previous != null) {
+                invalidate(previous);
+            }
+        };
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private void onRemoval(EntityKey key, Encoding encoding, RemovalCause cause) {
+        if (encoding != null) {
+            weight.addAndGet(-weigh(key, encoding));
+        }
+        if (cause.wasEvicted()) {
+            evictionCounter.increment();
+        }
+    }
+
+    private static int weigh(EntityKey key, Encoding encoding) {
+        return ENTRY_OVERHEAD + encoding.getBody().length;
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class EntityKey {
+        private final Class<?> type;
+        private final Long id;
+
+        static EntityKey of(Versioned<?> entity) {
+            return new EntityKey(entity.getClass(), entity.getId());
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Encoding {
+        private final long version;
+        private final byte[] body;
+    }
+}
@@ -0,0 +1,54 @@
+package com.endava.petstore.cache;
+
+import com.endava.petstore.model.Versioned;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link Versioned} entities as JSON from their encoding in an {@link EntityEncodingCache}, serializing them with
+ * the same {@link ObjectMapper} as the regular JSON converter only when the cache holds no encoding of their current version.
+ * Registered ahead of the regular JSON converter, it takes over every response whose body is a single entity, so controllers
+ * keep returning entities while their bytes are served from the cache. It never reads request bodies.
+ */
+public class EntityEncodingHttpMessageConverter extends AbstractHttpMessageConverter<Versioned<?>> {
+    private final EntityEncodingCache encodingCache;
+    private final ObjectMapper objectMapper;
+
+    public EntityEncodingHttpMessageConverter(EntityEncodingCache encodingCache, ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.encodingCache = encodingCache;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Versioned.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Versioned<?> readInternal(Class<? extends Versioned<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Entities are not read from their cached encoding", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Versioned<?> entity, HttpOutputMessage outputMessage) throws IOException {
+        byte[] body = encodingCache.find(entity).orElse(null);
+        if (body == null) {
+            body = objectMapper.writeValueAsBytes(entity);
+            encodingCache.put(entity, body);
+        }
+        outputMessage.getHeaders().setContentLength(body.length);
+        outputMessage.getBody().write(body);
+    }
+}
@@ -0,0 +1,109 @@
+package com.endava.petstore.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps serialized responses, each stamped with the write version of the data it was computed from, so an entry stays valid
+ * exactly as long as that data is unchanged, without any expiry time. Outdated entries are only replaced when they are
+ * requested again; until then they are weighed like any other entry, so they make room for others first.
+ * <p>
+ * Memory is bounded by the total size of the cached bodies and keys. Entries are evicted by the size-bounded policy of Caffeine,
+ * W-TinyLFU: a new entry first lands in a small LRU window, and leaving it only displaces an entry of the main space if it was
+ * requested more often recently, as estimated by a compact frequency sketch. A burst of one-off queries therefore cannot flush
+ * the queries that are repeated all the time.
+ * <p>
+ * Metrics: {@code petstore.responses.cache.hits}, {@code petstore.responses.cache.misses} and
+ * {@code petstore.responses.cache.evictions} counters, {@code petstore.responses.cache.size} and
+ * {@code petstore.responses.cache.bytes} gauges. A lookup finding an outdated entry counts as a miss.
+ */
+public class ResponseCache {
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final Cache<String, CachedResponse> cache;
+    private final AtomicLong weight = new AtomicLong();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    public ResponseCache(long maxBytes, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+              .maximumWeight(maxBytes)
+              .weigher(ResponseCache::weigh)
+              .executor(Runnable::run)
+              .removalListener(this::onRemoval)
+              .build();
+        this.hitCounter = Counter.builder("petstore.responses.cache.hits")
+              .description("Responses served from the cache")
+              .register(meterRegistry);
+        this.missCounter = Counter.builder("petstore.responses.cache.misses")
+              .description("Responses computed because the cache held none or an outdated one")
+              .register(meterRegistry);
+        this.evictionCounter = Counter.builder("petstore.responses.cache.evictions")
+              .description("Responses evicted to keep the cache within its size")
+              .register(meterRegistry);
+        Gauge.builder("petstore.responses.cache.size", cache, Cache::estimatedSize)
+              .description("Responses held by the cache")
+              .register(meterRegistry);
+        Gauge.builder("petstore.responses.cache.bytes", weight, AtomicLong::get)
+              .description("Approximate memory held by the cached responses")
+              .baseUnit("bytes")
+              .register(meterRegistry);
+    }
+
+    /**
+     * @return the response cached under the key, if it was computed at the given write version
+     */
+    public Optional<CachedResponse> find(String key, long writeVersion) {
+        CachedResponse response = cache.getIfPresent(key);
+        if (response == null || response.getWriteVersion() != writeVersion) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+        hitCounter.increment();
+        return Optional.of(response);
+    }
+
+    public void put(String key, CachedResponse response) {
+        weight.addAndGet(weigh(key, response));
+        cache.put(key, response);
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private void onRemoval(String key, CachedResponse response, RemovalCause cause) {
+        if (key != null && response != null) {
+            weight.addAndGet(-weigh(key, response));
+        }
+        if (cause.wasEvicted()) {
+            evictionCounter.increment();
+        }
+    }
+
+    private static int weigh(String key, CachedResponse response) {
+        return ENTRY_OVERHEAD + 2 * key.length() + response.getContentType().length() + response.getBody().length;
+    }
+
+    /**
+     * A serialized response body with its content type, computed at the given write version of the data behind it.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class CachedResponse {
+        private final long writeVersion;
+        private final String contentType;
+        private final byte[] body;
+    }
+}
@@ -0,0 +1,85 @@
+package com.endava.petstore.cache;
+
+import com.endava.petstore.cache.ResponseCache.CachedResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Serves {@code GET} requests from a {@link ResponseCache}, ahead of the dispatcher servlet, so a hit costs neither
+ * the controller and service calls nor the serialization of the response.
+ * Responses are cached under their path, normalized query and {@code Accept} header, for as long as the write version
+ * of the data they are computed from does not change. The query is normalized by sorting the parameters and their values,
+ * with comma separated values split apart, so it must only be mapped to requests whose parameters are sets, in any order.
+ * Only successful responses are cached.
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+    private final ResponseCache responseCache;
+    private final LongSupplier writeVersion;
+
+    /**
+     * @param writeVersion returns the write version of the data the responses are computed from
+     */
+    public ResponseCacheFilter(ResponseCache responseCache, LongSupplier writeVersion) {
+        this.responseCache = responseCache;
+        this.writeVersion = writeVersion;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String key = getKey(request);
+        long currentWriteVersion = writeVersion.getAsLong();
+        Optional<CachedResponse> cachedResponse = responseCache.find(key, currentWriteVersion);
+        if (cachedResponse.isPresent()) {
+            response.setContentType(cachedResponse.get().getContentType());
+            response.setContentLength(cachedResponse.get().getBody().length);
+            response.getOutputStream().write(cachedResponse.get().getBody());
+            return;
+        }
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, responseWrapper);
+        if (responseWrapper.getStatus() == HttpStatus.OK.value() && responseWrapper.getContentType() != null) {
+            responseCache.put(key, new CachedResponse(currentWriteVersion, responseWrapper.getContentType(), responseWrapper.getContentAsByteArray()));
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    /**
+     * @return the path, followed by the parameters sorted by name, each with its distinct values sorted, then the {@code Accept} header,
+     * with names and values URL-encoded so that none of them can pass for a separator
+     */
+    private static String getKey(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(request.getRequestURI()).append('?');
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            key.append(URLEncoder.encode(parameter.getKey(), StandardCharsets.UTF_8)).append('=').append(Arrays.stream(parameter.getValue())
+                  .flatMap(value -> Arrays.stream(value.split(",")))
+                  .map(String::strip)
+                  .distinct()
+                  .sorted()
+                  .map(value -> URLEncoder.encode(value, StandardCharsets.UTF_8))
+                  .collect(Collectors.joining(","))).append('&');
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return key.append('|').append(accept == null ? "" : accept).toString();
+    }
+}
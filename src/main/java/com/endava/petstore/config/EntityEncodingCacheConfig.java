@@ -0,0 +1,53 @@
+package com.endava.petstore.config;
+
+import com.endava.petstore.cache.EntityEncodingCache;
+import com.endava.petstore.cache.EntityEncodingHttpMessageConverter;
+import com.endava.petstore.repository.PetRepository;
+import com.endava.petstore.repository.StoreRepository;
+import com.endava.petstore.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Caches the JSON encoding of pets, orders and users returned one at a time, as configured by the
+ * {@code petstore.entity-cache.*} properties. The converter writing them is put ahead of the default message converters,
+ * and each repository drops the encoding of an entity as soon as it changes.
+ * Off unless {@code petstore.entity-cache.enabled} is {@code true}, since no gain over serializing every response has been measured yet.
+ */
+@Configuration
+@ConditionalOnProperty(name = "petstore.entity-cache.enabled", havingValue = "true")
+public class EntityEncodingCacheConfig {
+
+    @Bean
+    public EntityEncodingCache entityEncodingCache(@Value("${petstore.entity-cache.max-bytes:16777216}") long maxBytes, MeterRegistry meterRegistry,
+                                                   PetRepository petRepository, StoreRepository storeRepository, UserRepository userRepository) {
+        EntityEncodingCache encodingCache = new EntityEncodingCache(maxBytes, meterRegistry);
+        petRepository.addListener(encodingCache.invalidator());
+        storeRepository.addListener(encodingCache.invalidator());
+        userRepository.addListener(encodingCache.invalidator());
+        return encodingCache;
+    }
+
+    /**
+     * Adds the converter to Spring MVC alone, rather than as a bean, which Spring Boot would also hand to the HTTP clients
+     * it builds, where request bodies are entities modified by the caller without a new version.
+     */
+    @Bean
+    public WebMvcConfigurer entityEncodingConverterConfigurer(EntityEncodingCache encodingCache, ObjectMapper objectMapper) {
+        return new WebMvcConfigurer() {
+
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                converters.add(0, new EntityEncodingHttpMessageConverter(encodingCache, objectMapper));
+            }
+        };
+    }
+}
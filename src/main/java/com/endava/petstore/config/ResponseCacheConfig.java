@@ -0,0 +1,33 @@
+package com.endava.petstore.config;
+
+import com.endava.petstore.cache.ResponseCache;
+import com.endava.petstore.cache.ResponseCacheFilter;
+import com.endava.petstore.repository.PetRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caches the responses of the pet queries that are mostly repeated over rarely changing data, as configured by the
+ * {@code petstore.response-cache.*} properties. All of them are computed from the pets alone, the inventory included,
+ * so they are all invalidated by the write version of the pet repository.
+ */
+@Configuration
+@ConditionalOnProperty(name = "petstore.response-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheConfig {
+
+    @Bean
+    public ResponseCache responseCache(@Value("${petstore.response-cache.max-bytes:16777216}") long maxBytes, MeterRegistry meterRegistry) {
+        return new ResponseCache(maxBytes, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ResponseCacheFilter> petResponseCacheFilter(ResponseCache responseCache, PetRepository petRepository) {
+        FilterRegistrationBean<ResponseCacheFilter> registration = new FilterRegistrationBean<>(new ResponseCacheFilter(responseCache, petRepository::getWriteVersion));
+        registration.addUrlPatterns("/pet/findByStatus", "/pet/findByTags", "/store/inventory");
+        return registration;
+    }
+}
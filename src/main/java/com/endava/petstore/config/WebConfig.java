@@ -1,6 +1,8 @@
 package com.endava.petstore.config;
 
+import com.endava.petstore.converter.StringToNameMatchConverter;
 import com.endava.petstore.converter.StringToPetStatusConverter;
+import com.endava.petstore.converter.StringToTagMatchConverter;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.format.FormatterRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -11,5 +13,7 @@ public class WebConfig implements WebMvcConfigurer {
     @Override
     public void addFormatters(FormatterRegistry registry) {
         registry.addConverter(new StringToPetStatusConverter());
+        registry.addConverter(new StringToTagMatchConverter());
+        registry.addConverter(new StringToNameMatchConverter());
     }
 }
@@ -7,21 +7,66 @@ import lombok.NoArgsConstructor;
 public class Constants {
     public static final String RESOURCE_NOT_FOUND = "Resource not found: ";
     public static final String INVALID_REQUEST = "Invalid request: ";
+    public static final String PRECONDITION_FAILED = "Precondition failed: ";
 
     public static final String PET_NOT_FOUND = "Pet with id %s not found";
     public static final String TAGS_NOT_FOUND = "No tags were provided";
+    public static final String PET_IMAGE_NOT_FOUND = "Image %s of pet with id %s not found";
+    public static final String PET_IMAGE_METADATA_NOT_FOUND = "Metadata of image %s of pet with id %s not available yet";
+    public static final String PET_THUMBNAIL_NOT_FOUND = "Thumbnail of size %s of image %s of pet with id %s not found";
+    public static final String UPLOAD_NOT_FOUND = "Upload %s of pet with id %s not found";
+    public static final String INVALID_UPLOAD_SIZE = "Upload size must be between 1 and %s bytes";
+    public static final String INVALID_UPLOAD_HASH = "Hash %s is not a hex SHA-256 hash";
+    public static final String INVALID_CHUNK_OFFSET = "Chunk offset %s is outside of upload %s of %s bytes";
+    public static final String CHUNK_EXCEEDS_UPLOAD = "Chunk at offset %s exceeds upload %s of %s bytes";
+    public static final String UPLOAD_INCOMPLETE = "Upload %s is missing %s of %s bytes";
+    public static final String UPLOAD_HASH_MISMATCH = "Upload %s has hash %s instead of %s";
+    public static final String TOO_MANY_UPLOADS = "Too many uploads in progress, at most %s are allowed";
+    public static final String TOO_MANY_PET_UPLOADS = "Too many uploads in progress for pet with id %s, at most %s are allowed";
+    public static final String PET_NAME_REQUIRED = "Name to search for must not be blank";
+    public static final String PET_ID_REQUIRED = "Pet ID must not be null";
+    public static final String BULK_LINE_NOT_A_PET = "Line does not hold a pet";
+    public static final String BULK_LINE_MALFORMED = "Line is not valid JSON: %s";
+    public static final String BULK_LINE_TOO_LONG = "Line is longer than %s bytes";
+    public static final String PET_CRITERIA_REQUIRED = "At least one of status, tags or categoryId is required";
+    public static final String CATEGORY_NOT_FOUND = "Category with id %s not found";
+    public static final String CATEGORY_ID_REQUIRED = "Category ID must not be null";
+    public static final String CATEGORY_ALREADY_EXISTS = "Category with id %s already exists with name %s";
+    public static final String TAG_NOT_FOUND = "Tag with id %s not found";
+    public static final String TAG_ID_REQUIRED = "Tag ID must not be null";
+    public static final String TAG_ALREADY_EXISTS = "Tag with id %s already exists with name %s";
     public static final String ORDER_NOT_FOUND = "Order with id %s not found";
+    public static final String ORDER_ID_REQUIRED = "Order ID must not be null";
     public static final String USER_NOT_FOUND = "User with id %s not found";
+    public static final String USER_ID_REQUIRED = "User ID must not be null";
     public static final String USERNAME_NOT_FOUND = "User with username %s not found";
+    public static final String USERNAME_ALREADY_EXISTS = "User with username %s already exists";
     public static final String INVALID_USER = "User with username %s and password %s not found";
     public static final String USER_ALREADY_LOGGED_IN = "User with username %s already logged in";
     public static final String USER_ALREADY_LOGGED_OUT = "User with username %s already logged out";
 
     public static final String PET_UPDATED = "Pet with id %s was updated";
+    public static final String PETS_UPDATED = "%s pets were updated to status %s";
+    public static final String PETS_DELETED = "%s pets were deleted";
     public static final String PET_UPLOADED_IMAGE = "additionalMetadata: %s%nFile uploaded to %s (%s bytes)";
     public static final String USER_LOGGED_IN = "Logged in user session: %s";
     public static final String USER_LOGGED_OUT = "Logged out: %s";
 
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final String NEXT_PAGE_TOKEN_HEADER = "X-Next-Page-Token";
+    public static final String INVALID_PAGE_SIZE = "Page size must be between 1 and %s";
+    public static final String INVALID_PAGE_TOKEN = "Page token %s is invalid";
+
+    public static final String VERSION_MISMATCH = "Version %s does not match the current version of the entity with id %s, which is %s";
+    public static final String INVALID_IF_MATCH = "If-Match header %s does not hold a single entity tag";
+
+    public static final int BULK_BATCH_SIZE = 1000;
+    public static final int MAX_BULK_LINE_LENGTH = 1 << 16;
+    public static final int MAX_BULK_ERRORS = 1000;
+    public static final int KEY_FILTER_INITIAL_ENTRIES = 1 << 16;
+    public static final int KEY_FILTER_MAX_ENTRIES = 1 << 23;
+
     public static final Long VALID_ID = 1L;
     public static final Long INVALID_ID = 999L;
     public static final String VALID_USERNAME = "Username1";
@@ -31,4 +76,6 @@ public class Constants {
     public static final String API_PETS = "/pet";
     public static final String API_STORE = "/store";
     public static final String API_USERS = "/user";
+    public static final String API_CATEGORIES = "/category";
+    public static final String API_TAGS = "/tag";
 }
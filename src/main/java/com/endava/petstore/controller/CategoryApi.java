@@ -0,0 +1,44 @@
+package com.endava.petstore.controller;
+
+import com.endava.petstore.model.Category;
+import io.swagger.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+@Api(value = "Category REST Controller", description = "Access to the catalog of pet categories", tags = "category")
+public interface CategoryApi {
+
+    @ApiOperation(value = "Get all categories", notes = "Returns every category of the catalog in ascending ID order", response = List.class)
+    @ApiResponses(value = {
+          @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 500, message = "Internal server error")})
+    ResponseEntity<List<Category>> findAll();
+
+    @ApiOperation(value = "Find category by ID", notes = "Returns a single category", response = Category.class)
+    @ApiResponses(value = {
+          @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 400, message = "Invalid ID supplied"),
+          @ApiResponse(code = 404, message = "Category not found")})
+    ResponseEntity<Category> findById(@ApiParam(value = "ID of category to return", example = "1", required = true) Long id);
+
+    @ApiOperation(value = "Add a new category to the catalog", notes = "Adding a category that is already in the catalog returns the existing one", response = Category.class)
+    @ApiResponses(value = {
+          @ApiResponse(code = 201, message = "Successful operation"),
+          @ApiResponse(code = 400, message = "Invalid category or ID already taken by another category")})
+    ResponseEntity<Category> save(@ApiParam(value = "Category object that needs to be added to the catalog", required = true) Category category);
+
+    @ApiOperation(value = "Update an existing category of the catalog", notes = "Pets saved before keep the category they were saved with", response = Category.class)
+    @ApiResponses(value = {
+          @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 400, message = "Invalid category"),
+          @ApiResponse(code = 404, message = "Category not found")})
+    ResponseEntity<Category> update(@ApiParam(value = "Category object that needs to be updated in the catalog", required = true) Category category);
+
+    @ApiOperation(value = "Delete a category from the catalog", notes = "Pets saved before keep the category they were saved with")
+    @ApiResponses(value = {
+          @ApiResponse(code = 204, message = "Successful operation"),
+          @ApiResponse(code = 400, message = "Invalid ID supplied"),
+          @ApiResponse(code = 404, message = "Category not found")})
+    ResponseEntity<Void> deleteById(@ApiParam(value = "ID of category that needs to be deleted", example = "1", required = true) Long id);
+}
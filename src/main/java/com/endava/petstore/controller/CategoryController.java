@@ -0,0 +1,46 @@
+package com.endava.petstore.controller;
+
+import com.endava.petstore.model.Category;
+import com.endava.petstore.service.CategoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.List;
+
+import static org.springframework.http.MediaType.*;
+
+@RestController
+@RequestMapping(value = "/category", produces = {APPLICATION_JSON_VALUE, APPLICATION_XML_VALUE})
+@RequiredArgsConstructor
+public class CategoryController implements CategoryApi {
+    private final CategoryService categoryService;
+
+    @Override @GetMapping
+    public ResponseEntity<List<Category>> findAll() {
+        return ResponseEntity.ok(categoryService.findAll());
+    }
+
+    @Override @GetMapping("/{id}")
+    public ResponseEntity<Category> findById(@PathVariable Long id) {
+        return ResponseEntity.ok(categoryService.findById(id));
+    }
+
+    @Override @PostMapping(consumes = {APPLICATION_JSON_VALUE, APPLICATION_XML_VALUE})
+    public ResponseEntity<Category> save(@RequestBody @Valid Category category) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(categoryService.save(category));
+    }
+
+    @Override @PutMapping(consumes = {APPLICATION_JSON_VALUE, APPLICATION_XML_VALUE})
+    public ResponseEntity<Category> update(@RequestBody @Valid Category category) {
+        return ResponseEntity.ok(categoryService.update(category));
+    }
+
+    @Override @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteById(@PathVariable Long id) {
+        categoryService.deleteById(id);
+        return ResponseEntity.noContent().build();
+    }
+}
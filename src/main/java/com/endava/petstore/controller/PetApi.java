@@ -1,29 +1,55 @@
 package com.endava.petstore.controller;
 
+import com.endava.petstore.enums.NameMatch;
 import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.enums.TagMatch;
+import com.endava.petstore.model.BulkImportResult;
 import com.endava.petstore.model.HttpResponse;
+import com.endava.petstore.model.ImageMetadata;
 import com.endava.petstore.model.Pet;
 import com.endava.petstore.model.PetUpdateFormDataRequest;
 import com.endava.petstore.model.PetUploadImageRequest;
+import com.endava.petstore.model.UploadSession;
 import io.swagger.annotations.*;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.multipart.MultipartFile;
+import springfox.documentation.annotations.ApiIgnore;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @Api(value = "Pet REST Controller", description = "Everything about your pets", tags = "pet")
 public interface PetApi {
 
-    @ApiOperation(value = "Get all pets", response = List.class)
+    @ApiOperation(value = "Get all pets", notes = "Results are paginated by ascending ID. When more pets follow, the response carries the token of the next page in the X-Next-Page-Token header", response = List.class)
     @ApiResponses(value = {
           @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 400, message = "Invalid page token or limit"),
           @ApiResponse(code = 500, message = "Internal server error")})
-    ResponseEntity<List<Pet>> findAll();
+    ResponseEntity<List<Pet>> findAll(@ApiParam(value = "Token of the page to return, taken from the X-Next-Page-Token header of the previous page") String pageToken,
+                                      @ApiParam(value = "Maximum number of pets to return, between 1 and 1000", example = "100") Integer limit);
+
+    @ApiOperation(value = "Stream all pets as a JSON array", notes = "Pets are written to the response while they are read, so the whole collection is never held in memory", response = List.class)
+    @ApiResponses(value = {
+          @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 500, message = "Internal server error")})
+    ResponseEntity<StreamingResponseBody> streamAll();
+
+    @ApiOperation(value = "Stream all pets as newline-delimited JSON", notes = "Each line of the response holds one pet")
+    @ApiResponses(value = {
+          @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 500, message = "Internal server error")})
+    ResponseEntity<StreamingResponseBody> streamAllAsNdjson();
 
     @ApiOperation(value = "Find pet by ID", notes = "Returns a single pet", response = Pet.class)
     @ApiResponses(value = {
           @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 304, message = "Not modified since the version in If-None-Match"),
           @ApiResponse(code = 400, message = "Invalid ID supplied"),
           @ApiResponse(code = 404, message = "Pet not found")})
     ResponseEntity<Pet> findById(@ApiParam(value = "ID of pet to return", example = "1", required = true) Long id);
@@ -34,13 +60,21 @@ public interface PetApi {
           @ApiResponse(code = 405, message = "Invalid input")})
     ResponseEntity<Pet> save(@ApiParam(value = "Pet object that needs to be added to the store", required = true) Pet pet);
 
+    @ApiOperation(value = "Add pets in bulk from newline-delimited JSON", notes = "Each line of the request body, as application/x-ndjson, holds one pet. Lines are imported in batches, so a large body is never held in memory; a line that cannot be imported is reported with its number and does not stop the others", response = BulkImportResult.class)
+    @ApiResponses(value = {
+          @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 500, message = "Internal server error")})
+    ResponseEntity<BulkImportResult> saveAll(@ApiIgnore InputStream ndjson);
+
     @ApiOperation(value = "Update an existing pet", response = Pet.class)
     @ApiResponses(value = {
           @ApiResponse(code = 200, message = "Successful operation"),
           @ApiResponse(code = 400, message = "Invalid ID supplied"),
           @ApiResponse(code = 404, message = "Pet not found"),
-          @ApiResponse(code = 405, message = "Validation exception")})
-    ResponseEntity<Pet> update(@ApiParam(value = "Pet object that needs to be added to the store", required = true) Pet pet);
+          @ApiResponse(code = 405, message = "Validation exception"),
+          @ApiResponse(code = 412, message = "Changed since the version in If-Match")})
+    ResponseEntity<Pet> update(@ApiParam(value = "Pet object that needs to be added to the store", required = true) Pet pet,
+                               @ApiParam(value = "Entity tag of the version the pet must still be at, as returned in the ETag header") String ifMatch);
 
     @ApiOperation(value = "Delete a pet")
     @ApiResponses(value = {
@@ -55,11 +89,28 @@ public interface PetApi {
           @ApiResponse(code = 400, message = "Invalid status value")})
     ResponseEntity<List<Pet>> findByStatuses(@ApiParam(value = "Status values that need to be considered for filter", allowableValues = "available, pending, sold", allowMultiple = true, required = true) PetStatus[] status);
 
-    @ApiOperation(value = "Finds pets by tags", notes = "Multiple tags can be provided with comma separated strings. Use Tag1, Tag2, Tag3 for testing", response = List.class)
+    @ApiOperation(value = "Finds pets by tags", notes = "Multiple tags can be provided with comma separated strings. Use Tag1, Tag2, Tag3 for testing. By default pets having any of the tags are returned, use match=all to return only pets having all of them", response = List.class)
     @ApiResponses(value = {
           @ApiResponse(code = 200, message = "Successful operation"),
           @ApiResponse(code = 400, message = "Invalid tag value")})
-    ResponseEntity<List<Pet>> findByTags(@ApiParam(value = "Tags to filter by", allowMultiple = true, required = true) List<String> tags);
+    ResponseEntity<List<Pet>> findByTags(@ApiParam(value = "Tags to filter by", allowMultiple = true, required = true) List<String> tags,
+                                         @ApiParam(value = "Whether pets must have any or all of the tags", allowableValues = "any, all", defaultValue = "any") TagMatch match);
+
+    @ApiOperation(value = "Finds pets by category", notes = "Results are paginated by ascending ID. When more pets of the category follow, the response carries the token of the next page in the X-Next-Page-Token header", response = List.class)
+    @ApiResponses(value = {
+          @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 400, message = "Invalid category ID, page token or limit")})
+    ResponseEntity<List<Pet>> findByCategory(@ApiParam(value = "ID of the category to filter by", example = "1", required = true) Long categoryId,
+                                             @ApiParam(value = "Token of the page to return, taken from the X-Next-Page-Token header of the previous page") String pageToken,
+                                             @ApiParam(value = "Maximum number of pets to return, between 1 and 1000", example = "100") Integer limit);
+
+    @ApiOperation(value = "Finds pets by name", notes = "Case-insensitive. By default pets whose name starts with the given text are returned, ordered by name. Use match=fuzzy to find names within one typo of the text, or two for texts longer than 8 characters, closest names first", response = List.class)
+    @ApiResponses(value = {
+          @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 400, message = "Invalid name or limit")})
+    ResponseEntity<List<Pet>> findByName(@ApiParam(value = "Name or name prefix to search for", required = true) String name,
+                                         @ApiParam(value = "Whether names must start with the text or be similar to it", allowableValues = "prefix, fuzzy", defaultValue = "prefix") NameMatch match,
+                                         @ApiParam(value = "Maximum number of pets to return, between 1 and 1000", example = "100") Integer limit);
 
     @ApiOperation(value = "Updates a pet in the store with form data", response = HttpResponse.class)
     @ApiResponses(value = {
@@ -68,6 +119,23 @@ public interface PetApi {
     ResponseEntity<HttpResponse> updateWithFormData(@ApiParam(value = "ID of pet that needs to be updated", example = "1", required = true) Long id,
                                                     @ModelAttribute PetUpdateFormDataRequest petUpdateRequest);
 
+    @ApiOperation(value = "Updates the status of all pets matching the criteria", notes = "Pets must match every criterion given: any of the statuses, any of the tags and the category. At least one criterion is required", response = HttpResponse.class)
+    @ApiResponses(value = {
+          @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 400, message = "Invalid status value or no criteria")})
+    ResponseEntity<HttpResponse> updateStatusWhere(@ApiParam(value = "Status to set", allowableValues = "AVAILABLE, PENDING, SOLD", required = true) PetStatus newStatus,
+                                                   @ApiParam(value = "Statuses of the pets to update", allowableValues = "AVAILABLE, PENDING, SOLD", allowMultiple = true) PetStatus[] status,
+                                                   @ApiParam(value = "Tags of the pets to update", allowMultiple = true) List<String> tags,
+                                                   @ApiParam(value = "Category ID of the pets to update", example = "1") Long categoryId);
+
+    @ApiOperation(value = "Deletes all pets matching the criteria", notes = "Pets must match every criterion given: any of the statuses, any of the tags and the category. At least one criterion is required", response = HttpResponse.class)
+    @ApiResponses(value = {
+          @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 400, message = "Invalid status value or no criteria")})
+    ResponseEntity<HttpResponse> deleteWhere(@ApiParam(value = "Statuses of the pets to delete", allowableValues = "AVAILABLE, PENDING, SOLD", allowMultiple = true) PetStatus[] status,
+                                             @ApiParam(value = "Tags of the pets to delete", allowMultiple = true) List<String> tags,
+                                             @ApiParam(value = "Category ID of the pets to delete", example = "1") Long categoryId);
+
     @ApiOperation(value = "Uploads an image", response = HttpResponse.class)
     @ApiResponses(value = {
           @ApiResponse(code = 200, message = "Successful operation"),
@@ -75,4 +143,76 @@ public interface PetApi {
     ResponseEntity<HttpResponse> uploadImage(@ApiParam(value = "ID of pet to update", example = "1", required = true) Long id,
                                              @ModelAttribute PetUploadImageRequest petUploadImageRequest,
                                              @ApiParam(value = "File to upload") MultipartFile file);
+
+    @ApiOperation(value = "Initiates a resumable upload of an image of a pet", notes = "Large files can be sent in chunks with PUT, in any order and in parallel, and then completed. The hash, if given, is checked on completion")
+    @ApiResponses(value = {
+          @ApiResponse(code = 201, message = "Upload initiated"),
+          @ApiResponse(code = 400, message = "Invalid size or hash"),
+          @ApiResponse(code = 404, message = "Pet not found")})
+    ResponseEntity<UploadSession> createUpload(@ApiParam(value = "ID of the pet", example = "1", required = true) Long id,
+                                               @ApiParam(value = "Size of the file in bytes", example = "10485760", required = true) Long size,
+                                               @ApiParam(value = "Hex SHA-256 hash of the file") String hash);
+
+    @ApiOperation(value = "Finds a resumable upload", notes = "Lists the byte ranges received so far, so an interrupted upload can be resumed by sending only the missing ones")
+    @ApiResponses(value = {
+          @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 404, message = "Upload not found")})
+    ResponseEntity<UploadSession> findUpload(@ApiParam(value = "ID of the pet", example = "1", required = true) Long id,
+                                             @ApiParam(value = "ID of the upload", required = true) String uploadId);
+
+    @ApiOperation(value = "Uploads a chunk of a resumable upload", notes = "Writes the request body, as application/octet-stream, at the given offset of the file. Whatever part of the chunk arrives is kept, even if the connection drops")
+    @ApiResponses(value = {
+          @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 400, message = "Offset outside of the file or chunk exceeding it"),
+          @ApiResponse(code = 404, message = "Upload not found")})
+    ResponseEntity<UploadSession> writeUploadChunk(@ApiParam(value = "ID of the pet", example = "1", required = true) Long id,
+                                                   @ApiParam(value = "ID of the upload", required = true) String uploadId,
+                                                   @ApiParam(value = "Offset of the chunk in the file", example = "0", required = true) Long offset,
+                                                   @ApiIgnore InputStream content);
+
+    @ApiOperation(value = "Completes a resumable upload", notes = "Checks that the whole file was received and has the expected hash, and adds it to the images of the pet")
+    @ApiResponses(value = {
+          @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 400, message = "File incomplete or hash mismatch"),
+          @ApiResponse(code = 404, message = "Pet or upload not found")})
+    ResponseEntity<HttpResponse> completeUpload(@ApiParam(value = "ID of the pet", example = "1", required = true) Long id,
+                                                @ApiParam(value = "ID of the upload", required = true) String uploadId,
+                                                @ModelAttribute PetUploadImageRequest petUploadImageRequest);
+
+    @ApiOperation(value = "Aborts a resumable upload", notes = "Discards the upload and the chunks received")
+    @ApiResponses(value = {
+          @ApiResponse(code = 204, message = "Upload aborted"),
+          @ApiResponse(code = 404, message = "Upload not found")})
+    ResponseEntity<Void> abortUpload(@ApiParam(value = "ID of the pet", example = "1", required = true) Long id,
+                                     @ApiParam(value = "ID of the upload", required = true) String uploadId);
+
+    @ApiOperation(value = "Downloads an image of a pet", notes = "Serves an image uploaded for the pet, identified by the hash listed in its photoUrls. Supports single byte ranges and If-None-Match, and may be cached for a year")
+    @ApiResponses(value = {
+          @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 206, message = "Requested range of the image"),
+          @ApiResponse(code = 304, message = "Image not modified"),
+          @ApiResponse(code = 404, message = "Pet or image not found"),
+          @ApiResponse(code = 416, message = "Requested range not satisfiable")})
+    void findImage(@ApiParam(value = "ID of the pet", example = "1", required = true) Long id,
+                   @ApiParam(value = "Hash of the image, as listed in the photoUrls of the pet", required = true) String hash,
+                   @ApiIgnore HttpServletRequest request,
+                   @ApiIgnore HttpServletResponse response) throws IOException;
+
+    @ApiOperation(value = "Finds the metadata of an image of a pet", notes = "Returns the format, dimensions and thumbnails of an uploaded image. Images are processed in the background after the upload, so the metadata may not be available right away")
+    @ApiResponses(value = {
+          @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 404, message = "Pet or image not found, or image not processed yet")})
+    ResponseEntity<ImageMetadata> findImageMetadata(@ApiParam(value = "ID of the pet", example = "1", required = true) Long id,
+                                                    @ApiParam(value = "Hash of the image, as listed in the photoUrls of the pet", required = true) String hash);
+
+    @ApiOperation(value = "Downloads a thumbnail of an image of a pet", notes = "Serves a PNG thumbnail of an uploaded image, scaled to fit a square of the given size. The sizes available are listed in the image metadata")
+    @ApiResponses(value = {
+          @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 304, message = "Thumbnail not modified"),
+          @ApiResponse(code = 404, message = "Pet, image or thumbnail not found")})
+    void findThumbnail(@ApiParam(value = "ID of the pet", example = "1", required = true) Long id,
+                       @ApiParam(value = "Hash of the image, as listed in the photoUrls of the pet", required = true) String hash,
+                       @ApiParam(value = "Size of the thumbnail", example = "64", required = true) Integer size,
+                       @ApiIgnore HttpServletRequest request,
+                       @ApiIgnore HttpServletResponse response) throws IOException;
 }
@@ -1,18 +1,35 @@
 package com.endava.petstore.controller;
 
+import com.endava.petstore.enums.NameMatch;
 import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.enums.TagMatch;
+import com.endava.petstore.model.BulkImportResult;
 import com.endava.petstore.model.HttpResponse;
+import com.endava.petstore.model.ImageMetadata;
 import com.endava.petstore.model.Pet;
 import com.endava.petstore.model.PetUpdateFormDataRequest;
 import com.endava.petstore.model.PetUploadImageRequest;
+import com.endava.petstore.model.UploadSession;
 import com.endava.petstore.service.PetService;
+import com.endava.petstore.utils.ETagUtils;
+import com.endava.petstore.utils.FileServingUtils;
+import com.endava.petstore.utils.PageUtils;
+import com.endava.petstore.utils.StreamingUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.List;
 
 import static org.springframework.http.MediaType.*;
@@ -22,25 +39,41 @@ import static org.springframework.http.MediaType.*;
 @RequiredArgsConstructor
 public class PetController implements PetApi {
     private final PetService petService;
+    private final ObjectMapper objectMapper;
 
     @Override @GetMapping
-    public ResponseEntity<List<Pet>> findAll() {
-        return ResponseEntity.ok(petService.findAll());
+    public ResponseEntity<List<Pet>> findAll(@RequestParam(required = false) String pageToken, @RequestParam(required = false) Integer limit) {
+        return PageUtils.toResponseEntity(petService.findAll(pageToken, limit));
+    }
+
+    @Override @GetMapping(value = "/stream", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        return ResponseEntity.ok().contentType(APPLICATION_JSON).body(StreamingUtils.toJsonArray(petService.streamAll(), objectMapper));
+    }
+
+    @Override @GetMapping(value = "/stream", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllAsNdjson() {
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(StreamingUtils.toNdjson(petService.streamAll(), objectMapper));
     }
 
     @Override @GetMapping("/{id}")
     public ResponseEntity<Pet> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(petService.findById(id));
+        return ETagUtils.toResponseEntity(HttpStatus.OK, petService.findById(id));
     }
 
     @Override @PostMapping(consumes = {APPLICATION_JSON_VALUE, APPLICATION_XML_VALUE})
     public ResponseEntity<Pet> save(@RequestBody @Valid Pet pet) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(petService.save(pet));
+        return ETagUtils.toResponseEntity(HttpStatus.CREATED, petService.save(pet));
+    }
+
+    @Override @PostMapping(value = "/bulk", consumes = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkImportResult> saveAll(InputStream ndjson) {
+        return ResponseEntity.ok(petService.saveAll(ndjson));
     }
 
     @Override @PutMapping(consumes = {APPLICATION_JSON_VALUE, APPLICATION_XML_VALUE})
-    public ResponseEntity<Pet> update(@RequestBody @Valid Pet pet) {
-        return ResponseEntity.ok(petService.update(pet));
+    public ResponseEntity<Pet> update(@RequestBody @Valid Pet pet, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return ETagUtils.toResponseEntity(HttpStatus.OK, petService.update(pet, ETagUtils.parseIfMatch(ifMatch)));
     }
 
     @Override @DeleteMapping("/{id}")
@@ -55,8 +88,18 @@ public class PetController implements PetApi {
     }
 
     @Override @GetMapping("/findByTags")
-    public ResponseEntity<List<Pet>> findByTags(@RequestParam @Valid List<String> tags) {
-        return ResponseEntity.ok(petService.findByTags(tags));
+    public ResponseEntity<List<Pet>> findByTags(@RequestParam @Valid List<String> tags, @RequestParam(defaultValue = "any") TagMatch match) {
+        return ResponseEntity.ok(match == TagMatch.ALL ? petService.findByAllTags(tags) : petService.findByTags(tags));
+    }
+
+    @Override @GetMapping("/findByCategory")
+    public ResponseEntity<List<Pet>> findByCategory(@RequestParam Long categoryId, @RequestParam(required = false) String pageToken, @RequestParam(required = false) Integer limit) {
+        return PageUtils.toResponseEntity(petService.findByCategory(categoryId, pageToken, limit));
+    }
+
+    @Override @GetMapping("/findByName")
+    public ResponseEntity<List<Pet>> findByName(@RequestParam String name, @RequestParam(defaultValue = "prefix") NameMatch match, @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(match == NameMatch.FUZZY ? petService.findBySimilarName(name, limit) : petService.findByNamePrefix(name, limit));
     }
 
     @Override @PostMapping(value = "/{id}", consumes = MULTIPART_FORM_DATA_VALUE)
@@ -64,8 +107,62 @@ public class PetController implements PetApi {
         return ResponseEntity.ok(petService.updateWithFormData(id, petUpdateRequest.getName(), petUpdateRequest.getStatus()));
     }
 
+    @Override @PostMapping("/bulk/status")
+    public ResponseEntity<HttpResponse> updateStatusWhere(@RequestParam PetStatus newStatus, @RequestParam(required = false) PetStatus[] status,
+                                                          @RequestParam(required = false) List<String> tags, @RequestParam(required = false) Long categoryId) {
+        return ResponseEntity.ok(petService.updateStatusWhere(status, tags, categoryId, newStatus));
+    }
+
+    @Override @DeleteMapping("/bulk")
+    public ResponseEntity<HttpResponse> deleteWhere(@RequestParam(required = false) PetStatus[] status, @RequestParam(required = false) List<String> tags,
+                                                    @RequestParam(required = false) Long categoryId) {
+        return ResponseEntity.ok(petService.deleteWhere(status, tags, categoryId));
+    }
+
     @Override @PostMapping(value = "/{id}/uploadImage", consumes = MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<HttpResponse> uploadImage(@PathVariable Long id, PetUploadImageRequest petUploadImageRequest, @RequestPart MultipartFile file) {
         return ResponseEntity.ok(petService.uploadImage(id, petUploadImageRequest.getAdditionalMetadata(), file));
     }
+
+    @Override @PostMapping("/{id}/uploads")
+    public ResponseEntity<UploadSession> createUpload(@PathVariable Long id, @RequestParam Long size, @RequestParam(required = false) String hash) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(petService.createUpload(id, size, hash));
+    }
+
+    @Override @GetMapping("/{id}/uploads/{uploadId}")
+    public ResponseEntity<UploadSession> findUpload(@PathVariable Long id, @PathVariable String uploadId) {
+        return ResponseEntity.ok(petService.findUpload(id, uploadId));
+    }
+
+    @Override @PutMapping(value = "/{id}/uploads/{uploadId}", consumes = APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<UploadSession> writeUploadChunk(@PathVariable Long id, @PathVariable String uploadId, @RequestParam Long offset, InputStream content) {
+        return ResponseEntity.ok(petService.writeUploadChunk(id, uploadId, offset, content));
+    }
+
+    @Override @PostMapping("/{id}/uploads/{uploadId}/complete")
+    public ResponseEntity<HttpResponse> completeUpload(@PathVariable Long id, @PathVariable String uploadId, PetUploadImageRequest petUploadImageRequest) {
+        return ResponseEntity.ok(petService.completeUpload(id, uploadId, petUploadImageRequest.getAdditionalMetadata()));
+    }
+
+    @Override @DeleteMapping("/{id}/uploads/{uploadId}")
+    public ResponseEntity<Void> abortUpload(@PathVariable Long id, @PathVariable String uploadId) {
+        petService.abortUpload(id, uploadId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Override @GetMapping(value = "/{id}/images/{hash}", produces = ALL_VALUE)
+    public void findImage(@PathVariable Long id, @PathVariable String hash, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        FileServingUtils.serve(petService.findImage(id, hash), hash, request, response);
+    }
+
+    @Override @GetMapping("/{id}/images/{hash}/metadata")
+    public ResponseEntity<ImageMetadata> findImageMetadata(@PathVariable Long id, @PathVariable String hash) {
+        return ResponseEntity.ok(petService.findImageMetadata(id, hash));
+    }
+
+    @Override @GetMapping(value = "/{id}/images/{hash}/thumbnails/{size}", produces = ALL_VALUE)
+    public void findThumbnail(@PathVariable Long id, @PathVariable String hash, @PathVariable Integer size, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path thumbnail = petService.findThumbnail(id, hash, size);
+        FileServingUtils.serve(thumbnail, thumbnail.getFileName().toString(), request, response);
+    }
 }
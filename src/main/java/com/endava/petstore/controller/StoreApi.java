@@ -3,6 +3,7 @@ package com.endava.petstore.controller;
 import com.endava.petstore.model.Order;
 import io.swagger.annotations.*;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -10,15 +11,30 @@ import java.util.Map;
 @Api(value = "Store REST Controller", description = "Access to Petstore orders", tags = "store")
 public interface StoreApi {
 
-    @ApiOperation(value = "Get all orders", response = List.class)
+    @ApiOperation(value = "Get all orders", notes = "Results are paginated by ascending ID. When more orders follow, the response carries the token of the next page in the X-Next-Page-Token header", response = List.class)
     @ApiResponses(value = {
           @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 400, message = "Invalid page token or limit"),
           @ApiResponse(code = 500, message = "Internal server error")})
-    ResponseEntity<List<Order>> findAllOrders();
+    ResponseEntity<List<Order>> findAllOrders(@ApiParam(value = "Token of the page to return, taken from the X-Next-Page-Token header of the previous page") String pageToken,
+                                              @ApiParam(value = "Maximum number of orders to return, between 1 and 1000", example = "100") Integer limit);
+
+    @ApiOperation(value = "Stream all orders as a JSON array", notes = "Orders are written to the response while they are read, so the whole collection is never held in memory", response = List.class)
+    @ApiResponses(value = {
+          @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 500, message = "Internal server error")})
+    ResponseEntity<StreamingResponseBody> streamAllOrders();
+
+    @ApiOperation(value = "Stream all orders as newline-delimited JSON", notes = "Each line of the response holds one order")
+    @ApiResponses(value = {
+          @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 500, message = "Internal server error")})
+    ResponseEntity<StreamingResponseBody> streamAllOrdersAsNdjson();
 
     @ApiOperation(value = "Find purchase order by ID", notes = "For valid response try integer IDs with values between 1 and 3. Other values will generate exceptions", response = Order.class)
     @ApiResponses(value = {
           @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 304, message = "Not modified since the version in If-None-Match"),
           @ApiResponse(code = 400, message = "Invalid ID supplied"),
           @ApiResponse(code = 404, message = "Order not found")})
     ResponseEntity<Order> findOrderById(@ApiParam(value = "ID of order that needs to be fetched", example = "1", required = true) Long id);
@@ -34,8 +50,10 @@ public interface StoreApi {
           @ApiResponse(code = 200, message = "Successful operation"),
           @ApiResponse(code = 400, message = "Invalid ID supplied"),
           @ApiResponse(code = 404, message = "Order not found"),
-          @ApiResponse(code = 405, message = "Validation exception")})
-    ResponseEntity<Order> updateOrder(@ApiParam(value = "Updated order for purchasing the pet", required = true) Order order);
+          @ApiResponse(code = 405, message = "Validation exception"),
+          @ApiResponse(code = 412, message = "Changed since the version in If-Match")})
+    ResponseEntity<Order> updateOrder(@ApiParam(value = "Updated order for purchasing the pet", required = true) Order order,
+                                      @ApiParam(value = "Entity tag of the version the order must still be at, as returned in the ETag header") String ifMatch);
 
     @ApiOperation(value = "Delete purchase order by ID", notes = "For valid response try integer IDs with positive integer values. Negative or non-integer values will generate API errors")
     @ApiResponses(value = {
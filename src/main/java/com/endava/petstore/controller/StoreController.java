@@ -2,42 +2,58 @@ package com.endava.petstore.controller;
 
 import com.endava.petstore.model.Order;
 import com.endava.petstore.service.StoreService;
+import com.endava.petstore.utils.ETagUtils;
+import com.endava.petstore.utils.PageUtils;
+import com.endava.petstore.utils.StreamingUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.util.List;
 import java.util.Map;
 
-import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
-import static org.springframework.http.MediaType.APPLICATION_XML_VALUE;
+import static org.springframework.http.MediaType.*;
 
 @RestController
 @RequestMapping(value = "/store", produces = {APPLICATION_JSON_VALUE, APPLICATION_XML_VALUE})
 @RequiredArgsConstructor
 public class StoreController implements StoreApi {
     private final StoreService storeService;
+    private final ObjectMapper objectMapper;
 
     @Override @GetMapping
-    public ResponseEntity<List<Order>> findAllOrders() {
-        return ResponseEntity.ok(storeService.findAllOrders());
+    public ResponseEntity<List<Order>> findAllOrders(@RequestParam(required = false) String pageToken, @RequestParam(required = false) Integer limit) {
+        return PageUtils.toResponseEntity(storeService.findAllOrders(pageToken, limit));
+    }
+
+    @Override @GetMapping(value = "/stream", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllOrders() {
+        return ResponseEntity.ok().contentType(APPLICATION_JSON).body(StreamingUtils.toJsonArray(storeService.streamAllOrders(), objectMapper));
+    }
+
+    @Override @GetMapping(value = "/stream", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllOrdersAsNdjson() {
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(StreamingUtils.toNdjson(storeService.streamAllOrders(), objectMapper));
     }
 
     @Override @GetMapping("/{id}")
     public ResponseEntity<Order> findOrderById(@PathVariable Long id) {
-        return ResponseEntity.ok(storeService.findOrderById(id));
+        return ETagUtils.toResponseEntity(HttpStatus.OK, storeService.findOrderById(id));
     }
 
     @Override @PostMapping(consumes = {APPLICATION_JSON_VALUE, APPLICATION_XML_VALUE})
     public ResponseEntity<Order> saveOrder(@RequestBody @Valid Order order) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(storeService.saveOrder(order));
+        return ETagUtils.toResponseEntity(HttpStatus.CREATED, storeService.saveOrder(order));
     }
 
     @Override @PutMapping(consumes = {APPLICATION_JSON_VALUE, APPLICATION_XML_VALUE})
-    public ResponseEntity<Order> updateOrder(@RequestBody @Valid Order order) {
-        return ResponseEntity.ok(storeService.updateOrder(order));
+    public ResponseEntity<Order> updateOrder(@RequestBody @Valid Order order, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return ETagUtils.toResponseEntity(HttpStatus.OK, storeService.updateOrder(order, ETagUtils.parseIfMatch(ifMatch)));
     }
 
     @Override @DeleteMapping("/{id}")
@@ -0,0 +1,44 @@
+package com.endava.petstore.controller;
+
+import com.endava.petstore.model.Tag;
+import io.swagger.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+@Api(value = "Tag REST Controller", description = "Access to the catalog of pet tags", tags = "tag")
+public interface TagApi {
+
+    @ApiOperation(value = "Get all tags", notes = "Returns every tag of the catalog in ascending ID order", response = List.class)
+    @ApiResponses(value = {
+          @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 500, message = "Internal server error")})
+    ResponseEntity<List<Tag>> findAll();
+
+    @ApiOperation(value = "Find tag by ID", notes = "Returns a single tag", response = Tag.class)
+    @ApiResponses(value = {
+          @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 400, message = "Invalid ID supplied"),
+          @ApiResponse(code = 404, message = "Tag not found")})
+    ResponseEntity<Tag> findById(@ApiParam(value = "ID of tag to return", example = "1", required = true) Long id);
+
+    @ApiOperation(value = "Add a new tag to the catalog", notes = "Adding a tag that is already in the catalog returns the existing one", response = Tag.class)
+    @ApiResponses(value = {
+          @ApiResponse(code = 201, message = "Successful operation"),
+          @ApiResponse(code = 400, message = "Invalid tag or ID already taken by another tag")})
+    ResponseEntity<Tag> save(@ApiParam(value = "Tag object that needs to be added to the catalog", required = true) Tag tag);
+
+    @ApiOperation(value = "Update an existing tag of the catalog", notes = "Pets saved before keep the tag they were saved with", response = Tag.class)
+    @ApiResponses(value = {
+          @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 400, message = "Invalid tag"),
+          @ApiResponse(code = 404, message = "Tag not found")})
+    ResponseEntity<Tag> update(@ApiParam(value = "Tag object that needs to be updated in the catalog", required = true) Tag tag);
+
+    @ApiOperation(value = "Delete a tag from the catalog", notes = "Pets saved before keep the tag they were saved with")
+    @ApiResponses(value = {
+          @ApiResponse(code = 204, message = "Successful operation"),
+          @ApiResponse(code = 400, message = "Invalid ID supplied"),
+          @ApiResponse(code = 404, message = "Tag not found")})
+    ResponseEntity<Void> deleteById(@ApiParam(value = "ID of tag that needs to be deleted", example = "1", required = true) Long id);
+}
@@ -0,0 +1,46 @@
+package com.endava.petstore.controller;
+
+import com.endava.petstore.model.Tag;
+import com.endava.petstore.service.TagService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.List;
+
+import static org.springframework.http.MediaType.*;
+
+@RestController
+@RequestMapping(value = "/tag", produces = {APPLICATION_JSON_VALUE, APPLICATION_XML_VALUE})
+@RequiredArgsConstructor
+public class TagController implements TagApi {
+    private final TagService tagService;
+
+    @Override @GetMapping
+    public ResponseEntity<List<Tag>> findAll() {
+        return ResponseEntity.ok(tagService.findAll());
+    }
+
+    @Override @GetMapping("/{id}")
+    public ResponseEntity<Tag> findById(@PathVariable Long id) {
+        return ResponseEntity.ok(tagService.findById(id));
+    }
+
+    @Override @PostMapping(consumes = {APPLICATION_JSON_VALUE, APPLICATION_XML_VALUE})
+    public ResponseEntity<Tag> save(@RequestBody @Valid Tag tag) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(tagService.save(tag));
+    }
+
+    @Override @PutMapping(consumes = {APPLICATION_JSON_VALUE, APPLICATION_XML_VALUE})
+    public ResponseEntity<Tag> update(@RequestBody @Valid Tag tag) {
+        return ResponseEntity.ok(tagService.update(tag));
+    }
+
+    @Override @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteById(@PathVariable Long id) {
+        tagService.deleteById(id);
+        return ResponseEntity.noContent().build();
+    }
+}
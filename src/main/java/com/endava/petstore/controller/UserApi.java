@@ -4,22 +4,38 @@ import com.endava.petstore.model.HttpResponse;
 import com.endava.petstore.model.User;
 import io.swagger.annotations.*;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
 @Api(value = "User REST Controller", description = "Operations about user", tags = "user")
 public interface UserApi {
 
-    @ApiOperation(value = "Get all users", response = List.class)
+    @ApiOperation(value = "Get all users", notes = "Results are paginated by ascending ID. When more users follow, the response carries the token of the next page in the X-Next-Page-Token header", response = List.class)
     @ApiResponses(value = {
           @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 400, message = "Invalid page token or limit"),
           @ApiResponse(code = 404, message = "No users found"),
           @ApiResponse(code = 500, message = "Internal server error")})
-    ResponseEntity<List<User>> findAll();
+    ResponseEntity<List<User>> findAll(@ApiParam(value = "Token of the page to return, taken from the X-Next-Page-Token header of the previous page") String pageToken,
+                                       @ApiParam(value = "Maximum number of users to return, between 1 and 1000", example = "100") Integer limit);
+
+    @ApiOperation(value = "Stream all users as a JSON array", notes = "Users are written to the response while they are read, so the whole collection is never held in memory", response = List.class)
+    @ApiResponses(value = {
+          @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 500, message = "Internal server error")})
+    ResponseEntity<StreamingResponseBody> streamAll();
+
+    @ApiOperation(value = "Stream all users as newline-delimited JSON", notes = "Each line of the response holds one user")
+    @ApiResponses(value = {
+          @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 500, message = "Internal server error")})
+    ResponseEntity<StreamingResponseBody> streamAllAsNdjson();
 
     @ApiOperation(value = "Find user by ID", notes = "Returns a single user", response = User.class)
     @ApiResponses(value = {
           @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 304, message = "Not modified since the version in If-None-Match"),
           @ApiResponse(code = 400, message = "Invalid ID supplied"),
           @ApiResponse(code = 404, message = "User not found")})
     ResponseEntity<User> findById(@ApiParam(value = "ID of user to return", example = "1", required = true) Long id);
@@ -35,8 +51,10 @@ public interface UserApi {
           @ApiResponse(code = 200, message = "Successful operation"),
           @ApiResponse(code = 400, message = "Invalid ID supplied"),
           @ApiResponse(code = 404, message = "User not found"),
-          @ApiResponse(code = 405, message = "Validation exception")})
-    ResponseEntity<User> update(@ApiParam(value = "User object that needs to be updated", required = true) User user);
+          @ApiResponse(code = 405, message = "Validation exception"),
+          @ApiResponse(code = 412, message = "Changed since the version in If-Match")})
+    ResponseEntity<User> update(@ApiParam(value = "User object that needs to be updated", required = true) User user,
+                                @ApiParam(value = "Entity tag of the version the user must still be at, as returned in the ETag header") String ifMatch);
 
     @ApiOperation(value = "Delete a user")
     @ApiResponses(value = {
@@ -60,6 +78,7 @@ public interface UserApi {
     @ApiOperation(value = "Get user by username", response = User.class)
     @ApiResponses(value = {
           @ApiResponse(code = 200, message = "Successful operation"),
+          @ApiResponse(code = 304, message = "Not modified since the version in If-None-Match"),
           @ApiResponse(code = 400, message = "Invalid username supplied"),
           @ApiResponse(code = 404, message = "User not found")})
     ResponseEntity<User> findByUsername(@ApiParam(value = "Username that needs to be fetched. Use Username1 for testing", required = true) String username);
@@ -68,9 +87,11 @@ public interface UserApi {
     @ApiResponses(value = {
           @ApiResponse(code = 200, message = "Successful operation"),
           @ApiResponse(code = 400, message = "Invalid username supplied"),
-          @ApiResponse(code = 404, message = "User not found")})
+          @ApiResponse(code = 404, message = "User not found"),
+          @ApiResponse(code = 412, message = "Changed since the version in If-Match")})
     ResponseEntity<User> updateByUsername(@ApiParam(value = "Updated user object", required = true) User user,
-                                          @ApiParam(value = "Username that needs to be updated", required = true) String username);
+                                          @ApiParam(value = "Username that needs to be updated", required = true) String username,
+                                          @ApiParam(value = "Entity tag of the version the user must still be at, as returned in the ETag header") String ifMatch);
 
     @ApiOperation(value = "Delete user by username", notes = "This can only be done by the logged in user")
     @ApiResponses(value = {
@@ -3,41 +3,57 @@ package com.endava.petstore.controller;
 import com.endava.petstore.model.HttpResponse;
 import com.endava.petstore.model.User;
 import com.endava.petstore.service.UserService;
+import com.endava.petstore.utils.ETagUtils;
+import com.endava.petstore.utils.PageUtils;
+import com.endava.petstore.utils.StreamingUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.util.List;
 
-import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
-import static org.springframework.http.MediaType.APPLICATION_XML_VALUE;
+import static org.springframework.http.MediaType.*;
 
 @RestController
 @RequestMapping(value = "/user", produces = {APPLICATION_JSON_VALUE, APPLICATION_XML_VALUE})
 @RequiredArgsConstructor
 public class UserController implements UserApi {
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @Override @GetMapping
-    public ResponseEntity<List<User>> findAll() {
-        return ResponseEntity.ok(userService.findAll());
+    public ResponseEntity<List<User>> findAll(@RequestParam(required = false) String pageToken, @RequestParam(required = false) Integer limit) {
+        return PageUtils.toResponseEntity(userService.findAll(pageToken, limit));
+    }
+
+    @Override @GetMapping(value = "/stream", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        return ResponseEntity.ok().contentType(APPLICATION_JSON).body(StreamingUtils.toJsonArray(userService.streamAll(), objectMapper));
+    }
+
+    @Override @GetMapping(value = "/stream", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllAsNdjson() {
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(StreamingUtils.toNdjson(userService.streamAll(), objectMapper));
     }
 
     @Override @GetMapping("/{id}")
     public ResponseEntity<User> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(userService.findById(id));
+        return ETagUtils.toResponseEntity(HttpStatus.OK, userService.findById(id));
     }
 
     @Override @PostMapping(consumes = {APPLICATION_JSON_VALUE, APPLICATION_XML_VALUE})
     public ResponseEntity<User> save(@RequestBody @Valid User user) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(userService.save(user));
+        return ETagUtils.toResponseEntity(HttpStatus.CREATED, userService.save(user));
     }
 
     @Override @PutMapping(produces = {APPLICATION_JSON_VALUE, APPLICATION_XML_VALUE})
-    public ResponseEntity<User> update(@RequestBody @Valid User user) {
-        return ResponseEntity.ok(userService.update(user));
+    public ResponseEntity<User> update(@RequestBody @Valid User user, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return ETagUtils.toResponseEntity(HttpStatus.OK, userService.update(user, ETagUtils.parseIfMatch(ifMatch)));
     }
 
     @Override @DeleteMapping("/{id}")
@@ -58,12 +74,12 @@ public class UserController implements UserApi {
 
     @Override @GetMapping("/username/{username}")
     public ResponseEntity<User> findByUsername(@PathVariable String username) {
-        return ResponseEntity.ok(userService.findByUsername(username));
+        return ETagUtils.toResponseEntity(HttpStatus.OK, userService.findByUsername(username));
     }
 
     @Override @PutMapping(value = "/username/{username}", consumes = {APPLICATION_JSON_VALUE, APPLICATION_XML_VALUE})
-    public ResponseEntity<User> updateByUsername(@RequestBody @Valid User user, @PathVariable String username) {
-        return ResponseEntity.ok(userService.updateByUsername(user, username));
+    public ResponseEntity<User> updateByUsername(@RequestBody @Valid User user, @PathVariable String username, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return ETagUtils.toResponseEntity(HttpStatus.OK, userService.updateByUsername(user, username, ETagUtils.parseIfMatch(ifMatch)));
     }
 
     @Override @DeleteMapping("/username/{username}")
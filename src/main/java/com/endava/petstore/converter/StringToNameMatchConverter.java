@@ -0,0 +1,12 @@
+package com.endava.petstore.converter;
+
+import com.endava.petstore.enums.NameMatch;
+import org.springframework.core.convert.converter.Converter;
+
+public class StringToNameMatchConverter implements Converter<String, NameMatch> {
+
+    @Override
+    public NameMatch convert(String source) {
+        return NameMatch.valueOf(source.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,12 @@
+package com.endava.petstore.converter;
+
+import com.endava.petstore.enums.TagMatch;
+import org.springframework.core.convert.converter.Converter;
+
+public class StringToTagMatchConverter implements Converter<String, TagMatch> {
+
+    @Override
+    public TagMatch convert(String source) {
+        return TagMatch.valueOf(source.trim().toUpperCase());
+    }
+}
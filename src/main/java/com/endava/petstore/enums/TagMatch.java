@@ -0,0 +1,5 @@
+package com.endava.petstore.enums;
+
+public enum TagMatch {
+    ANY, ALL
+}
@@ -12,6 +12,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static com.endava.petstore.constants.Constants.INVALID_REQUEST;
+import static com.endava.petstore.constants.Constants.PRECONDITION_FAILED;
 import static com.endava.petstore.constants.Constants.RESOURCE_NOT_FOUND;
 
 @RestControllerAdvice
@@ -28,6 +29,11 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_REQUEST + exception.getMessage());
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<String> handlePreconditionFailedException(PreconditionFailedException exception) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(PRECONDITION_FAILED + exception.getMessage());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleMethodArgumentNotValidException(MethodArgumentNotValidException exception) {
         Map<String, String> errors = new HashMap<>();
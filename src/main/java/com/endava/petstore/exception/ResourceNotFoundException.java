@@ -1,8 +1,12 @@
 package com.endava.petstore.exception;
 
+/**
+ * Turned into a 404 response, which never shows where it was thrown, so it does not capture a stack trace:
+ * lookups of unknown ids and usernames are frequent, and filling in the stack trace would be most of their cost.
+ */
 public class ResourceNotFoundException extends RuntimeException {
 
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, true, false);
     }
 }
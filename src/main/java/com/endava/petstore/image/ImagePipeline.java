@@ -0,0 +1,249 @@
+package com.endava.petstore.image;
+
+import com.endava.petstore.model.ImageMetadata;
+import com.endava.petstore.storage.BlobStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Produces thumbnails and extracts the format and dimensions of uploaded images in the background, as configured by the
+ * {@code petstore.images.*} properties, so an upload does not wait for its image to be decoded.
+ * <p>
+ * Images are processed by a fixed number of workers fed from a bounded queue. The queue only holds the hashes of stored blobs,
+ * and every worker decodes a single image at a time, subsampled while it is read so that it is not decoded much larger than
+ * the largest thumbnail; an image larger than {@code max-pixels} is not decoded at all. A burst of uploads therefore costs
+ * a bounded amount of memory: once the queue is full further images are rejected, and processed again the next time
+ * their metadata is looked up. The metadata of processed images, and the hashes of files that cannot be decoded, are kept
+ * for at most {@code metadata-cache-size} images each, evicted by Caffeine; an evicted image is processed again the next time
+ * its metadata is looked up, which finds its thumbnails already stored. Files that cannot be decoded are not processed again
+ * while they are remembered.
+ * Thumbnails are stored as PNG blobs, so identical images share them.
+ * <p>
+ * Metrics: {@code petstore.images.queue.depth}, {@code petstore.images.queue.capacity} and {@code petstore.images.metadata.size} gauges,
+ * {@code petstore.images.rejected} counter, {@code petstore.images.queue.wait} timer of the time spent queued and
+ * {@code petstore.images.processing} timer of the time spent processing, tagged with the outcome.
+ */
+@Slf4j
+@Component
+public class ImagePipeline {
+    private static final String THUMBNAIL_FORMAT = "png";
+
+    private final BlobStore blobStore;
+    private final MeterRegistry meterRegistry;
+    private final int[] thumbnailSizes;
+    private final long maxPixels;
+    private final ThreadPoolExecutor executor;
+    private final Cache<String, ImageMetadata> metadataByHash;
+    private final Set<String> pendingHashes = ConcurrentHashMap.newKeySet();
+    private final Cache<String, Boolean> unreadableHashes;
+    private final Counter rejectedCounter;
+    private final Timer queueWaitTimer;
+
+    public ImagePipeline(BlobStore blobStore,
+                         MeterRegistry meterRegistry,
+                         @Value("${petstore.images.thumbnail-sizes:64,256}") int[] thumbnailSizes,
+                         @Value("${petstore.images.workers:2}") int workers,
+                         @Value("${petstore.images.queue-capacity:256}") int queueCapacity,
+                         @Value("${petstore.images.max-pixels:40000000}") long maxPixels,
+                         @Value("${petstore.images.metadata-cache-size:10000}") int metadataCacheSize) {
+        this.blobStore = blobStore;
+        this.meterRegistry = meterRegistry;
+        this.thumbnailSizes = Arrays.stream(thumbnailSizes).sorted().toArray();
+        this.maxPixels = maxPixels;
+        this.metadataByHash = Caffeine.newBuilder()
+              .maximumSize(metadataCacheSize)
+              .executor(Runnable::run)
+              .build();
+        this.unreadableHashes = Caffeine.newBuilder()
+              .maximumSize(metadataCacheSize)
+              .executor(Runnable::run)
+              .build();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "image-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("petstore.images.queue.depth", executor, pool -> pool.getQueue().size())
+              .description("Images waiting to be processed")
+              .register(meterRegistry);
+        Gauge.builder("petstore.images.queue.capacity", executor, pool -> pool.getQueue().remainingCapacity() + pool.getQueue().size())
+              .description("Images that can wait to be processed before further ones are rejected")
+              .register(meterRegistry);
+        Gauge.builder("petstore.images.metadata.size", metadataByHash, Cache::estimatedSize)
+              .description("Images whose metadata is held in memory")
+              .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("petstore.images.rejected")
+              .description("Images not queued because the queue was full")
+              .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("petstore.images.queue.wait")
+              .description("Time images spend waiting to be processed")
+              .register(meterRegistry);
+    }
+
+    /**
+     * Queues the image stored under the hash for processing, unless it is already processed or queued.
+     *
+     * @return {@code false} if the queue is full and the image was rejected
+     */
+    public boolean submit(String hash) {
+        if (!pendingHashes.add(hash)) {
+            return true;
+        }
+        // checked after claiming the hash, since a worker records the outcome before it releases the hash
+        if (metadataByHash.getIfPresent(hash) != null || unreadableHashes.getIfPresent(hash) != null) {
+            pendingHashes.remove(hash);
+            return true;
+        }
+        long queuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                queueWaitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    process(hash);
+                } finally {
+                    pendingHashes.remove(hash);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            pendingHashes.remove(hash);
+            rejectedCounter.increment();
+            log.warn("Image queue is full, rejected image {}", hash);
+            return false;
+        }
+    }
+
+    /**
+     * @return the metadata of the image stored under the hash, or an empty optional if it is not processed (yet),
+     * in which case it is queued for processing again if it was rejected before
+     */
+    public Optional<ImageMetadata> findMetadata(String hash) {
+        ImageMetadata metadata = metadataByHash.getIfPresent(hash);
+        if (metadata == null && blobStore.find(hash).isPresent()) {
+            submit(hash);
+        }
+        return Optional.ofNullable(metadata);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void process(String hash) {
+        long startedAt = System.nanoTime();
+        String outcome;
+        try {
+            Optional<Path> blob = blobStore.find(hash);
+            outcome = blob.isPresent() ? process(hash, blob.get()) : "missing";
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to process image {}", hash, e);
+            outcome = "failure";
+        }
+        if (outcome.equals("unsupported") || outcome.equals("failure")) {
+            unreadableHashes.put(hash, Boolean.TRUE);
+        }
+        meterRegistry.timer("petstore.images.processing", "outcome", outcome).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    private String process(String hash, Path blob) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(blob.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                return "unsupported";
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                ImageMetadata.ImageMetadataBuilder metadata = ImageMetadata.builder()
+                      .hash(hash)
+                      .format(reader.getFormatName().toLowerCase())
+                      .width(width)
+                      .height(height)
+                      .thumbnails(Map.of());
+                if ((long) width * height > maxPixels) {
+                    metadataByHash.put(hash, metadata.build());
+                    return "oversized";
+                }
+                metadataByHash.put(hash, metadata.thumbnails(createThumbnails(reader, width, height)).build());
+                return "success";
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Decodes the image once, skipping as many source pixels as the largest thumbnail allows, and scales it down to fit
+     * each thumbnail size. Images are never scaled up.
+     */
+    private Map<Integer, String> createThumbnails(ImageReader reader, int width, int height) throws IOException {
+        int largestSize = thumbnailSizes[thumbnailSizes.length - 1];
+        int subsampling = Math.max(1, Math.max(width, height) / largestSize);
+        ImageReadParam param = reader.getDefaultReadParam();
+        param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+        BufferedImage image = reader.read(0, param);
+        Map<Integer, String> thumbnails = new TreeMap<>();
+        for (int size : thumbnailSizes) {
+            double scale = Math.min(1, (double) size / Math.max(width, height));
+            int thumbnailWidth = Math.max(1, (int) Math.round(width * scale));
+            int thumbnailHeight = Math.max(1, (int) Math.round(height * scale));
+            thumbnails.put(size, store(scale(image, thumbnailWidth, thumbnailHeight)));
+        }
+        return thumbnails;
+    }
+
+    private String store(BufferedImage thumbnail) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(thumbnail, THUMBNAIL_FORMAT, output);
+        return blobStore.store(new ByteArrayInputStream(output.toByteArray()));
+    }
+
+    private static BufferedImage scale(BufferedImage image, int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+}
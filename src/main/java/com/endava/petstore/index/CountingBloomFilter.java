@@ -0,0 +1,98 @@
+package com.endava.petstore.index;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Probabilistic set of 64-bit keys that answers {@link #mightContain(long)} without false negatives and supports removal.
+ * Every key increments {@value #HASHES} 4-bit counters, sixteen to a {@code long}, chosen by double hashing, and is absent
+ * for sure when any of them is zero. A counter that reaches its maximum stays there, since it can no longer tell how many
+ * keys it stands for; it only costs false positives, never false negatives.
+ * Counters are sized for about 0.1% false positives up to the expected number of keys, and are updated lock-free, so adding and
+ * removing different keys concurrently is safe. Removing a key that was never added breaks the guarantee, which callers prevent.
+ */
+public class CountingBloomFilter {
+    private static final int HASHES = 7;
+    private static final int COUNTERS_PER_ENTRY = 16;
+    private static final long COUNTER_MAX = 0xF;
+
+    private final AtomicLongArray counters;
+    private final int counterMask;
+
+    public CountingBloomFilter(int expectedEntries) {
+        int counterCount = Integer.highestOneBit(Math.max(expectedEntries, 1) * COUNTERS_PER_ENTRY - 1) << 1;
+        this.counters = new AtomicLongArray(Math.max(counterCount / 16, 1));
+        this.counterMask = Math.max(counterCount, 16) - 1;
+    }
+
+    public void add(long key) {
+        long hash = mix(key);
+        for (int i = 0; i < HASHES; i++) {
+            update(index(hash, i), 1);
+        }
+    }
+
+    public void remove(long key) {
+        long hash = mix(key);
+        for (int i = 0; i < HASHES; i++) {
+            update(index(hash, i), -1);
+        }
+    }
+
+    /**
+     * @return {@code false} if the key is not in the set for sure, {@code true} if it probably is
+     */
+    public boolean mightContain(long key) {
+        long hash = mix(key);
+        for (int i = 0; i < HASHES; i++) {
+            int index = index(hash, i);
+            if (counter(counters.get(index >>> 4), index) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return a 64-bit FNV-1a hash of the characters of the string, to be used as its key
+     */
+    public static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private void update(int index, int delta) {
+        int word = index >>> 4;
+        int shift = (index & 15) << 2;
+        long current;
+        long updated;
+        do {
+            current = counters.get(word);
+            long counter = counter(current, index);
+            if (counter == COUNTER_MAX || (delta < 0 && counter == 0)) {
+                return;
+            }
+            updated = current + ((long) delta << shift);
+        } while (!counters.compareAndSet(word, current, updated));
+    }
+
+    private int index(long hash, int i) {
+        return (int) ((hash + i * (hash >>> 32 | 1)) & counterMask);
+    }
+
+    private static long counter(long word, int index) {
+        return word >>> ((index & 15) << 2) & COUNTER_MAX;
+    }
+
+    /**
+     * Spreads the bits of the key, the finalizer of MurmurHash3, so that consecutive ids land on unrelated counters.
+     */
+    private static long mix(long key) {
+        long hash = key;
+        hash = (hash ^ hash >>> 33) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ hash >>> 33) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ hash >>> 33;
+    }
+}
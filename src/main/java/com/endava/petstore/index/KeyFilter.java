@@ -0,0 +1,141 @@
+package com.endava.petstore.index;
+
+import com.endava.petstore.storage.EntityListener;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static com.endava.petstore.constants.Constants.KEY_FILTER_INITIAL_ENTRIES;
+import static com.endava.petstore.constants.Constants.KEY_FILTER_MAX_ENTRIES;
+
+/**
+ * {@link CountingBloomFilter} of a key of the stored entities, such as their id or username, kept up to date on every change,
+ * so a lookup for a key that no entity has is rejected without touching the store. It must be registered after the listeners
+ * that may reject a change, so it never counts a key that was not stored.
+ * <p>
+ * The filter counts the keys it holds, and once they outgrow the number it was sized for, a new filter sized for twice as many
+ * is filled from the entities in the background and then replaces it, which also clears the counters saturated in the old one.
+ * While the new filter is being filled, keys added by concurrent changes go to both filters, but removed keys are only taken out
+ * of the old one, since the new one may not have seen them yet; a key removed meanwhile only costs a false positive later.
+ * A change reads the filters and adds its key under the read lock of a {@link StampedLock}, and the new filter is published under
+ * its write lock before it is filled. A change that added its key to the old filter alone has therefore finished doing so before
+ * the filling starts, and since the store calls the filter while it holds the lock of the entity, reading that entity while
+ * filling waits for the change to be stored, so the new filter holds every key the old one did.
+ *
+ * @param <T> the stored entity type
+ */
+public class KeyFilter<T> implements EntityListener<T> {
+    private final Function<T, ?> keyGetter;
+    private final Supplier<Stream<T>> entities;
+    private final Executor executor;
+    private final LongAdder keys = new LongAdder();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final StampedLock lock = new StampedLock();
+    private volatile CountingBloomFilter filter;
+    private volatile CountingBloomFilter rebuiltFilter;
+    private volatile int capacity;
+
+    /**
+     * @param entities supplies the stored entities, to fill a larger filter from once the keys outgrow the current one
+     */
+    public KeyFilter(Function<T, ?> keyGetter, Supplier<Stream<T>> entities) {
+        this(keyGetter, entities, KEY_FILTER_INITIAL_ENTRIES, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param executor runs the rebuilds of the filter; it must not run them on the calling thread when the entities are supplied by
+     *                 the store the filter listens to, since the store calls the filter while it holds the lock of an entity
+     */
+    public KeyFilter(Function<T, ?> keyGetter, Supplier<Stream<T>> entities, int initialEntries, Executor executor) {
+        this.keyGetter = keyGetter;
+        this.entities = entities;
+        this.executor = executor;
+        this.capacity = initialEntries;
+        this.filter = new CountingBloomFilter(initialEntries);
+    }
+
+    @Override
+    public void onChange(T previous, T current) {
+        Object previousKey = previous == null ? null : keyGetter.apply(previous);
+        Object currentKey = current == null ? null : keyGetter.apply(current);
+        if (Objects.equals(previousKey, currentKey)) {
+            return;
+        }
+        long stamp = lock.readLock();
+        try {
+            CountingBloomFilter rebuilt = rebuiltFilter;
+            CountingBloomFilter active = filter;
+            if (currentKey != null) {
+                long key = toLong(currentKey);
+                active.add(key);
+                if (rebuilt != null && rebuilt != active) {
+                    rebuilt.add(key);
+                }
+                keys.increment();
+            }
+            if (previousKey != null) {
+                active.remove(toLong(previousKey));
+                keys.decrement();
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        rebuildIfOutgrown();
+    }
+
+    /**
+     * @return {@code false} if no entity has the key for sure, which is always the case for a {@code null} key
+     */
+    public boolean mightContain(Object key) {
+        return key != null && filter.mightContain(toLong(key));
+    }
+
+    /**
+     * @return the number of keys the filter is currently sized for
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private void rebuildIfOutgrown() {
+        if (keys.sum() > capacity && capacity < KEY_FILTER_MAX_ENTRIES && rebuilding.compareAndSet(false, true)) {
+            executor.execute(this::rebuild);
+        }
+    }
+
+    /**
+     * Fills a larger filter and swaps it in, then starts over if the keys added meanwhile already outgrew it.
+     */
+    private void rebuild() {
+        try {
+            int rebuiltCapacity = (int) Math.min(KEY_FILTER_MAX_ENTRIES, Math.max(keys.sum(), capacity) * 2);
+            CountingBloomFilter rebuilt = new CountingBloomFilter(rebuiltCapacity);
+            long stamp = lock.writeLock();
+            try {
+                rebuiltFilter = rebuilt;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            try (Stream<T> stored = entities.get()) {
+                stored.map(keyGetter).filter(Objects::nonNull).forEach(key -> rebuilt.add(toLong(key)));
+            }
+            filter = rebuilt;
+            capacity = rebuiltCapacity;
+        } finally {
+            rebuiltFilter = null;
+            rebuilding.set(false);
+        }
+        rebuildIfOutgrown();
+    }
+
+    private static long toLong(Object key) {
+        return key instanceof Number number ? number.longValue() : CountingBloomFilter.hash(key.toString());
+    }
+}
@@ -0,0 +1,66 @@
+package com.endava.petstore.index;
+
+import com.endava.petstore.model.Pet;
+import com.endava.petstore.storage.EntityListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Secondary index from category id to the ids of the pets in that category.
+ * Ids are kept sorted, so a page of a category is found by seeking to the id following the previous page,
+ * at a cost proportional to the page size rather than to the number of pets in the category.
+ */
+public class PetCategoryIndex implements EntityListener<Pet> {
+    private final Map<Long, NavigableSet<Long>> petIdsByCategory = new ConcurrentHashMap<>();
+
+    @Override
+    public void onChange(Pet previous, Pet current) {
+        Long previousCategoryId = getCategoryId(previous);
+        Long currentCategoryId = getCategoryId(current);
+        if (Objects.equals(previousCategoryId, currentCategoryId)) {
+            return;
+        }
+        if (previousCategoryId != null) {
+            petIdsByCategory.computeIfPresent(previousCategoryId, (categoryId, petIds) -> {
+                petIds.remove(previous.getId());
+                return petIds.isEmpty() ? null : petIds;
+            });
+        }
+        if (currentCategoryId != null) {
+            petIdsByCategory.compute(currentCategoryId, (categoryId, petIds) -> {
+                NavigableSet<Long> ids = petIds == null ? new ConcurrentSkipListSet<>() : petIds;
+                ids.add(current.getId());
+                return ids;
+            });
+        }
+    }
+
+    /**
+     * @return at most {@code limit} ids of pets in the category that are greater than {@code afterId}, in ascending order,
+     * or starting with the smallest one if {@code afterId} is {@code null}
+     */
+    public List<Long> findIdsByCategory(Long categoryId, Long afterId, int limit) {
+        NavigableSet<Long> petIds = petIdsByCategory.get(categoryId);
+        if (petIds == null) {
+            return List.of();
+        }
+        return (afterId == null ? petIds : petIds.tailSet(afterId, false)).stream().limit(limit).toList();
+    }
+
+    /**
+     * @return the ids of all pets in the category, in ascending order
+     */
+    public long[] findIdsByCategory(Long categoryId) {
+        NavigableSet<Long> petIds = petIdsByCategory.get(categoryId);
+        return petIds == null ? new long[0] : petIds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static Long getCategoryId(Pet pet) {
+        return pet == null || pet.getCategory() == null ? null : pet.getCategory().getId();
+    }
+}
@@ -0,0 +1,41 @@
+package com.endava.petstore.index;
+
+import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.model.Pet;
+import com.endava.petstore.storage.EntityListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Number of pets per {@link PetStatus}, adjusted on every change of a pet so the inventory is read in constant time.
+ */
+public class PetInventoryCounter implements EntityListener<Pet> {
+    private static final PetStatus[] STATUSES = PetStatus.values();
+
+    private final AtomicIntegerArray counts = new AtomicIntegerArray(STATUSES.length);
+
+    @Override
+    public void onChange(Pet previous, Pet current) {
+        PetStatus previousStatus = previous == null ? null : previous.getStatus();
+        PetStatus currentStatus = current == null ? null : current.getStatus();
+        if (previousStatus == currentStatus) {
+            return;
+        }
+        if (previousStatus != null) {
+            counts.decrementAndGet(previousStatus.ordinal());
+        }
+        if (currentStatus != null) {
+            counts.incrementAndGet(currentStatus.ordinal());
+        }
+    }
+
+    public Map<String, Integer> getInventory() {
+        Map<String, Integer> inventory = new HashMap<>(STATUSES.length * 2);
+        for (PetStatus status : STATUSES) {
+            inventory.put(status.name(), counts.get(status.ordinal()));
+        }
+        return inventory;
+    }
+}
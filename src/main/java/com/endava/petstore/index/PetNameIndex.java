@@ -0,0 +1,244 @@
+package com.endava.petstore.index;
+
+import com.endava.petstore.model.Pet;
+import com.endava.petstore.storage.EntityListener;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Index of pet names supporting prefix and typo-tolerant queries, both case-insensitive.
+ * Prefix queries seek into a sorted map of the names, so they cost time proportional to the result size, not to the number of pets.
+ * Typo-tolerant queries use an inverted index from each trigram of a name and its position to a compressed bitmap of the distinct names
+ * containing it there, so their cost grows with the number of distinct names rather than with the number of pets.
+ * A name within {@code k} edits of the query keeps all but at most {@code 4k} of the query trigrams, each shifted by at most {@code k} positions,
+ * so only the names found in the smallest trigram bitmaps are candidates, and only candidates sharing enough trigrams are compared
+ * with the query by edit distance. Distinct names are numbered by dense ordinals, so the bitmaps are 32-bit {@link RoaringBitmap}s.
+ */
+public class PetNameIndex implements EntityListener<Pet> {
+    private static final int GRAM_LENGTH = 3;
+    private static final int GRAMS_DESTROYED_PER_EDIT = GRAM_LENGTH + 1;
+    private static final String PADDING = "\u0000".repeat(GRAM_LENGTH - 1);
+
+    private final NavigableMap<String, NavigableSet<Long>> petIdsByName = new TreeMap<>();
+    private final Map<String, RoaringBitmap> ordinalsByPositionalTrigram = new HashMap<>();
+    private final Map<String, Integer> ordinalsByName = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private String[] names = new String[16];
+    private int ordinalCount;
+
+    @Override
+    public void onChange(Pet previous, Pet current) {
+        String previousName = previous == null ? null : normalize(previous.getName());
+        String currentName = current == null ? null : normalize(current.getName());
+        if (Objects.equals(previousName, currentName)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (previousName != null) {
+                removeName(previous.getId(), previousName);
+            }
+            if (currentName != null) {
+                addName(current.getId(), currentName);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return at most {@code limit} ids of pets whose name starts with the prefix, ordered by name and then by id
+     */
+    public List<Long> findIdsByNamePrefix(String prefix, int limit) {
+        String normalizedPrefix = normalize(prefix);
+        if (normalizedPrefix == null) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>(Math.min(limit, 16));
+            for (NavigableSet<Long> petIdsWithName : petIdsByName.subMap(normalizedPrefix, true, normalizedPrefix + Character.MAX_VALUE, true).values()) {
+                for (Long petId : petIdsWithName) {
+                    if (ids.size() == limit) {
+                        return ids;
+                    }
+                    ids.add(petId);
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the pets whose name is at most one edit away from a query of up to 8 characters, or two edits away from a longer one.
+     * An edit inserts, deletes or replaces a character, or swaps two adjacent ones.
+     *
+     * @return at most {@code limit} ids of the matching pets, closest names first, then ordered by name and by id
+     */
+    public List<Long> findIdsBySimilarName(String name, int limit) {
+        String query = normalize(name);
+        if (query == null) {
+            return List.of();
+        }
+        int maxEdits = getMaxEdits(query.length());
+        String paddedQuery = PADDING + query + PADDING;
+        int trigramCount = paddedQuery.length() - GRAM_LENGTH + 1;
+        int minSharedTrigrams = Math.max(1, trigramCount - GRAMS_DESTROYED_PER_EDIT * maxEdits);
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> bitmaps = new ArrayList<>(trigramCount);
+            for (int position = 0; position < trigramCount; position++) {
+                String trigram = paddedQuery.substring(position, position + GRAM_LENGTH);
+                RoaringBitmap bitmap = new RoaringBitmap();
+                for (int shift = -maxEdits; shift <= maxEdits; shift++) {
+                    RoaringBitmap shifted = position + shift < 0 ? null : ordinalsByPositionalTrigram.get(toKey(trigram, position + shift));
+                    if (shifted != null) {
+                        bitmap.or(shifted);
+                    }
+                }
+                bitmaps.add(bitmap);
+            }
+            bitmaps.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+            RoaringBitmap candidates = RoaringBitmap.or(bitmaps.subList(0, trigramCount - minSharedTrigrams + 1).iterator());
+            List<Match> matches = new ArrayList<>();
+            candidates.forEach((int ordinal) -> {
+                if (countContaining(bitmaps, ordinal) >= minSharedTrigrams) {
+                    int distance = getEditDistance(query, names[ordinal], maxEdits);
+                    if (distance <= maxEdits) {
+                        matches.add(new Match(names[ordinal], distance));
+                    }
+                }
+            });
+            matches.sort(Comparator.comparingInt(Match::distance).thenComparing(Match::name));
+            return matches.stream()
+                  .flatMap(match -> petIdsByName.get(match.name()).stream())
+                  .limit(limit)
+                  .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addName(Long petId, String name) {
+        NavigableSet<Long> petIds = petIdsByName.get(name);
+        if (petIds == null) {
+            petIds = new TreeSet<>();
+            petIdsByName.put(name, petIds);
+            addDistinctName(name);
+        }
+        petIds.add(petId);
+    }
+
+    private void removeName(Long petId, String name) {
+        NavigableSet<Long> petIds = petIdsByName.get(name);
+        if (petIds != null && petIds.remove(petId) && petIds.isEmpty()) {
+            petIdsByName.remove(name);
+            removeDistinctName(name);
+        }
+    }
+
+    private void addDistinctName(String name) {
+        int ordinal = freeOrdinals.isEmpty() ? ordinalCount++ : freeOrdinals.pop();
+        if (ordinal == names.length) {
+            names = Arrays.copyOf(names, ordinal * 2);
+        }
+        names[ordinal] = name;
+        ordinalsByName.put(name, ordinal);
+        forEachPositionalTrigram(name, key -> ordinalsByPositionalTrigram.computeIfAbsent(key, k -> new RoaringBitmap()).add(ordinal));
+    }
+
+    private void removeDistinctName(String name) {
+        int ordinal = ordinalsByName.remove(name);
+        forEachPositionalTrigram(name, key -> {
+            RoaringBitmap bitmap = ordinalsByPositionalTrigram.get(key);
+            if (bitmap != null) {
+                bitmap.remove(ordinal);
+                if (bitmap.isEmpty()) {
+                    ordinalsByPositionalTrigram.remove(key);
+                }
+            }
+        });
+        names[ordinal] = null;
+        freeOrdinals.push(ordinal);
+    }
+
+    private static void forEachPositionalTrigram(String name, Consumer<String> consumer) {
+        String padded = PADDING + name + PADDING;
+        for (int position = 0; position + GRAM_LENGTH <= padded.length(); position++) {
+            consumer.accept(toKey(padded.substring(position, position + GRAM_LENGTH), position));
+        }
+    }
+
+    private static String toKey(String trigram, int position) {
+        return trigram + (char) position;
+    }
+
+    private static int countContaining(List<RoaringBitmap> bitmaps, int ordinal) {
+        int count = 0;
+        for (RoaringBitmap bitmap : bitmaps) {
+            if (bitmap.contains(ordinal)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int getMaxEdits(int length) {
+        if (length <= 2) {
+            return 0;
+        }
+        return length <= 8 ? 1 : 2;
+    }
+
+    /**
+     * Optimal string alignment distance, giving up with {@code maxEdits + 1} as soon as it is certain to exceed {@code maxEdits}.
+     */
+    private static int getEditDistance(String source, String target, int maxEdits) {
+        if (Math.abs(source.length() - target.length()) > maxEdits) {
+            return maxEdits + 1;
+        }
+        int[] previousPrevious = new int[target.length() + 1];
+        int[] previous = new int[target.length() + 1];
+        int[] current = new int[target.length() + 1];
+        for (int j = 0; j <= target.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= source.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= target.length(); j++) {
+                int cost = source.charAt(i - 1) == target.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && source.charAt(i - 1) == target.charAt(j - 2) && source.charAt(i - 2) == target.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], previousPrevious[j - 2] + 1);
+                }
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[target.length()];
+    }
+
+    private static String normalize(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Match(String name, int distance) {
+    }
+}
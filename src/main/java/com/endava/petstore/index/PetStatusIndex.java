@@ -0,0 +1,43 @@
+package com.endava.petstore.index;
+
+import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.model.Pet;
+import com.endava.petstore.storage.EntityListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Secondary index from {@link PetStatus} to the ids of the pets having that status.
+ * Ids are kept sorted, so a query returns them in ascending order and costs time proportional to the result size.
+ */
+public class PetStatusIndex implements EntityListener<Pet> {
+    private final Map<PetStatus, NavigableSet<Long>> petIdsByStatus = new EnumMap<>(PetStatus.class);
+
+    public PetStatusIndex() {
+        for (PetStatus status : PetStatus.values()) {
+            petIdsByStatus.put(status, new ConcurrentSkipListSet<>());
+        }
+    }
+
+    @Override
+    public void onChange(Pet previous, Pet current) {
+        if (previous != null && previous.getStatus() != null && (current == null || previous.getStatus() != current.getStatus())) {
+            petIdsByStatus.get(previous.getStatus()).remove(previous.getId());
+        }
+        if (current != null && current.getStatus() != null) {
+            petIdsByStatus.get(current.getStatus()).add(current.getId());
+        }
+    }
+
+    public List<Long> findIdsByStatuses(PetStatus[] statuses) {
+        Set<PetStatus> distinctStatuses = EnumSet.noneOf(PetStatus.class);
+        distinctStatuses.addAll(Arrays.asList(statuses));
+        List<Long> ids = new ArrayList<>();
+        distinctStatuses.forEach(status -> ids.addAll(petIdsByStatus.get(status)));
+        if (distinctStatuses.size() > 1) {
+            Collections.sort(ids);
+        }
+        return ids;
+    }
+}
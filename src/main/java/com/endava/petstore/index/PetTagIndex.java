@@ -0,0 +1,89 @@
+package com.endava.petstore.index;
+
+import com.endava.petstore.model.Pet;
+import com.endava.petstore.model.Tag;
+import com.endava.petstore.storage.EntityListener;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Inverted index from tag name to a compressed bitmap of the ids of the pets carrying that tag.
+ * Queries for any of the given tags are answered by a bitmap union, queries for all of them by a bitmap intersection.
+ * Both return the matching ids in ascending order.
+ */
+public class PetTagIndex implements EntityListener<Pet> {
+    private final Map<String, Roaring64NavigableMap> petIdsByTag = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void onChange(Pet previous, Pet current) {
+        Set<String> previousTags = getTagNames(previous);
+        Set<String> currentTags = getTagNames(current);
+        if (previousTags.equals(currentTags)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            previousTags.stream().filter(tagName -> !currentTags.contains(tagName)).forEach(tagName -> removePetId(tagName, previous.getId()));
+            currentTags.stream().filter(tagName -> !previousTags.contains(tagName)).forEach(tagName -> petIdsByTag.computeIfAbsent(tagName, key -> new Roaring64NavigableMap()).addLong(current.getId()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long[] findIdsByAnyTag(Collection<String> tagNames) {
+        lock.readLock().lock();
+        try {
+            Roaring64NavigableMap result = new Roaring64NavigableMap();
+            tagNames.stream().distinct().map(petIdsByTag::get).filter(Objects::nonNull).forEach(result::or);
+            return result.toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long[] findIdsByAllTags(Collection<String> tagNames) {
+        lock.readLock().lock();
+        try {
+            List<Roaring64NavigableMap> bitmaps = new ArrayList<>();
+            for (String tagName : new HashSet<>(tagNames)) {
+                Roaring64NavigableMap bitmap = petIdsByTag.get(tagName);
+                if (bitmap == null) {
+                    return new long[0];
+                }
+                bitmaps.add(bitmap);
+            }
+            if (bitmaps.isEmpty()) {
+                return new long[0];
+            }
+            bitmaps.sort(Comparator.comparingLong(Roaring64NavigableMap::getLongCardinality));
+            Roaring64NavigableMap result = new Roaring64NavigableMap();
+            result.or(bitmaps.get(0));
+            bitmaps.stream().skip(1).forEach(result::and);
+            return result.toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removePetId(String tagName, Long petId) {
+        Roaring64NavigableMap bitmap = petIdsByTag.get(tagName);
+        if (bitmap != null) {
+            bitmap.removeLong(petId);
+            if (bitmap.isEmpty()) {
+                petIdsByTag.remove(tagName);
+            }
+        }
+    }
+
+    private static Set<String> getTagNames(Pet pet) {
+        if (pet == null || pet.getTags() == null) {
+            return Set.of();
+        }
+        return pet.getTags().stream().filter(Objects::nonNull).map(Tag::getName).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,41 @@
+package com.endava.petstore.index;
+
+import com.endava.petstore.exception.InvalidRequestException;
+import com.endava.petstore.model.User;
+import com.endava.petstore.storage.EntityListener;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.endava.petstore.constants.Constants.USERNAME_ALREADY_EXISTS;
+
+/**
+ * Unique index from username to user id.
+ * Claiming a username that already belongs to another user is rejected, which leaves the user store unchanged.
+ */
+public class UsernameIndex implements EntityListener<User> {
+    private final ConcurrentMap<String, Long> userIdsByUsername = new ConcurrentHashMap<>();
+
+    @Override
+    public void onChange(User previous, User current) {
+        String previousUsername = previous == null ? null : previous.getUsername();
+        String currentUsername = current == null ? null : current.getUsername();
+        if (currentUsername != null) {
+            userIdsByUsername.compute(currentUsername, (username, userId) -> {
+                if (userId != null && !userId.equals(current.getId())) {
+                    throw new InvalidRequestException(String.format(USERNAME_ALREADY_EXISTS, username));
+                }
+                return current.getId();
+            });
+        }
+        if (previousUsername != null && !Objects.equals(previousUsername, currentUsername)) {
+            userIdsByUsername.remove(previousUsername, previous.getId());
+        }
+    }
+
+    public Optional<Long> findIdByUsername(String username) {
+        return username == null ? Optional.empty() : Optional.ofNullable(userIdsByUsername.get(username));
+    }
+}
@@ -0,0 +1,30 @@
+package com.endava.petstore.model;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@ApiModel
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkImportError implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @ApiModelProperty(name = "line", dataType = "long", notes = "Number of the line in the request body, starting at 1")
+    private Long line;
+
+    @ApiModelProperty(name = "id", dataType = "long", notes = "ID of the pet on the line, if it could be read")
+    private Long id;
+
+    @ApiModelProperty(name = "message", dataType = "string")
+    private String message;
+}
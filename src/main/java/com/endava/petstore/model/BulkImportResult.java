@@ -0,0 +1,34 @@
+package com.endava.petstore.model;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+@ApiModel
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkImportResult implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @ApiModelProperty(name = "received", dataType = "long", notes = "Number of non-blank lines read")
+    private Long received;
+
+    @ApiModelProperty(name = "imported", dataType = "long")
+    private Long imported;
+
+    @ApiModelProperty(name = "failed", dataType = "long")
+    private Long failed;
+
+    @ApiModelProperty(name = "errors", notes = "Errors of the first 1000 lines that failed, in line order")
+    private List<BulkImportError> errors;
+}
@@ -0,0 +1,37 @@
+package com.endava.petstore.model;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Map;
+
+@ApiModel
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImageMetadata implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @ApiModelProperty(name = "hash", dataType = "string")
+    private String hash;
+
+    @ApiModelProperty(name = "format", dataType = "string")
+    private String format;
+
+    @ApiModelProperty(name = "width", dataType = "int")
+    private Integer width;
+
+    @ApiModelProperty(name = "height", dataType = "int")
+    private Integer height;
+
+    @ApiModelProperty(name = "thumbnails", notes = "Hashes of the thumbnails by the size of the box they fit in")
+    private Map<Integer, String> thumbnails;
+}
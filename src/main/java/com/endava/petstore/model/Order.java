@@ -5,7 +5,9 @@ import io.swagger.annotations.ApiModelProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.With;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import javax.validation.constraints.NotNull;
@@ -15,10 +17,10 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
-public class Order implements Serializable {
+public class Order implements Serializable, Versioned<Order> {
     @Serial
     private static final long serialVersionUID = 1L;
 
@@ -45,4 +47,9 @@ public class Order implements Serializable {
 
     @ApiModelProperty(name = "complete", dataType = "boolean")
     private Boolean complete;
+
+    @ApiModelProperty(name = "version", dataType = "long", value = "Assigned by the store on every change", accessMode = ApiModelProperty.AccessMode.READ_ONLY)
+    @EqualsAndHashCode.Exclude
+    @With
+    private Long version;
 }
@@ -0,0 +1,17 @@
+package com.endava.petstore.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class Page<T> {
+    private List<T> content;
+    private String nextPageToken;
+}
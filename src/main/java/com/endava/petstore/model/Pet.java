@@ -5,7 +5,9 @@ import io.swagger.annotations.ApiModelProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.With;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -16,10 +18,10 @@ import java.io.Serializable;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
-public class Pet implements Serializable {
+public class Pet implements Serializable, Versioned<Pet> {
     @Serial
     private static final long serialVersionUID = 1L;
 
@@ -47,4 +49,9 @@ public class Pet implements Serializable {
     @ApiModelProperty(name = "status", dataType = "string", value = "status in the store")
     @NotNull(message = "Pet status must not be null")
     private PetStatus status;
+
+    @ApiModelProperty(name = "version", dataType = "long", value = "Assigned by the store on every change", accessMode = ApiModelProperty.AccessMode.READ_ONLY)
+    @EqualsAndHashCode.Exclude
+    @With
+    private Long version;
 }
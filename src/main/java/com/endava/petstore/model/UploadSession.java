@@ -0,0 +1,40 @@
+package com.endava.petstore.model;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+@ApiModel
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UploadSession implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @ApiModelProperty(name = "id", dataType = "string")
+    private String id;
+
+    @ApiModelProperty(name = "petId", dataType = "long")
+    private Long petId;
+
+    @ApiModelProperty(name = "size", dataType = "long", notes = "Size of the file in bytes")
+    private Long size;
+
+    @ApiModelProperty(name = "hash", dataType = "string", notes = "Hex SHA-256 hash the file must have, if given when the upload was initiated")
+    private String hash;
+
+    @ApiModelProperty(name = "receivedBytes", dataType = "long")
+    private Long receivedBytes;
+
+    @ApiModelProperty(name = "receivedRanges", notes = "Inclusive byte ranges received so far, such as 0-1048575")
+    private List<String> receivedRanges;
+}
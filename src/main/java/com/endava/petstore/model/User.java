@@ -4,17 +4,19 @@ import io.swagger.annotations.ApiModelProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.With;
 
 import javax.validation.constraints.*;
 import java.io.Serial;
 import java.io.Serializable;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
-public class User implements Serializable {
+public class User implements Serializable, Versioned<User> {
     @Serial
     private static final long serialVersionUID = 1L;
 
@@ -87,4 +89,9 @@ public class User implements Serializable {
 
     @ApiModelProperty(name = "isLoggedIn", dataType = "boolean")
     private boolean isLoggedIn = false;
+
+    @ApiModelProperty(name = "version", dataType = "long", value = "Assigned by the store on every change", accessMode = ApiModelProperty.AccessMode.READ_ONLY)
+    @EqualsAndHashCode.Exclude
+    @With
+    private Long version;
 }
@@ -0,0 +1,22 @@
+package com.endava.petstore.model;
+
+/**
+ * An entity whose every stored revision carries its own version, assigned by the store it is saved in.
+ * Versions only ever increase, so a client can tell whether the entity it holds is still current by its version alone.
+ *
+ * @param <T> the entity type
+ */
+public interface Versioned<T> {
+
+    /**
+     * @return the id the entity is stored under
+     */
+    Long getId();
+
+    Long getVersion();
+
+    /**
+     * @return a copy of this entity with the given version
+     */
+    T withVersion(Long version);
+}
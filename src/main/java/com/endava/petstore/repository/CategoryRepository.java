@@ -0,0 +1,35 @@
+package com.endava.petstore.repository;
+
+import com.endava.petstore.model.Category;
+
+import java.util.List;
+
+public interface CategoryRepository {
+
+    List<Category> findAll();
+
+    Category findById(Long id);
+
+    /**
+     * Registers the category in the catalog unless it is already there.
+     *
+     * @return the shared instance stored in the catalog
+     */
+    Category save(Category category);
+
+    /**
+     * Registers the category of a pet in the catalog unless its id is already there.
+     *
+     * @return the shared instance stored in the catalog if it is equal to the category, otherwise the category itself
+     */
+    Category share(Category category);
+
+    /**
+     * Replaces the catalog entry with the id of the category. Pets saved before keep the category they were saved with.
+     */
+    Category update(Category category);
+
+    void deleteById(Long id);
+
+    void deleteAll();
+}
@@ -0,0 +1,80 @@
+package com.endava.petstore.repository;
+
+import com.endava.petstore.exception.InvalidRequestException;
+import com.endava.petstore.exception.ResourceNotFoundException;
+import com.endava.petstore.model.Category;
+import com.endava.petstore.storage.EntityStore;
+import com.endava.petstore.storage.PersistenceManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+
+import static com.endava.petstore.constants.Constants.*;
+
+/**
+ * Catalog holding every category once, so all pets referring to the same category share a single instance.
+ * Saving a category whose id is already taken returns the existing instance if it is equal, and is rejected otherwise;
+ * entries are only replaced or removed explicitly, through {@link #update(Category)} and {@link #deleteById(Long)}.
+ * Pets keep the instance they were saved with, so a pet whose category differs from the catalog entry with the same id,
+ * because it was saved so or because the entry was changed since, keeps its own copy.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CategoryRepositoryImpl implements CategoryRepository {
+    private final EntityStore<Category> categories = new EntityStore<>();
+    private final PersistenceManager persistenceManager;
+
+    @PostConstruct
+    private void recoverCategories() {
+        persistenceManager.recover(categories, "categories", Category.class, Category::getId);
+    }
+
+    @Override
+    public List<Category> findAll() {
+        return categories.findAll();
+    }
+
+    @Override
+    public Category findById(Long id) {
+        return categories.findById(id).orElseThrow(() -> new ResourceNotFoundException(String.format(CATEGORY_NOT_FOUND, id)));
+    }
+
+    @Override
+    public Category save(Category category) {
+        if (category.getId() == null) {
+            throw new InvalidRequestException(CATEGORY_ID_REQUIRED);
+        }
+        Category shared = categories.saveIfAbsent(category.getId(), category);
+        if (!shared.equals(category)) {
+            throw new InvalidRequestException(String.format(CATEGORY_ALREADY_EXISTS, category.getId(), shared.getName()));
+        }
+        return shared;
+    }
+
+    @Override
+    public Category share(Category category) {
+        Category shared = categories.saveIfAbsent(category.getId(), category);
+        return shared.equals(category) ? shared : category;
+    }
+
+    @Override
+    public Category update(Category category) {
+        if (category.getId() == null) {
+            throw new InvalidRequestException(CATEGORY_ID_REQUIRED);
+        }
+        return categories.update(category.getId(), existing -> category)
+              .orElseThrow(() -> new ResourceNotFoundException(String.format(CATEGORY_NOT_FOUND, category.getId())));
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        categories.deleteById(id).orElseThrow(() -> new ResourceNotFoundException(String.format(CATEGORY_NOT_FOUND, id)));
+    }
+
+    @Override
+    public void deleteAll() {
+        categories.deleteAll();
+    }
+}
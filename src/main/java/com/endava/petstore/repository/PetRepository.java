@@ -2,20 +2,39 @@ package com.endava.petstore.repository;
 
 import com.endava.petstore.enums.PetStatus;
 import com.endava.petstore.model.HttpResponse;
+import com.endava.petstore.model.ImageMetadata;
 import com.endava.petstore.model.Pet;
+import com.endava.petstore.model.UploadSession;
+import com.endava.petstore.storage.EntityListener;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public interface PetRepository {
 
     List<Pet> findAll();
 
+    List<Pet> findAll(Long afterId, int limit);
+
+    Stream<Pet> streamAll();
+
     Pet findById(Long id);
 
     Pet save(Pet pet);
 
-    Pet update(Pet pet);
+    /**
+     * Saves the pets as {@link #save(Pet)} does, waiting for them to be durable only once for the whole list.
+     */
+    void saveAll(List<Pet> pets);
+
+    /**
+     * @param version the version the pet must still be at, or {@code null} to update it at any version
+     */
+    Pet update(Pet pet, Long version);
 
     void deleteById(Long id);
 
@@ -23,9 +42,57 @@ public interface PetRepository {
 
     List<Pet> findByTags(List<String> tagNames);
 
+    List<Pet> findByAllTags(List<String> tagNames);
+
+    List<Pet> findByCategory(Long categoryId, Long afterId, int limit);
+
+    List<Pet> findByNamePrefix(String prefix, int limit);
+
+    List<Pet> findBySimilarName(String name, int limit);
+
     HttpResponse updateWithFormData(Long id, String name, String status);
 
+    /**
+     * Changes the status of every pet matching all the given criteria, a {@code null} or empty criterion matching any pet.
+     * Without any criterion no pet matches.
+     */
+    HttpResponse updateStatusWhere(PetStatus[] statuses, List<String> tagNames, Long categoryId, PetStatus status);
+
+    /**
+     * Deletes every pet matching all the given criteria, a {@code null} or empty criterion matching any pet.
+     * Without any criterion no pet matches.
+     */
+    HttpResponse deleteWhere(PetStatus[] statuses, List<String> tagNames, Long categoryId);
+
     HttpResponse uploadImage(Long id, String additionalMetadata, MultipartFile file);
 
+    Path findImage(Long id, String hash);
+
+    ImageMetadata findImageMetadata(Long id, String hash);
+
+    Path findThumbnail(Long id, String hash, Integer size);
+
+    UploadSession createUpload(Long id, Long size, String hash);
+
+    UploadSession findUpload(Long id, String uploadId);
+
+    UploadSession writeUploadChunk(Long id, String uploadId, Long offset, InputStream content);
+
+    HttpResponse completeUpload(Long id, String uploadId, String additionalMetadata);
+
+    void abortUpload(Long id, String uploadId);
+
+    Map<String, Integer> countByStatus();
+
+    /**
+     * @return a number that increases after every change of any pet, so results derived from the pets can be cached until it does
+     */
+    long getWriteVersion();
+
+    /**
+     * Registers a listener notified of every change of a pet, while the change is applied, after the repository's own indexes.
+     */
+    void addListener(EntityListener<Pet> listener);
+
     void deleteAll();
 }
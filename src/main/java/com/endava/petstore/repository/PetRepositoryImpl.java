@@ -1,124 +1,337 @@
 package com.endava.petstore.repository;
 
 import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.exception.InvalidRequestException;
 import com.endava.petstore.exception.ResourceNotFoundException;
+import com.endava.petstore.image.ImagePipeline;
+import com.endava.petstore.index.KeyFilter;
+import com.endava.petstore.index.PetCategoryIndex;
+import com.endava.petstore.index.PetInventoryCounter;
+import com.endava.petstore.index.PetNameIndex;
+import com.endava.petstore.index.PetStatusIndex;
+import com.endava.petstore.index.PetTagIndex;
 import com.endava.petstore.model.Category;
 import com.endava.petstore.model.HttpResponse;
+import com.endava.petstore.model.ImageMetadata;
 import com.endava.petstore.model.Pet;
 import com.endava.petstore.model.Tag;
+import com.endava.petstore.model.UploadSession;
+import com.endava.petstore.storage.BlobStore;
+import com.endava.petstore.storage.EntityListener;
+import com.endava.petstore.storage.EntityStore;
+import com.endava.petstore.storage.PersistenceManager;
+import com.endava.petstore.storage.UploadStore;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Repository;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.annotation.PostConstruct;
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
 
 import static com.endava.petstore.constants.Constants.*;
 
 @Repository
+@RequiredArgsConstructor
 public class PetRepositoryImpl implements PetRepository {
-    private final Map<Long, Pet> pets = new HashMap<>();
+    private final PetStatusIndex statusIndex = new PetStatusIndex();
+    private final PetTagIndex tagIndex = new PetTagIndex();
+    private final PetCategoryIndex categoryIndex = new PetCategoryIndex();
+    private final PetNameIndex nameIndex = new PetNameIndex();
+    private final PetInventoryCounter inventoryCounter = new PetInventoryCounter();
+    private final KeyFilter<Pet> idFilter = new KeyFilter<>(Pet::getId, () -> this.pets.stream());
+    private final EntityStore<Pet> pets = new EntityStore<>(statusIndex, tagIndex, categoryIndex, nameIndex, inventoryCounter, idFilter);
+    private final PersistenceManager persistenceManager;
+    private final CategoryRepository categoryRepository;
+    private final TagRepository tagRepository;
+    private final BlobStore blobStore;
+    private final ImagePipeline imagePipeline;
+    private final UploadStore uploadStore;
 
     @PostConstruct
-    private void initializePets() {
-        Pet pet1 = Pet.builder()
-              .id(1L)
-              .name("Pet1")
-              .category(Category.builder().id(1L).name("Category1").build())
-              .photoUrls(List.of("https://www.petstore.com/image1.png", "https://www.petstore.com/image2.png"))
-              .tags(List.of(
-                    Tag.builder().id(1L).name("Tag1").build(),
-                    Tag.builder().id(2L).name("Tag2").build()))
-              .status(PetStatus.AVAILABLE)
-              .build();
-        pets.put(pet1.getId(), pet1);
-        Pet pet2 = Pet.builder()
-              .id(2L)
-              .name("Pet2")
-              .category(Category.builder().id(2L).name("Category2").build())
-              .photoUrls(List.of("https://www.petstore.com/image3.png", "https://www.petstore.com/image4.png"))
-              .tags(List.of(
-                    Tag.builder().id(3L).name("Tag3").build(),
-                    Tag.builder().id(4L).name("Tag4").build()))
-              .status(PetStatus.PENDING)
-              .build();
-        pets.put(pet2.getId(), pet2);
-        Pet pet3 = Pet.builder()
-              .id(3L)
-              .name("Pet3")
-              .category(Category.builder().id(3L).name("Category3").build())
-              .photoUrls(List.of("https://www.petstore.com/image5.png", "https://www.petstore.com/image6.png"))
-              .tags(List.of(
-                    Tag.builder().id(5L).name("Tag5").build(),
-                    Tag.builder().id(6L).name("Tag6").build()))
-              .status(PetStatus.SOLD)
-              .build();
-        pets.put(pet3.getId(), pet3);
+    private void recoverPets() {
+        persistenceManager.recover(pets, "pets", Pet.class, Pet::getId, this::shareReferences);
     }
 
     @Override
     public List<Pet> findAll() {
-        return new ArrayList<>(pets.values());
+        return pets.findAll();
+    }
+
+    @Override
+    public List<Pet> findAll(Long afterId, int limit) {
+        return pets.findAll(afterId, limit);
+    }
+
+    @Override
+    public Stream<Pet> streamAll() {
+        return pets.stream();
     }
 
     @Override
     public Pet findById(Long id) {
-        return findAll().stream().filter(pet -> pet.getId().equals(id)).findFirst().orElseThrow(() -> new ResourceNotFoundException(String.format(PET_NOT_FOUND, id)));
+        if (!idFilter.mightContain(id)) {
+            throw new ResourceNotFoundException(String.format(PET_NOT_FOUND, id));
+        }
+        return pets.findById(id).orElseThrow(() -> new ResourceNotFoundException(String.format(PET_NOT_FOUND, id)));
     }
 
     @Override
     public Pet save(Pet pet) {
-        return pets.compute(pet.getId(), (key, value) -> pet);
+        checkId(pet);
+        return pets.save(pet.getId(), shareReferences(pet));
     }
 
+    /**
+     * Checks the ids of all the pets before saving any of them.
+     */
     @Override
-    public Pet update(Pet pet) {
-        Pet petToUpdate = findById(pet.getId());
-        petToUpdate.setName(pet.getName());
-        petToUpdate.setCategory(pet.getCategory());
-        petToUpdate.setPhotoUrls(pet.getPhotoUrls());
-        petToUpdate.setTags(pet.getTags());
-        petToUpdate.setStatus(pet.getStatus());
-        return petToUpdate;
+    public void saveAll(List<Pet> petsToSave) {
+        petsToSave.forEach(PetRepositoryImpl::checkId);
+        pets.saveAll(petsToSave.stream().map(this::shareReferences).toList(), Pet::getId);
+    }
+
+    @Override
+    public Pet update(Pet pet, Long version) {
+        Pet sharedPet = shareReferences(pet);
+        return pets.update(pet.getId(), version, petToUpdate -> petToUpdate.toBuilder()
+              .name(sharedPet.getName())
+              .category(sharedPet.getCategory())
+              .photoUrls(sharedPet.getPhotoUrls())
+              .tags(sharedPet.getTags())
+              .status(sharedPet.getStatus())
+              .build()).orElseThrow(() -> new ResourceNotFoundException(String.format(PET_NOT_FOUND, pet.getId())));
     }
 
     @Override
     public void deleteById(Long id) {
-        Pet petToDelete = findById(id);
-        pets.remove(petToDelete.getId());
+        pets.deleteById(id).orElseThrow(() -> new ResourceNotFoundException(String.format(PET_NOT_FOUND, id)));
     }
 
     @Override
     public List<Pet> findByStatuses(PetStatus[] statuses) {
-        List<String> statusList = Arrays.stream(statuses).map(Enum::name).toList();
-        return findAll().stream().filter(pet -> statusList.contains(pet.getStatus().name())).toList();
+        return statusIndex.findIdsByStatuses(statuses).stream().map(pets::findById).flatMap(Optional::stream).toList();
     }
 
     @Override
     public List<Pet> findByTags(List<String> tagNames) {
-        return findAll().stream().filter(pet -> pet.getTags().stream().map(Tag::getName).anyMatch(tagNames::contains)).toList();
+        return findAllByIds(tagIndex.findIdsByAnyTag(tagNames));
+    }
+
+    @Override
+    public List<Pet> findByAllTags(List<String> tagNames) {
+        return findAllByIds(tagIndex.findIdsByAllTags(tagNames));
+    }
+
+    @Override
+    public List<Pet> findByCategory(Long categoryId, Long afterId, int limit) {
+        return categoryIndex.findIdsByCategory(categoryId, afterId, limit).stream().map(pets::findById).flatMap(Optional::stream).toList();
+    }
+
+    @Override
+    public List<Pet> findByNamePrefix(String prefix, int limit) {
+        return nameIndex.findIdsByNamePrefix(prefix, limit).stream().map(pets::findById).flatMap(Optional::stream).toList();
+    }
+
+    @Override
+    public List<Pet> findBySimilarName(String name, int limit) {
+        return nameIndex.findIdsBySimilarName(name, limit).stream().map(pets::findById).flatMap(Optional::stream).toList();
     }
 
     @Override
     public HttpResponse updateWithFormData(Long id, String name, String status) {
-        Pet pet = findById(id);
-        pet.setName(name);
-        pet.setStatus(PetStatus.valueOf(status));
+        pets.update(id, pet -> pet.toBuilder().name(name).status(PetStatus.valueOf(status)).build())
+              .orElseThrow(() -> new ResourceNotFoundException(String.format(PET_NOT_FOUND, id)));
         return new HttpResponse(HttpStatus.OK.value(), "unknown", String.format(PET_UPDATED, id));
     }
 
+    /**
+     * Finds the matching pets through the indexes and updates them in batches, taking the lock of each map segment once per batch
+     * and waiting for the journal once per batch. The criteria are checked again under the lock, so a pet changed in the meantime
+     * is left alone if it no longer matches.
+     */
+    @Override
+    public HttpResponse updateStatusWhere(PetStatus[] statuses, List<String> tagNames, Long categoryId, PetStatus status) {
+        Predicate<Pet> criteria = getCriteria(statuses, tagNames, categoryId);
+        int updated = forEachBatch(findIdsWhere(statuses, tagNames, categoryId), batch -> pets.updateAll(batch,
+              pet -> criteria.test(pet) && pet.getStatus() != status ? pet.toBuilder().status(status).build() : pet));
+        return new HttpResponse(HttpStatus.OK.value(), "unknown", String.format(PETS_UPDATED, updated, status));
+    }
+
+    /**
+     * Deletes the matching pets in batches, the same way {@link #updateStatusWhere} updates them.
+     */
+    @Override
+    public HttpResponse deleteWhere(PetStatus[] statuses, List<String> tagNames, Long categoryId) {
+        Predicate<Pet> criteria = getCriteria(statuses, tagNames, categoryId);
+        int deleted = forEachBatch(findIdsWhere(statuses, tagNames, categoryId), batch -> pets.deleteAll(batch, criteria));
+        return new HttpResponse(HttpStatus.OK.value(), "unknown", String.format(PETS_DELETED, deleted));
+    }
+
     @Override
     public HttpResponse uploadImage(Long id, String additionalMetadata, MultipartFile file) {
-        Pet pet = findById(id);
-        List<String> photoUrls = new ArrayList<>(pet.getPhotoUrls());
-        photoUrls.add(String.format("https://www.petstore.com/%s", file.getOriginalFilename()));
-        pet.setPhotoUrls(photoUrls);
-        save(pet);
-        return new HttpResponse(HttpStatus.OK.value(), "unknown", String.format(PET_UPLOADED_IMAGE, additionalMetadata, file.getOriginalFilename(), file.getSize()));
+        findById(id);
+        String hash = blobStore.store(file);
+        addImage(id, hash);
+        return new HttpResponse(HttpStatus.OK.value(), "unknown", String.format(PET_UPLOADED_IMAGE, additionalMetadata, hash, file.getSize()));
+    }
+
+    @Override
+    public UploadSession createUpload(Long id, Long size, String hash) {
+        findById(id);
+        return uploadStore.create(id, size, hash);
+    }
+
+    @Override
+    public UploadSession findUpload(Long id, String uploadId) {
+        return uploadStore.find(id, uploadId);
+    }
+
+    @Override
+    public UploadSession writeUploadChunk(Long id, String uploadId, Long offset, InputStream content) {
+        return uploadStore.write(id, uploadId, offset, content);
+    }
+
+    @Override
+    public HttpResponse completeUpload(Long id, String uploadId, String additionalMetadata) {
+        findById(id);
+        long size = uploadStore.find(id, uploadId).getSize();
+        String hash = uploadStore.complete(id, uploadId);
+        addImage(id, hash);
+        return new HttpResponse(HttpStatus.OK.value(), "unknown", String.format(PET_UPLOADED_IMAGE, additionalMetadata, hash, size));
+    }
+
+    @Override
+    public void abortUpload(Long id, String uploadId) {
+        uploadStore.abort(id, uploadId);
+    }
+
+    @Override
+    public Path findImage(Long id, String hash) {
+        if (!findById(id).getPhotoUrls().contains(hash)) {
+            throw new ResourceNotFoundException(String.format(PET_IMAGE_NOT_FOUND, hash, id));
+        }
+        return blobStore.find(hash).orElseThrow(() -> new ResourceNotFoundException(String.format(PET_IMAGE_NOT_FOUND, hash, id)));
+    }
+
+    @Override
+    public ImageMetadata findImageMetadata(Long id, String hash) {
+        findImage(id, hash);
+        return imagePipeline.findMetadata(hash).orElseThrow(() -> new ResourceNotFoundException(String.format(PET_IMAGE_METADATA_NOT_FOUND, hash, id)));
+    }
+
+    @Override
+    public Path findThumbnail(Long id, String hash, Integer size) {
+        return Optional.ofNullable(findImageMetadata(id, hash).getThumbnails().get(size))
+              .flatMap(blobStore::find)
+              .orElseThrow(() -> new ResourceNotFoundException(String.format(PET_THUMBNAIL_NOT_FOUND, size, hash, id)));
+    }
+
+    @Override
+    public Map<String, Integer> countByStatus() {
+        return inventoryCounter.getInventory();
+    }
+
+    @Override
+    public long getWriteVersion() {
+        return pets.getWriteVersion();
+    }
+
+    @Override
+    public void addListener(EntityListener<Pet> listener) {
+        pets.addListener(listener);
     }
 
     @Override
     public void deleteAll() {
-        pets.clear();
+        pets.deleteAll();
+    }
+
+    private void addImage(Long id, String hash) {
+        pets.update(id, pet -> {
+            List<String> photoUrls = new ArrayList<>(pet.getPhotoUrls());
+            photoUrls.add(hash);
+            return pet.toBuilder().photoUrls(photoUrls).build();
+        }).orElseThrow(() -> new ResourceNotFoundException(String.format(PET_NOT_FOUND, id)));
+        imagePipeline.submit(hash);
+    }
+
+    /**
+     * Replaces the category and tags of the pet by the shared instances of their catalogs,
+     * registering the ones the catalogs do not know yet.
+     */
+    private static void checkId(Pet pet) {
+        if (pet.getId() == null) {
+            throw new InvalidRequestException(PET_ID_REQUIRED);
+        }
+    }
+
+    private Pet shareReferences(Pet pet) {
+        Category category = pet.getCategory() == null || pet.getCategory().getId() == null ? pet.getCategory() : categoryRepository.share(pet.getCategory());
+        List<Tag> tags = pet.getTags() == null ? null : pet.getTags().stream()
+              .map(tag -> tag == null || tag.getId() == null ? tag : tagRepository.share(tag))
+              .toList();
+        return pet.toBuilder().category(category).tags(tags).build();
+    }
+
+    /**
+     * @return the ids of the pets matching all the criteria in ascending order, found by intersecting the ids the indexes
+     * hold for each criterion, starting with the smallest set
+     */
+    private long[] findIdsWhere(PetStatus[] statuses, List<String> tagNames, Long categoryId) {
+        List<long[]> candidates = new ArrayList<>(3);
+        if (statuses != null && statuses.length > 0) {
+            candidates.add(statusIndex.findIdsByStatuses(statuses).stream().mapToLong(Long::longValue).toArray());
+        }
+        if (tagNames != null && !tagNames.isEmpty()) {
+            candidates.add(tagIndex.findIdsByAnyTag(tagNames));
+        }
+        if (categoryId != null) {
+            candidates.add(categoryIndex.findIdsByCategory(categoryId));
+        }
+        candidates.sort(Comparator.comparingInt(ids -> ids.length));
+        return candidates.stream().reduce(PetRepositoryImpl::intersect).orElse(new long[0]);
+    }
+
+    private static Predicate<Pet> getCriteria(PetStatus[] statuses, List<String> tagNames, Long categoryId) {
+        Set<PetStatus> statusSet = statuses == null || statuses.length == 0 ? null : EnumSet.copyOf(Arrays.asList(statuses));
+        Set<String> tagNameSet = tagNames == null || tagNames.isEmpty() ? null : new HashSet<>(tagNames);
+        return pet -> (statusSet == null || statusSet.contains(pet.getStatus()))
+              && (tagNameSet == null || (pet.getTags() != null && pet.getTags().stream().anyMatch(tag -> tag != null && tagNameSet.contains(tag.getName()))))
+              && (categoryId == null || (pet.getCategory() != null && categoryId.equals(pet.getCategory().getId())));
+    }
+
+    private static long[] intersect(long[] first, long[] second) {
+        long[] result = new long[Math.min(first.length, second.length)];
+        int size = 0;
+        for (int i = 0, j = 0; i < first.length && j < second.length; ) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[size++] = first[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static int forEachBatch(long[] ids, ToIntFunction<long[]> operation) {
+        int count = 0;
+        for (int from = 0; from < ids.length; from += BULK_BATCH_SIZE) {
+            count += operation.applyAsInt(Arrays.copyOfRange(ids, from, Math.min(ids.length, from + BULK_BATCH_SIZE)));
+        }
+        return count;
+    }
+
+    private List<Pet> findAllByIds(long[] ids) {
+        return Arrays.stream(ids).mapToObj(pets::findById).flatMap(Optional::stream).toList();
     }
 }
@@ -1,23 +1,42 @@
 package com.endava.petstore.repository;
 
 import com.endava.petstore.model.Order;
+import com.endava.petstore.storage.EntityListener;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 public interface StoreRepository {
 
     List<Order> findAllOrders();
 
+    List<Order> findAllOrders(Long afterId, int limit);
+
+    Stream<Order> streamAllOrders();
+
     Order findOrderById(Long id);
 
     Order saveOrder(Order order);
 
-    Order updateOrder(Order order);
+    /**
+     * @param version the version the order must still be at, or {@code null} to update it at any version
+     */
+    Order updateOrder(Order order, Long version);
 
     void deleteOrderById(Long id);
 
     Map<String, Integer> getInventoryByStatus();
 
+    /**
+     * @return a number that increases after every change of any order, so results derived from the orders can be cached until it does
+     */
+    long getWriteVersion();
+
+    /**
+     * Registers a listener notified of every change of an order, while the change is applied, after the repository's own indexes.
+     */
+    void addListener(EntityListener<Order> listener);
+
     void deleteAllOrders();
 }
@@ -1,103 +1,102 @@
 package com.endava.petstore.repository;
 
-import com.endava.petstore.enums.OrderStatus;
-import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.exception.InvalidRequestException;
 import com.endava.petstore.exception.ResourceNotFoundException;
+import com.endava.petstore.index.KeyFilter;
 import com.endava.petstore.model.Order;
+import com.endava.petstore.storage.EntityListener;
+import com.endava.petstore.storage.EntityStore;
+import com.endava.petstore.storage.PersistenceManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import javax.annotation.PostConstruct;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
+import static com.endava.petstore.constants.Constants.ORDER_ID_REQUIRED;
 import static com.endava.petstore.constants.Constants.ORDER_NOT_FOUND;
 
 @Repository
 @RequiredArgsConstructor
 public class StoreRepositoryImpl implements StoreRepository {
     private final PetRepository petRepository;
-    private final Map<Long, Order> orders = new HashMap<>();
+    private final PersistenceManager persistenceManager;
+    private final KeyFilter<Order> idFilter = new KeyFilter<>(Order::getId, () -> this.orders.stream());
+    private final EntityStore<Order> orders = new EntityStore<>(idFilter);
 
     @PostConstruct
-    public void initializeOrders() {
-        Order order1 = Order.builder()
-              .id(1L)
-              .petId(1L)
-              .quantity(2)
-              .shipDate(LocalDateTime.of(2000, 1, 1, 0, 0, 0))
-              .status(OrderStatus.PLACED)
-              .complete(false)
-              .build();
-        orders.put(order1.getId(), order1);
-        Order order2 = Order.builder()
-              .id(2L)
-              .petId(2L)
-              .quantity(2)
-              .shipDate(LocalDateTime.of(2000, 1, 2, 0, 0, 0))
-              .status(OrderStatus.APPROVED)
-              .complete(false)
-              .build();
-        orders.put(order2.getId(), order2);
-        Order order3 = Order.builder()
-              .id(3L)
-              .petId(3L)
-              .quantity(2)
-              .shipDate(LocalDateTime.of(2000, 1, 3, 0, 0, 0))
-              .status(OrderStatus.DELIVERED)
-              .complete(true)
-              .build();
-        orders.put(order3.getId(), order3);
+    private void recoverOrders() {
+        persistenceManager.recover(orders, "orders", Order.class, Order::getId);
     }
 
     @Override
     public List<Order> findAllOrders() {
-        return new ArrayList<>(orders.values());
+        return orders.findAll();
+    }
+
+    @Override
+    public List<Order> findAllOrders(Long afterId, int limit) {
+        return orders.findAll(afterId, limit);
+    }
+
+    @Override
+    public Stream<Order> streamAllOrders() {
+        return orders.stream();
     }
 
     @Override
     public Order findOrderById(Long id) {
-        return findAllOrders().stream().filter(order -> order.getId().equals(id)).findFirst().orElseThrow(() -> new ResourceNotFoundException(String.format(ORDER_NOT_FOUND, id)));
+        if (!idFilter.mightContain(id)) {
+            throw new ResourceNotFoundException(String.format(ORDER_NOT_FOUND, id));
+        }
+        return orders.findById(id).orElseThrow(() -> new ResourceNotFoundException(String.format(ORDER_NOT_FOUND, id)));
     }
 
     @Override
     public Order saveOrder(Order order) {
+        if (order.getId() == null) {
+            throw new InvalidRequestException(ORDER_ID_REQUIRED);
+        }
         petRepository.findById(order.getPetId());
-        return orders.compute(order.getId(), (key, value) -> order);
+        return orders.save(order.getId(), order);
     }
 
     @Override
-    public Order updateOrder(Order order) {
+    public Order updateOrder(Order order, Long version) {
         petRepository.findById(order.getPetId());
-        Order orderToUpdate = findOrderById(order.getId());
-        orderToUpdate.setPetId(order.getPetId());
-        orderToUpdate.setQuantity(order.getQuantity());
-        orderToUpdate.setShipDate(order.getShipDate());
-        orderToUpdate.setStatus(order.getStatus());
-        orderToUpdate.setComplete(order.getComplete());
-        return orderToUpdate;
+        return orders.update(order.getId(), version, orderToUpdate -> orderToUpdate.toBuilder()
+              .petId(order.getPetId())
+              .quantity(order.getQuantity())
+              .shipDate(order.getShipDate())
+              .status(order.getStatus())
+              .complete(order.getComplete())
+              .build()).orElseThrow(() -> new ResourceNotFoundException(String.format(ORDER_NOT_FOUND, order.getId())));
     }
 
     @Override
     public void deleteOrderById(Long id) {
-        Order orderToDelete = findOrderById(id);
-        orders.remove(orderToDelete.getId());
+        orders.deleteById(id).orElseThrow(() -> new ResourceNotFoundException(String.format(ORDER_NOT_FOUND, id)));
     }
 
     @Override
     public Map<String, Integer> getInventoryByStatus() {
-        Map<String, Integer> inventory = new HashMap<>();
-        for (PetStatus status : PetStatus.values()) {
-            inventory.put(status.name(), petRepository.findByStatuses(new PetStatus[]{status}).size());
-        }
-        return inventory;
+        return petRepository.countByStatus();
+    }
+
+    @Override
+    public long getWriteVersion() {
+        return orders.getWriteVersion();
+    }
+
+    @Override
+    public void addListener(EntityListener<Order> listener) {
+        orders.addListener(listener);
     }
 
     @Override
     public void deleteAllOrders() {
-        orders.clear();
+        orders.deleteAll();
     }
 }
@@ -0,0 +1,35 @@
+package com.endava.petstore.repository;
+
+import com.endava.petstore.model.Tag;
+
+import java.util.List;
+
+public interface TagRepository {
+
+    List<Tag> findAll();
+
+    Tag findById(Long id);
+
+    /**
+     * Registers the tag in the catalog unless it is already there.
+     *
+     * @return the shared instance stored in the catalog
+     */
+    Tag save(Tag tag);
+
+    /**
+     * Registers the tag of a pet in the catalog unless its id is already there.
+     *
+     * @return the shared instance stored in the catalog if it is equal to the tag, otherwise the tag itself
+     */
+    Tag share(Tag tag);
+
+    /**
+     * Replaces the catalog entry with the id of the tag. Pets saved before keep the tag they were saved with.
+     */
+    Tag update(Tag tag);
+
+    void deleteById(Long id);
+
+    void deleteAll();
+}
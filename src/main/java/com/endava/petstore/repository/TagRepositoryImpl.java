@@ -0,0 +1,80 @@
+package com.endava.petstore.repository;
+
+import com.endava.petstore.exception.InvalidRequestException;
+import com.endava.petstore.exception.ResourceNotFoundException;
+import com.endava.petstore.model.Tag;
+import com.endava.petstore.storage.EntityStore;
+import com.endava.petstore.storage.PersistenceManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+
+import static com.endava.petstore.constants.Constants.*;
+
+/**
+ * Catalog holding every tag once, so all pets referring to the same tag share a single instance.
+ * Saving a tag whose id is already taken returns the existing instance if it is equal, and is rejected otherwise;
+ * entries are only replaced or removed explicitly, through {@link #update(Tag)} and {@link #deleteById(Long)}.
+ * Pets keep the instance they were saved with, so a pet whose tag differs from the catalog entry with the same id,
+ * because it was saved so or because the entry was changed since, keeps its own copy.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TagRepositoryImpl implements TagRepository {
+    private final EntityStore<Tag> tags = new EntityStore<>();
+    private final PersistenceManager persistenceManager;
+
+    @PostConstruct
+    private void recoverTags() {
+        persistenceManager.recover(tags, "tags", Tag.class, Tag::getId);
+    }
+
+    @Override
+    public List<Tag> findAll() {
+        return tags.findAll();
+    }
+
+    @Override
+    public Tag findById(Long id) {
+        return tags.findById(id).orElseThrow(() -> new ResourceNotFoundException(String.format(TAG_NOT_FOUND, id)));
+    }
+
+    @Override
+    public Tag save(Tag tag) {
+        if (tag.getId() == null) {
+            throw new InvalidRequestException(TAG_ID_REQUIRED);
+        }
+        Tag shared = tags.saveIfAbsent(tag.getId(), tag);
+        if (!shared.equals(tag)) {
+            throw new InvalidRequestException(String.format(TAG_ALREADY_EXISTS, tag.getId(), shared.getName()));
+        }
+        return shared;
+    }
+
+    @Override
+    public Tag share(Tag tag) {
+        Tag shared = tags.saveIfAbsent(tag.getId(), tag);
+        return shared.equals(tag) ? shared : tag;
+    }
+
+    @Override
+    public Tag update(Tag tag) {
+        if (tag.getId() == null) {
+            throw new InvalidRequestException(TAG_ID_REQUIRED);
+        }
+        return tags.update(tag.getId(), existing -> tag)
+              .orElseThrow(() -> new ResourceNotFoundException(String.format(TAG_NOT_FOUND, tag.getId())));
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        tags.deleteById(id).orElseThrow(() -> new ResourceNotFoundException(String.format(TAG_NOT_FOUND, id)));
+    }
+
+    @Override
+    public void deleteAll() {
+        tags.deleteAll();
+    }
+}
@@ -2,18 +2,27 @@ package com.endava.petstore.repository;
 
 import com.endava.petstore.model.HttpResponse;
 import com.endava.petstore.model.User;
+import com.endava.petstore.storage.EntityListener;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface UserRepository {
 
     List<User> findAll();
 
+    List<User> findAll(Long afterId, int limit);
+
+    Stream<User> streamAll();
+
     User findById(Long id);
 
     User save(User user);
 
-    User update(User user);
+    /**
+     * @param version the version the user must still be at, or {@code null} to update it at any version
+     */
+    User update(User user, Long version);
 
     void deleteById(Long id);
 
@@ -23,7 +32,10 @@ public interface UserRepository {
 
     User findByUsername(String username);
 
-    User updateByUsername(User user, String username);
+    /**
+     * @param version the version the user must still be at, or {@code null} to update it at any version
+     */
+    User updateByUsername(User user, String username, Long version);
 
     void deleteByUsername(String username);
 
@@ -31,5 +43,15 @@ public interface UserRepository {
 
     HttpResponse logout(String username);
 
+    /**
+     * @return a number that increases after every change of any user, so results derived from the users can be cached until it does
+     */
+    long getWriteVersion();
+
+    /**
+     * Registers a listener notified of every change of a user, while the change is applied, after the repository's own indexes.
+     */
+    void addListener(EntityListener<User> listener);
+
     void deleteAll();
 }
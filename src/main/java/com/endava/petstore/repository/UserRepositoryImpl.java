@@ -2,85 +2,78 @@ package com.endava.petstore.repository;
 
 import com.endava.petstore.exception.InvalidRequestException;
 import com.endava.petstore.exception.ResourceNotFoundException;
+import com.endava.petstore.index.KeyFilter;
+import com.endava.petstore.index.UsernameIndex;
 import com.endava.petstore.model.HttpResponse;
 import com.endava.petstore.model.User;
+import com.endava.petstore.storage.EntityListener;
+import com.endava.petstore.storage.EntityStore;
+import com.endava.petstore.storage.PersistenceManager;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Repository;
 
 import javax.annotation.PostConstruct;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.stream.Stream;
 
 import static com.endava.petstore.constants.Constants.*;
 
 @Repository
+@RequiredArgsConstructor
 public class UserRepositoryImpl implements UserRepository {
-    private final Map<Long, User> users = new HashMap<>();
+    private final UsernameIndex usernameIndex = new UsernameIndex();
+    private final KeyFilter<User> idFilter = new KeyFilter<>(User::getId, () -> this.users.stream());
+    private final KeyFilter<User> usernameFilter = new KeyFilter<>(User::getUsername, () -> this.users.stream());
+    private final EntityStore<User> users = new EntityStore<>(usernameIndex, idFilter, usernameFilter);
+    private final PersistenceManager persistenceManager;
 
     @PostConstruct
-    private void initializeUsers() {
-        User user1 = User.builder()
-              .id(1L)
-              .username("Username1")
-              .firstName("Firstname1")
-              .lastName("Lastname1")
-              .email("Email1@email.com")
-              .password("#Password1")
-              .phone("+40700 000 001")
-              .status(1)
-              .build();
-        users.put(user1.getId(), user1);
-        User user2 = User.builder()
-              .id(2L)
-              .username("Username2")
-              .firstName("Firstname2")
-              .lastName("Lastname2")
-              .email("Email2@email.com")
-              .password("#Password2")
-              .phone("+40700 000 002")
-              .status(2)
-              .build();
-        users.put(user2.getId(), user2);
-        User user3 = User.builder()
-              .id(3L)
-              .username("Username3")
-              .firstName("Firstname3")
-              .lastName("Lastname3")
-              .email("Email3@email.com")
-              .password("#Password3")
-              .phone("+40700 000 003")
-              .status(3)
-              .build();
-        users.put(user3.getId(), user3);
+    private void recoverUsers() {
+        persistenceManager.recover(users, "users", User.class, User::getId);
     }
 
     @Override
     public List<User> findAll() {
-        return new ArrayList<>(users.values());
+        return users.findAll();
+    }
+
+    @Override
+    public List<User> findAll(Long afterId, int limit) {
+        return users.findAll(afterId, limit);
+    }
+
+    @Override
+    public Stream<User> streamAll() {
+        return users.stream();
     }
 
     @Override
     public User findById(Long id) {
-        return findAll().stream().filter(user -> user.getId().equals(id)).findFirst().orElseThrow(() -> new ResourceNotFoundException(String.format(USER_NOT_FOUND, id)));
+        if (!idFilter.mightContain(id)) {
+            throw new ResourceNotFoundException(String.format(USER_NOT_FOUND, id));
+        }
+        return users.findById(id).orElseThrow(() -> new ResourceNotFoundException(String.format(USER_NOT_FOUND, id)));
     }
 
     @Override
     public User save(User user) {
-        return users.compute(user.getId(), (key, value) -> user);
+        if (user.getId() == null) {
+            throw new InvalidRequestException(USER_ID_REQUIRED);
+        }
+        return users.save(user.getId(), user);
     }
 
     @Override
-    public User update(User user) {
-        User userToUpdate = findById(user.getId());
-        return getUpdatedUser(user, userToUpdate);
+    public User update(User user, Long version) {
+        return users.update(user.getId(), version, userToUpdate -> getUpdatedUser(user, userToUpdate))
+              .orElseThrow(() -> new ResourceNotFoundException(String.format(USER_NOT_FOUND, user.getId())));
     }
 
     @Override
     public void deleteById(Long id) {
-        User userToDelete = findById(id);
-        users.remove(userToDelete.getId());
+        users.deleteById(id).orElseThrow(() -> new ResourceNotFoundException(String.format(USER_NOT_FOUND, id)));
     }
 
     @Override
@@ -99,57 +92,76 @@ public class UserRepositoryImpl implements UserRepository {
 
     @Override
     public User findByUsername(String username) {
-        return findAll().stream().filter(user -> user.getUsername().equals(username)).findFirst().orElseThrow(() -> new ResourceNotFoundException(String.format(USERNAME_NOT_FOUND, username)));
+        return users.findById(getIdByUsername(username)).orElseThrow(() -> new ResourceNotFoundException(String.format(USERNAME_NOT_FOUND, username)));
     }
 
     @Override
-    public User updateByUsername(User user, String username) {
-        User userToUpdate = findByUsername(username);
-        return getUpdatedUser(user, userToUpdate);
+    public User updateByUsername(User user, String username, Long version) {
+        return users.update(getIdByUsername(username), version, userToUpdate -> getUpdatedUser(user, userToUpdate))
+              .orElseThrow(() -> new ResourceNotFoundException(String.format(USERNAME_NOT_FOUND, username)));
     }
 
     @Override
     public void deleteByUsername(String username) {
-        User userToDelete = findByUsername(username);
-        users.remove(userToDelete.getId());
+        users.deleteById(getIdByUsername(username)).orElseThrow(() -> new ResourceNotFoundException(String.format(USERNAME_NOT_FOUND, username)));
     }
 
     @Override
     public HttpResponse login(String username, String password) {
-        User userToLogin = findByUsername(username);
-        if (userToLogin.isLoggedIn()) {
-            throw new InvalidRequestException(String.format(USER_ALREADY_LOGGED_IN, username));
-        }
-        if (!userToLogin.getPassword().equals(password)) {
-            throw new InvalidRequestException(String.format(INVALID_USER, username, password));
-        }
-        userToLogin.setLoggedIn(true);
+        users.update(getIdByUsername(username), user -> {
+            if (user.isLoggedIn()) {
+                throw new InvalidRequestException(String.format(USER_ALREADY_LOGGED_IN, username));
+            }
+            if (!user.getPassword().equals(password)) {
+                throw new InvalidRequestException(String.format(INVALID_USER, username, password));
+            }
+            return user.toBuilder().isLoggedIn(true).build();
+        }).orElseThrow(() -> new ResourceNotFoundException(String.format(USERNAME_NOT_FOUND, username)));
         return new HttpResponse(HttpStatus.OK.value(), "unknown", String.format(USER_LOGGED_IN, System.nanoTime()));
     }
 
     @Override
     public HttpResponse logout(String username) {
-        User userToLogout = findByUsername(username);
-        if (!userToLogout.isLoggedIn()) {
-            throw new InvalidRequestException(String.format(USER_ALREADY_LOGGED_OUT, username));
-        }
-        userToLogout.setLoggedIn(false);
+        users.update(getIdByUsername(username), user -> {
+            if (!user.isLoggedIn()) {
+                throw new InvalidRequestException(String.format(USER_ALREADY_LOGGED_OUT, username));
+            }
+            return user.toBuilder().isLoggedIn(false).build();
+        }).orElseThrow(() -> new ResourceNotFoundException(String.format(USERNAME_NOT_FOUND, username)));
         return new HttpResponse(HttpStatus.OK.value(), "unknown", String.format(USER_LOGGED_OUT, System.nanoTime()));
     }
 
+    @Override
+    public long getWriteVersion() {
+        return users.getWriteVersion();
+    }
+
+    @Override
+    public void addListener(EntityListener<User> listener) {
+        users.addListener(listener);
+    }
+
     @Override
     public void deleteAll() {
-        users.clear();
+        users.deleteAll();
+    }
+
+    private Long getIdByUsername(String username) {
+        if (!usernameFilter.mightContain(username)) {
+            throw new ResourceNotFoundException(String.format(USERNAME_NOT_FOUND, username));
+        }
+        return usernameIndex.findIdByUsername(username).orElseThrow(() -> new ResourceNotFoundException(String.format(USERNAME_NOT_FOUND, username)));
     }
 
     private User getUpdatedUser(User user, User userToUpdate) {
-        userToUpdate.setUsername(user.getUsername());
-        userToUpdate.setFirstName(user.getFirstName());
-        userToUpdate.setLastName(user.getLastName());
-        userToUpdate.setEmail(user.getEmail());
-        userToUpdate.setPassword(user.getPassword());
-        userToUpdate.setPhone(user.getPhone());
-        userToUpdate.setStatus(user.getStatus());
-        return userToUpdate;
+        return userToUpdate.toBuilder()
+              .username(user.getUsername())
+              .firstName(user.getFirstName())
+              .lastName(user.getLastName())
+              .email(user.getEmail())
+              .password(user.getPassword())
+              .phone(user.getPhone())
+              .status(user.getStatus())
+              .build();
     }
 }
@@ -0,0 +1,18 @@
+package com.endava.petstore.service;
+
+import com.endava.petstore.model.Category;
+
+import java.util.List;
+
+public interface CategoryService {
+
+    List<Category> findAll();
+
+    Category findById(Long id);
+
+    Category save(Category category);
+
+    Category update(Category category);
+
+    void deleteById(Long id);
+}
@@ -0,0 +1,173 @@
+package com.endava.petstore.service;
+
+import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.model.BulkImportResult;
+import com.endava.petstore.model.HttpResponse;
+import com.endava.petstore.model.ImageMetadata;
+import com.endava.petstore.model.Page;
+import com.endava.petstore.model.Pet;
+import com.endava.petstore.model.UploadSession;
+import com.endava.petstore.repository.PetRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Decorates {@link PetServiceImpl}, collapsing concurrent identical lookups and queries into one through a {@link SingleFlight}
+ * keyed by the method, its arguments and the write version of the pets, so a call made after a change of the pets never
+ * shares a computation started before it. Writes, streams and image files are passed through.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "petstore.coalescing.enabled", havingValue = "true", matchIfMissing = true)
+public class CoalescingPetService implements PetService {
+    private final PetServiceImpl petService;
+    private final PetRepository petRepository;
+    private final SingleFlight singleFlight;
+
+    public CoalescingPetService(PetServiceImpl petService, PetRepository petRepository, MeterRegistry meterRegistry) {
+        this.petService = petService;
+        this.petRepository = petRepository;
+        this.singleFlight = new SingleFlight("pet", meterRegistry);
+    }
+
+    @Override
+    public List<Pet> findAll() {
+        return petService.findAll();
+    }
+
+    @Override
+    public Page<Pet> findAll(String pageToken, Integer limit) {
+        return singleFlight.execute(() -> petService.findAll(pageToken, limit), "findAll", petRepository.getWriteVersion(), pageToken, limit);
+    }
+
+    @Override
+    public Stream<Pet> streamAll() {
+        return petService.streamAll();
+    }
+
+    @Override
+    public Pet findById(Long id) {
+        return singleFlight.execute(() -> petService.findById(id), "findById", petRepository.getWriteVersion(), id);
+    }
+
+    @Override
+    public Pet save(Pet pet) {
+        return petService.save(pet);
+    }
+
+    @Override
+    public BulkImportResult saveAll(InputStream ndjson) {
+        return petService.saveAll(ndjson);
+    }
+
+    @Override
+    public Pet update(Pet pet, Long version) {
+        return petService.update(pet, version);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        petService.deleteById(id);
+    }
+
+    @Override
+    public List<Pet> findByStatuses(PetStatus[] statuses) {
+        return singleFlight.execute(() -> petService.findByStatuses(statuses), "findByStatuses", petRepository.getWriteVersion(),
+              statuses == null ? null : Arrays.asList(statuses));
+    }
+
+    @Override
+    public List<Pet> findByTags(List<String> tagNames) {
+        return singleFlight.execute(() -> petService.findByTags(tagNames), "findByTags", petRepository.getWriteVersion(), tagNames);
+    }
+
+    @Override
+    public List<Pet> findByAllTags(List<String> tagNames) {
+        return singleFlight.execute(() -> petService.findByAllTags(tagNames), "findByAllTags", petRepository.getWriteVersion(), tagNames);
+    }
+
+    @Override
+    public Page<Pet> findByCategory(Long categoryId, String pageToken, Integer limit) {
+        return singleFlight.execute(() -> petService.findByCategory(categoryId, pageToken, limit), "findByCategory", petRepository.getWriteVersion(),
+              categoryId, pageToken, limit);
+    }
+
+    @Override
+    public List<Pet> findByNamePrefix(String prefix, Integer limit) {
+        return singleFlight.execute(() -> petService.findByNamePrefix(prefix, limit), "findByNamePrefix", petRepository.getWriteVersion(), prefix, limit);
+    }
+
+    @Override
+    public List<Pet> findBySimilarName(String name, Integer limit) {
+        return singleFlight.execute(() -> petService.findBySimilarName(name, limit), "findBySimilarName", petRepository.getWriteVersion(), name, limit);
+    }
+
+    @Override
+    public HttpResponse updateWithFormData(Long id, String name, String status) {
+        return petService.updateWithFormData(id, name, status);
+    }
+
+    @Override
+    public HttpResponse updateStatusWhere(PetStatus[] statuses, List<String> tagNames, Long categoryId, PetStatus status) {
+        return petService.updateStatusWhere(statuses, tagNames, categoryId, status);
+    }
+
+    @Override
+    public HttpResponse deleteWhere(PetStatus[] statuses, List<String> tagNames, Long categoryId) {
+        return petService.deleteWhere(statuses, tagNames, categoryId);
+    }
+
+    @Override
+    public HttpResponse uploadImage(Long id, String additionalMetadata, MultipartFile file) {
+        return petService.uploadImage(id, additionalMetadata, file);
+    }
+
+    @Override
+    public Path findImage(Long id, String hash) {
+        return petService.findImage(id, hash);
+    }
+
+    @Override
+    public ImageMetadata findImageMetadata(Long id, String hash) {
+        return petService.findImageMetadata(id, hash);
+    }
+
+    @Override
+    public Path findThumbnail(Long id, String hash, Integer size) {
+        return petService.findThumbnail(id, hash, size);
+    }
+
+    @Override
+    public UploadSession createUpload(Long id, Long size, String hash) {
+        return petService.createUpload(id, size, hash);
+    }
+
+    @Override
+    public UploadSession findUpload(Long id, String uploadId) {
+        return petService.findUpload(id, uploadId);
+    }
+
+    @Override
+    public UploadSession writeUploadChunk(Long id, String uploadId, Long offset, InputStream content) {
+        return petService.writeUploadChunk(id, uploadId, offset, content);
+    }
+
+    @Override
+    public HttpResponse completeUpload(Long id, String uploadId, String additionalMetadata) {
+        return petService.completeUpload(id, uploadId, additionalMetadata);
+    }
+
+    @Override
+    public void abortUpload(Long id, String uploadId) {
+        petService.abortUpload(id, uploadId);
+    }
+}
@@ -0,0 +1,76 @@
+package com.endava.petstore.service;
+
+import com.endava.petstore.model.Order;
+import com.endava.petstore.model.Page;
+import com.endava.petstore.repository.PetRepository;
+import com.endava.petstore.repository.StoreRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Decorates {@link StoreServiceImpl}, collapsing concurrent identical lookups into one through a {@link SingleFlight}
+ * keyed by the method, its arguments and the write version of the data it reads: the orders, or the pets for the inventory.
+ * Writes and streams are passed through.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "petstore.coalescing.enabled", havingValue = "true", matchIfMissing = true)
+public class CoalescingStoreService implements StoreService {
+    private final StoreServiceImpl storeService;
+    private final StoreRepository storeRepository;
+    private final PetRepository petRepository;
+    private final SingleFlight singleFlight;
+
+    public CoalescingStoreService(StoreServiceImpl storeService, StoreRepository storeRepository, PetRepository petRepository, MeterRegistry meterRegistry) {
+        this.storeService = storeService;
+        this.storeRepository = storeRepository;
+        this.petRepository = petRepository;
+        this.singleFlight = new SingleFlight("store", meterRegistry);
+    }
+
+    @Override
+    public List<Order> findAllOrders() {
+        return storeService.findAllOrders();
+    }
+
+    @Override
+    public Page<Order> findAllOrders(String pageToken, Integer limit) {
+        return singleFlight.execute(() -> storeService.findAllOrders(pageToken, limit), "findAllOrders", storeRepository.getWriteVersion(), pageToken, limit);
+    }
+
+    @Override
+    public Stream<Order> streamAllOrders() {
+        return storeService.streamAllOrders();
+    }
+
+    @Override
+    public Order findOrderById(Long id) {
+        return singleFlight.execute(() -> storeService.findOrderById(id), "findOrderById", storeRepository.getWriteVersion(), id);
+    }
+
+    @Override
+    public Order saveOrder(Order order) {
+        return storeService.saveOrder(order);
+    }
+
+    @Override
+    public Order updateOrder(Order order, Long version) {
+        return storeService.updateOrder(order, version);
+    }
+
+    @Override
+    public void deleteOrderById(Long id) {
+        storeService.deleteOrderById(id);
+    }
+
+    @Override
+    public Map<String, Integer> getInventoryByStatus() {
+        return singleFlight.execute(storeService::getInventoryByStatus, "getInventoryByStatus", petRepository.getWriteVersion());
+    }
+}
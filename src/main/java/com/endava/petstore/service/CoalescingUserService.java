@@ -0,0 +1,102 @@
+package com.endava.petstore.service;
+
+import com.endava.petstore.model.HttpResponse;
+import com.endava.petstore.model.Page;
+import com.endava.petstore.model.User;
+import com.endava.petstore.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Decorates {@link UserServiceImpl}, collapsing concurrent identical lookups into one through a {@link SingleFlight}
+ * keyed by the method, its arguments and the write version of the users. Writes, streams, logins and logouts are passed through.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "petstore.coalescing.enabled", havingValue = "true", matchIfMissing = true)
+public class CoalescingUserService implements UserService {
+    private final UserServiceImpl userService;
+    private final UserRepository userRepository;
+    private final SingleFlight singleFlight;
+
+    public CoalescingUserService(UserServiceImpl userService, UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.userService = userService;
+        this.userRepository = userRepository;
+        this.singleFlight = new SingleFlight("user", meterRegistry);
+    }
+
+    @Override
+    public List<User> findAll() {
+        return userService.findAll();
+    }
+
+    @Override
+    public Page<User> findAll(String pageToken, Integer limit) {
+        return singleFlight.execute(() -> userService.findAll(pageToken, limit), "findAll", userRepository.getWriteVersion(), pageToken, limit);
+    }
+
+    @Override
+    public Stream<User> streamAll() {
+        return userService.streamAll();
+    }
+
+    @Override
+    public User findById(Long id) {
+        return singleFlight.execute(() -> userService.findById(id), "findById", userRepository.getWriteVersion(), id);
+    }
+
+    @Override
+    public User save(User user) {
+        return userService.save(user);
+    }
+
+    @Override
+    public User update(User user, Long version) {
+        return userService.update(user, version);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        userService.deleteById(id);
+    }
+
+    @Override
+    public List<User> saveAll(User[] users) {
+        return userService.saveAll(users);
+    }
+
+    @Override
+    public List<User> saveAll(List<User> users) {
+        return userService.saveAll(users);
+    }
+
+    @Override
+    public User findByUsername(String username) {
+        return singleFlight.execute(() -> userService.findByUsername(username), "findByUsername", userRepository.getWriteVersion(), username);
+    }
+
+    @Override
+    public User updateByUsername(User user, String username, Long version) {
+        return userService.updateByUsername(user, username, version);
+    }
+
+    @Override
+    public void deleteByUsername(String username) {
+        userService.deleteByUsername(username);
+    }
+
+    @Override
+    public HttpResponse login(String username, String password) {
+        return userService.login(username, password);
+    }
+
+    @Override
+    public HttpResponse logout(String username) {
+        return userService.logout(username);
+    }
+}
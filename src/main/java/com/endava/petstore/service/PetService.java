@@ -1,21 +1,34 @@
 package com.endava.petstore.service;
 
 import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.model.BulkImportResult;
 import com.endava.petstore.model.HttpResponse;
+import com.endava.petstore.model.ImageMetadata;
+import com.endava.petstore.model.Page;
 import com.endava.petstore.model.Pet;
+import com.endava.petstore.model.UploadSession;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface PetService {
 
     List<Pet> findAll();
 
+    Page<Pet> findAll(String pageToken, Integer limit);
+
+    Stream<Pet> streamAll();
+
     Pet findById(Long id);
 
     Pet save(Pet pet);
 
-    Pet update(Pet pet);
+    BulkImportResult saveAll(InputStream ndjson);
+
+    Pet update(Pet pet, Long version);
 
     void deleteById(Long id);
 
@@ -23,7 +36,35 @@ public interface PetService {
 
     List<Pet> findByTags(List<String> tagNames);
 
+    List<Pet> findByAllTags(List<String> tagNames);
+
+    Page<Pet> findByCategory(Long categoryId, String pageToken, Integer limit);
+
+    List<Pet> findByNamePrefix(String prefix, Integer limit);
+
+    List<Pet> findBySimilarName(String name, Integer limit);
+
     HttpResponse updateWithFormData(Long id, String name, String status);
 
+    HttpResponse updateStatusWhere(PetStatus[] statuses, List<String> tagNames, Long categoryId, PetStatus status);
+
+    HttpResponse deleteWhere(PetStatus[] statuses, List<String> tagNames, Long categoryId);
+
     HttpResponse uploadImage(Long id, String additionalMetadata, MultipartFile file);
+
+    Path findImage(Long id, String hash);
+
+    ImageMetadata findImageMetadata(Long id, String hash);
+
+    Path findThumbnail(Long id, String hash, Integer size);
+
+    UploadSession createUpload(Long id, Long size, String hash);
+
+    UploadSession findUpload(Long id, String uploadId);
+
+    UploadSession writeUploadChunk(Long id, String uploadId, Long offset, InputStream content);
+
+    HttpResponse completeUpload(Long id, String uploadId, String additionalMetadata);
+
+    void abortUpload(Long id, String uploadId);
 }
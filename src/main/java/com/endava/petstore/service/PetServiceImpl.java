@@ -1,26 +1,63 @@
 package com.endava.petstore.service;
 
 import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.exception.InvalidRequestException;
 import com.endava.petstore.exception.ResourceNotFoundException;
+import com.endava.petstore.model.BulkImportError;
+import com.endava.petstore.model.BulkImportResult;
 import com.endava.petstore.model.HttpResponse;
+import com.endava.petstore.model.ImageMetadata;
+import com.endava.petstore.model.Page;
 import com.endava.petstore.model.Pet;
+import com.endava.petstore.model.UploadSession;
 import com.endava.petstore.repository.PetRepository;
+import com.endava.petstore.utils.NdjsonReader;
+import com.endava.petstore.utils.PageUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.endava.petstore.constants.Constants.*;
 
 @Service
 @RequiredArgsConstructor
 public class PetServiceImpl implements PetService {
     private final PetRepository petRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
     @Override
     public List<Pet> findAll() {
         return petRepository.findAll();
     }
 
+    @Override
+    public Page<Pet> findAll(String pageToken, Integer limit) {
+        return PageUtils.getPage(pageToken, limit, Pet::getId, petRepository::findAll);
+    }
+
+    @Override
+    public Stream<Pet> streamAll() {
+        return petRepository.streamAll();
+    }
+
     @Override
     public Pet findById(Long id) {
         return petRepository.findById(id);
@@ -31,9 +68,41 @@ public class PetServiceImpl implements PetService {
         return petRepository.save(pet);
     }
 
+    /**
+     * Imports one pet per line of the stream, reading it a batch of lines at a time. The lines of a batch are parsed and validated
+     * in parallel, and the valid pets are then saved together, waiting for them to be durable once per batch rather than once per pet.
+     * A line that cannot be imported is reported with its number and does not stop the import of the others.
+     */
     @Override
-    public Pet update(Pet pet) {
-        return petRepository.update(pet);
+    public BulkImportResult saveAll(InputStream ndjson) {
+        NdjsonReader reader = new NdjsonReader(ndjson, MAX_BULK_LINE_LENGTH);
+        ObjectReader petReader = objectMapper.readerFor(Pet.class);
+        List<NdjsonReader.Line> batch = new ArrayList<>(BULK_BATCH_SIZE);
+        List<BulkImportError> errors = new ArrayList<>();
+        long received = 0;
+        long failed = 0;
+        try {
+            NdjsonReader.Line line;
+            do {
+                line = reader.next();
+                if (line != null && !line.isBlank()) {
+                    batch.add(line);
+                }
+                if (batch.size() == BULK_BATCH_SIZE || (line == null && !batch.isEmpty())) {
+                    received += batch.size();
+                    failed += importBatch(batch, petReader, errors);
+                    batch.clear();
+                }
+            } while (line != null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new BulkImportResult(received, received - failed, failed, errors);
+    }
+
+    @Override
+    public Pet update(Pet pet, Long version) {
+        return petRepository.update(pet, version);
     }
 
     @Override
@@ -49,18 +118,175 @@ public class PetServiceImpl implements PetService {
     @Override
     public List<Pet> findByTags(List<String> tagNames) {
         if (tagNames.isEmpty()) {
-            throw new ResourceNotFoundException("No tags were provided");
+            throw new ResourceNotFoundException(TAGS_NOT_FOUND);
         }
         return petRepository.findByTags(tagNames);
     }
 
+    @Override
+    public List<Pet> findByAllTags(List<String> tagNames) {
+        if (tagNames.isEmpty()) {
+            throw new ResourceNotFoundException(TAGS_NOT_FOUND);
+        }
+        return petRepository.findByAllTags(tagNames);
+    }
+
+    @Override
+    public Page<Pet> findByCategory(Long categoryId, String pageToken, Integer limit) {
+        return PageUtils.getPage(pageToken, limit, Pet::getId, (afterId, pageSize) -> petRepository.findByCategory(categoryId, afterId, pageSize));
+    }
+
+    @Override
+    public List<Pet> findByNamePrefix(String prefix, Integer limit) {
+        return petRepository.findByNamePrefix(validateName(prefix), PageUtils.getPageSize(limit));
+    }
+
+    @Override
+    public List<Pet> findBySimilarName(String name, Integer limit) {
+        return petRepository.findBySimilarName(validateName(name), PageUtils.getPageSize(limit));
+    }
+
     @Override
     public HttpResponse updateWithFormData(Long id, String name, String status) {
         return petRepository.updateWithFormData(id, name, status);
     }
 
+    @Override
+    public HttpResponse updateStatusWhere(PetStatus[] statuses, List<String> tagNames, Long categoryId, PetStatus status) {
+        validateCriteria(statuses, tagNames, categoryId);
+        return petRepository.updateStatusWhere(statuses, tagNames, categoryId, status);
+    }
+
+    @Override
+    public HttpResponse deleteWhere(PetStatus[] statuses, List<String> tagNames, Long categoryId) {
+        validateCriteria(statuses, tagNames, categoryId);
+        return petRepository.deleteWhere(statuses, tagNames, categoryId);
+    }
+
     @Override
     public HttpResponse uploadImage(Long id, String additionalMetadata, MultipartFile file) {
         return petRepository.uploadImage(id, additionalMetadata, file);
     }
+
+    @Override
+    public Path findImage(Long id, String hash) {
+        return petRepository.findImage(id, hash);
+    }
+
+    @Override
+    public ImageMetadata findImageMetadata(Long id, String hash) {
+        return petRepository.findImageMetadata(id, hash);
+    }
+
+    @Override
+    public Path findThumbnail(Long id, String hash, Integer size) {
+        return petRepository.findThumbnail(id, hash, size);
+    }
+
+    @Override
+    public UploadSession createUpload(Long id, Long size, String hash) {
+        return petRepository.createUpload(id, size, hash);
+    }
+
+    @Override
+    public UploadSession findUpload(Long id, String uploadId) {
+        return petRepository.findUpload(id, uploadId);
+    }
+
+    @Override
+    public UploadSession writeUploadChunk(Long id, String uploadId, Long offset, InputStream content) {
+        return petRepository.writeUploadChunk(id, uploadId, offset, content);
+    }
+
+    @Override
+    public HttpResponse completeUpload(Long id, String uploadId, String additionalMetadata) {
+        return petRepository.completeUpload(id, uploadId, additionalMetadata);
+    }
+
+    @Override
+    public void abortUpload(Long id, String uploadId) {
+        petRepository.abortUpload(id, uploadId);
+    }
+
+    /**
+     * @return the number of lines of the batch that could not be imported, the first of which are added to the errors
+     */
+    private int importBatch(List<NdjsonReader.Line> lines, ObjectReader petReader, List<BulkImportError> errors) {
+        Pet[] pets = new Pet[lines.size()];
+        String[] messages = new String[lines.size()];
+        IntStream.range(0, lines.size()).parallel().forEach(index -> {
+            try {
+                pets[index] = readPet(lines.get(index), petReader);
+                validatePet(pets[index]);
+            } catch (InvalidRequestException e) {
+                messages[index] = e.getMessage();
+            }
+        });
+        List<Pet> validPets = new ArrayList<>(lines.size());
+        for (int index = 0; index < pets.length; index++) {
+            if (messages[index] == null) {
+                validPets.add(pets[index]);
+            }
+        }
+        petRepository.saveAll(validPets);
+        int failed = 0;
+        for (int index = 0; index < messages.length; index++) {
+            if (messages[index] != null) {
+                failed++;
+                if (errors.size() < MAX_BULK_ERRORS) {
+                    Long id = pets[index] == null ? null : pets[index].getId();
+                    errors.add(new BulkImportError(lines.get(index).getNumber(), id, messages[index]));
+                }
+            }
+        }
+        return failed;
+    }
+
+    private static Pet readPet(NdjsonReader.Line line, ObjectReader petReader) {
+        if (line.isTooLong()) {
+            throw new InvalidRequestException(String.format(BULK_LINE_TOO_LONG, MAX_BULK_LINE_LENGTH));
+        }
+        Pet pet;
+        try {
+            pet = petReader.readValue(line.getContent());
+        } catch (JsonProcessingException e) {
+            throw new InvalidRequestException(String.format(BULK_LINE_MALFORMED, e.getOriginalMessage()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (pet == null) {
+            throw new InvalidRequestException(BULK_LINE_NOT_A_PET);
+        }
+        return pet;
+    }
+
+    private void validatePet(Pet pet) {
+        Set<ConstraintViolation<Pet>> violations = validator.validate(pet);
+        if (!violations.isEmpty()) {
+            throw new InvalidRequestException(violations.stream()
+                  .sorted(Comparator.comparing((ConstraintViolation<Pet> violation) -> violation.getPropertyPath().toString())
+                        .thenComparing(ConstraintViolation::getMessage))
+                  .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                  .collect(Collectors.joining(", ")));
+        }
+        if (pet.getId() == null) {
+            throw new InvalidRequestException(PET_ID_REQUIRED);
+        }
+    }
+
+    /**
+     * Rejects a bulk change without criteria, which would otherwise apply to every pet in the store.
+     */
+    private static void validateCriteria(PetStatus[] statuses, List<String> tagNames, Long categoryId) {
+        if ((statuses == null || statuses.length == 0) && (tagNames == null || tagNames.isEmpty()) && categoryId == null) {
+            throw new InvalidRequestException(PET_CRITERIA_REQUIRED);
+        }
+    }
+
+    private static String validateName(String name) {
+        if (name == null || name.isBlank()) {
+            throw new InvalidRequestException(PET_NAME_REQUIRED);
+        }
+        return name;
+    }
 }
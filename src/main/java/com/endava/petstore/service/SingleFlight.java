@@ -0,0 +1,85 @@
+package com.endava.petstore.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical calls into one: the first call with a given key runs the computation, and every call
+ * with the same key arriving while it runs waits for it and receives the same result, or the same exception, instead of
+ * repeating the work. Nothing is kept once the computation ends, so a call arriving after that computes afresh.
+ * <p>
+ * Callers must make the key change whenever a result computed before could be outdated, typically by including the write
+ * version of the data the computation reads, so that a call made after a write never receives the result of a computation
+ * started before it.
+ * <p>
+ * Metrics, tagged with the name of the service: {@code petstore.coalescing.calls} and {@code petstore.coalescing.collapsed}
+ * counters, the latter counting the calls that received the result of another one, and a {@code petstore.coalescing.in-flight} gauge.
+ */
+public class SingleFlight {
+    private final ConcurrentHashMap<List<Object>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Counter callCounter;
+    private final Counter collapsedCounter;
+
+    public SingleFlight(String service, MeterRegistry meterRegistry) {
+        this.callCounter = Counter.builder("petstore.coalescing.calls")
+              .description("Read calls made to the service")
+              .tag("service", service)
+              .register(meterRegistry);
+        this.collapsedCounter = Counter.builder("petstore.coalescing.collapsed")
+              .description("Read calls that shared the computation of an identical call already in flight")
+              .tag("service", service)
+              .register(meterRegistry);
+        Gauge.builder("petstore.coalescing.in-flight", inFlight, ConcurrentHashMap::size)
+              .description("Distinct read calls being computed")
+              .tag("service", service)
+              .register(meterRegistry);
+    }
+
+    /**
+     * @param key the parts identifying the call, compared by equality, any of which may be {@code null}
+     * @return the result of the computation, run by this call or by an identical one in flight
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Supplier<T> computation, Object... key) {
+        callCounter.increment();
+        List<Object> callKey = Arrays.asList(key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existingFlight = inFlight.putIfAbsent(callKey, flight);
+        if (existingFlight != null) {
+            collapsedCounter.increment();
+            return (T) await(existingFlight);
+        }
+        try {
+            T result = computation.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(callKey, flight);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,19 +1,25 @@
 package com.endava.petstore.service;
 
 import com.endava.petstore.model.Order;
+import com.endava.petstore.model.Page;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 public interface StoreService {
 
     List<Order> findAllOrders();
 
+    Page<Order> findAllOrders(String pageToken, Integer limit);
+
+    Stream<Order> streamAllOrders();
+
     Order findOrderById(Long id);
 
     Order saveOrder(Order order);
 
-    Order updateOrder(Order order);
+    Order updateOrder(Order order, Long version);
 
     void deleteOrderById(Long id);
 
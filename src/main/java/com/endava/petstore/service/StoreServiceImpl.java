@@ -1,12 +1,15 @@
 package com.endava.petstore.service;
 
 import com.endava.petstore.model.Order;
+import com.endava.petstore.model.Page;
 import com.endava.petstore.repository.StoreRepository;
+import com.endava.petstore.utils.PageUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -18,6 +21,16 @@ public class StoreServiceImpl implements StoreService {
         return storeRepository.findAllOrders();
     }
 
+    @Override
+    public Page<Order> findAllOrders(String pageToken, Integer limit) {
+        return PageUtils.getPage(pageToken, limit, Order::getId, storeRepository::findAllOrders);
+    }
+
+    @Override
+    public Stream<Order> streamAllOrders() {
+        return storeRepository.streamAllOrders();
+    }
+
     @Override
     public Order findOrderById(Long id) {
         return storeRepository.findOrderById(id);
@@ -29,8 +42,8 @@ public class StoreServiceImpl implements StoreService {
     }
 
     @Override
-    public Order updateOrder(Order order) {
-        return storeRepository.updateOrder(order);
+    public Order updateOrder(Order order, Long version) {
+        return storeRepository.updateOrder(order, version);
     }
 
     @Override
@@ -0,0 +1,18 @@
+package com.endava.petstore.service;
+
+import com.endava.petstore.model.Tag;
+
+import java.util.List;
+
+public interface TagService {
+
+    List<Tag> findAll();
+
+    Tag findById(Long id);
+
+    Tag save(Tag tag);
+
+    Tag update(Tag tag);
+
+    void deleteById(Long id);
+}
@@ -0,0 +1,39 @@
+package com.endava.petstore.service;
+
+import com.endava.petstore.model.Tag;
+import com.endava.petstore.repository.TagRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class TagServiceImpl implements TagService {
+    private final TagRepository tagRepository;
+
+    @Override
+    public List<Tag> findAll() {
+        return tagRepository.findAll();
+    }
+
+    @Override
+    public Tag findById(Long id) {
+        return tagRepository.findById(id);
+    }
+
+    @Override
+    public Tag save(Tag tag) {
+        return tagRepository.save(tag);
+    }
+
+    @Override
+    public Tag update(Tag tag) {
+        return tagRepository.update(tag);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        tagRepository.deleteById(id);
+    }
+}
@@ -1,19 +1,25 @@
 package com.endava.petstore.service;
 
 import com.endava.petstore.model.HttpResponse;
+import com.endava.petstore.model.Page;
 import com.endava.petstore.model.User;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface UserService {
 
     List<User> findAll();
 
+    Page<User> findAll(String pageToken, Integer limit);
+
+    Stream<User> streamAll();
+
     User findById(Long id);
 
     User save(User user);
 
-    User update(User user);
+    User update(User user, Long version);
 
     void deleteById(Long id);
 
@@ -23,7 +29,7 @@ public interface UserService {
 
     User findByUsername(String username);
 
-    User updateByUsername(User user, String username);
+    User updateByUsername(User user, String username, Long version);
 
     void deleteByUsername(String username);
 
@@ -1,12 +1,15 @@
 package com.endava.petstore.service;
 
 import com.endava.petstore.model.HttpResponse;
+import com.endava.petstore.model.Page;
 import com.endava.petstore.model.User;
 import com.endava.petstore.repository.UserRepository;
+import com.endava.petstore.utils.PageUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -18,6 +21,16 @@ public class UserServiceImpl implements UserService {
         return userRepository.findAll();
     }
 
+    @Override
+    public Page<User> findAll(String pageToken, Integer limit) {
+        return PageUtils.getPage(pageToken, limit, User::getId, userRepository::findAll);
+    }
+
+    @Override
+    public Stream<User> streamAll() {
+        return userRepository.streamAll();
+    }
+
     @Override
     public User findById(Long id) {
         return userRepository.findById(id);
@@ -29,8 +42,8 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public User update(User user) {
-        return userRepository.update(user);
+    public User update(User user, Long version) {
+        return userRepository.update(user, version);
     }
 
     @Override
@@ -54,8 +67,8 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public User updateByUsername(User user, String username) {
-        return userRepository.updateByUsername(user, username);
+    public User updateByUsername(User user, String username, Long version) {
+        return userRepository.updateByUsername(user, username, version);
     }
 
     @Override
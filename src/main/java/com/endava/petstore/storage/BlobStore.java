@@ -0,0 +1,168 @@
+package com.endava.petstore.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Content-addressed store of uploaded files, kept in the directory configured by {@code petstore.blobs.directory}.
+ * A blob is named by the hex SHA-256 hash of its content, so uploading the same content twice stores it once.
+ * Uploads are streamed from the request into a temporary file by {@link FileChannel#transferFrom}, hashing the bytes on the way,
+ * so only a small transfer buffer is held in memory whatever their size. The temporary file is then moved into place atomically,
+ * so a blob is either missing or complete.
+ */
+@Slf4j
+@Component
+public class BlobStore {
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final long TRANSFER_CHUNK_SIZE = 1 << 20;
+    private static final int HASH_BUFFER_SIZE = 1 << 16;
+    private static final String TEMPORARY_DIRECTORY = "tmp";
+
+    private final Path directory;
+    private final Path temporaryDirectory;
+
+    public BlobStore(@Value("${petstore.blobs.directory:data/blobs}") Path directory) {
+        this.directory = directory;
+        this.temporaryDirectory = directory.resolve(TEMPORARY_DIRECTORY);
+        try {
+            Files.createDirectories(temporaryDirectory);
+            deleteTemporaryFiles();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Streams the content of the file into the store, unless a blob with the same content is already there.
+     *
+     * @return the hash identifying the stored content
+     */
+    public String store(MultipartFile file) {
+        try (InputStream inputStream = file.getInputStream()) {
+            return store(inputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public String store(InputStream inputStream) throws IOException {
+        MessageDigest digest = newDigest();
+        Path temporaryFile = Files.createTempFile(temporaryDirectory, "upload", null);
+        try {
+            try (ReadableByteChannel source = Channels.newChannel(new DigestInputStream(inputStream, digest));
+                 FileChannel target = FileChannel.open(temporaryFile, WRITE)) {
+                long position = 0;
+                long transferred;
+                while ((transferred = target.transferFrom(source, position, TRANSFER_CHUNK_SIZE)) > 0) {
+                    position += transferred;
+                }
+                target.force(false);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            moveIntoPlace(temporaryFile, hash);
+            return hash;
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Creates an empty file in the temporary directory of the store, for content that is written out before it is stored,
+     * such as a chunked upload. Temporary files left over when the application stops are deleted on the next start.
+     */
+    public Path createTemporaryFile() throws IOException {
+        return Files.createTempFile(temporaryDirectory, "upload", null);
+    }
+
+    /**
+     * Moves a file created by {@link #createTemporaryFile()} into the store, named by the hash of its content, without copying it.
+     * The file is deleted instead if the store already holds the same content, or if its hash differs from the expected one.
+     *
+     * @param expectedHash the hash the content must have to be stored, or {@code null} to store any content
+     * @return the hash of the content
+     */
+    public String store(Path temporaryFile, String expectedHash) throws IOException {
+        try {
+            MessageDigest digest = newDigest();
+            try (FileChannel channel = FileChannel.open(temporaryFile, READ)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(HASH_BUFFER_SIZE);
+                while (channel.read(buffer) >= 0) {
+                    buffer.flip();
+                    digest.update(buffer);
+                    buffer.clear();
+                }
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            if (expectedHash == null || expectedHash.equals(hash)) {
+                moveIntoPlace(temporaryFile, hash);
+            }
+            return hash;
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * @return the file holding the blob with the given hash, or an empty optional if there is none or the hash is malformed
+     */
+    public Optional<Path> find(String hash) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path blob = resolve(hash);
+        return Files.isRegularFile(blob) ? Optional.of(blob) : Optional.empty();
+    }
+
+    private void moveIntoPlace(Path temporaryFile, String hash) throws IOException {
+        Path blob = resolve(hash);
+        if (!Files.exists(blob)) {
+            Files.createDirectories(blob.getParent());
+            Files.move(temporaryFile, blob, ATOMIC_MOVE);
+        }
+    }
+
+    private Path resolve(String hash) {
+        return directory.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private void deleteTemporaryFiles() throws IOException {
+        try (Stream<Path> files = Files.list(temporaryDirectory)) {
+            for (Path file : files.toList()) {
+                log.info("Deleting unfinished upload {}", file);
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.endava.petstore.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.function.BiConsumer;
+
+/**
+ * Records the changes of an {@link EntityStore} in a {@link WriteAheadLog}, so they can be replayed after a restart.
+ * Every record holds the id and the complete new state of one entity, or only the id if the entity was removed,
+ * so replaying the records in order rebuilds the store no matter which operation produced them.
+ *
+ * @param <T> the stored entity type
+ */
+public class EntityJournal<T> implements Closeable {
+    private static final byte PUT = 0;
+    private static final byte DELETE = 1;
+    private static final int HEADER_SIZE = Byte.BYTES + Long.BYTES;
+
+    private final WriteAheadLog log;
+    private final ObjectMapper objectMapper;
+    private final Class<T> type;
+    private final ThreadLocal<Long> lastSequence = ThreadLocal.withInitial(() -> 0L);
+
+    public EntityJournal(WriteAheadLog log, ObjectMapper objectMapper, Class<T> type) {
+        this.log = log;
+        this.objectMapper = objectMapper;
+        this.type = type;
+    }
+
+    /**
+     * Queues the new state of an entity, or its removal if {@code entity} is {@code null}.
+     */
+    public void append(Long id, T entity) {
+        lastSequence.set(log.append(encode(id, entity)));
+    }
+
+    /**
+     * Blocks until the last change appended by the calling thread is durable.
+     */
+    public void sync() {
+        log.awaitDurable(lastSequence.get());
+    }
+
+    /**
+     * Passes every change recorded from the given log segment on to the consumer, with a {@code null} entity for removals.
+     *
+     * @return whether the journal contained any change
+     */
+    public boolean replay(long fromSegment, BiConsumer<Long, T> consumer) {
+        try {
+            return log.replay(fromSegment, record -> {
+                ByteBuffer buffer = ByteBuffer.wrap(record);
+                byte operation = buffer.get();
+                long id = buffer.getLong();
+                consumer.accept(id, operation == DELETE ? null : decode(record));
+            }) > 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Continues the journal in a new log segment.
+     *
+     * @return the number of the new segment, which holds every change appended from now on
+     */
+    public long roll() throws IOException {
+        return log.roll();
+    }
+
+    public void deleteSegmentsBefore(long firstKeptSegment) throws IOException {
+        log.deleteSegmentsBefore(firstKeptSegment);
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+
+    private byte[] encode(Long id, T entity) {
+        try {
+            byte[] payload = entity == null ? new byte[0] : objectMapper.writeValueAsBytes(entity);
+            return ByteBuffer.allocate(HEADER_SIZE + payload.length)
+                  .put(entity == null ? DELETE : PUT)
+                  .putLong(id)
+                  .put(payload)
+                  .array();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private T decode(byte[] record) {
+        try {
+            return objectMapper.readValue(record, HEADER_SIZE, record.length - HEADER_SIZE, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
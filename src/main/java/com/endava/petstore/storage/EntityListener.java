@@ -0,0 +1,22 @@
+package com.endava.petstore.storage;
+
+/**
+ * Callback notified by an {@link EntityStore} whenever an entity is inserted, replaced or removed.
+ * It is invoked while the store holds the lock of the affected id, so secondary indexes maintained by a listener
+ * always observe the changes of one entity in the order they were applied.
+ * A listener may reject a change by throwing a runtime exception, in which case the store keeps the previous entity;
+ * such validating listeners have to be registered before the listeners that only record changes.
+ * The listeners that already saw a change which is then rejected, by a later listener or by the journal, are notified of
+ * the reverse change, from {@code current} back to {@code previous}.
+ *
+ * @param <T> the stored entity type
+ */
+@FunctionalInterface
+public interface EntityListener<T> {
+
+    /**
+     * @param previous the entity before the change, or {@code null} if it was inserted
+     * @param current  the entity after the change, or {@code null} if it was removed
+     */
+    void onChange(T previous, T current);
+}
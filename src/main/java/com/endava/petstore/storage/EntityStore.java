@@ -0,0 +1,362 @@
+package com.endava.petstore.storage;
+
+import com.endava.petstore.exception.PreconditionFailedException;
+import com.endava.petstore.model.Versioned;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import static com.endava.petstore.constants.Constants.VERSION_MISMATCH;
+
+/**
+ * Thread-safe in-memory storage for entities keyed by their id, held in a {@link LongObjectMap} without boxing the ids.
+ * Reads are optimistic, writes lock only the map segment of the affected id, so request threads touching
+ * different entities rarely contend. Updates are atomic read-modify-write operations: the updater receives
+ * the current entity and returns its replacement, which is published only once it is fully built.
+ * Registered {@link EntityListener}s see every change while the lock of the affected id is held.
+ * Ids are also kept in a {@link SortedIdSet}, so entities are listed in ascending id order and a page starting after
+ * a given id is found without walking the ids before it, no matter how deep it is.
+ * Once an {@link EntityJournal} is attached through {@link #recover(EntityJournal, long, UnaryOperator)}, every change is also appended
+ * to it after the listeners accepted it, and the writing thread returns only when the journal reports the change durable.
+ * If a listener rejects a change or the journal fails to append it, the listeners that already saw the change are notified
+ * of its reversal, so the indexes they maintain never disagree with the store.
+ * {@link Versioned} entities are stamped with a new version on every change, drawn under the lock of their id from a counter
+ * shared by the whole store. The counter starts from the current time in microseconds, so a version is not handed out again
+ * after a restart, not even one of an entity deleted before it, unless the store averaged over a million changes per second.
+ *
+ * @param <T> the stored entity type
+ */
+public class EntityStore<T> {
+    private final LongObjectMap<T> entities = new LongObjectMap<>();
+    private final SortedIdSet ids = new SortedIdSet();
+    private volatile List<EntityListener<T>> listeners;
+    private final AtomicLong lastVersion = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final AtomicLong writeVersion = new AtomicLong();
+    private volatile EntityJournal<T> journal;
+
+    @SafeVarargs
+    public EntityStore(EntityListener<T>... listeners) {
+        this.listeners = List.of(listeners);
+    }
+
+    /**
+     * Registers a listener after the ones the store was created with, so it only sees the changes they accepted.
+     * It does not see the entities already stored.
+     */
+    public synchronized void addListener(EntityListener<T> listener) {
+        List<EntityListener<T>> extended = new ArrayList<>(listeners);
+        extended.add(listener);
+        listeners = List.copyOf(extended);
+    }
+
+    public List<T> findAll() {
+        return stream().toList();
+    }
+
+    /**
+     * @return at most {@code limit} entities with an id greater than {@code afterId}, in ascending id order,
+     * or starting with the first entity if {@code afterId} is {@code null}
+     */
+    public List<T> findAll(Long afterId, int limit) {
+        return streamAfter(afterId).limit(limit).toList();
+    }
+
+    /**
+     * @return a lazy stream of all entities in ascending id order, reflecting changes made while it is consumed
+     */
+    public Stream<T> stream() {
+        return streamAfter(null);
+    }
+
+    public Optional<T> findById(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(entities.get(id));
+    }
+
+    /**
+     * @return the saved entity, stamped with its new version if it is {@link Versioned}
+     */
+    public T save(Long id, T entity) {
+        T saved = put(id, entity, true);
+        completeWrite();
+        return saved;
+    }
+
+    /**
+     * Saves an entity read back from a snapshot or from the journal, keeping the version it was recorded with,
+     * so that versions already handed out to clients stay valid. Entities recorded without a version get a new one.
+     */
+    public T restore(Long id, T entity) {
+        Long version = entity instanceof Versioned<?> versioned ? versioned.getVersion() : null;
+        if (version != null) {
+            lastVersion.accumulateAndGet(version, Math::max);
+        }
+        T restored = put(id, entity, version == null);
+        completeWrite();
+        return restored;
+    }
+
+    /**
+     * Saves the entities one after the other, as {@link #save(Long, Object)} does, but waits for the journal only once,
+     * after the last of them, so a batch costs a single sync instead of one per entity.
+     * Stops at the first entity a listener rejects, keeping the ones saved before it.
+     */
+    public void saveAll(List<T> batch, Function<T, Long> idGetter) {
+        try {
+            batch.forEach(entity -> put(idGetter.apply(entity), entity, true));
+        } finally {
+            completeWrite();
+        }
+    }
+
+    /**
+     * Inserts the entity unless there already is one with the given id.
+     *
+     * @return the entity stored under the id after the call, which is the existing one if there was any
+     */
+    public T saveIfAbsent(Long id, T entity) {
+        T existing = entities.get(id);
+        if (existing != null) {
+            return existing;
+        }
+        T stored = entities.compute(id, previous -> {
+            if (previous != null) {
+                return previous;
+            }
+            T stamped = stamp(entity);
+            insert(id, stamped);
+            return stamped;
+        });
+        completeWrite();
+        return stored;
+    }
+
+    /**
+     * Atomically replaces the entity with the given id by the result of the updater.
+     * Concurrent updates of the same id are applied one after the other, so none of them is lost.
+     *
+     * @return the updated entity, or an empty optional if there is no entity with the given id
+     */
+    public Optional<T> update(Long id, UnaryOperator<T> updater) {
+        return update(id, null, updater);
+    }
+
+    /**
+     * Like {@link #update(Long, UnaryOperator)}, but only if the entity is still at the expected version, which is checked
+     * under the lock of its id, so a client holding an outdated entity cannot overwrite the changes it has not seen.
+     *
+     * @param expectedVersion the version the entity must be at, or {@code null} to update it at any version
+     * @throws PreconditionFailedException if the entity is at another version
+     */
+    public Optional<T> update(Long id, Long expectedVersion, UnaryOperator<T> updater) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        T updated = entities.computeIfPresent(id, previous -> {
+            checkVersion(id, previous, expectedVersion);
+            T current = stamp(updater.apply(previous));
+            notifyListeners(id, previous, current);
+            return current;
+        });
+        completeWrite();
+        return Optional.ofNullable(updated);
+    }
+
+    /**
+     * Applies the updater to every entity with one of the given ids, as {@link #update(Long, UnaryOperator)} does, but takes
+     * the lock of each map segment once for all the ids in it and waits for the journal once for the whole batch.
+     * An updater that returns the entity it received leaves it as it is, without a new version or notifying the listeners or the journal.
+     *
+     * @return the number of entities changed
+     */
+    public int updateAll(long[] batch, UnaryOperator<T> updater) {
+        int[] updated = new int[1];
+        try {
+            entities.computeAllIfPresent(batch, (id, previous) -> {
+                T current = updater.apply(previous);
+                if (current == previous) {
+                    return previous;
+                }
+                T stamped = stamp(current);
+                notifyListeners(id, previous, stamped);
+                updated[0]++;
+                return stamped;
+            });
+        } finally {
+            completeWrite();
+        }
+        return updated[0];
+    }
+
+    public Optional<T> deleteById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        List<T> deleted = new ArrayList<>(1);
+        entities.computeIfPresent(id, previous -> {
+            notifyListeners(id, previous, null);
+            ids.remove(id);
+            deleted.add(previous);
+            return null;
+        });
+        completeWrite();
+        return deleted.stream().findFirst();
+    }
+
+    public void deleteAll() {
+        deleteAll(ids.streamAfter(null).toArray(), entity -> true);
+    }
+
+    /**
+     * Deletes the entities with one of the given ids that match the condition, which is checked under the lock of each id,
+     * taking the lock of each map segment once for all the ids in it and waiting for the journal once for the whole batch.
+     *
+     * @return the number of entities deleted
+     */
+    public int deleteAll(long[] batch, Predicate<T> condition) {
+        int[] deleted = new int[1];
+        try {
+            entities.computeAllIfPresent(batch, (id, previous) -> {
+                if (!condition.test(previous)) {
+                    return previous;
+                }
+                notifyListeners(id, previous, null);
+                ids.remove(id);
+                deleted[0]++;
+                return null;
+            });
+        } finally {
+            completeWrite();
+        }
+        return deleted[0];
+    }
+
+    public int size() {
+        return entities.size();
+    }
+
+    /**
+     * @return a number that increases after every write, once its changes are visible to readers, so a result computed from
+     * the store after reading a given write version is outdated as soon as the write version differs from it
+     */
+    public long getWriteVersion() {
+        return writeVersion.get();
+    }
+
+    /**
+     * Passes every entity to the consumer in ascending id order, reading each one under the lock of its id.
+     * A change already appended to the journal is therefore always seen, even if its writer has not returned yet,
+     * while writers are never blocked for longer than the read of a single entity.
+     * The id of an entity being inserted is added to the sorted set before its change is appended to the journal, so it is not missed either.
+     */
+    public void forEachLocked(BiConsumer<Long, T> consumer) {
+        ids.streamAfter(null).forEach(id -> {
+            T entity = entities.getLocked(id);
+            if (entity != null) {
+                consumer.accept(id, entity);
+            }
+        });
+    }
+
+    public boolean recover(EntityJournal<T> journal, long fromSegment) {
+        return recover(journal, fromSegment, UnaryOperator.identity());
+    }
+
+    /**
+     * Replays the changes recorded in the journal from the given log segment on into this store, passing every
+     * replayed entity through the resolver first, and records all further changes in the journal.
+     * Must be called before the store is used by other threads.
+     *
+     * @return whether the journal contained any change
+     */
+    public boolean recover(EntityJournal<T> journal, long fromSegment, UnaryOperator<T> resolver) {
+        boolean recovered = journal.replay(fromSegment, (id, entity) -> {
+            if (entity == null) {
+                deleteById(id);
+            } else {
+                restore(id, resolver.apply(entity));
+            }
+        });
+        this.journal = journal;
+        return recovered;
+    }
+
+    private Stream<T> streamAfter(Long afterId) {
+        return ids.streamAfter(afterId).mapToObj(entities::get).filter(Objects::nonNull);
+    }
+
+    private T put(Long id, T entity, boolean newVersion) {
+        return entities.compute(id, previous -> {
+            T current = newVersion ? stamp(entity) : entity;
+            if (previous == null) {
+                insert(id, current);
+            } else {
+                notifyListeners(id, previous, current);
+            }
+            return current;
+        });
+    }
+
+    /**
+     * Adds the id to the sorted set before the listeners and the journal see the new entity, and takes it out again if they reject it.
+     * Must be called under the lock of the id.
+     */
+    private void insert(Long id, T entity) {
+        ids.add(id);
+        try {
+            notifyListeners(id, null, entity);
+        } catch (RuntimeException e) {
+            ids.remove(id);
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T stamp(T entity) {
+        return entity instanceof Versioned<?> versioned ? (T) versioned.withVersion(lastVersion.incrementAndGet()) : entity;
+    }
+
+    private void checkVersion(Long id, T entity, Long expectedVersion) {
+        if (expectedVersion != null && entity instanceof Versioned<?> versioned && !expectedVersion.equals(versioned.getVersion())) {
+            throw new PreconditionFailedException(String.format(VERSION_MISMATCH, expectedVersion, id, versioned.getVersion()));
+        }
+    }
+
+    private void notifyListeners(Long id, T previous, T current) {
+        List<EntityListener<T>> notified = listeners;
+        int accepted = 0;
+        try {
+            for (EntityListener<T> listener : notified) {
+                listener.onChange(previous, current);
+                accepted++;
+            }
+            EntityJournal<T> currentJournal = journal;
+            if (currentJournal != null) {
+                currentJournal.append(id, current);
+            }
+        } catch (RuntimeException e) {
+            for (int i = accepted - 1; i >= 0; i--) {
+                notified.get(i).onChange(current, previous);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Ends a write, once its changes are visible to readers: bumps the write version, then waits for the journal.
+     */
+    private void completeWrite() {
+        writeVersion.incrementAndGet();
+        EntityJournal<T> currentJournal = journal;
+        if (currentJournal != null) {
+            currentJournal.sync();
+        }
+    }
+}
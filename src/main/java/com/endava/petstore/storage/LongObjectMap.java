@@ -0,0 +1,267 @@
+package com.endava.petstore.storage;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Concurrent hash map from primitive {@code long} keys to non-null values, without boxing keys or allocating entry nodes.
+ * Keys are spread over a fixed number of segments, each an open-addressing table with linear probing held in two
+ * parallel arrays, so an entry costs a {@code long} slot and a reference slot instead of a {@code Long} and a node.
+ * Removals shift the following entries back instead of leaving tombstones, so lookups never slow down over time.
+ * <p>
+ * Every segment is guarded by its own {@link StampedLock}: reads are optimistic and only fall back to the read lock
+ * if a writer changed the segment meanwhile, and writes to keys of different segments never contend.
+ *
+ * @param <V> the value type
+ */
+public class LongObjectMap<V> {
+    private static final int SEGMENT_BITS = 8;
+    private static final int INITIAL_SEGMENT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final Segment<V>[] segments;
+
+    @SuppressWarnings("unchecked")
+    public LongObjectMap() {
+        segments = new Segment[1 << SEGMENT_BITS];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment<>();
+        }
+    }
+
+    public V get(long key) {
+        long hash = hash(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    /**
+     * Reads the value under the read lock of its segment, so it reflects every write that holds the segment lock.
+     */
+    public V getLocked(long key) {
+        long hash = hash(key);
+        Segment<V> segment = segmentFor(hash);
+        long stamp = segment.lock.readLock();
+        try {
+            return segment.find(key, hash);
+        } finally {
+            segment.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Atomically replaces the value of the key by the result of the remapping function, which receives the current
+     * value or {@code null} if there is none, and removes the key if the function returns {@code null}.
+     * The function runs under the lock of the key's segment; if it throws, the map is left unchanged.
+     *
+     * @return the new value, or {@code null} if the key has been removed
+     */
+    public V compute(long key, UnaryOperator<V> remapping) {
+        long hash = hash(key);
+        return segmentFor(hash).compute(key, hash, remapping, false);
+    }
+
+    /**
+     * Like {@link #compute(long, UnaryOperator)}, but only calls the remapping function if the key is present.
+     */
+    public V computeIfPresent(long key, UnaryOperator<V> remapping) {
+        long hash = hash(key);
+        return segmentFor(hash).compute(key, hash, remapping, true);
+    }
+
+    /**
+     * Like {@link #computeIfPresent(long, UnaryOperator)} for every key, but takes the lock of each segment once
+     * for all the keys that fall into it, instead of once per key. The function also receives the key.
+     * Keys are visited segment by segment, not in the order given; if the function throws, the keys already visited keep their new values.
+     */
+    public void computeAllIfPresent(long[] keys, KeyedRemapping<V> remapping) {
+        long[] hashes = new long[keys.length];
+        int[] segmentStarts = new int[segments.length + 1];
+        for (int i = 0; i < keys.length; i++) {
+            hashes[i] = hash(keys[i]);
+            segmentStarts[segmentIndex(hashes[i]) + 1]++;
+        }
+        for (int segment = 0; segment < segments.length; segment++) {
+            segmentStarts[segment + 1] += segmentStarts[segment];
+        }
+        int[] order = new int[keys.length];
+        int[] positions = Arrays.copyOf(segmentStarts, segments.length);
+        for (int i = 0; i < keys.length; i++) {
+            order[positions[segmentIndex(hashes[i])]++] = i;
+        }
+        for (int segment = 0; segment < segments.length; segment++) {
+            if (segmentStarts[segment] < segmentStarts[segment + 1]) {
+                segments[segment].computeAll(keys, hashes, order, segmentStarts[segment], segmentStarts[segment + 1], remapping);
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    private Segment<V> segmentFor(long hash) {
+        return segments[segmentIndex(hash)];
+    }
+
+    private static int segmentIndex(long hash) {
+        return (int) (hash >>> (Long.SIZE - SEGMENT_BITS));
+    }
+
+    private static long hash(long key) {
+        long hash = key;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Remapping function of {@link #computeAllIfPresent(long[], KeyedRemapping)}, which also receives the key.
+     */
+    @FunctionalInterface
+    public interface KeyedRemapping<V> {
+        V apply(long key, V value);
+    }
+
+    private static final class Segment<V> {
+        private final StampedLock lock = new StampedLock();
+        private long[] keys = new long[INITIAL_SEGMENT_CAPACITY];
+        private Object[] values = new Object[INITIAL_SEGMENT_CAPACITY];
+        private volatile int size;
+
+        V get(long key, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                V value = find(key, hash);
+                if (lock.validate(stamp)) {
+                    return value;
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return find(key, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        V find(long key, long hash) {
+            long[] currentKeys = keys;
+            Object[] currentValues = values;
+            int mask = currentValues.length - 1;
+            if (currentKeys.length != currentValues.length) {
+                return null;
+            }
+            int index = (int) hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                Object value = currentValues[index];
+                if (value == null) {
+                    return null;
+                }
+                if (currentKeys[index] == key) {
+                    return (V) value;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        V compute(long key, long hash, UnaryOperator<V> remapping, boolean onlyIfPresent) {
+            long stamp = lock.writeLock();
+            try {
+                return computeLocked(key, hash, remapping, onlyIfPresent);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        void computeAll(long[] keys, long[] hashes, int[] order, int from, int to, KeyedRemapping<V> remapping) {
+            long stamp = lock.writeLock();
+            try {
+                for (int i = from; i < to; i++) {
+                    long key = keys[order[i]];
+                    computeLocked(key, hashes[order[i]], value -> remapping.apply(key, value), true);
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private V computeLocked(long key, long hash, UnaryOperator<V> remapping, boolean onlyIfPresent) {
+            int mask = values.length - 1;
+            int index = (int) hash & mask;
+            while (values[index] != null && keys[index] != key) {
+                index = (index + 1) & mask;
+            }
+            V previous = (V) values[index];
+            if (previous == null && onlyIfPresent) {
+                return null;
+            }
+            V current = remapping.apply(previous);
+            if (current == null) {
+                if (previous != null) {
+                    removeAt(index);
+                    size--;
+                }
+            } else if (previous != null) {
+                values[index] = current;
+            } else {
+                keys[index] = key;
+                values[index] = current;
+                if (++size > values.length * LOAD_FACTOR) {
+                    resize();
+                }
+            }
+            return current;
+        }
+
+        private void removeAt(int index) {
+            int mask = values.length - 1;
+            int gap = index;
+            int next = index;
+            while (true) {
+                next = (next + 1) & mask;
+                if (values[next] == null) {
+                    break;
+                }
+                int home = (int) hash(keys[next]) & mask;
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    keys[gap] = keys[next];
+                    values[gap] = values[next];
+                    gap = next;
+                }
+            }
+            keys[gap] = 0;
+            values[gap] = null;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            Object[] oldValues = values;
+            long[] newKeys = new long[oldValues.length * 2];
+            Object[] newValues = new Object[oldValues.length * 2];
+            int mask = newValues.length - 1;
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] != null) {
+                    int index = (int) hash(oldKeys[i]) & mask;
+                    while (newValues[index] != null) {
+                        index = (index + 1) & mask;
+                    }
+                    newKeys[index] = oldKeys[i];
+                    newValues[index] = oldValues[i];
+                }
+            }
+            keys = newKeys;
+            values = newValues;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.endava.petstore.storage;
+
+import com.endava.petstore.enums.DurabilityMode;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Makes the entity stores of the repositories durable, as configured by the {@code petstore.persistence.*} properties.
+ * A store is recovered from its latest snapshot plus the tail of its write-ahead log written after that snapshot,
+ * and every further change is recorded in the log. Snapshots are taken periodically and on shutdown; each one starts
+ * a new log segment first, so the older segments and snapshots can be deleted once it is on disk.
+ * A store with neither a snapshot nor a log, or any store if persistence is disabled,
+ * is filled from the {@code seed/<name>.json} classpath resource.
+ */
+@Slf4j
+@Component
+public class PersistenceManager {
+    private static final String SNAPSHOT_FILE_FORMAT = "%s.%010d.snapshot";
+    private static final String SEED_RESOURCE_FORMAT = "/seed/%s.json";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final DurabilityMode durabilityMode;
+    private final Duration flushInterval;
+    private final Duration snapshotInterval;
+    private final ObjectMapper storageMapper = new SmileMapper().findAndRegisterModules().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private final ObjectMapper seedMapper = new JsonMapper().findAndRegisterModules();
+    private final List<PersistentStore<?>> stores = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService scheduler;
+
+    public PersistenceManager(@Value("${petstore.persistence.enabled:false}") boolean enabled,
+                              @Value("${petstore.persistence.directory:data}") Path directory,
+                              @Value("${petstore.persistence.durability:GROUP}") DurabilityMode durabilityMode,
+                              @Value("${petstore.persistence.flush-interval-millis:100}") long flushIntervalMillis,
+                              @Value("${petstore.persistence.snapshot-interval-seconds:300}") long snapshotIntervalSeconds) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.durabilityMode = durabilityMode;
+        this.flushInterval = Duration.ofMillis(flushIntervalMillis);
+        this.snapshotInterval = Duration.ofSeconds(snapshotIntervalSeconds);
+    }
+
+    public static PersistenceManager disabled() {
+        return new PersistenceManager(false, null, DurabilityMode.ASYNC, 0, 0);
+    }
+
+    public <T> void recover(EntityStore<T> store, String name, Class<T> type, Function<T, Long> idGetter) {
+        recover(store, name, type, idGetter, UnaryOperator.identity());
+    }
+
+    /**
+     * Fills the store from its latest snapshot and log tail, or from its seed resource if there is nothing to recover,
+     * and records all further changes of the store. Every loaded entity is passed through the resolver before it is
+     * stored, which lets it share the objects it references with other stores.
+     */
+    public <T> void recover(EntityStore<T> store, String name, Class<T> type, Function<T, Long> idGetter, UnaryOperator<T> resolver) {
+        if (!enabled) {
+            seed(store, name, type, idGetter, resolver);
+            return;
+        }
+        try {
+            Optional<Path> snapshot = findSnapshots(name).reduce((first, second) -> second);
+            long fromSegment = 1;
+            if (snapshot.isPresent()) {
+                fromSegment = SnapshotFile.read(snapshot.get(), storageMapper, type, (id, entity) -> store.restore(id, resolver.apply(entity)));
+            }
+            EntityJournal<T> journal = new EntityJournal<>(new WriteAheadLog(directory, name, durabilityMode, flushInterval), storageMapper, type);
+            boolean replayed = store.recover(journal, fromSegment, resolver);
+            if (snapshot.isEmpty() && !replayed) {
+                seed(store, name, type, idGetter, resolver);
+            }
+            journal.deleteSegmentsBefore(fromSegment);
+            stores.add(new PersistentStore<>(name, store, journal));
+            scheduleSnapshots();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Takes a snapshot of every recovered store.
+     */
+    public synchronized void snapshot() throws IOException {
+        for (PersistentStore<?> store : stores) {
+            snapshot(store);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        try {
+            snapshot();
+        } finally {
+            for (PersistentStore<?> store : stores) {
+                store.journal().close();
+            }
+            stores.clear();
+        }
+    }
+
+    private <T> void snapshot(PersistentStore<T> store) throws IOException {
+        long segment = store.journal().roll();
+        long count = SnapshotFile.write(getSnapshotFile(store.name(), segment), segment, store.store(), storageMapper);
+        store.journal().deleteSegmentsBefore(segment);
+        try (Stream<Path> snapshots = findSnapshots(store.name())) {
+            for (Path snapshot : snapshots.filter(file -> !file.equals(getSnapshotFile(store.name(), segment))).toList()) {
+                Files.delete(snapshot);
+            }
+        }
+        log.info("Saved snapshot of {} {} up to log segment {}", count, store.name(), segment);
+    }
+
+    private synchronized void scheduleSnapshots() {
+        if (scheduler != null || snapshotInterval.isZero()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+            } catch (IOException | RuntimeException e) {
+                log.error("Failed to save snapshot", e);
+            }
+        }, snapshotInterval.toMillis(), snapshotInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private <T> void seed(EntityStore<T> store, String name, Class<T> type, Function<T, Long> idGetter, UnaryOperator<T> resolver) {
+        try (InputStream seed = PersistenceManager.class.getResourceAsStream(String.format(SEED_RESOURCE_FORMAT, name))) {
+            if (seed == null) {
+                return;
+            }
+            List<T> entities = seedMapper.readValue(seed, seedMapper.getTypeFactory().constructCollectionType(List.class, type));
+            entities.stream().map(resolver).forEach(entity -> store.save(idGetter.apply(entity), entity));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Stream<Path> findSnapshots(String name) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return Stream.empty();
+        }
+        String prefix = name + ".";
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(prefix) && file.getFileName().toString().endsWith(".snapshot"))
+                  .sorted()
+                  .toList()
+                  .stream();
+        }
+    }
+
+    private Path getSnapshotFile(String name, long segment) {
+        return directory.resolve(String.format(SNAPSHOT_FILE_FORMAT, name, segment));
+    }
+
+    private record PersistentStore<T>(String name, EntityStore<T> store, EntityJournal<T> journal) {
+    }
+}
@@ -0,0 +1,155 @@
+package com.endava.petstore.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Compact binary image of an {@link EntityStore}, written and read through memory-mapped regions of the file.
+ * The header holds a magic number, the format version, the first log segment not covered by the snapshot
+ * and the number of entities; it is followed by one {@code [id, length, Smile encoded entity]} entry per entity.
+ * A snapshot is written to a temporary file and renamed only once it is complete and forced to disk,
+ * so a crash while writing never leaves a partial snapshot behind.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SnapshotFile {
+    private static final int MAGIC = 0x50534E50;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES * 2 + Long.BYTES * 2;
+    private static final int ENTRY_HEADER_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int REGION_SIZE = 64 * 1024 * 1024;
+    private static final int MAX_READ_REGION_SIZE = Integer.MAX_VALUE;
+
+    /**
+     * Writes every entity of the store to the snapshot file, without blocking writers of the store.
+     *
+     * @return the number of written entities
+     */
+    public static <T> long write(Path file, long segment, EntityStore<T> store, ObjectMapper objectMapper) throws IOException {
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        long count;
+        try (FileChannel channel = FileChannel.open(temporaryFile, CREATE, TRUNCATE_EXISTING, READ, WRITE)) {
+            MappedWriter writer = new MappedWriter(channel);
+            try {
+                store.forEachLocked((id, entity) -> writer.write(id, encode(objectMapper, entity)));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            long size = writer.finish();
+            count = writer.count;
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putLong(segment).putLong(count);
+            header.force();
+            channel.truncate(size);
+            channel.force(true);
+        }
+        Files.move(temporaryFile, file, ATOMIC_MOVE, REPLACE_EXISTING);
+        return count;
+    }
+
+    /**
+     * Passes every entity of the snapshot to the consumer. Entities are decoded in parallel,
+     * so the consumer is called concurrently and in no particular order.
+     *
+     * @return the first log segment not covered by the snapshot
+     */
+    public static <T> long read(Path file, ObjectMapper objectMapper, Class<T> type, BiConsumer<Long, T> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Snapshot " + file + " is truncated");
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Snapshot " + file + " has an unknown format");
+            }
+            long segment = header.getLong();
+            long count = header.getLong();
+            List<ByteBuffer> entries = new ArrayList<>((int) Math.min(count, Integer.MAX_VALUE));
+            long regionStart = HEADER_SIZE;
+            while (regionStart < size) {
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, Math.min(size - regionStart, MAX_READ_REGION_SIZE));
+                while (region.remaining() >= ENTRY_HEADER_SIZE && region.remaining() - ENTRY_HEADER_SIZE >= region.getInt(region.position() + Long.BYTES)) {
+                    int length = region.getInt(region.position() + Long.BYTES);
+                    entries.add(region.slice(region.position(), ENTRY_HEADER_SIZE + length));
+                    region.position(region.position() + ENTRY_HEADER_SIZE + length);
+                }
+                if (region.position() == 0) {
+                    throw new IOException("Snapshot " + file + " is truncated");
+                }
+                regionStart += region.position();
+            }
+            if (entries.size() != count) {
+                throw new IOException("Snapshot " + file + " holds " + entries.size() + " of " + count + " entities");
+            }
+            entries.parallelStream().forEach(entry -> consumer.accept(entry.getLong(0), decode(objectMapper, entry.position(ENTRY_HEADER_SIZE), type)));
+            return segment;
+        }
+    }
+
+    private static byte[] encode(ObjectMapper objectMapper, Object entity) {
+        try {
+            return objectMapper.writeValueAsBytes(entity);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> T decode(ObjectMapper objectMapper, ByteBuffer entry, Class<T> type) {
+        try {
+            byte[] bytes = new byte[entry.remaining()];
+            entry.get(bytes);
+            return objectMapper.readValue(bytes, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class MappedWriter {
+        private final FileChannel channel;
+        private MappedByteBuffer region;
+        private long regionStart;
+        private long count;
+
+        MappedWriter(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.region = channel.map(FileChannel.MapMode.READ_WRITE, 0, REGION_SIZE);
+            this.region.position(HEADER_SIZE);
+        }
+
+        void write(Long id, byte[] entity) {
+            int entrySize = ENTRY_HEADER_SIZE + entity.length;
+            if (region.remaining() < entrySize) {
+                try {
+                    region.force();
+                    regionStart += region.position();
+                    region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, Math.max(REGION_SIZE, entrySize));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            region.putLong(id).putInt(entity.length).put(entity);
+            count++;
+        }
+
+        long finish() {
+            region.force();
+            return regionStart + region.position();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.endava.petstore.storage;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Sorted set of primitive ids, kept as 64-bit words in a {@link ConcurrentSkipListMap} keyed by the id divided by 64,
+ * with one bit per id, so a run of dense ids costs about one bit each and no id is boxed on its own.
+ * Adding or removing an id locks only the word holding it, so writers of different words never contend and readers never wait.
+ * A word whose last id is removed is dropped from the map; it is marked as removed first, so a concurrent writer retries on a new word.
+ */
+public class SortedIdSet {
+    private static final int WORD_SHIFT = 6;
+
+    private final ConcurrentNavigableMap<Long, Word> words = new ConcurrentSkipListMap<>();
+
+    public void add(long id) {
+        long key = id >> WORD_SHIFT;
+        long mask = 1L << id;
+        while (true) {
+            Word word = words.computeIfAbsent(key, k -> new Word());
+            synchronized (word) {
+                if (!word.removed) {
+                    word.bits |= mask;
+                    return;
+                }
+            }
+            words.remove(key, word);
+        }
+    }
+
+    public void remove(long id) {
+        long key = id >> WORD_SHIFT;
+        Word word = words.get(key);
+        if (word == null) {
+            return;
+        }
+        synchronized (word) {
+            if (word.removed) {
+                return;
+            }
+            word.bits &= ~(1L << id);
+            if (word.bits != 0) {
+                return;
+            }
+            word.removed = true;
+        }
+        words.remove(key, word);
+    }
+
+    /**
+     * @return a lazy stream of the ids greater than {@code afterId} in ascending order, or of all ids if it is
+     * {@code null}; every word of ids is read when the stream reaches it, so the stream reflects changes made while it is consumed
+     */
+    public LongStream streamAfter(Long afterId) {
+        if (afterId != null && afterId == Long.MAX_VALUE) {
+            return LongStream.empty();
+        }
+        long fromId = afterId == null ? Long.MIN_VALUE : afterId + 1;
+        return StreamSupport.longStream(Spliterators.spliteratorUnknownSize(new IdIterator(fromId),
+              Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    private static class Word {
+        private volatile long bits;
+        private boolean removed;
+    }
+
+    private class IdIterator implements PrimitiveIterator.OfLong {
+        private final Iterator<Map.Entry<Long, Word>> entries;
+        private final long fromId;
+        private long base;
+        private long remaining;
+
+        IdIterator(long fromId) {
+            this.entries = words.tailMap(fromId >> WORD_SHIFT).entrySet().iterator();
+            this.fromId = fromId;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (remaining == 0) {
+                if (!entries.hasNext()) {
+                    return false;
+                }
+                Map.Entry<Long, Word> entry = entries.next();
+                base = entry.getKey() << WORD_SHIFT;
+                remaining = entry.getValue().bits;
+                if (base < fromId) {
+                    remaining &= -1L << fromId;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            long id = base + Long.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+            return id;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.endava.petstore.storage;
+
+import com.endava.petstore.exception.InvalidRequestException;
+import com.endava.petstore.exception.ResourceNotFoundException;
+import com.endava.petstore.model.UploadSession;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import static com.endava.petstore.constants.Constants.*;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Resumable chunked uploads into the {@link BlobStore}, as configured by the {@code petstore.uploads.*} properties.
+ * An upload is initiated with the size of the file, which is created at its full size in the temporary directory of the blob store.
+ * Chunks are then written at their offsets, in any order and in parallel, each by positional writes through a file channel
+ * opened for that chunk only, so an idle upload holds no file descriptor;
+ * the ranges received are tracked, so after a dropped connection a client can ask what is missing and send only that.
+ * Completing the upload hashes the file, checks the hash against the one given when it was initiated, if any,
+ * and moves the file into the blob store without copying it.
+ * <p>
+ * Uploads are kept in memory: those left untouched for {@code expiry-minutes} are discarded every {@code purge-interval-millis}
+ * and before a new upload is initiated, and all of them are lost on restart, when the blob store deletes its temporary files.
+ * At most {@code max-sessions} uploads, and {@code max-sessions-per-pet} of a single pet, may be in progress at once, which bounds
+ * the temporary disk space taken by uploads to {@code max-sessions} times {@code max-size-bytes}.
+ */
+@Slf4j
+@Component
+public class UploadStore {
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final long TRANSFER_CHUNK_SIZE = 1 << 20;
+
+    private final BlobStore blobStore;
+    private final long maxSize;
+    private final Duration expiry;
+    private final int maxSessions;
+    private final int maxSessionsPerPet;
+    private final Map<String, Upload> uploads = new ConcurrentHashMap<>();
+
+    public UploadStore(BlobStore blobStore,
+                       @Value("${petstore.uploads.max-size-bytes:1073741824}") long maxSize,
+                       @Value("${petstore.uploads.expiry-minutes:60}") long expiryMinutes,
+                       @Value("${petstore.uploads.max-sessions:64}") int maxSessions,
+                       @Value("${petstore.uploads.max-sessions-per-pet:4}") int maxSessionsPerPet) {
+        this.blobStore = blobStore;
+        this.maxSize = maxSize;
+        this.expiry = Duration.ofMinutes(expiryMinutes);
+        this.maxSessions = maxSessions;
+        this.maxSessionsPerPet = maxSessionsPerPet;
+    }
+
+    /**
+     * Starts an upload of a file of the given size.
+     *
+     * @param hash the hex SHA-256 hash the file must have when the upload is completed, or {@code null} to accept any content
+     * @throws InvalidRequestException if the size or the hash is invalid, or too many uploads are in progress
+     */
+    public UploadSession create(Long petId, long size, String hash) {
+        if (size <= 0 || size > maxSize) {
+            throw new InvalidRequestException(String.format(INVALID_UPLOAD_SIZE, maxSize));
+        }
+        if (hash != null && !HASH_PATTERN.matcher(hash).matches()) {
+            throw new InvalidRequestException(String.format(INVALID_UPLOAD_HASH, hash));
+        }
+        discardExpiredUploads();
+        synchronized (uploads) {
+            if (uploads.size() >= maxSessions) {
+                throw new InvalidRequestException(String.format(TOO_MANY_UPLOADS, maxSessions));
+            }
+            if (uploads.values().stream().filter(upload -> upload.petId.equals(petId)).count() >= maxSessionsPerPet) {
+                throw new InvalidRequestException(String.format(TOO_MANY_PET_UPLOADS, petId, maxSessionsPerPet));
+            }
+            try {
+                Path file = blobStore.createTemporaryFile();
+                try (FileChannel channel = FileChannel.open(file, READ, WRITE)) {
+                    channel.write(ByteBuffer.allocate(1), size - 1);
+                } catch (IOException e) {
+                    Files.deleteIfExists(file);
+                    throw e;
+                }
+                Upload upload = new Upload(UUID.randomUUID().toString(), petId, size, hash, file);
+                uploads.put(upload.id, upload);
+                return upload.toSession();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public UploadSession find(Long petId, String uploadId) {
+        return getUpload(petId, uploadId).toSession();
+    }
+
+    /**
+     * Writes the content at the offset of the upload. Whatever part of the content arrives is recorded as received,
+     * even if the stream breaks off, so the rest can be sent again from where it stopped.
+     */
+    public UploadSession write(Long petId, String uploadId, long offset, InputStream content) {
+        Upload upload = getUpload(petId, uploadId);
+        if (offset < 0 || offset >= upload.size) {
+            throw new InvalidRequestException(String.format(INVALID_CHUNK_OFFSET, offset, uploadId, upload.size));
+        }
+        upload.lock.readLock().lock();
+        long position = offset;
+        try {
+            if (upload.discarded) {
+                throw new ResourceNotFoundException(String.format(UPLOAD_NOT_FOUND, uploadId, petId));
+            }
+            try (FileChannel channel = FileChannel.open(upload.file, WRITE)) {
+                ReadableByteChannel source = Channels.newChannel(content);
+                long transferred;
+                while (position < upload.size && (transferred = channel.transferFrom(source, position, Math.min(TRANSFER_CHUNK_SIZE, upload.size - position))) > 0) {
+                    position += transferred;
+                }
+            }
+            if (position == upload.size && content.read() != -1) {
+                throw new InvalidRequestException(String.format(CHUNK_EXCEEDS_UPLOAD, offset, uploadId, upload.size));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            upload.receive(offset, position);
+            upload.lock.readLock().unlock();
+        }
+        return upload.toSession();
+    }
+
+    /**
+     * Verifies that the whole file was received and has the expected hash, and moves it into the blob store.
+     * The upload is discarded if the hash does not match, since the content is then known to be wrong.
+     *
+     * @return the hash of the stored file
+     */
+    public String complete(Long petId, String uploadId) {
+        Upload upload = getUpload(petId, uploadId);
+        upload.lock.writeLock().lock();
+        try {
+            long receivedBytes = upload.receivedBytes();
+            if (receivedBytes < upload.size) {
+                throw new InvalidRequestException(String.format(UPLOAD_INCOMPLETE, uploadId, upload.size - receivedBytes, upload.size));
+            }
+            if (!uploads.remove(upload.id, upload)) {
+                throw new ResourceNotFoundException(String.format(UPLOAD_NOT_FOUND, uploadId, petId));
+            }
+            upload.discarded = true;
+            try (FileChannel channel = FileChannel.open(upload.file, WRITE)) {
+                channel.force(false);
+            }
+            String hash = blobStore.store(upload.file, upload.hash);
+            if (upload.hash != null && !upload.hash.equals(hash)) {
+                throw new InvalidRequestException(String.format(UPLOAD_HASH_MISMATCH, uploadId, hash, upload.hash));
+            }
+            return hash;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            upload.lock.writeLock().unlock();
+        }
+    }
+
+    public void abort(Long petId, String uploadId) {
+        discard(getUpload(petId, uploadId));
+    }
+
+    @PreDestroy
+    public void discardAll() {
+        uploads.values().forEach(this::discard);
+    }
+
+    private Upload getUpload(Long petId, String uploadId) {
+        Upload upload = uploadId == null ? null : uploads.get(uploadId);
+        if (upload == null || !upload.petId.equals(petId)) {
+            throw new ResourceNotFoundException(String.format(UPLOAD_NOT_FOUND, uploadId, petId));
+        }
+        upload.lastAccessNanos = System.nanoTime();
+        return upload;
+    }
+
+    /**
+     * Discards the uploads left untouched for longer than the expiry, along with their files.
+     */
+    @Scheduled(fixedDelayString = "${petstore.uploads.purge-interval-millis:60000}")
+    public void discardExpiredUploads() {
+        long now = System.nanoTime();
+        uploads.values().stream()
+              .filter(upload -> now - upload.lastAccessNanos > expiry.toNanos())
+              .forEach(upload -> {
+                  log.info("Discarding expired upload {} of pet with id {}", upload.id, upload.petId);
+                  discard(upload);
+              });
+    }
+
+    private void discard(Upload upload) {
+        upload.lock.writeLock().lock();
+        try {
+            uploads.remove(upload.id, upload);
+            upload.discarded = true;
+            Files.deleteIfExists(upload.file);
+        } catch (IOException e) {
+            log.warn("Failed to delete upload {}", upload.file, e);
+        } finally {
+            upload.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * An upload in progress. Chunks are written under the read lock, so they can be written in parallel,
+     * while completing or discarding the upload takes the write lock and so waits for the chunks being written,
+     * after which no chunk is written anymore.
+     */
+    private static class Upload {
+        private final String id;
+        private final Long petId;
+        private final long size;
+        private final String hash;
+        private final Path file;
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final NavigableMap<Long, Long> receivedRanges = new TreeMap<>();
+        private volatile long lastAccessNanos = System.nanoTime();
+        private volatile boolean discarded;
+
+        private Upload(String id, Long petId, long size, String hash, Path file) {
+            this.id = id;
+            this.petId = petId;
+            this.size = size;
+            this.hash = hash;
+            this.file = file;
+        }
+
+        /**
+         * Records the range from start (inclusive) to end (exclusive) as received, merging it with the ranges it overlaps or touches.
+         */
+        private synchronized void receive(long start, long end) {
+            if (start >= end) {
+                return;
+            }
+            Map.Entry<Long, Long> previous = receivedRanges.floorEntry(start);
+            if (previous != null && previous.getValue() >= start) {
+                start = previous.getKey();
+                end = Math.max(end, previous.getValue());
+            }
+            Map.Entry<Long, Long> next;
+            while ((next = receivedRanges.ceilingEntry(start)) != null && next.getKey() <= end) {
+                end = Math.max(end, next.getValue());
+                receivedRanges.remove(next.getKey());
+            }
+            receivedRanges.put(start, end);
+        }
+
+        private synchronized long receivedBytes() {
+            return receivedRanges.entrySet().stream().mapToLong(range -> range.getValue() - range.getKey()).sum();
+        }
+
+        private synchronized UploadSession toSession() {
+            List<String> ranges = new ArrayList<>(receivedRanges.size());
+            receivedRanges.forEach((start, end) -> ranges.add(start + "-" + (end - 1)));
+            return UploadSession.builder()
+                  .id(id)
+                  .petId(petId)
+                  .size(size)
+                  .hash(hash)
+                  .receivedBytes(receivedBytes())
+                  .receivedRanges(ranges)
+                  .build();
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.endava.petstore.storage;
+
+import com.endava.petstore.enums.DurabilityMode;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Append-only log of opaque records, split into numbered segment files {@code <name>.<segment>.wal}.
+ * Records are always appended to the latest segment; {@link #roll()} starts a new one, so the segments covered by a
+ * snapshot can be deleted as a whole.
+ * Every record is framed by its length and a CRC32 checksum, so a record torn by a crash is detected on replay
+ * and cut off together with everything after it.
+ * <p>
+ * Appending only queues a record in memory and returns its sequence number; {@link #awaitDurable(long)} then waits
+ * according to the {@link DurabilityMode}:
+ * <ul>
+ *     <li>{@code SYNC} - the calling thread writes and fsyncs the pending records itself before returning</li>
+ *     <li>{@code GROUP} - a background flusher writes all records queued by concurrent writers with a single fsync,
+ *     and every writer waits until the batch holding its record is on disk</li>
+ *     <li>{@code ASYNC} - the background flusher fsyncs once per flush interval and writers never wait,
+ *     so a crash loses at most the records of the last interval</li>
+ * </ul>
+ * The log is fail-stop: once writing or forcing a batch fails, the records of that batch and every record still queued are never
+ * reported durable, and every later append, flush or roll fails too, so no record is acknowledged after a frame that may be torn.
+ */
+public class WriteAheadLog implements Closeable {
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+    private static final String SEGMENT_FILE_FORMAT = "%s.%010d.wal";
+
+    private final Path directory;
+    private final String name;
+    private final DurabilityMode durabilityMode;
+    private final long flushIntervalMillis;
+    private FileChannel channel;
+    private volatile long segment;
+    private final Object flushLock = new Object();
+    private final Thread flusher;
+    private List<byte[]> pendingRecords = new ArrayList<>();
+    private long appendedSequence;
+    private long durableSequence;
+    private IOException failure;
+    private boolean closed;
+
+    public WriteAheadLog(Path directory, String name, DurabilityMode durabilityMode, Duration flushInterval) throws IOException {
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.name = name;
+        this.durabilityMode = durabilityMode;
+        this.flushIntervalMillis = Math.max(1, flushInterval.toMillis());
+        List<Long> segments = listSegments();
+        this.segment = segments.isEmpty() ? 1 : segments.get(segments.size() - 1);
+        this.channel = FileChannel.open(getSegmentFile(segment), CREATE, READ, WRITE);
+        this.channel.position(channel.size());
+        if (durabilityMode == DurabilityMode.SYNC) {
+            flusher = null;
+        } else {
+            flusher = new Thread(this::runFlusher, "wal-flusher-" + name);
+            flusher.setDaemon(true);
+            flusher.start();
+        }
+    }
+
+    /**
+     * Queues a record to be written to the log.
+     *
+     * @return the sequence number to pass to {@link #awaitDurable(long)}
+     */
+    public synchronized long append(byte[] record) {
+        checkWritable();
+        pendingRecords.add(record);
+        notifyAll();
+        return ++appendedSequence;
+    }
+
+    /**
+     * Blocks until the record with the given sequence number is durable, as far as the durability mode requires.
+     */
+    public void awaitDurable(long sequence) {
+        switch (durabilityMode) {
+            case SYNC -> {
+                synchronized (flushLock) {
+                    if (getDurableSequence() < sequence) {
+                        flush();
+                    }
+                }
+            }
+            case GROUP -> waitUntilDurable(sequence);
+            case ASYNC -> {
+            }
+        }
+    }
+
+    /**
+     * Writes all queued records and forces them to disk.
+     *
+     * @throws UncheckedIOException if this or an earlier flush failed
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            List<byte[]> records;
+            long sequence;
+            synchronized (this) {
+                checkFailure();
+                if (pendingRecords.isEmpty()) {
+                    return;
+                }
+                records = pendingRecords;
+                sequence = appendedSequence;
+                pendingRecords = new ArrayList<>();
+            }
+            try {
+                write(records);
+                channel.force(false);
+            } catch (IOException e) {
+                synchronized (this) {
+                    failure = e;
+                    notifyAll();
+                }
+                throw new UncheckedIOException(e);
+            }
+            synchronized (this) {
+                durableSequence = sequence;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Passes every intact record of the segments starting with {@code fromSegment} to the consumer,
+     * in the order they were appended, and truncates the log after the last intact record.
+     * Must be called before any record is appended.
+     *
+     * @return the number of replayed records
+     */
+    public long replay(long fromSegment, Consumer<byte[]> consumer) throws IOException {
+        synchronized (flushLock) {
+            long count = 0;
+            for (long replayedSegment : listSegments()) {
+                if (replayedSegment < fromSegment) {
+                    continue;
+                }
+                try (FileChannel segmentChannel = FileChannel.open(getSegmentFile(replayedSegment), READ, WRITE)) {
+                    long size = segmentChannel.size();
+                    long position = 0;
+                    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                    while (position + HEADER_SIZE <= size) {
+                        header.clear();
+                        readFully(segmentChannel, header, position);
+                        int length = header.getInt(0);
+                        int checksum = header.getInt(Integer.BYTES);
+                        if (length < 0 || position + HEADER_SIZE + length > size) {
+                            break;
+                        }
+                        ByteBuffer record = ByteBuffer.allocate(length);
+                        readFully(segmentChannel, record, position + HEADER_SIZE);
+                        if (checksum(record.array()) != checksum) {
+                            break;
+                        }
+                        consumer.accept(record.array());
+                        position += HEADER_SIZE + length;
+                        count++;
+                    }
+                    if (position < size) {
+                        segmentChannel.truncate(position);
+                        if (replayedSegment != segment) {
+                            channel.close();
+                            deleteSegmentsAfter(replayedSegment);
+                            segment = replayedSegment;
+                            channel = FileChannel.open(getSegmentFile(segment), READ, WRITE);
+                        }
+                        break;
+                    }
+                }
+            }
+            if (segment < fromSegment) {
+                channel.close();
+                segment = fromSegment;
+                channel = FileChannel.open(getSegmentFile(segment), CREATE, READ, WRITE);
+            }
+            channel.position(channel.size());
+            return count;
+        }
+    }
+
+    /**
+     * Writes the queued records to the current segment and continues the log in a new, empty segment.
+     *
+     * @return the number of the new segment, which holds every record appended from now on
+     */
+    public long roll() throws IOException {
+        synchronized (flushLock) {
+            synchronized (this) {
+                checkWritable();
+            }
+            flush();
+            FileChannel nextChannel = FileChannel.open(getSegmentFile(segment + 1), CREATE, READ, WRITE);
+            channel.close();
+            channel = nextChannel;
+            return ++segment;
+        }
+    }
+
+    /**
+     * Deletes the segments preceding the given one, once their records are no longer needed for recovery.
+     */
+    public void deleteSegmentsBefore(long firstKeptSegment) throws IOException {
+        synchronized (flushLock) {
+            for (long existingSegment : listSegments()) {
+                if (existingSegment < firstKeptSegment && existingSegment != segment) {
+                    Files.delete(getSegmentFile(existingSegment));
+                }
+            }
+        }
+    }
+
+    public long getSegment() {
+        return segment;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        if (flusher != null) {
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (flushLock) {
+            try {
+                if (getFailure() == null) {
+                    flush();
+                }
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private synchronized long getDurableSequence() {
+        return durableSequence;
+    }
+
+    private synchronized IOException getFailure() {
+        return failure;
+    }
+
+    private void checkWritable() {
+        if (closed) {
+            throw new IllegalStateException("Write-ahead log is closed");
+        }
+        checkFailure();
+    }
+
+    private void checkFailure() {
+        if (failure != null) {
+            throw new UncheckedIOException("Write-ahead log failed", failure);
+        }
+    }
+
+    private synchronized void waitUntilDurable(long sequence) {
+        boolean interrupted = false;
+        while (durableSequence < sequence && failure == null) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (durableSequence < sequence) {
+            checkFailure();
+        }
+    }
+
+    private void runFlusher() {
+        while (awaitFlush()) {
+            try {
+                flush();
+            } catch (UncheckedIOException e) {
+                return;
+            }
+        }
+    }
+
+    private synchronized boolean awaitFlush() {
+        try {
+            if (durabilityMode == DurabilityMode.GROUP) {
+                while (pendingRecords.isEmpty() && !closed) {
+                    wait();
+                }
+            } else if (!closed) {
+                wait(flushIntervalMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return !closed;
+    }
+
+    private void write(List<byte[]> records) throws IOException {
+        int size = records.stream().mapToInt(record -> HEADER_SIZE + record.length).sum();
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (byte[] record : records) {
+            buffer.putInt(record.length).putInt(checksum(record)).put(record);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void deleteSegmentsAfter(long lastKeptSegment) throws IOException {
+        for (long existingSegment : listSegments()) {
+            if (existingSegment > lastKeptSegment) {
+                Files.delete(getSegmentFile(existingSegment));
+            }
+        }
+    }
+
+    private List<Long> listSegments() throws IOException {
+        String prefix = name + ".";
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                  .filter(fileName -> fileName.startsWith(prefix) && fileName.endsWith(".wal"))
+                  .map(fileName -> fileName.substring(prefix.length(), fileName.length() - ".wal".length()))
+                  .filter(number -> !number.isEmpty() && number.chars().allMatch(Character::isDigit))
+                  .map(Long::parseLong)
+                  .sorted()
+                  .toList();
+        }
+    }
+
+    private Path getSegmentFile(long segmentNumber) {
+        return directory.resolve(String.format(SEGMENT_FILE_FORMAT, name, segmentNumber));
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of write-ahead log");
+            }
+        }
+    }
+
+    private static int checksum(byte[] record) {
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,55 @@
+package com.endava.petstore.utils;
+
+import com.endava.petstore.exception.InvalidRequestException;
+import com.endava.petstore.model.Versioned;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.endava.petstore.constants.Constants.INVALID_IF_MATCH;
+
+/**
+ * Entity tags derived from the version of {@link Versioned} entities, so they cost nothing to compute.
+ * The tags are weak, since the same version is served as JSON or XML. A 200 response to a {@code GET} carrying such a tag
+ * is turned into a 304 by Spring MVC when the request's {@code If-None-Match} matches it, before the body is serialized.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ETagUtils {
+    private static final Pattern VERSION_TAG = Pattern.compile("(?:W/)?\"(\\d{1,18})\"");
+
+    public static String toETag(Long version) {
+        return "W/\"" + version + '"';
+    }
+
+    /**
+     * @return a response with the entity as body and, if it has a version, its entity tag in the {@code ETag} header
+     */
+    public static <T extends Versioned<T>> ResponseEntity<T> toResponseEntity(HttpStatus status, T entity) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+        if (entity.getVersion() != null) {
+            response.eTag(toETag(entity.getVersion()));
+        }
+        return response.body(entity);
+    }
+
+    /**
+     * Since a version identifies the entity whatever its representation, {@code If-Match} compares versions,
+     * accepting weak tags as well as strong ones.
+     *
+     * @return the version the {@code If-Match} header requires, or {@code null} if it is absent or {@code *}
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+        Matcher matcher = VERSION_TAG.matcher(ifMatch.strip());
+        if (!matcher.matches()) {
+            throw new InvalidRequestException(String.format(INVALID_IF_MATCH, ifMatch));
+        }
+        return Long.valueOf(matcher.group(1));
+    }
+}
@@ -0,0 +1,139 @@
+package com.endava.petstore.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Serves immutable files, such as content-addressed blobs, without copying their bytes through the heap.
+ * On Tomcat the response is handed to the connector's sendfile support, which lets the kernel copy the file to the socket;
+ * elsewhere the file is copied by {@link FileChannel#transferTo} into the response stream.
+ * Supports single byte ranges ({@code Range}, {@code If-Range}) and conditional requests ({@code If-None-Match}),
+ * and marks the response cacheable for a year, since the content behind an entity tag never changes.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class FileServingUtils {
+    public static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+    private static final int SNIFF_LENGTH = 12;
+
+    /**
+     * Writes the file, or the byte range of it the request asks for, to the response.
+     *
+     * @param entityTag the unquoted entity tag identifying the content of the file
+     */
+    public static void serve(Path file, String entityTag, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String quotedEntityTag = '"' + entityTag + '"';
+        response.setHeader(HttpHeaders.ETAG, quotedEntityTag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), quotedEntityTag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = 0;
+            long end = size;
+            HttpRange range = getRange(request, quotedEntityTag);
+            if (range != null) {
+                start = range.getRangeStart(size);
+                end = range.getRangeEnd(size) + 1;
+                if (start >= size) {
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + size);
+            }
+            response.setContentType(detectContentType(channel).toString());
+            response.setHeader("X-Content-Type-Options", "nosniff");
+            response.setContentLengthLong(end - start);
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+                request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, file.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START_ATTRIBUTE, start);
+                request.setAttribute(SENDFILE_END_ATTRIBUTE, end);
+                return;
+            }
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            while (start < end) {
+                start += channel.transferTo(start, end - start, target);
+            }
+        }
+    }
+
+    /**
+     * @return the single range the request asks for, or {@code null} to send the whole file, which is also what happens
+     * when several ranges are requested or the {@code If-Range} tag does not match
+     */
+    private static HttpRange getRange(HttpServletRequest request, String quotedEntityTag) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader == null || (ifRange != null && !ifRange.trim().equals(quotedEntityTag))) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String quotedEntityTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+              .map(String::trim)
+              .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+              .anyMatch(tag -> tag.equals("*") || tag.equals(quotedEntityTag));
+    }
+
+    /**
+     * Recognizes the common image formats by their leading bytes, since a blob does not carry a file name.
+     */
+    private static MediaType detectContentType(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SNIFF_LENGTH);
+        channel.read(buffer, 0);
+        byte[] header = Arrays.copyOf(buffer.array(), buffer.position());
+        if (startsWith(header, 0, new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF})) {
+            return MediaType.IMAGE_JPEG;
+        }
+        if (startsWith(header, 0, new byte[]{(byte) 0x89, 'P', 'N', 'G'})) {
+            return MediaType.IMAGE_PNG;
+        }
+        if (startsWith(header, 0, "GIF8".getBytes(StandardCharsets.US_ASCII))) {
+            return MediaType.IMAGE_GIF;
+        }
+        if (startsWith(header, 0, "RIFF".getBytes(StandardCharsets.US_ASCII)) && startsWith(header, 8, "WEBP".getBytes(StandardCharsets.US_ASCII))) {
+            return MediaType.parseMediaType("image/webp");
+        }
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    private static boolean startsWith(byte[] bytes, int offset, byte[] prefix) {
+        return bytes.length >= offset + prefix.length && Arrays.equals(bytes, offset, offset + prefix.length, prefix, 0, prefix.length);
+    }
+}
@@ -0,0 +1,101 @@
+package com.endava.petstore.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Splits a newline-delimited JSON (NDJSON) stream into its lines, as raw bytes, so they can be parsed without decoding them
+ * into strings first. The stream is read through a fixed buffer, and a line longer than the maximum length is skipped
+ * rather than collected, so the memory needed does not depend on the size of the stream nor on what a client sends.
+ */
+public class NdjsonReader {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final InputStream inputStream;
+    private final int maxLineLength;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+    private int position;
+    private int limit;
+    private long lineNumber;
+
+    public NdjsonReader(InputStream inputStream, int maxLineLength) {
+        this.inputStream = inputStream;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * @return the next line without its terminator ({@code \n} or {@code \r\n}), or {@code null} at the end of the stream
+     */
+    public Line next() throws IOException {
+        line.reset();
+        boolean tooLong = false;
+        boolean read = false;
+        while (true) {
+            if (position == limit) {
+                limit = inputStream.read(buffer);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return read ? toLine(tooLong) : null;
+                }
+            }
+            read = true;
+            int end = position;
+            while (end < limit && buffer[end] != '\n') {
+                end++;
+            }
+            if (!tooLong && line.size() + end - position <= maxLineLength + 1) {
+                line.write(buffer, position, end - position);
+            } else {
+                tooLong = true;
+            }
+            if (end < limit) {
+                position = end + 1;
+                return toLine(tooLong);
+            }
+            position = limit;
+        }
+    }
+
+    private Line toLine(boolean tooLong) {
+        lineNumber++;
+        byte[] content = line.toByteArray();
+        int length = content.length > 0 && content[content.length - 1] == '\r' ? content.length - 1 : content.length;
+        if (tooLong || length > maxLineLength) {
+            return new Line(lineNumber, null);
+        }
+        return new Line(lineNumber, length == content.length ? content : Arrays.copyOf(content, length));
+    }
+
+    /**
+     * A line of the stream, numbered from 1, whose content is {@code null} if it was longer than the maximum length.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Line {
+        private final long number;
+        private final byte[] content;
+
+        public boolean isTooLong() {
+            return content == null;
+        }
+
+        public boolean isBlank() {
+            if (content == null) {
+                return false;
+            }
+            for (byte character : content) {
+                if (character != ' ' && character != '\t' && character != '\r') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
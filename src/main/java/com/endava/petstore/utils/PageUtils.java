@@ -0,0 +1,79 @@
+package com.endava.petstore.utils;
+
+import com.endava.petstore.exception.InvalidRequestException;
+import com.endava.petstore.model.Page;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import static com.endava.petstore.constants.Constants.*;
+
+/**
+ * Keyset pagination helpers. A page token is the opaque, URL-safe encoding of the id of the last entity of the previous page,
+ * so fetching the next page only requires seeking to that id in the id-ordered storage.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class PageUtils {
+
+    /**
+     * Fetches one entity more than requested to find out whether another page follows.
+     *
+     * @param fetcher returns at most the given number of entities following the decoded id, in ascending id order
+     */
+    public static <T> Page<T> getPage(String pageToken, Integer limit, Function<T, Long> idGetter, PageFetcher<T> fetcher) {
+        int pageSize = getPageSize(limit);
+        List<T> entities = fetcher.fetch(decodePageToken(pageToken), pageSize + 1);
+        if (entities.size() <= pageSize) {
+            return new Page<>(entities, null);
+        }
+        List<T> content = entities.subList(0, pageSize);
+        return new Page<>(content, encodePageToken(idGetter.apply(content.get(pageSize - 1))));
+    }
+
+    /**
+     * @return the requested number of entities, or the default page size if none was requested
+     */
+    public static int getPageSize(Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException(String.format(INVALID_PAGE_SIZE, MAX_PAGE_SIZE));
+        }
+        return pageSize;
+    }
+
+    /**
+     * @return a 200 response with the page content as body and, if another page follows, its token in the {@value com.endava.petstore.constants.Constants#NEXT_PAGE_TOKEN_HEADER} header
+     */
+    public static <T> ResponseEntity<List<T>> toResponseEntity(Page<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextPageToken() != null) {
+            response.header(NEXT_PAGE_TOKEN_HEADER, page.getNextPageToken());
+        }
+        return response.body(page.getContent());
+    }
+
+    public static String encodePageToken(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decodePageToken(String pageToken) {
+        if (pageToken == null || pageToken.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidRequestException(String.format(INVALID_PAGE_TOKEN, pageToken));
+        }
+    }
+
+    @FunctionalInterface
+    public interface PageFetcher<T> {
+        List<T> fetch(Long afterId, int limit);
+    }
+}
@@ -0,0 +1,53 @@
+package com.endava.petstore.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.stream.Stream;
+
+/**
+ * Writes entities to the response one at a time while they are pulled from the repository,
+ * so the memory needed by a response does not depend on the number of entities it contains.
+ * Entities are written without flushing after each of them, so they reach the response in full buffers of the generator.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class StreamingUtils {
+
+    public static <T> StreamingResponseBody toJsonArray(Stream<T> entities, ObjectMapper objectMapper) {
+        return outputStream -> {
+            ObjectWriter writer = entityWriter(objectMapper);
+            try (entities; JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                for (T entity : (Iterable<T>) entities::iterator) {
+                    writer.writeValue(generator, entity);
+                }
+                generator.writeEndArray();
+            }
+        };
+    }
+
+    /**
+     * Writes one JSON document per line (NDJSON), each line terminated by {@code \n}.
+     */
+    public static <T> StreamingResponseBody toNdjson(Stream<T> entities, ObjectMapper objectMapper) {
+        return outputStream -> {
+            ObjectWriter writer = entityWriter(objectMapper);
+            try (entities; JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                for (T entity : (Iterable<T>) entities::iterator) {
+                    writer.writeValue(generator, entity);
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+    }
+
+    private static ObjectWriter entityWriter(ObjectMapper objectMapper) {
+        return objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+}
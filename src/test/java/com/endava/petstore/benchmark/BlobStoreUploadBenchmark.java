@@ -0,0 +1,85 @@
+package com.endava.petstore.benchmark;
+
+import com.endava.petstore.storage.BlobStore;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures upload throughput of the {@link BlobStore} for 1 to 16 concurrent uploaders, with small and large files.
+ * Unique uploads all carry different content, so every one of them is written out; duplicate uploads all carry the same content,
+ * so after the first one they only cost reading and hashing the content. Multiply the score by the upload size for bytes per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class BlobStoreUploadBenchmark {
+    private static final int[] THREAD_COUNTS = {1, 4, 16};
+
+    @Param({"65536", "4194304"})
+    private int uploadSize;
+
+    private final AtomicLong counter = new AtomicLong();
+    private Path directory;
+    private BlobStore blobStore;
+    private MockMultipartFile duplicateFile;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("blobs");
+        blobStore = new BlobStore(directory);
+        byte[] content = new byte[uploadSize];
+        ThreadLocalRandom.current().nextBytes(content);
+        duplicateFile = new MockMultipartFile("file", "duplicate.png", "image/png", content);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @State(Scope.Thread)
+    public static class Upload {
+        private byte[] content;
+
+        @Setup(Level.Trial)
+        public void setUp(BlobStoreUploadBenchmark benchmark) {
+            content = new byte[benchmark.uploadSize];
+            ThreadLocalRandom.current().nextBytes(content);
+        }
+    }
+
+    @Benchmark
+    public String uploadUnique(Upload upload) {
+        ByteBuffer.wrap(upload.content).putLong(counter.incrementAndGet());
+        return blobStore.store(new MockMultipartFile("file", "unique.png", "image/png", upload.content));
+    }
+
+    @Benchmark
+    public String uploadDuplicate() {
+        return blobStore.store(duplicateFile);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREAD_COUNTS) {
+            new Runner(new OptionsBuilder()
+                  .include(BlobStoreUploadBenchmark.class.getSimpleName())
+                  .threads(threads)
+                  .build()).run();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.endava.petstore.benchmark;
+
+import com.endava.petstore.Application;
+import com.endava.petstore.enums.OrderStatus;
+import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.model.Category;
+import com.endava.petstore.model.Order;
+import com.endava.petstore.model.Pet;
+import com.endava.petstore.model.Tag;
+import com.endava.petstore.model.User;
+import com.endava.petstore.repository.PetRepository;
+import com.endava.petstore.repository.StoreRepository;
+import com.endava.petstore.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Compares {@code GET /pet/{id}}, {@code GET /store/{id}} and {@code GET /user/{id}} with and without the cache of
+ * the JSON encoding of entities, against the application listening on a random port, without persistence.
+ * Scores are in requests per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class EntityEncodingCacheBenchmark {
+    private static final int SIZE = 1_000;
+
+    @Param({"true", "false"})
+    private boolean entityCache;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private URI baseUri;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("encodings");
+        context = new SpringApplicationBuilder(Application.class)
+              .properties("server.port=0",
+                    "petstore.persistence.enabled=false",
+                    "petstore.blobs.directory=" + directory.resolve("blobs"),
+                    "petstore.entity-cache.enabled=" + entityCache)
+              .run();
+        baseUri = URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort());
+        PetRepository petRepository = context.getBean(PetRepository.class);
+        StoreRepository storeRepository = context.getBean(StoreRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        for (long id = 1; id <= SIZE; id++) {
+            petRepository.save(Pet.builder()
+                  .id(id)
+                  .name("Pet" + id)
+                  .category(Category.builder().id(id % 10 + 1).name("Category" + (id % 10 + 1)).build())
+                  .photoUrls(List.of("https://petstore.example/images/" + id + ".png"))
+                  .tags(LongStream.rangeClosed(1, 5).mapToObj(tagId -> Tag.builder().id(tagId).name("Tag" + tagId).build()).toList())
+                  .status(PetStatus.values()[(int) (id % PetStatus.values().length)])
+                  .build());
+            storeRepository.saveOrder(Order.builder()
+                  .id(id)
+                  .petId(id)
+                  .quantity(1)
+                  .shipDate(LocalDateTime.of(2000, 1, 1, 0, 0, 0))
+                  .status(OrderStatus.PLACED)
+                  .complete(false)
+                  .build());
+            userRepository.save(User.builder()
+                  .id(id)
+                  .username("Username" + id)
+                  .firstName("Firstname" + id)
+                  .lastName("Lastname" + id)
+                  .email("Email" + id + "@email.com")
+                  .password("#Password" + id)
+                  .phone("+40700 000 001")
+                  .status(1)
+                  .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        FileSystemUtils.deleteRecursively(directory.toFile());
+    }
+
+    @Benchmark
+    public byte[] findPetById() throws IOException, InterruptedException {
+        return get("/pet/");
+    }
+
+    @Benchmark
+    public byte[] findOrderById() throws IOException, InterruptedException {
+        return get("/store/");
+    }
+
+    @Benchmark
+    public byte[] findUserById() throws IOException, InterruptedException {
+        return get("/user/");
+    }
+
+    private byte[] get(String path) throws IOException, InterruptedException {
+        return httpClient.send(HttpRequest.newBuilder(baseUri.resolve(path + ThreadLocalRandom.current().nextLong(1, SIZE + 1L)))
+              .header("Accept", "application/json")
+              .GET()
+              .build(), HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EntityEncodingCacheBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,116 @@
+package com.endava.petstore.benchmark;
+
+import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.image.ImagePipeline;
+import com.endava.petstore.model.Category;
+import com.endava.petstore.model.Pet;
+import com.endava.petstore.model.Tag;
+import com.endava.petstore.repository.CategoryRepositoryImpl;
+import com.endava.petstore.repository.PetRepositoryImpl;
+import com.endava.petstore.repository.TagRepositoryImpl;
+import com.endava.petstore.storage.BlobStore;
+import com.endava.petstore.storage.PersistenceManager;
+import com.endava.petstore.storage.UploadStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures read and write throughput of the pet repository for 1 to 64 concurrent threads.
+ * Every thread count is run separately, so the reported scores show how the storage scales across cores.
+ * Inserts, deletes and pages also go through the sorted id set of the store, so they show whether it serializes the writers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityStoreThroughputBenchmark {
+    private static final int SIZE = 100_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+
+    private final AtomicLong nextId = new AtomicLong(SIZE + 1L);
+
+    private PetRepositoryImpl petRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        PersistenceManager persistenceManager = PersistenceManager.disabled();
+        BlobStore blobStore = new BlobStore(Files.createTempDirectory("blobs"));
+        ImagePipeline imagePipeline = new ImagePipeline(blobStore, new SimpleMeterRegistry(), new int[]{64, 256}, 1, 16, 40_000_000, 10_000);
+        petRepository = new PetRepositoryImpl(persistenceManager, new CategoryRepositoryImpl(persistenceManager), new TagRepositoryImpl(persistenceManager), blobStore, imagePipeline, new UploadStore(blobStore, 1 << 20, 60, 64, 4));
+        for (long id = 1; id <= SIZE; id++) {
+            petRepository.save(Pet.builder()
+                  .id(id)
+                  .name("Pet" + id)
+                  .category(Category.builder().id(1L).name("Category1").build())
+                  .photoUrls(List.of())
+                  .tags(List.of(Tag.builder().id(1L).name("Tag1").build()))
+                  .status(PetStatus.AVAILABLE)
+                  .build());
+        }
+    }
+
+    @Benchmark
+    public Pet findById() {
+        return petRepository.findById(randomId());
+    }
+
+    @Benchmark
+    public Pet update() {
+        return petRepository.update(Pet.builder()
+              .id(randomId())
+              .name("Updated")
+              .category(Category.builder().id(1L).name("Category1").build())
+              .photoUrls(List.of())
+              .tags(List.of())
+              .status(PetStatus.SOLD)
+              .build(), null);
+    }
+
+    @Benchmark
+    public Pet insertAndDelete() {
+        Pet pet = petRepository.save(Pet.builder()
+              .id(nextId.getAndIncrement())
+              .name("Inserted")
+              .category(Category.builder().id(1L).name("Category1").build())
+              .photoUrls(List.of())
+              .tags(List.of())
+              .status(PetStatus.PENDING)
+              .build());
+        petRepository.deleteById(pet.getId());
+        return pet;
+    }
+
+    @Benchmark
+    public List<Pet> findPage() {
+        return petRepository.findAll(randomId(), PAGE_SIZE);
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, SIZE + 1L);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREAD_COUNTS) {
+            new Runner(new OptionsBuilder()
+                  .include(EntityStoreThroughputBenchmark.class.getSimpleName() + ".findById")
+                  .include(EntityStoreThroughputBenchmark.class.getSimpleName() + ".update")
+                  .include(EntityStoreThroughputBenchmark.class.getSimpleName() + ".insertAndDelete")
+                  .include(EntityStoreThroughputBenchmark.class.getSimpleName() + ".findPage")
+                  .threads(threads)
+                  .build()).run();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.endava.petstore.benchmark;
+
+import com.endava.petstore.storage.LongObjectMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the primitive {@link LongObjectMap} with {@link HashMap} and {@link ConcurrentHashMap} keyed by boxed ids,
+ * for get and put throughput at 1M entries. Running {@link #main(String[])} also prints the heap used per entry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LongObjectMapBenchmark {
+    private static final int SIZE = 1_000_000;
+    private static final Object VALUE = new Object();
+
+    @Param({"LongObjectMap", "HashMap", "ConcurrentHashMap"})
+    private String mapType;
+
+    private MapAdapter map;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        map = createMap(mapType);
+        fill(map);
+    }
+
+    @Benchmark
+    public Object get() {
+        return map.get(randomKey());
+    }
+
+    @Benchmark
+    public Object put() {
+        return map.put(randomKey(), VALUE);
+    }
+
+    private static long randomKey() {
+        return ThreadLocalRandom.current().nextLong(1, SIZE + 1L);
+    }
+
+    private static void fill(MapAdapter map) {
+        for (long key = 1; key <= SIZE; key++) {
+            map.put(key, VALUE);
+        }
+    }
+
+    private static MapAdapter createMap(String mapType) {
+        return switch (mapType) {
+            case "LongObjectMap" -> new MapAdapter() {
+                private final LongObjectMap<Object> map = new LongObjectMap<>();
+
+                public Object get(long key) {
+                    return map.get(key);
+                }
+
+                public Object put(long key, Object value) {
+                    return map.compute(key, previous -> value);
+                }
+            };
+            case "HashMap" -> boxedMap(new HashMap<>());
+            case "ConcurrentHashMap" -> boxedMap(new ConcurrentHashMap<>());
+            default -> throw new IllegalArgumentException(mapType);
+        };
+    }
+
+    private static MapAdapter boxedMap(Map<Long, Object> map) {
+        return new MapAdapter() {
+            public Object get(long key) {
+                return map.get(key);
+            }
+
+            public Object put(long key, Object value) {
+                return map.put(key, value);
+            }
+        };
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private interface MapAdapter {
+        Object get(long key);
+
+        Object put(long key, Object value);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (String mapType : new String[]{"LongObjectMap", "HashMap", "ConcurrentHashMap"}) {
+            long before = usedHeap();
+            MapAdapter map = createMap(mapType);
+            fill(map);
+            long after = usedHeap();
+            System.out.printf("%s: %.1f bytes per entry%n", mapType, (double) (after - before) / SIZE);
+            map.get(1);
+        }
+        new Runner(new OptionsBuilder()
+              .include(LongObjectMapBenchmark.class.getSimpleName())
+              .build()).run();
+    }
+}
@@ -0,0 +1,109 @@
+package com.endava.petstore.benchmark;
+
+import com.endava.petstore.Application;
+import com.endava.petstore.enums.DurabilityMode;
+import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.model.Category;
+import com.endava.petstore.model.Pet;
+import com.endava.petstore.model.Tag;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares adding pets with one {@code POST /pet} request each to adding them with a single NDJSON body to {@code POST /pet/bulk},
+ * against the application listening on a random port, with its journal written to a temporary directory.
+ * Scores are in pets per second, so the two benchmarks compare directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(PetBulkImportBenchmark.LINES)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class PetBulkImportBenchmark {
+    static final int LINES = 2_000;
+
+    @Param({"GROUP", "ASYNC"})
+    private DurabilityMode durabilityMode;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private URI petsUri;
+    private List<String> lines;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("bulk");
+        context = new SpringApplicationBuilder(Application.class)
+              .properties("server.port=0",
+                    "petstore.persistence.directory=" + directory,
+                    "petstore.persistence.durability=" + durabilityMode,
+                    "petstore.persistence.snapshot-interval-seconds=0",
+                    "petstore.blobs.directory=" + directory.resolve("blobs"))
+              .run();
+        petsUri = URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/pet");
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        lines = new ArrayList<>(LINES);
+        for (long id = 1; id <= LINES; id++) {
+            lines.add(objectMapper.writeValueAsString(Pet.builder()
+                  .id(id)
+                  .name("Pet" + id)
+                  .category(Category.builder().id(id % 10 + 1).name("Category" + (id % 10 + 1)).build())
+                  .photoUrls(List.of())
+                  .tags(List.of(Tag.builder().id(id % 100 + 1).name("Tag" + (id % 100 + 1)).build()))
+                  .status(PetStatus.AVAILABLE)
+                  .build()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public int saveOneByOne() throws IOException, InterruptedException {
+        int created = 0;
+        for (String line : lines) {
+            created += post(petsUri, "application/json", line).statusCode() == 201 ? 1 : 0;
+        }
+        return created;
+    }
+
+    @Benchmark
+    public String saveAll() throws IOException, InterruptedException {
+        return post(petsUri.resolve("/pet/bulk"), "application/x-ndjson", String.join("\n", lines)).body();
+    }
+
+    private HttpResponse<String> post(URI uri, String contentType, String body) throws IOException, InterruptedException {
+        return httpClient.send(HttpRequest.newBuilder(uri)
+              .header("Content-Type", contentType)
+              .POST(HttpRequest.BodyPublishers.ofString(body))
+              .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PetBulkImportBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,81 @@
+package com.endava.petstore.benchmark;
+
+import com.endava.petstore.index.PetNameIndex;
+import com.endava.petstore.model.Pet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of prefix and typo-tolerant name queries against catalogs of 10K to 1M pets.
+ * As in a real catalog, many pets share a name: names are drawn from a vocabulary of 10K random combinations of syllables,
+ * so the scores show how query cost grows with the number of pets once the set of names in use stops growing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PetNameIndexBenchmark {
+    private static final String[] SYLLABLES = {"ba", "be", "bo", "da", "di", "ka", "ko", "la", "li", "lu", "ma", "mi", "na", "no", "ra", "ri", "sa", "so", "ta", "to", "va", "xi", "ze", "zu"};
+    private static final int VOCABULARY_SIZE = 10_000;
+    private static final int LIMIT = 20;
+
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    private PetNameIndex nameIndex;
+    private String[] names;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        nameIndex = new PetNameIndex();
+        names = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < VOCABULARY_SIZE; i++) {
+            names[i] = randomName(random);
+        }
+        for (long id = 0; id < size; id++) {
+            nameIndex.onChange(null, Pet.builder().id(id).name(names[random.nextInt(VOCABULARY_SIZE)]).build());
+        }
+    }
+
+    @Benchmark
+    public List<Long> findIdsByNamePrefix() {
+        return nameIndex.findIdsByNamePrefix(randomName().substring(0, 4), LIMIT);
+    }
+
+    @Benchmark
+    public List<Long> findIdsBySimilarName() {
+        return nameIndex.findIdsBySimilarName(withTypo(randomName()), LIMIT);
+    }
+
+    private String randomName() {
+        return names[ThreadLocalRandom.current().nextInt(VOCABULARY_SIZE)];
+    }
+
+    private static String withTypo(String name) {
+        int position = ThreadLocalRandom.current().nextInt(name.length() - 1);
+        return name.substring(0, position) + name.charAt(position + 1) + name.charAt(position) + name.substring(position + 2);
+    }
+
+    private static String randomName(Random random) {
+        StringBuilder name = new StringBuilder();
+        int syllables = 3 + random.nextInt(3);
+        for (int i = 0; i < syllables; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return name.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PetNameIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,138 @@
+package com.endava.petstore.benchmark;
+
+import com.endava.petstore.enums.OrderStatus;
+import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.exception.ResourceNotFoundException;
+import com.endava.petstore.image.ImagePipeline;
+import com.endava.petstore.model.Category;
+import com.endava.petstore.model.Order;
+import com.endava.petstore.model.Pet;
+import com.endava.petstore.model.Tag;
+import com.endava.petstore.model.User;
+import com.endava.petstore.repository.CategoryRepositoryImpl;
+import com.endava.petstore.repository.PetRepositoryImpl;
+import com.endava.petstore.repository.StoreRepositoryImpl;
+import com.endava.petstore.repository.TagRepositoryImpl;
+import com.endava.petstore.repository.UserRepositoryImpl;
+import com.endava.petstore.storage.BlobStore;
+import com.endava.petstore.storage.PersistenceManager;
+import com.endava.petstore.storage.UploadStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures single-entity lookups by primary key for growing repository sizes.
+ * The average time per operation is expected to stay flat from 1k to 1M entities.
+ * Lookups of missing keys are mostly rejected by the key filters of the repositories, without touching the stores.
+ * Run with: {@code java -cp target/test-classes:<test classpath> com.endava.petstore.benchmark.RepositoryLookupBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepositoryLookupBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private PetRepositoryImpl petRepository;
+    private StoreRepositoryImpl storeRepository;
+    private UserRepositoryImpl userRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        PersistenceManager persistenceManager = PersistenceManager.disabled();
+        BlobStore blobStore = new BlobStore(Files.createTempDirectory("blobs"));
+        ImagePipeline imagePipeline = new ImagePipeline(blobStore, new SimpleMeterRegistry(), new int[]{64, 256}, 1, 16, 40_000_000, 10_000);
+        petRepository = new PetRepositoryImpl(persistenceManager, new CategoryRepositoryImpl(persistenceManager), new TagRepositoryImpl(persistenceManager), blobStore, imagePipeline, new UploadStore(blobStore, 1 << 20, 60, 64, 4));
+        storeRepository = new StoreRepositoryImpl(petRepository, persistenceManager);
+        userRepository = new UserRepositoryImpl(persistenceManager);
+        for (long id = 1; id <= size; id++) {
+            petRepository.save(Pet.builder()
+                  .id(id)
+                  .name("Pet" + id)
+                  .category(Category.builder().id(id % 50 + 1).name("Category" + (id % 50 + 1)).build())
+                  .photoUrls(List.of())
+                  .tags(List.of(Tag.builder().id(id % 100 + 1).name("Tag" + (id % 100 + 1)).build()))
+                  .status(PetStatus.values()[(int) (id % PetStatus.values().length)])
+                  .build());
+            storeRepository.saveOrder(Order.builder()
+                  .id(id)
+                  .petId(id)
+                  .quantity(1)
+                  .shipDate(LocalDateTime.of(2000, 1, 1, 0, 0, 0))
+                  .status(OrderStatus.PLACED)
+                  .complete(false)
+                  .build());
+            userRepository.save(User.builder()
+                  .id(id)
+                  .username("Username" + id)
+                  .firstName("Firstname" + id)
+                  .lastName("Lastname" + id)
+                  .email("Email" + id + "@email.com")
+                  .password("#Password" + id)
+                  .phone("+40700 000 001")
+                  .status(1)
+                  .build());
+        }
+    }
+
+    @Benchmark
+    public Pet findPetById() {
+        return petRepository.findById(randomId());
+    }
+
+    @Benchmark
+    public Order findOrderById() {
+        return storeRepository.findOrderById(randomId());
+    }
+
+    @Benchmark
+    public User findUserById() {
+        return userRepository.findById(randomId());
+    }
+
+    @Benchmark
+    public String findMissingPetById() {
+        try {
+            return petRepository.findById(size + randomId()).getName();
+        } catch (ResourceNotFoundException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String findMissingUserByUsername() {
+        try {
+            return userRepository.findByUsername("Missing" + randomId()).getUsername();
+        } catch (ResourceNotFoundException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public Pet updatePet() {
+        Pet pet = petRepository.findById(randomId());
+        return petRepository.update(pet, null);
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, size + 1L);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RepositoryLookupBenchmark.class.getSimpleName()).build()).run();
+    }
+}
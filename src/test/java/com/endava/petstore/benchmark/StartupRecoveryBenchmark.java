@@ -0,0 +1,135 @@
+package com.endava.petstore.benchmark;
+
+import com.endava.petstore.enums.DurabilityMode;
+import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.index.PetInventoryCounter;
+import com.endava.petstore.index.PetStatusIndex;
+import com.endava.petstore.index.PetTagIndex;
+import com.endava.petstore.model.Category;
+import com.endava.petstore.model.Pet;
+import com.endava.petstore.model.Tag;
+import com.endava.petstore.storage.EntityJournal;
+import com.endava.petstore.storage.EntityStore;
+import com.endava.petstore.storage.PersistenceManager;
+import com.endava.petstore.storage.WriteAheadLog;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the time until a pet store holding 1M pets, with all its indexes, is ready to serve traffic again:
+ * once loaded from a snapshot and once by replaying the whole write-ahead log.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class StartupRecoveryBenchmark {
+    private static final int SIZE = 1_000_000;
+
+    private Path snapshotDirectory;
+    private Path logDirectory;
+    private PersistenceManager persistenceManager;
+    private EntityJournal<Pet> journal;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        snapshotDirectory = Files.createTempDirectory("snapshot-benchmark");
+        PersistenceManager initialPersistenceManager = new PersistenceManager(true, snapshotDirectory, DurabilityMode.ASYNC, 100, 0);
+        EntityStore<Pet> pets = createStore();
+        initialPersistenceManager.recover(pets, "pets", Pet.class, Pet::getId);
+        fill(pets);
+        initialPersistenceManager.close();
+
+        logDirectory = Files.createTempDirectory("log-benchmark");
+        try (EntityJournal<Pet> initialJournal = openJournal()) {
+            EntityStore<Pet> loggedPets = createStore();
+            loggedPets.recover(initialJournal, 1);
+            fill(loggedPets);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeIteration() throws IOException {
+        if (persistenceManager != null) {
+            persistenceManager.close();
+            persistenceManager = null;
+        }
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        delete(snapshotDirectory);
+        delete(logDirectory);
+    }
+
+    @Benchmark
+    public int recoverFromSnapshot() {
+        persistenceManager = new PersistenceManager(true, snapshotDirectory, DurabilityMode.ASYNC, 100, 0);
+        EntityStore<Pet> pets = createStore();
+        persistenceManager.recover(pets, "pets", Pet.class, Pet::getId);
+        return pets.size();
+    }
+
+    @Benchmark
+    public int replayLog() throws IOException {
+        journal = openJournal();
+        EntityStore<Pet> pets = createStore();
+        pets.recover(journal, 1);
+        return pets.size();
+    }
+
+    private EntityJournal<Pet> openJournal() throws IOException {
+        return new EntityJournal<>(new WriteAheadLog(logDirectory, "pets", DurabilityMode.ASYNC, Duration.ofMillis(100)),
+              new SmileMapper().findAndRegisterModules(), Pet.class);
+    }
+
+    private static EntityStore<Pet> createStore() {
+        return new EntityStore<>(new PetStatusIndex(), new PetTagIndex(), new PetInventoryCounter());
+    }
+
+    private static void fill(EntityStore<Pet> pets) {
+        PetStatus[] statuses = PetStatus.values();
+        for (long id = 1; id <= SIZE; id++) {
+            pets.save(id, Pet.builder()
+                  .id(id)
+                  .name("Pet" + id)
+                  .category(Category.builder().id(id % 10).name("Category" + id % 10).build())
+                  .photoUrls(List.of("https://www.petstore.com/image" + id + ".png"))
+                  .tags(List.of(Tag.builder().id(id % 100).name("Tag" + id % 100).build()))
+                  .status(statuses[(int) (id % statuses.length)])
+                  .build());
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+              .include(StartupRecoveryBenchmark.class.getSimpleName())
+              .build()).run();
+    }
+}
@@ -0,0 +1,89 @@
+package com.endava.petstore.benchmark;
+
+import com.endava.petstore.enums.DurabilityMode;
+import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.model.Category;
+import com.endava.petstore.model.Pet;
+import com.endava.petstore.model.Tag;
+import com.endava.petstore.storage.EntityJournal;
+import com.endava.petstore.storage.EntityStore;
+import com.endava.petstore.storage.WriteAheadLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures pet write throughput with a write-ahead log journal in every durability mode, for 1 to 64 concurrent threads.
+ * With group commit the throughput should grow with the number of writers, since they share the fsync of a batch,
+ * while per-write fsync stays bounded by the latency of the disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WriteAheadLogBenchmark {
+    private static final int SIZE = 10_000;
+    private static final int[] THREAD_COUNTS = {1, 4, 16, 64};
+
+    @Param({"SYNC", "GROUP", "ASYNC"})
+    private DurabilityMode durabilityMode;
+
+    private Path directory;
+    private EntityJournal<Pet> journal;
+    private EntityStore<Pet> pets;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("wal-benchmark");
+        journal = new EntityJournal<>(new WriteAheadLog(directory, "pets", durabilityMode, Duration.ofMillis(100)),
+              new ObjectMapper(), Pet.class);
+        pets = new EntityStore<>();
+        pets.recover(journal, 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public Pet save() {
+        long id = ThreadLocalRandom.current().nextLong(1, SIZE + 1L);
+        return pets.save(id, Pet.builder()
+              .id(id)
+              .name("Pet" + id)
+              .category(Category.builder().id(1L).name("Category1").build())
+              .photoUrls(List.of("https://www.petstore.com/image1.png"))
+              .tags(List.of(Tag.builder().id(1L).name("Tag1").build()))
+              .status(PetStatus.AVAILABLE)
+              .build());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREAD_COUNTS) {
+            new Runner(new OptionsBuilder()
+                  .include(WriteAheadLogBenchmark.class.getSimpleName())
+                  .threads(threads)
+                  .build()).run();
+        }
+    }
+}
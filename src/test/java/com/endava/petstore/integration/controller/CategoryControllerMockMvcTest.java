@@ -0,0 +1,120 @@
+package com.endava.petstore.integration.controller;
+
+import com.endava.petstore.controller.CategoryController;
+import com.endava.petstore.exception.InvalidRequestException;
+import com.endava.petstore.exception.ResourceNotFoundException;
+import com.endava.petstore.model.Category;
+import com.endava.petstore.service.CategoryService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static com.endava.petstore.constants.Constants.*;
+import static com.endava.petstore.mock.CategoryMock.*;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CategoryController.class)
+@ExtendWith(MockitoExtension.class)
+class CategoryControllerMockMvcTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private CategoryService categoryService;
+
+    private Category category1;
+    private List<Category> categoryList;
+
+    @BeforeEach
+    void setUp() {
+        category1 = getMockedCategory1();
+        categoryList = getMockedCategories();
+    }
+
+    @Test
+    void findAll_test() throws Exception {
+        given(categoryService.findAll()).willReturn(categoryList);
+        ResultActions actions = mockMvc.perform(get(API_CATEGORIES)).andExpect(status().isOk());
+        List<Category> result = objectMapper.readValue(actions.andReturn().getResponse().getContentAsString(), new TypeReference<>() {});
+        then(result).isEqualTo(categoryList);
+    }
+
+    @Test
+    void findById_validId_test() throws Exception {
+        given(categoryService.findById(VALID_ID)).willReturn(category1);
+        mockMvc.perform(get(API_CATEGORIES + "/{id}", VALID_ID))
+              .andExpect(status().isOk())
+              .andExpect(jsonPath("$.id").value(category1.getId()))
+              .andExpect(jsonPath("$.name").value(category1.getName()));
+    }
+
+    @Test
+    void findById_invalidId_test() throws Exception {
+        given(categoryService.findById(INVALID_ID)).willThrow(new ResourceNotFoundException(String.format(CATEGORY_NOT_FOUND, INVALID_ID)));
+        mockMvc.perform(get(API_CATEGORIES + "/{id}", INVALID_ID))
+              .andExpect(status().isNotFound())
+              .andExpect(result -> then(result.getResolvedException() instanceof ResourceNotFoundException).isTrue());
+    }
+
+    @Test
+    void save_test() throws Exception {
+        given(categoryService.save(any(Category.class))).willReturn(category1);
+        ResultActions actions = mockMvc.perform(post(API_CATEGORIES)
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .content(objectMapper.writeValueAsString(category1)))
+              .andExpect(status().isCreated());
+        then(objectMapper.readValue(actions.andReturn().getResponse().getContentAsString(), Category.class)).isEqualTo(category1);
+    }
+
+    @Test
+    void save_conflictingName_test() throws Exception {
+        given(categoryService.save(any(Category.class))).willThrow(new InvalidRequestException(String.format(CATEGORY_ALREADY_EXISTS, VALID_ID, category1.getName())));
+        mockMvc.perform(post(API_CATEGORIES)
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .content(objectMapper.writeValueAsString(Category.builder().id(VALID_ID).name("Other").build())))
+              .andExpect(status().isBadRequest())
+              .andExpect(result -> then(result.getResolvedException() instanceof InvalidRequestException).isTrue());
+    }
+
+    @Test
+    void update_test() throws Exception {
+        given(categoryService.update(any(Category.class))).willReturn(category1);
+        ResultActions actions = mockMvc.perform(put(API_CATEGORIES)
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .content(objectMapper.writeValueAsString(category1)))
+              .andExpect(status().isOk());
+        then(objectMapper.readValue(actions.andReturn().getResponse().getContentAsString(), Category.class)).isEqualTo(category1);
+    }
+
+    @Test
+    void deleteById_invalidId_test() throws Exception {
+        willThrow(new ResourceNotFoundException(String.format(CATEGORY_NOT_FOUND, INVALID_ID))).given(categoryService).deleteById(INVALID_ID);
+        mockMvc.perform(delete(API_CATEGORIES + "/{id}", INVALID_ID))
+              .andExpect(status().isNotFound())
+              .andExpect(result -> then(result.getResolvedException() instanceof ResourceNotFoundException).isTrue());
+    }
+}
@@ -1,9 +1,16 @@
 package com.endava.petstore.integration.controller;
 
 import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.model.BulkImportError;
+import com.endava.petstore.model.BulkImportResult;
+import com.endava.petstore.model.Category;
 import com.endava.petstore.model.HttpResponse;
+import com.endava.petstore.model.ImageMetadata;
 import com.endava.petstore.model.Pet;
+import com.endava.petstore.model.UploadSession;
 import com.endava.petstore.repository.PetRepository;
+import com.endava.petstore.utils.ETagUtils;
+import com.endava.petstore.utils.FileServingUtils;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,17 +24,25 @@ import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 import static com.endava.petstore.constants.Constants.*;
 import static com.endava.petstore.mock.PetMock.*;
 import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.tuple;
 import static org.springframework.http.MediaType.IMAGE_JPEG_VALUE;
+import static org.springframework.http.MediaType.IMAGE_PNG_VALUE;
 import static org.springframework.http.MediaType.MULTIPART_FORM_DATA;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "petstore.entity-cache.enabled=true")
 class PetControllerIntegrationTest {
+    private static final String CONTENT_HASH = "ed7002b439e9ac845f22357d822bac1444730fbdb6016d3ec9432297b9ec9f73";
 
     @Autowired
     private PetRepository petRepository;
@@ -64,6 +79,72 @@ class PetControllerIntegrationTest {
         then(result).isEqualTo(pets);
     }
 
+    @Test
+    void findAll_paginated_test() throws Exception {
+        ResponseEntity<String> firstResponse = testRestTemplate.getForEntity(API_PETS + "?limit=2", String.class);
+        then(firstResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(objectMapper.readValue(firstResponse.getBody(), new TypeReference<List<Pet>>() {})).isEqualTo(List.of(pet1, pet2));
+        String nextPageToken = firstResponse.getHeaders().getFirst(NEXT_PAGE_TOKEN_HEADER);
+        then(nextPageToken).isNotNull();
+        ResponseEntity<String> secondResponse = testRestTemplate.getForEntity(API_PETS + "?limit=2&pageToken=" + nextPageToken, String.class);
+        then(secondResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(objectMapper.readValue(secondResponse.getBody(), new TypeReference<List<Pet>>() {})).isEqualTo(List.of(pet3));
+        then(secondResponse.getHeaders().containsKey(NEXT_PAGE_TOKEN_HEADER)).isFalse();
+    }
+
+    @Test
+    void findAll_invalidLimit_test() {
+        ResponseEntity<String> response = testRestTemplate.getForEntity(API_PETS + "?limit=0", String.class);
+        then(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        then(response.getBody()).isEqualTo(INVALID_REQUEST + String.format(INVALID_PAGE_SIZE, MAX_PAGE_SIZE));
+    }
+
+    @Test
+    void findByCategory_paginated_test() throws Exception {
+        petRepository.save(pet4.toBuilder().category(pet1.getCategory()).build());
+        ResponseEntity<String> firstResponse = testRestTemplate.getForEntity(API_PETS + "/findByCategory?categoryId=1&limit=1", String.class);
+        then(firstResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(objectMapper.readValue(firstResponse.getBody(), new TypeReference<List<Pet>>() {})).isEqualTo(List.of(pet1));
+        String nextPageToken = firstResponse.getHeaders().getFirst(NEXT_PAGE_TOKEN_HEADER);
+        then(nextPageToken).isNotNull();
+        ResponseEntity<String> secondResponse = testRestTemplate.getForEntity(API_PETS + "/findByCategory?categoryId=1&limit=1&pageToken=" + nextPageToken, String.class);
+        then(secondResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(objectMapper.readValue(secondResponse.getBody(), new TypeReference<List<Pet>>() {})).extracting(Pet::getId).containsExactly(pet4.getId());
+        then(secondResponse.getHeaders().containsKey(NEXT_PAGE_TOKEN_HEADER)).isFalse();
+    }
+
+    @Test
+    void findByName_test() throws Exception {
+        ResponseEntity<String> prefixResponse = testRestTemplate.getForEntity(API_PETS + "/findByName?name=pet&limit=2", String.class);
+        then(prefixResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(objectMapper.readValue(prefixResponse.getBody(), new TypeReference<List<Pet>>() {})).isEqualTo(List.of(pet1, pet2));
+        ResponseEntity<String> fuzzyResponse = testRestTemplate.getForEntity(API_PETS + "/findByName?name=Pte3&match=fuzzy", String.class);
+        then(fuzzyResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(objectMapper.readValue(fuzzyResponse.getBody(), new TypeReference<List<Pet>>() {})).isEqualTo(List.of(pet3));
+    }
+
+    @Test
+    void streamAll_test() throws Exception {
+        ResponseEntity<String> response = testRestTemplate.getForEntity(API_PETS + "/stream", String.class);
+        then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        then(objectMapper.readValue(response.getBody(), new TypeReference<List<Pet>>() {})).isEqualTo(pets);
+    }
+
+    @Test
+    void streamAllAsNdjson_test() throws Exception {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+        ResponseEntity<String> response = testRestTemplate.exchange(API_PETS + "/stream", HttpMethod.GET, new HttpEntity<>(httpHeaders), String.class);
+        then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        List<Pet> result = new ArrayList<>();
+        for (String line : Objects.requireNonNull(response.getBody()).split("\n")) {
+            result.add(objectMapper.readValue(line, Pet.class));
+        }
+        then(result).isEqualTo(pets);
+    }
+
     @Test
     void findById_validId_test() {
         ResponseEntity<Pet> response = testRestTemplate.getForEntity(API_PETS + "/" + VALID_ID, Pet.class);
@@ -72,6 +153,24 @@ class PetControllerIntegrationTest {
         then(response.getBody()).isEqualTo(pet1);
     }
 
+    @Test
+    void findById_matchingIfNoneMatch_shouldReturnNotModified() {
+        ResponseEntity<Pet> response = testRestTemplate.getForEntity(API_PETS + "/" + VALID_ID, Pet.class);
+        String eTag = response.getHeaders().getETag();
+        then(eTag).isEqualTo(ETagUtils.toETag(petRepository.findById(VALID_ID).getVersion()));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(eTag);
+        ResponseEntity<String> notModifiedResponse = testRestTemplate.exchange(API_PETS + "/" + VALID_ID, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        then(notModifiedResponse.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        then(notModifiedResponse.getHeaders().getETag()).isEqualTo(eTag);
+        then(notModifiedResponse.getBody()).isNull();
+        petRepository.updateWithFormData(VALID_ID, "Rex", PetStatus.SOLD.name());
+        ResponseEntity<Pet> modifiedResponse = testRestTemplate.exchange(API_PETS + "/" + VALID_ID, HttpMethod.GET, new HttpEntity<>(headers), Pet.class);
+        then(modifiedResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(modifiedResponse.getHeaders().getETag()).isNotEqualTo(eTag);
+        then(Objects.requireNonNull(modifiedResponse.getBody()).getName()).isEqualTo("Rex");
+    }
+
     @Test
     void findById_invalidId_test() {
         ResponseEntity<String> response = testRestTemplate.getForEntity(API_PETS + "/" + INVALID_ID, String.class);
@@ -93,6 +192,53 @@ class PetControllerIntegrationTest {
         then(result).isEqualTo(List.of(pet1, pet2, pet3, pet4));
     }
 
+    @Test
+    void save_noId_test() {
+        ResponseEntity<String> response = testRestTemplate.postForEntity(API_PETS, pet4.toBuilder().id(null).build(), String.class);
+        then(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        then(response.getBody()).isEqualTo(INVALID_REQUEST + PET_ID_REQUIRED);
+        then(petRepository.findAll()).isEqualTo(pets);
+    }
+
+    @Test
+    void saveAll_test() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (long id = 100; id < 100 + BULK_BATCH_SIZE * 2L; id++) {
+            ndjson.append(objectMapper.writeValueAsString(pet4.toBuilder().id(id).name("Bulk" + id).build())).append('\n');
+        }
+        ndjson.append("{\"id\": 99, \"name\": \"Pet99\"}\n");
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setContentType(MediaType.APPLICATION_NDJSON);
+        ResponseEntity<BulkImportResult> response = testRestTemplate.postForEntity(API_PETS + "/bulk", new HttpEntity<>(ndjson.toString(), httpHeaders), BulkImportResult.class);
+        then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        BulkImportResult result = Objects.requireNonNull(response.getBody());
+        then(result.getReceived()).isEqualTo(BULK_BATCH_SIZE * 2L + 1);
+        then(result.getImported()).isEqualTo(BULK_BATCH_SIZE * 2L);
+        then(result.getErrors()).extracting(BulkImportError::getLine, BulkImportError::getId)
+              .containsExactly(tuple(BULK_BATCH_SIZE * 2L + 1, 99L));
+        then(testRestTemplate.getForEntity(API_PETS + "/" + (100 + BULK_BATCH_SIZE), Pet.class).getBody())
+              .isEqualTo(pet4.toBuilder().id(100L + BULK_BATCH_SIZE).name("Bulk" + (100 + BULK_BATCH_SIZE)).build());
+        then(petRepository.findAll()).hasSize(pets.size() + BULK_BATCH_SIZE * 2);
+    }
+
+    @Test
+    void updateStatusWhereAndDeleteWhere_test() {
+        ResponseEntity<HttpResponse> updateResponse = testRestTemplate.postForEntity(API_PETS + "/bulk/status?newStatus=SOLD&tags=Tag1,Tag3", null, HttpResponse.class);
+        then(updateResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(Objects.requireNonNull(updateResponse.getBody()).getMessage()).isEqualTo(String.format(PETS_UPDATED, 2, PetStatus.SOLD));
+        ResponseEntity<HttpResponse> deleteResponse = testRestTemplate.exchange(API_PETS + "/bulk?status=SOLD", HttpMethod.DELETE, null, HttpResponse.class);
+        then(deleteResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(Objects.requireNonNull(deleteResponse.getBody()).getMessage()).isEqualTo(String.format(PETS_DELETED, 3));
+        then(petRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    void deleteWhere_noCriteria_test() {
+        ResponseEntity<String> response = testRestTemplate.exchange(API_PETS + "/bulk", HttpMethod.DELETE, null, String.class);
+        then(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        then(petRepository.findAll()).isEqualTo(pets);
+    }
+
     @Test
     void update_test() {
         Pet updatedPet = pet1;
@@ -107,6 +253,45 @@ class PetControllerIntegrationTest {
         then(getResponse.getBody()).isEqualTo(updatedPet);
     }
 
+    @Test
+    void findById_afterUpdateAndDelete_shouldNotReturnCachedEncoding() throws Exception {
+        ResponseEntity<String> response = testRestTemplate.getForEntity(API_PETS + "/" + VALID_ID, String.class);
+        then(response.getBody()).isEqualTo(objectMapper.writeValueAsString(petRepository.findById(VALID_ID)));
+        then(testRestTemplate.getForEntity(API_PETS + "/" + VALID_ID, String.class).getBody()).isEqualTo(response.getBody());
+        testRestTemplate.put(API_PETS, pet1.toBuilder().name("Updated Pet").build());
+        response = testRestTemplate.getForEntity(API_PETS + "/" + VALID_ID, String.class);
+        then(response.getBody()).isEqualTo(objectMapper.writeValueAsString(petRepository.findById(VALID_ID)));
+        then(objectMapper.readValue(response.getBody(), Pet.class).getName()).isEqualTo("Updated Pet");
+        then(response.getHeaders().getContentLength()).isEqualTo(response.getBody().length());
+        testRestTemplate.delete(API_PETS + "/" + VALID_ID);
+        then(testRestTemplate.getForEntity(API_PETS + "/" + VALID_ID, String.class).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void update_categoryDifferingFromCatalog_shouldKeepPetCopy() {
+        Category dogs = Category.builder().id(VALID_ID).name("Dogs").build();
+        ResponseEntity<Pet> updateResponse = testRestTemplate.exchange(API_PETS, HttpMethod.PUT, new HttpEntity<>(pet1.toBuilder().category(dogs).build()), Pet.class);
+        then(updateResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(Objects.requireNonNull(updateResponse.getBody()).getCategory()).isEqualTo(dogs);
+        then(petRepository.findById(VALID_ID).getCategory()).isEqualTo(dogs);
+        then(testRestTemplate.getForObject(API_CATEGORIES + "/" + VALID_ID, Category.class)).isEqualTo(pet1.getCategory());
+    }
+
+    @Test
+    void update_staleIfMatch_shouldReturnPreconditionFailed() {
+        Long version = petRepository.findById(VALID_ID).getVersion();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfMatch(ETagUtils.toETag(version));
+        ResponseEntity<Pet> updateResponse = testRestTemplate.exchange(API_PETS, HttpMethod.PUT, new HttpEntity<>(pet1.toBuilder().name("Updated Pet").build(), headers), Pet.class);
+        then(updateResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Long currentVersion = Objects.requireNonNull(updateResponse.getBody()).getVersion();
+        then(updateResponse.getHeaders().getETag()).isEqualTo(ETagUtils.toETag(currentVersion));
+        ResponseEntity<String> staleResponse = testRestTemplate.exchange(API_PETS, HttpMethod.PUT, new HttpEntity<>(pet1.toBuilder().name("Lost Update").build(), headers), String.class);
+        then(staleResponse.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        then(staleResponse.getBody()).isEqualTo(PRECONDITION_FAILED + String.format(VERSION_MISMATCH, version, VALID_ID, currentVersion));
+        then(petRepository.findById(VALID_ID).getName()).isEqualTo("Updated Pet");
+    }
+
     @Test
     void deleteById_validId_test() throws Exception {
         ResponseEntity<Pet> deleteResponse = testRestTemplate.exchange(API_PETS + "/" + VALID_ID, HttpMethod.DELETE, null, Pet.class);
@@ -140,6 +325,17 @@ class PetControllerIntegrationTest {
         then(result).isEqualTo(List.of(pet1, pet2));
     }
 
+    @Test
+    void findByStatuses_afterUpdate_shouldNotReturnCachedResponse() throws Exception {
+        ResponseEntity<String> response = testRestTemplate.getForEntity(API_PETS + "/findByStatus?status=PENDING", String.class);
+        then(objectMapper.readValue(response.getBody(), new TypeReference<List<Pet>>() {})).isEqualTo(List.of(pet2));
+        response = testRestTemplate.getForEntity(API_PETS + "/findByStatus?status=PENDING,PENDING", String.class);
+        then(objectMapper.readValue(response.getBody(), new TypeReference<List<Pet>>() {})).isEqualTo(List.of(pet2));
+        testRestTemplate.put(API_PETS, pet1.toBuilder().status(PetStatus.PENDING).build());
+        response = testRestTemplate.getForEntity(API_PETS + "/findByStatus?status=PENDING", String.class);
+        then(objectMapper.readValue(response.getBody(), new TypeReference<List<Pet>>() {})).isEqualTo(List.of(pet1.toBuilder().status(PetStatus.PENDING).build(), pet2));
+    }
+
     @Test
     void findByTags_shouldReturnPetsWithGivenTagNames() throws Exception {
         ResponseEntity<String> response = testRestTemplate.getForEntity(API_PETS + "/findByTags?tags=Tag1&tags=Tag2&tags=Tag3", String.class);
@@ -191,14 +387,106 @@ class PetControllerIntegrationTest {
         ResponseEntity<HttpResponse> updateResponse = testRestTemplate.postForEntity(API_PETS + "/" + VALID_ID + "/uploadImage", new HttpEntity<>(body, httpHeaders), HttpResponse.class);
         then(updateResponse).isNotNull();
         then(updateResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
-        then(updateResponse.getBody()).isEqualTo(new HttpResponse(HttpStatus.OK.value(), "unknown", String.format(PET_UPLOADED_IMAGE, additionalMetadata, file.getOriginalFilename(), file.getSize())));
+        then(updateResponse.getBody()).isEqualTo(new HttpResponse(HttpStatus.OK.value(), "unknown", String.format(PET_UPLOADED_IMAGE, additionalMetadata, CONTENT_HASH, file.getSize())));
         ResponseEntity<Pet> getResponse = testRestTemplate.getForEntity(API_PETS + "/" + VALID_ID, Pet.class);
         then(getResponse).isNotNull();
         then(getResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
         Pet updatedPet = pet1;
         List<String> photoUrls = new ArrayList<>(updatedPet.getPhotoUrls());
-        photoUrls.add(String.format("https://www.petstore.com/%s", file.getOriginalFilename()));
+        photoUrls.add(CONTENT_HASH);
         updatedPet.setPhotoUrls(photoUrls);
         then(getResponse.getBody()).isEqualTo(updatedPet);
     }
+
+    @Test
+    void findImage_test() {
+        uploadContent();
+        String url = API_PETS + "/" + VALID_ID + "/images/" + CONTENT_HASH;
+        ResponseEntity<byte[]> response = testRestTemplate.getForEntity(url, byte[].class);
+        then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(response.getBody()).isEqualTo("content".getBytes());
+        then(response.getHeaders().getETag()).isEqualTo("\"" + CONTENT_HASH + "\"");
+        then(response.getHeaders().getCacheControl()).isEqualTo(FileServingUtils.IMMUTABLE_CACHE_CONTROL);
+    }
+
+    @Test
+    void findImage_range_test() {
+        uploadContent();
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setRange(List.of(HttpRange.createByteRange(1, 3)));
+        ResponseEntity<byte[]> response = testRestTemplate.exchange(API_PETS + "/" + VALID_ID + "/images/" + CONTENT_HASH, HttpMethod.GET, new HttpEntity<>(httpHeaders), byte[].class);
+        then(response.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        then(response.getBody()).isEqualTo("ont".getBytes());
+        then(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 1-3/7");
+    }
+
+    @Test
+    void findImage_ifNoneMatch_test() {
+        uploadContent();
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setIfNoneMatch("\"" + CONTENT_HASH + "\"");
+        ResponseEntity<byte[]> response = testRestTemplate.exchange(API_PETS + "/" + VALID_ID + "/images/" + CONTENT_HASH, HttpMethod.GET, new HttpEntity<>(httpHeaders), byte[].class);
+        then(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        then(response.getBody()).isNull();
+    }
+
+    @Test
+    void findImage_invalidHash_test() {
+        ResponseEntity<String> response = testRestTemplate.getForEntity(API_PETS + "/" + VALID_ID + "/images/" + CONTENT_HASH, String.class);
+        then(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void findThumbnail_test() throws Exception {
+        ByteArrayOutputStream image = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB), "png", image);
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("file", new MockMultipartFile("file", "test_image.png", IMAGE_PNG_VALUE, image.toByteArray()).getResource());
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setContentType(MULTIPART_FORM_DATA);
+        then(testRestTemplate.postForEntity(API_PETS + "/" + VALID_ID + "/uploadImage", new HttpEntity<>(body, httpHeaders), HttpResponse.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<String> photoUrls = petRepository.findById(VALID_ID).getPhotoUrls();
+        String hash = photoUrls.get(photoUrls.size() - 1);
+        ResponseEntity<String> metadataResponse = testRestTemplate.getForEntity(API_PETS + "/" + VALID_ID + "/images/" + hash + "/metadata", String.class);
+        for (long deadline = System.currentTimeMillis() + 10_000; metadataResponse.getStatusCode() == HttpStatus.NOT_FOUND && System.currentTimeMillis() < deadline; ) {
+            Thread.sleep(10);
+            metadataResponse = testRestTemplate.getForEntity(API_PETS + "/" + VALID_ID + "/images/" + hash + "/metadata", String.class);
+        }
+        then(metadataResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        ImageMetadata metadata = objectMapper.readValue(metadataResponse.getBody(), ImageMetadata.class);
+        then(metadata.getWidth()).isEqualTo(400);
+        ResponseEntity<byte[]> thumbnailResponse = testRestTemplate.getForEntity(API_PETS + "/" + VALID_ID + "/images/" + hash + "/thumbnails/64", byte[].class);
+        then(thumbnailResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(thumbnailResponse.getHeaders().getContentType()).isEqualTo(MediaType.IMAGE_PNG);
+        then(thumbnailResponse.getHeaders().getETag()).isEqualTo("\"" + metadata.getThumbnails().get(64) + "\"");
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(Objects.requireNonNull(thumbnailResponse.getBody())));
+        then(thumbnail.getWidth()).isEqualTo(64);
+        then(thumbnail.getHeight()).isEqualTo(32);
+    }
+
+    @Test
+    void completeUpload_test() {
+        ResponseEntity<UploadSession> createResponse = testRestTemplate.postForEntity(API_PETS + "/" + VALID_ID + "/uploads?size=7&hash=" + CONTENT_HASH, null, UploadSession.class);
+        then(createResponse.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        String uploadUrl = API_PETS + "/" + VALID_ID + "/uploads/" + Objects.requireNonNull(createResponse.getBody()).getId();
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        testRestTemplate.exchange(uploadUrl + "?offset=3", HttpMethod.PUT, new HttpEntity<>("tent".getBytes(), httpHeaders), UploadSession.class);
+        ResponseEntity<UploadSession> writeResponse = testRestTemplate.exchange(uploadUrl + "?offset=0", HttpMethod.PUT, new HttpEntity<>("con".getBytes(), httpHeaders), UploadSession.class);
+        then(writeResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(Objects.requireNonNull(writeResponse.getBody()).getReceivedRanges()).containsExactly("0-6");
+        ResponseEntity<HttpResponse> completeResponse = testRestTemplate.postForEntity(uploadUrl + "/complete?additionalMetadata=Test image", null, HttpResponse.class);
+        then(completeResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(completeResponse.getBody()).isEqualTo(new HttpResponse(HttpStatus.OK.value(), "unknown", String.format(PET_UPLOADED_IMAGE, "Test image", CONTENT_HASH, 7)));
+        ResponseEntity<byte[]> imageResponse = testRestTemplate.getForEntity(API_PETS + "/" + VALID_ID + "/images/" + CONTENT_HASH, byte[].class);
+        then(imageResponse.getBody()).isEqualTo("content".getBytes());
+    }
+
+    private void uploadContent() {
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("file", new MockMultipartFile("file", "test_image.png", IMAGE_JPEG_VALUE, "content".getBytes()).getResource());
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setContentType(MULTIPART_FORM_DATA);
+        testRestTemplate.postForEntity(API_PETS + "/" + VALID_ID + "/uploadImage", new HttpEntity<>(body, httpHeaders), HttpResponse.class);
+    }
 }
@@ -2,9 +2,16 @@ package com.endava.petstore.integration.controller;
 
 import com.endava.petstore.controller.PetController;
 import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.exception.InvalidRequestException;
+import com.endava.petstore.exception.PreconditionFailedException;
 import com.endava.petstore.exception.ResourceNotFoundException;
+import com.endava.petstore.model.BulkImportError;
+import com.endava.petstore.model.BulkImportResult;
 import com.endava.petstore.model.HttpResponse;
+import com.endava.petstore.model.ImageMetadata;
+import com.endava.petstore.model.Page;
 import com.endava.petstore.model.Pet;
+import com.endava.petstore.model.UploadSession;
 import com.endava.petstore.service.PetService;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -15,26 +22,33 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static com.endava.petstore.constants.Constants.*;
 import static com.endava.petstore.mock.PetMock.*;
 import static org.assertj.core.api.BDDAssertions.then;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_OCTET_STREAM_VALUE;
 import static org.springframework.http.MediaType.IMAGE_JPEG_VALUE;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(PetController.class)
@@ -63,7 +77,7 @@ class PetControllerMockMvcTest {
 
     @Test
     void findAll_test() throws Exception {
-        given(petService.findAll()).willReturn(pets);
+        given(petService.findAll(null, null)).willReturn(new Page<>(pets, null));
         ResultActions actions = mockMvc.perform(get(API_PETS)).andExpect(status().isOk());
         for (int i = 0; i < pets.size(); ++i) {
             assertPet(actions, "$[" + i + "]", pets.get(i));
@@ -81,6 +95,15 @@ class PetControllerMockMvcTest {
         then(result).isEqualTo(pet1);
     }
 
+    @Test
+    void findById_matchingIfNoneMatch_shouldReturnNotModified() throws Exception {
+        given(petService.findById(VALID_ID)).willReturn(pet1.withVersion(42L));
+        ResultActions actions = mockMvc.perform(get(API_PETS + "/{id}", VALID_ID).header(HttpHeaders.IF_NONE_MATCH, "W/\"41\", W/\"42\""))
+              .andExpect(status().isNotModified())
+              .andExpect(header().string(HttpHeaders.ETAG, "W/\"42\""));
+        then(actions.andReturn().getResponse().getContentAsString()).isEmpty();
+    }
+
     @Test
     void findById_invalidId_test() throws Exception {
         String message = String.format(PET_NOT_FOUND, INVALID_ID);
@@ -105,7 +128,7 @@ class PetControllerMockMvcTest {
 
     @Test
     void update_test() throws Exception {
-        given(petService.update(any(Pet.class))).willReturn(pet2);
+        given(petService.update(any(Pet.class), any())).willReturn(pet2);
         ResultActions actions = mockMvc.perform(put(API_PETS)
                     .contentType(APPLICATION_JSON_VALUE)
                     .content(objectMapper.writeValueAsString(pet2)))
@@ -115,6 +138,28 @@ class PetControllerMockMvcTest {
         then(result).isEqualTo(pet2);
     }
 
+    @Test
+    void update_staleIfMatch_test() throws Exception {
+        String message = String.format(VERSION_MISMATCH, 42L, VALID_ID, 43L);
+        given(petService.update(any(Pet.class), eq(42L))).willThrow(new PreconditionFailedException(message));
+        mockMvc.perform(put(API_PETS)
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.IF_MATCH, "W/\"42\"")
+                    .content(objectMapper.writeValueAsString(pet1)))
+              .andExpect(status().isPreconditionFailed())
+              .andExpect(result -> then(Objects.requireNonNull(result.getResolvedException()).getMessage()).isEqualTo(message));
+    }
+
+    @Test
+    void update_invalidIfMatch_test() throws Exception {
+        mockMvc.perform(put(API_PETS)
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.IF_MATCH, "42")
+                    .content(objectMapper.writeValueAsString(pet1)))
+              .andExpect(status().isBadRequest())
+              .andExpect(result -> then(result.getResolvedException() instanceof InvalidRequestException).isTrue());
+    }
+
     @Test
     void deleteById_validId_test() throws Exception {
         mockMvc.perform(delete(API_PETS + "/{id}", VALID_ID)).andExpect(status().isNoContent()).andReturn();
@@ -147,6 +192,41 @@ class PetControllerMockMvcTest {
         then(result).isEqualTo(resultPets);
     }
 
+    @Test
+    void findByCategory_test() throws Exception {
+        given(petService.findByCategory(VALID_ID, "MQ", 1)).willReturn(new Page<>(List.of(pet2), "Mg"));
+        ResultActions actions = mockMvc.perform(get(API_PETS + "/findByCategory")
+                    .param("categoryId", String.valueOf(VALID_ID))
+                    .param("pageToken", "MQ")
+                    .param("limit", "1"))
+              .andExpect(status().isOk())
+              .andExpect(header().string(NEXT_PAGE_TOKEN_HEADER, "Mg"));
+        assertPet(actions, "$[0]", pet2);
+    }
+
+    @Test
+    void findByCategory_missingCategoryId_test() throws Exception {
+        mockMvc.perform(get(API_PETS + "/findByCategory")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void findByName_test() throws Exception {
+        given(petService.findBySimilarName("Pte1", null)).willReturn(List.of(pet1));
+        ResultActions actions = mockMvc.perform(get(API_PETS + "/findByName")
+                    .param("name", "Pte1")
+                    .param("match", "fuzzy"))
+              .andExpect(status().isOk());
+        assertPet(actions, "$[0]", pet1);
+    }
+
+    @Test
+    void findByName_blankName_test() throws Exception {
+        given(petService.findByNamePrefix("", null)).willThrow(new InvalidRequestException(PET_NAME_REQUIRED));
+        mockMvc.perform(get(API_PETS + "/findByName").param("name", ""))
+              .andExpect(status().isBadRequest())
+              .andExpect(result -> then(result.getResolvedException() instanceof InvalidRequestException).isTrue());
+    }
+
     @Test
     void findByTags_test() throws Exception {
         List<String> tagNames = List.of("Tag1", "Tag2", "Tag3");
@@ -164,6 +244,20 @@ class PetControllerMockMvcTest {
         then(result).isEqualTo(resultPets);
     }
 
+    @Test
+    void findByTags_matchAll_test() throws Exception {
+        List<String> tagNames = List.of("Tag1", "Tag2");
+        given(petService.findByAllTags(tagNames)).willReturn(List.of(pet1));
+        ResultActions actions = mockMvc.perform(get(API_PETS + "/findByTags")
+                    .param("tags", "Tag1")
+                    .param("tags", "Tag2")
+                    .param("match", "all"))
+              .andExpect(status().isOk());
+        assertPet(actions, "$[0]", pet1);
+        List<Pet> result = objectMapper.readValue(actions.andReturn().getResponse().getContentAsString(), new TypeReference<>() {});
+        then(result).isEqualTo(List.of(pet1));
+    }
+
     @Test
     void findByTags_emptyList_test() throws Exception {
         List<String> tagNames = Collections.emptyList();
@@ -202,6 +296,120 @@ class PetControllerMockMvcTest {
         then(result).isEqualTo(httpResponse);
     }
 
+    @Test
+    void findImage_invalidHash_test() throws Exception {
+        String message = String.format(PET_IMAGE_NOT_FOUND, "hash", VALID_ID);
+        given(petService.findImage(VALID_ID, "hash")).willThrow(new ResourceNotFoundException(message));
+        mockMvc.perform(get(API_PETS + "/{id}/images/{hash}", VALID_ID, "hash"))
+              .andExpect(status().isNotFound())
+              .andExpect(result -> then(result.getResolvedException() instanceof ResourceNotFoundException).isTrue())
+              .andExpect(result -> then(Objects.requireNonNull(result.getResolvedException()).getMessage()).isEqualTo(message));
+    }
+
+    @Test
+    void findImageMetadata_test() throws Exception {
+        ImageMetadata metadata = new ImageMetadata("hash", "png", 300, 150, Map.of(64, "thumbnail"));
+        given(petService.findImageMetadata(VALID_ID, "hash")).willReturn(metadata);
+        mockMvc.perform(get(API_PETS + "/{id}/images/{hash}/metadata", VALID_ID, "hash"))
+              .andExpect(status().isOk())
+              .andExpect(jsonPath("$.format").value("png"))
+              .andExpect(jsonPath("$.width").value(300))
+              .andExpect(jsonPath("$.height").value(150))
+              .andExpect(jsonPath("$.thumbnails.64").value("thumbnail"));
+    }
+
+    @Test
+    void findImageMetadata_notProcessed_test() throws Exception {
+        String message = String.format(PET_IMAGE_METADATA_NOT_FOUND, "hash", VALID_ID);
+        given(petService.findImageMetadata(VALID_ID, "hash")).willThrow(new ResourceNotFoundException(message));
+        mockMvc.perform(get(API_PETS + "/{id}/images/{hash}/metadata", VALID_ID, "hash"))
+              .andExpect(status().isNotFound())
+              .andExpect(result -> then(Objects.requireNonNull(result.getResolvedException()).getMessage()).isEqualTo(message));
+    }
+
+    @Test
+    void createUpload_test() throws Exception {
+        given(petService.createUpload(VALID_ID, 7L, null)).willReturn(new UploadSession("upload", VALID_ID, 7L, null, 0L, List.of()));
+        mockMvc.perform(post(API_PETS + "/{id}/uploads", VALID_ID).param("size", "7"))
+              .andExpect(status().isCreated())
+              .andExpect(jsonPath("$.id").value("upload"))
+              .andExpect(jsonPath("$.size").value(7));
+    }
+
+    @Test
+    void saveAll_test() throws Exception {
+        given(petService.saveAll(any(InputStream.class))).willAnswer(invocation -> {
+            then(new String(invocation.getArgument(0, InputStream.class).readAllBytes())).isEqualTo("{\"id\": 1}\n{\"id\": ");
+            return new BulkImportResult(2L, 1L, 1L, List.of(new BulkImportError(2L, null, String.format(BULK_LINE_MALFORMED, "Unexpected end-of-input"))));
+        });
+        mockMvc.perform(post(API_PETS + "/bulk")
+                    .contentType(APPLICATION_NDJSON_VALUE)
+                    .content("{\"id\": 1}\n{\"id\": "))
+              .andExpect(status().isOk())
+              .andExpect(jsonPath("$.received").value(2))
+              .andExpect(jsonPath("$.imported").value(1))
+              .andExpect(jsonPath("$.failed").value(1))
+              .andExpect(jsonPath("$.errors[0].line").value(2))
+              .andExpect(jsonPath("$.errors[0].message").value(String.format(BULK_LINE_MALFORMED, "Unexpected end-of-input")));
+    }
+
+    @Test
+    void saveAll_json_shouldBeUnsupported() throws Exception {
+        mockMvc.perform(post(API_PETS + "/bulk").contentType(APPLICATION_JSON_VALUE).content("[]"))
+              .andExpect(status().isUnsupportedMediaType());
+    }
+
+    @Test
+    void updateStatusWhere_test() throws Exception {
+        String message = String.format(PETS_UPDATED, 2, PetStatus.SOLD);
+        given(petService.updateStatusWhere(new PetStatus[]{PetStatus.AVAILABLE, PetStatus.PENDING}, null, VALID_ID, PetStatus.SOLD))
+              .willReturn(new HttpResponse(HttpStatus.OK.value(), "unknown", message));
+        mockMvc.perform(post(API_PETS + "/bulk/status")
+                    .param("newStatus", "SOLD")
+                    .param("status", "AVAILABLE,PENDING")
+                    .param("categoryId", "1"))
+              .andExpect(status().isOk())
+              .andExpect(jsonPath("$.message").value(message));
+    }
+
+    @Test
+    void deleteWhere_noCriteria_test() throws Exception {
+        given(petService.deleteWhere(null, null, null)).willThrow(new InvalidRequestException(PET_CRITERIA_REQUIRED));
+        mockMvc.perform(delete(API_PETS + "/bulk"))
+              .andExpect(status().isBadRequest())
+              .andExpect(result -> then(Objects.requireNonNull(result.getResolvedException()).getMessage()).isEqualTo(PET_CRITERIA_REQUIRED));
+    }
+
+    @Test
+    void writeUploadChunk_test() throws Exception {
+        given(petService.writeUploadChunk(eq(VALID_ID), eq("upload"), eq(3L), any(InputStream.class))).willAnswer(invocation -> {
+            then(new String(invocation.getArgument(3, InputStream.class).readAllBytes())).isEqualTo("tent");
+            return new UploadSession("upload", VALID_ID, 7L, null, 4L, List.of("3-6"));
+        });
+        mockMvc.perform(put(API_PETS + "/{id}/uploads/{uploadId}", VALID_ID, "upload")
+                    .param("offset", "3")
+                    .contentType(APPLICATION_OCTET_STREAM_VALUE)
+                    .content("tent"))
+              .andExpect(status().isOk())
+              .andExpect(jsonPath("$.receivedBytes").value(4))
+              .andExpect(jsonPath("$.receivedRanges[0]").value("3-6"));
+    }
+
+    @Test
+    void completeUpload_incomplete_test() throws Exception {
+        String message = String.format(UPLOAD_INCOMPLETE, "upload", 3, 7);
+        given(petService.completeUpload(VALID_ID, "upload", null)).willThrow(new InvalidRequestException(message));
+        mockMvc.perform(post(API_PETS + "/{id}/uploads/{uploadId}/complete", VALID_ID, "upload"))
+              .andExpect(status().isBadRequest())
+              .andExpect(result -> then(Objects.requireNonNull(result.getResolvedException()).getMessage()).isEqualTo(message));
+    }
+
+    @Test
+    void abortUpload_test() throws Exception {
+        mockMvc.perform(delete(API_PETS + "/{id}/uploads/{uploadId}", VALID_ID, "upload")).andExpect(status().isNoContent());
+        verify(petService).abortUpload(VALID_ID, "upload");
+    }
+
     private void assertPet(ResultActions actions, String prefix, Pet pet) throws Exception {
         actions.andExpect(jsonPath(prefix + ".id").value(pet.getId()))
               .andExpect(jsonPath(prefix + ".name").value(pet.getName()))
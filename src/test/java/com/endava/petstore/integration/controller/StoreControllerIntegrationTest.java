@@ -2,6 +2,7 @@ package com.endava.petstore.integration.controller;
 
 import com.endava.petstore.model.Order;
 import com.endava.petstore.repository.StoreRepository;
+import com.endava.petstore.utils.ETagUtils;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -61,6 +63,15 @@ class StoreControllerIntegrationTest {
         then(result).isEqualTo(orders);
     }
 
+    @Test
+    void streamAllOrders_test() throws Exception {
+        ResponseEntity<String> response = testRestTemplate.getForEntity(API_STORE + "/stream", String.class);
+        then(response).isNotNull();
+        then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<Order> result = objectMapper.readValue(response.getBody(), new TypeReference<>() {});
+        then(result).isEqualTo(orders);
+    }
+
     @Test
     void findOrderById_validId_test() {
         ResponseEntity<Order> response = testRestTemplate.getForEntity(API_STORE + "/" + VALID_ID, Order.class);
@@ -69,6 +80,17 @@ class StoreControllerIntegrationTest {
         then(response.getBody()).isEqualTo(order1);
     }
 
+    @Test
+    void findOrderById_matchingIfNoneMatch_shouldReturnNotModified() {
+        String eTag = testRestTemplate.getForEntity(API_STORE + "/" + VALID_ID, Order.class).getHeaders().getETag();
+        then(eTag).isEqualTo(ETagUtils.toETag(storeRepository.findOrderById(VALID_ID).getVersion()));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(eTag);
+        ResponseEntity<String> response = testRestTemplate.exchange(API_STORE + "/" + VALID_ID, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        then(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        then(response.getBody()).isNull();
+    }
+
     @Test
     void findOrderById_invalidId_test() {
         ResponseEntity<String> response = testRestTemplate.getForEntity(API_STORE + "/" + INVALID_ID, String.class);
@@ -90,6 +112,13 @@ class StoreControllerIntegrationTest {
         then(result).isEqualTo(List.of(order1, order2, order3, order4));
     }
 
+    @Test
+    void saveOrder_noId_test() {
+        ResponseEntity<String> response = testRestTemplate.postForEntity(API_STORE, order4.toBuilder().id(null).build(), String.class);
+        then(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        then(response.getBody()).isEqualTo(INVALID_REQUEST + ORDER_ID_REQUIRED);
+    }
+
     @Test
     void updateOrder_test() {
         Order updatedOrder = order1;
@@ -104,6 +133,17 @@ class StoreControllerIntegrationTest {
         then(getResponse.getBody()).isEqualTo(updatedOrder);
     }
 
+    @Test
+    void updateOrder_staleIfMatch_shouldReturnPreconditionFailed() {
+        Long version = storeRepository.findOrderById(VALID_ID).getVersion();
+        storeRepository.updateOrder(order1.toBuilder().quantity(3).build(), null);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfMatch(ETagUtils.toETag(version));
+        ResponseEntity<String> response = testRestTemplate.exchange(API_STORE, HttpMethod.PUT, new HttpEntity<>(order1, headers), String.class);
+        then(response.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        then(storeRepository.findOrderById(VALID_ID).getQuantity()).isEqualTo(3);
+    }
+
     @Test
     void deleteOrderById_validId_test() throws Exception {
         ResponseEntity<Order> deleteResponse = testRestTemplate.exchange(API_STORE + "/" + VALID_ID, HttpMethod.DELETE, null, Order.class);
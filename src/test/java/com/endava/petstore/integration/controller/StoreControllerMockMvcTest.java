@@ -3,6 +3,7 @@ package com.endava.petstore.integration.controller;
 import com.endava.petstore.controller.StoreController;
 import com.endava.petstore.exception.ResourceNotFoundException;
 import com.endava.petstore.model.Order;
+import com.endava.petstore.model.Page;
 import com.endava.petstore.service.StoreService;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -60,7 +61,7 @@ class StoreControllerMockMvcTest {
 
     @Test
     void findAllOrders_test() throws Exception {
-        given(storeService.findAllOrders()).willReturn(orders);
+        given(storeService.findAllOrders(null, null)).willReturn(new Page<>(orders, null));
         ResultActions actions = mockMvc.perform(get(API_STORE)).andExpect(status().isOk());
         for (int i = 0; i < orders.size(); ++i) {
             assertOrder(actions, "$[" + i + "]", orders.get(i));
@@ -102,7 +103,7 @@ class StoreControllerMockMvcTest {
 
     @Test
     void updateOrder_test() throws Exception {
-        given(storeService.updateOrder(any(Order.class))).willReturn(order2);
+        given(storeService.updateOrder(any(Order.class), any())).willReturn(order2);
         ResultActions actions = mockMvc.perform(put(API_STORE)
                     .contentType(APPLICATION_JSON_VALUE)
                     .content(objectMapper.writeValueAsString(order2)))
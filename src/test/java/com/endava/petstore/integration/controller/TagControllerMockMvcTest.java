@@ -0,0 +1,120 @@
+package com.endava.petstore.integration.controller;
+
+import com.endava.petstore.controller.TagController;
+import com.endava.petstore.exception.InvalidRequestException;
+import com.endava.petstore.exception.ResourceNotFoundException;
+import com.endava.petstore.model.Tag;
+import com.endava.petstore.service.TagService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static com.endava.petstore.constants.Constants.*;
+import static com.endava.petstore.mock.TagMock.*;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TagController.class)
+@ExtendWith(MockitoExtension.class)
+class TagControllerMockMvcTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private TagService tagService;
+
+    private Tag tag1;
+    private List<Tag> tagList;
+
+    @BeforeEach
+    void setUp() {
+        tag1 = getMockedTag1();
+        tagList = getMockedTags();
+    }
+
+    @Test
+    void findAll_test() throws Exception {
+        given(tagService.findAll()).willReturn(tagList);
+        ResultActions actions = mockMvc.perform(get(API_TAGS)).andExpect(status().isOk());
+        List<Tag> result = objectMapper.readValue(actions.andReturn().getResponse().getContentAsString(), new TypeReference<>() {});
+        then(result).isEqualTo(tagList);
+    }
+
+    @Test
+    void findById_validId_test() throws Exception {
+        given(tagService.findById(VALID_ID)).willReturn(tag1);
+        mockMvc.perform(get(API_TAGS + "/{id}", VALID_ID))
+              .andExpect(status().isOk())
+              .andExpect(jsonPath("$.id").value(tag1.getId()))
+              .andExpect(jsonPath("$.name").value(tag1.getName()));
+    }
+
+    @Test
+    void findById_invalidId_test() throws Exception {
+        given(tagService.findById(INVALID_ID)).willThrow(new ResourceNotFoundException(String.format(TAG_NOT_FOUND, INVALID_ID)));
+        mockMvc.perform(get(API_TAGS + "/{id}", INVALID_ID))
+              .andExpect(status().isNotFound())
+              .andExpect(result -> then(result.getResolvedException() instanceof ResourceNotFoundException).isTrue());
+    }
+
+    @Test
+    void save_test() throws Exception {
+        given(tagService.save(any(Tag.class))).willReturn(tag1);
+        ResultActions actions = mockMvc.perform(post(API_TAGS)
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .content(objectMapper.writeValueAsString(tag1)))
+              .andExpect(status().isCreated());
+        then(objectMapper.readValue(actions.andReturn().getResponse().getContentAsString(), Tag.class)).isEqualTo(tag1);
+    }
+
+    @Test
+    void save_conflictingName_test() throws Exception {
+        given(tagService.save(any(Tag.class))).willThrow(new InvalidRequestException(String.format(TAG_ALREADY_EXISTS, VALID_ID, tag1.getName())));
+        mockMvc.perform(post(API_TAGS)
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .content(objectMapper.writeValueAsString(Tag.builder().id(VALID_ID).name("Other").build())))
+              .andExpect(status().isBadRequest())
+              .andExpect(result -> then(result.getResolvedException() instanceof InvalidRequestException).isTrue());
+    }
+
+    @Test
+    void update_test() throws Exception {
+        given(tagService.update(any(Tag.class))).willReturn(tag1);
+        ResultActions actions = mockMvc.perform(put(API_TAGS)
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .content(objectMapper.writeValueAsString(tag1)))
+              .andExpect(status().isOk());
+        then(objectMapper.readValue(actions.andReturn().getResponse().getContentAsString(), Tag.class)).isEqualTo(tag1);
+    }
+
+    @Test
+    void deleteById_invalidId_test() throws Exception {
+        willThrow(new ResourceNotFoundException(String.format(TAG_NOT_FOUND, INVALID_ID))).given(tagService).deleteById(INVALID_ID);
+        mockMvc.perform(delete(API_TAGS + "/{id}", INVALID_ID))
+              .andExpect(status().isNotFound())
+              .andExpect(result -> then(result.getResolvedException() instanceof ResourceNotFoundException).isTrue());
+    }
+}
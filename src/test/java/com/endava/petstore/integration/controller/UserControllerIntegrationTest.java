@@ -3,6 +3,7 @@ package com.endava.petstore.integration.controller;
 import com.endava.petstore.model.HttpResponse;
 import com.endava.petstore.model.User;
 import com.endava.petstore.repository.UserRepository;
+import com.endava.petstore.utils.ETagUtils;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -62,6 +64,15 @@ class UserControllerIntegrationTest {
         then(result).isEqualTo(users);
     }
 
+    @Test
+    void streamAll_test() throws Exception {
+        ResponseEntity<String> response = testRestTemplate.getForEntity(API_USERS + "/stream", String.class);
+        then(response).isNotNull();
+        then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<User> result = objectMapper.readValue(response.getBody(), new TypeReference<>() {});
+        then(result).isEqualTo(users);
+    }
+
     @Test
     void findById_validId_test() {
         ResponseEntity<User> response = testRestTemplate.getForEntity(API_USERS + "/" + VALID_ID, User.class);
@@ -70,6 +81,17 @@ class UserControllerIntegrationTest {
         then(response.getBody()).isEqualTo(user1);
     }
 
+    @Test
+    void findByUsername_matchingIfNoneMatch_shouldReturnNotModified() {
+        String eTag = testRestTemplate.getForEntity(API_USERS + "/username/" + VALID_USERNAME, User.class).getHeaders().getETag();
+        then(eTag).isEqualTo(ETagUtils.toETag(userRepository.findByUsername(VALID_USERNAME).getVersion()));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(eTag);
+        ResponseEntity<String> response = testRestTemplate.exchange(API_USERS + "/" + VALID_ID, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        then(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        then(response.getBody()).isNull();
+    }
+
     @Test
     void findById_invalidId_test() {
         ResponseEntity<String> response = testRestTemplate.getForEntity(API_USERS + "/" + INVALID_ID, String.class);
@@ -91,6 +113,13 @@ class UserControllerIntegrationTest {
         then(result).isEqualTo(List.of(user1, user2, user3));
     }
 
+    @Test
+    void save_noId_test() {
+        ResponseEntity<String> response = testRestTemplate.postForEntity(API_USERS, user3.toBuilder().id(null).build(), String.class);
+        then(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        then(response.getBody()).isEqualTo(INVALID_REQUEST + USER_ID_REQUIRED);
+    }
+
     @Test
     void update_test() {
         User updatedUser = user1;
@@ -175,6 +204,17 @@ class UserControllerIntegrationTest {
         then(response.getBody()).isEqualTo(RESOURCE_NOT_FOUND + String.format(USERNAME_NOT_FOUND, INVALID_USERNAME));
     }
 
+    @Test
+    void updateByUsername_staleIfMatch_shouldReturnPreconditionFailed() {
+        Long version = userRepository.findByUsername(VALID_USERNAME).getVersion();
+        userRepository.login(VALID_USERNAME, user1.getPassword());
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfMatch(ETagUtils.toETag(version));
+        ResponseEntity<String> response = testRestTemplate.exchange(API_USERS + "/username/" + VALID_USERNAME, HttpMethod.PUT, new HttpEntity<>(user1, headers), String.class);
+        then(response.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        then(response.getBody()).isEqualTo(PRECONDITION_FAILED + String.format(VERSION_MISMATCH, version, VALID_ID, userRepository.findById(VALID_ID).getVersion()));
+    }
+
     @Test
     void updateByUsername_test() {
         User updatedUser = user1;
@@ -4,6 +4,7 @@ import com.endava.petstore.controller.UserController;
 import com.endava.petstore.exception.InvalidRequestException;
 import com.endava.petstore.exception.ResourceNotFoundException;
 import com.endava.petstore.model.HttpResponse;
+import com.endava.petstore.model.Page;
 import com.endava.petstore.model.User;
 import com.endava.petstore.service.UserService;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -66,7 +67,7 @@ class UserControllerMockMvcTest {
 
     @Test
     void findAll_test() throws Exception {
-        given(userService.findAll()).willReturn(users);
+        given(userService.findAll(null, null)).willReturn(new Page<>(users, null));
         ResultActions actions = mockMvc.perform(get(API_USERS)).andExpect(status().isOk());
         for (int i = 0; i < users.size(); ++i) {
             assertUser(actions, "$[" + i + "]", users.get(i));
@@ -109,7 +110,7 @@ class UserControllerMockMvcTest {
 
     @Test
     void update_test() throws Exception {
-        given(userService.update(any(User.class))).willReturn(user2);
+        given(userService.update(any(User.class), any())).willReturn(user2);
         ResultActions actions = mockMvc.perform(put(API_USERS)
                     .contentType(APPLICATION_JSON_VALUE)
                     .content(objectMapper.writeValueAsString(user2)))
@@ -188,7 +189,7 @@ class UserControllerMockMvcTest {
 
     @Test
     void updateByUsername_test() throws Exception {
-        given(userService.updateByUsername(any(User.class), any(String.class))).willReturn(user2);
+        given(userService.updateByUsername(any(User.class), any(String.class), any())).willReturn(user2);
         ResultActions actions = mockMvc.perform(put(API_USERS + "/username/{username}", VALID_USERNAME)
                     .contentType(APPLICATION_JSON_VALUE)
                     .content(objectMapper.writeValueAsString(user2)))
@@ -0,0 +1,109 @@
+package com.endava.petstore.integration.repository;
+
+import com.endava.petstore.exception.InvalidRequestException;
+import com.endava.petstore.exception.ResourceNotFoundException;
+import com.endava.petstore.model.Category;
+import com.endava.petstore.repository.CategoryRepositoryImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static com.endava.petstore.constants.Constants.*;
+import static com.endava.petstore.mock.CategoryMock.*;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+
+@SpringBootTest
+class CategoryRepositoryIntegrationTest {
+
+    @Autowired
+    private CategoryRepositoryImpl categoryRepository;
+
+    private Category category1;
+    private List<Category> categoryList;
+
+    @BeforeEach
+    void setUp() {
+        category1 = getMockedCategory1();
+        categoryList = getMockedCategories();
+        categoryRepository.deleteAll();
+        categoryList.forEach(categoryRepository::save);
+    }
+
+    @Test
+    void findAll_test() {
+        then(categoryRepository.findAll()).isEqualTo(categoryList);
+    }
+
+    @Test
+    void findById_validId_test() {
+        then(categoryRepository.findById(VALID_ID)).isEqualTo(category1);
+    }
+
+    @Test
+    void findById_invalidId_test() {
+        thenThrownBy(() -> categoryRepository.findById(INVALID_ID))
+              .isInstanceOf(ResourceNotFoundException.class)
+              .hasMessage(String.format(CATEGORY_NOT_FOUND, INVALID_ID));
+    }
+
+    @Test
+    void save_knownCategory_shouldReturnSharedInstance() {
+        Category shared = categoryRepository.findById(VALID_ID);
+        then(categoryRepository.save(getMockedCategory1())).isSameAs(shared);
+    }
+
+    @Test
+    void save_newCategory_test() {
+        Category category4 = getMockedCategory4();
+        then(categoryRepository.save(category4)).isSameAs(category4);
+        then(categoryRepository.findById(category4.getId())).isSameAs(category4);
+    }
+
+    @Test
+    void save_conflictingName_test() {
+        thenThrownBy(() -> categoryRepository.save(Category.builder().id(VALID_ID).name("Other").build()))
+              .isInstanceOf(InvalidRequestException.class)
+              .hasMessage(String.format(CATEGORY_ALREADY_EXISTS, VALID_ID, category1.getName()));
+        then(categoryRepository.findById(VALID_ID)).isEqualTo(category1);
+    }
+
+    @Test
+    void save_nullId_test() {
+        thenThrownBy(() -> categoryRepository.save(Category.builder().name("Other").build()))
+              .isInstanceOf(InvalidRequestException.class)
+              .hasMessage(CATEGORY_ID_REQUIRED);
+    }
+
+    @Test
+    void share_conflictingName_shouldReturnOwnCopy() {
+        Category other = Category.builder().id(VALID_ID).name("Other").build();
+        then(categoryRepository.share(other)).isSameAs(other);
+        then(categoryRepository.findById(VALID_ID)).isEqualTo(category1);
+        Category category4 = getMockedCategory4();
+        then(categoryRepository.share(category4)).isSameAs(category4);
+        then(categoryRepository.findById(category4.getId())).isSameAs(category4);
+    }
+
+    @Test
+    void update_test() {
+        Category renamed = Category.builder().id(VALID_ID).name("Renamed").build();
+        then(categoryRepository.update(renamed)).isEqualTo(renamed);
+        then(categoryRepository.findById(VALID_ID)).isEqualTo(renamed);
+        thenThrownBy(() -> categoryRepository.update(Category.builder().id(INVALID_ID).name("Other").build()))
+              .isInstanceOf(ResourceNotFoundException.class)
+              .hasMessage(String.format(CATEGORY_NOT_FOUND, INVALID_ID));
+    }
+
+    @Test
+    void deleteById_test() {
+        categoryRepository.deleteById(VALID_ID);
+        thenThrownBy(() -> categoryRepository.findById(VALID_ID)).isInstanceOf(ResourceNotFoundException.class);
+        thenThrownBy(() -> categoryRepository.deleteById(VALID_ID))
+              .isInstanceOf(ResourceNotFoundException.class)
+              .hasMessage(String.format(CATEGORY_NOT_FOUND, VALID_ID));
+    }
+}
@@ -1,9 +1,13 @@
 package com.endava.petstore.integration.repository;
 
 import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.exception.PreconditionFailedException;
 import com.endava.petstore.exception.ResourceNotFoundException;
+import com.endava.petstore.model.Category;
 import com.endava.petstore.model.HttpResponse;
+import com.endava.petstore.model.ImageMetadata;
 import com.endava.petstore.model.Pet;
+import com.endava.petstore.model.Tag;
 import com.endava.petstore.repository.PetRepositoryImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,16 +17,25 @@ import org.springframework.http.HttpStatus;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.List;
+import java.util.Map;
 
 import static com.endava.petstore.constants.Constants.*;
 import static com.endava.petstore.mock.PetMock.*;
 import static org.assertj.core.api.BDDAssertions.then;
 import static org.assertj.core.api.BDDAssertions.thenThrownBy;
 import static org.springframework.http.MediaType.IMAGE_JPEG_VALUE;
+import static org.springframework.http.MediaType.IMAGE_PNG_VALUE;
 
 @SpringBootTest
 class PetRepositoryIntegrationTest {
+    private static final String CONTENT_HASH = "ed7002b439e9ac845f22357d822bac1444730fbdb6016d3ec9432297b9ec9f73";
 
     @Autowired
     private PetRepositoryImpl petRepository;
@@ -67,18 +80,99 @@ class PetRepositoryIntegrationTest {
         then(petRepository.findAll()).isEqualTo(List.of(pet1, pet2, pet3, pet4));
     }
 
+    @Test
+    void saveAll_test() {
+        Pet updatedPet1 = pet1.toBuilder().name("Updated Pet").status(PetStatus.SOLD).build();
+        petRepository.saveAll(List.of(updatedPet1, pet4));
+        then(petRepository.findAll()).isEqualTo(List.of(updatedPet1, pet2, pet3, pet4));
+        then(petRepository.findByStatuses(new PetStatus[]{PetStatus.SOLD})).isEqualTo(List.of(updatedPet1, pet3, pet4));
+        then(petRepository.findByNamePrefix("Updated", 10)).isEqualTo(List.of(updatedPet1));
+    }
+
+    @Test
+    void save_equalCategoryAndTags_shouldShareCatalogInstances() {
+        Pet pet = pet4.toBuilder()
+              .category(Category.builder().id(1L).name("Category1").build())
+              .tags(List.of(Tag.builder().id(1L).name("Tag1").build()))
+              .build();
+        Pet saved = petRepository.save(pet);
+        Pet existing = petRepository.findById(VALID_ID);
+        then(saved.getCategory()).isSameAs(existing.getCategory());
+        then(saved.getTags().get(0)).isSameAs(existing.getTags().get(0));
+    }
+
+    @Test
+    void save_categoryAndTagsDifferingFromCatalog_shouldKeepOwnCopies() {
+        Category dogs = Category.builder().id(1L).name("Dogs").build();
+        Tag puppy = Tag.builder().id(1L).name("Puppy").build();
+        Pet saved = petRepository.save(pet4.toBuilder().category(dogs).tags(List.of(puppy)).build());
+        then(saved.getCategory()).isEqualTo(dogs);
+        then(saved.getTags()).containsExactly(puppy);
+        then(petRepository.findById(VALID_ID).getCategory().getName()).isEqualTo("Category1");
+        then(petRepository.findByCategory(1L, null, 10)).containsExactly(pet1, saved);
+    }
+
+    @Test
+    void findByCategory_shouldReturnPetsOfCategoryAfterId() {
+        Pet pet = petRepository.save(pet4.toBuilder().category(pet1.getCategory()).build());
+        then(petRepository.findByCategory(1L, null, 10)).isEqualTo(List.of(pet1, pet));
+        then(petRepository.findByCategory(1L, 1L, 10)).isEqualTo(List.of(pet));
+        then(petRepository.findByCategory(INVALID_ID, null, 10)).isEmpty();
+    }
+
+    @Test
+    void findByCategory_afterUpdateAndDelete_shouldFollowChanges() {
+        petRepository.update(pet2.toBuilder().category(pet1.getCategory()).build(), null);
+        then(petRepository.findByCategory(1L, null, 10)).extracting(Pet::getId).containsExactly(1L, 2L);
+        then(petRepository.findByCategory(2L, null, 10)).isEmpty();
+        petRepository.deleteById(1L);
+        then(petRepository.findByCategory(1L, null, 10)).extracting(Pet::getId).containsExactly(2L);
+    }
+
+    @Test
+    void findByNamePrefix_shouldFollowNameUpdates() {
+        then(petRepository.findByNamePrefix("pet", 10)).isEqualTo(pets);
+        petRepository.updateWithFormData(2L, "Rex", PetStatus.SOLD.name());
+        then(petRepository.findByNamePrefix("pet", 10)).isEqualTo(List.of(pet1, pet3));
+        then(petRepository.findByNamePrefix("re", 10)).extracting(Pet::getId).containsExactly(2L);
+    }
+
+    @Test
+    void findBySimilarName_test() {
+        then(petRepository.findBySimilarName("Pte1", 10)).isEqualTo(List.of(pet1));
+        then(petRepository.findBySimilarName("Pet9", 2)).isEqualTo(List.of(pet1, pet2));
+    }
+
     @Test
     void update_validPet_test() {
-        then(petRepository.update(pet1)).isEqualTo(pet1);
+        then(petRepository.update(pet1, null)).isEqualTo(pet1);
     }
 
     @Test
     void update_invalidPet_test() {
-        thenThrownBy(() -> petRepository.update(pet4))
+        thenThrownBy(() -> petRepository.update(pet4, null))
               .isInstanceOf(ResourceNotFoundException.class)
               .hasMessage(String.format(PET_NOT_FOUND, pet4.getId()));
     }
 
+    @Test
+    void update_currentVersion_shouldAssignNewVersion() {
+        Long version = petRepository.findById(VALID_ID).getVersion();
+        then(petRepository.update(pet1.toBuilder().name("Updated Pet").build(), version).getVersion()).isGreaterThan(version);
+    }
+
+    @Test
+    void update_staleVersion_test() {
+        Long version = petRepository.findById(VALID_ID).getVersion();
+        petRepository.updateWithFormData(VALID_ID, "Rex", PetStatus.SOLD.name());
+        Long currentVersion = petRepository.findById(VALID_ID).getVersion();
+        then(currentVersion).isGreaterThan(version);
+        thenThrownBy(() -> petRepository.update(pet1, version))
+              .isInstanceOf(PreconditionFailedException.class)
+              .hasMessage(String.format(VERSION_MISMATCH, version, VALID_ID, currentVersion));
+        then(petRepository.findById(VALID_ID).getName()).isEqualTo("Rex");
+    }
+
     @Test
     void deleteById_validId_test() {
         petRepository.deleteById(VALID_ID);
@@ -98,12 +192,65 @@ class PetRepositoryIntegrationTest {
         then(petRepository.findByStatuses(statuses)).isEqualTo(List.of(pet1, pet2));
     }
 
+    @Test
+    void findByStatuses_afterUpdateAndDelete_shouldReflectChanges() {
+        petRepository.updateWithFormData(VALID_ID, pet1.getName(), PetStatus.SOLD.name());
+        petRepository.deleteById(3L);
+        then(petRepository.findByStatuses(new PetStatus[]{PetStatus.SOLD})).isEqualTo(List.of(petRepository.findById(VALID_ID)));
+        then(petRepository.findByStatuses(new PetStatus[]{PetStatus.AVAILABLE})).isEmpty();
+    }
+
     @Test
     void findByTags_shouldReturnPetsWithGivenTagNames() {
         List<String> tagNames = List.of("Tag1", "Tag2", "Tag3");
         then(petRepository.findByTags(tagNames)).isEqualTo(List.of(pet1, pet2));
     }
 
+    @Test
+    void findByAllTags_shouldReturnPetsHavingEveryTagName() {
+        then(petRepository.findByAllTags(List.of("Tag1", "Tag2"))).isEqualTo(List.of(pet1));
+        then(petRepository.findByAllTags(List.of("Tag1", "Tag3"))).isEmpty();
+    }
+
+    @Test
+    void updateStatusWhere_test() {
+        HttpResponse response = petRepository.updateStatusWhere(new PetStatus[]{PetStatus.AVAILABLE, PetStatus.PENDING}, List.of("Tag1", "Tag3", "Tag5"), null, PetStatus.SOLD);
+        then(response).isEqualTo(new HttpResponse(HttpStatus.OK.value(), "unknown", String.format(PETS_UPDATED, 2, PetStatus.SOLD)));
+        then(petRepository.findAll()).extracting(Pet::getStatus).containsOnly(PetStatus.SOLD);
+        then(petRepository.findByStatuses(new PetStatus[]{PetStatus.SOLD})).hasSize(3);
+        then(petRepository.countByStatus()).isEqualTo(Map.of("AVAILABLE", 0, "PENDING", 0, "SOLD", 3));
+    }
+
+    @Test
+    void updateStatusWhere_alreadyInStatus_shouldNotCountPet() {
+        then(petRepository.updateStatusWhere(null, null, VALID_ID, PetStatus.AVAILABLE).getMessage()).isEqualTo(String.format(PETS_UPDATED, 0, PetStatus.AVAILABLE));
+        then(petRepository.findById(VALID_ID)).isEqualTo(pet1);
+    }
+
+    @Test
+    void deleteWhere_test() {
+        HttpResponse response = petRepository.deleteWhere(new PetStatus[]{PetStatus.SOLD, PetStatus.PENDING}, List.of("Tag6"), 3L);
+        then(response).isEqualTo(new HttpResponse(HttpStatus.OK.value(), "unknown", String.format(PETS_DELETED, 1)));
+        then(petRepository.findAll()).isEqualTo(List.of(pet1, pet2));
+        then(petRepository.findByCategory(3L, null, 10)).isEmpty();
+        then(petRepository.countByStatus()).isEqualTo(Map.of("AVAILABLE", 1, "PENDING", 1, "SOLD", 0));
+    }
+
+    @Test
+    void deleteWhere_noCriteria_shouldDeleteNothing() {
+        then(petRepository.deleteWhere(null, List.of(), null).getMessage()).isEqualTo(String.format(PETS_DELETED, 0));
+        then(petRepository.findAll()).isEqualTo(pets);
+    }
+
+    @Test
+    void countByStatus_afterWrites_shouldReflectChanges() {
+        then(petRepository.countByStatus()).isEqualTo(Map.of("AVAILABLE", 1, "PENDING", 1, "SOLD", 1));
+        petRepository.save(pet4);
+        petRepository.updateWithFormData(VALID_ID, pet1.getName(), PetStatus.PENDING.name());
+        petRepository.deleteById(3L);
+        then(petRepository.countByStatus()).isEqualTo(Map.of("AVAILABLE", 0, "PENDING", 2, "SOLD", 1));
+    }
+
     @Test
     void updateWithFormData_shouldModifyPetUsingFormData() {
         String name = "Test pet";
@@ -115,6 +262,98 @@ class PetRepositoryIntegrationTest {
     void uploadImage_shouldAppendToPetPhotoUrls() {
         String additionalMetadata = "Test image";
         MultipartFile file = new MockMultipartFile("file", "test_image.png", IMAGE_JPEG_VALUE, "content".getBytes());
-        then(petRepository.uploadImage(VALID_ID, additionalMetadata, file)).isEqualTo(new HttpResponse(HttpStatus.OK.value(), "unknown", String.format(PET_UPLOADED_IMAGE, additionalMetadata, file.getOriginalFilename(), file.getSize())));
+        then(petRepository.uploadImage(VALID_ID, additionalMetadata, file)).isEqualTo(new HttpResponse(HttpStatus.OK.value(), "unknown", String.format(PET_UPLOADED_IMAGE, additionalMetadata, CONTENT_HASH, file.getSize())));
+        then(petRepository.findById(VALID_ID).getPhotoUrls()).endsWith(CONTENT_HASH);
+    }
+
+    @Test
+    void findImage_test() throws Exception {
+        MultipartFile file = new MockMultipartFile("file", "test_image.png", IMAGE_JPEG_VALUE, "content".getBytes());
+        petRepository.uploadImage(VALID_ID, "Test image", file);
+        then(Files.readString(petRepository.findImage(VALID_ID, CONTENT_HASH))).isEqualTo("content");
+    }
+
+    @Test
+    void findImage_imageOfOtherPet_test() {
+        MultipartFile file = new MockMultipartFile("file", "test_image.png", IMAGE_JPEG_VALUE, "content".getBytes());
+        petRepository.uploadImage(VALID_ID, "Test image", file);
+        thenThrownBy(() -> petRepository.findImage(2L, CONTENT_HASH))
+              .isInstanceOf(ResourceNotFoundException.class)
+              .hasMessage(String.format(PET_IMAGE_NOT_FOUND, CONTENT_HASH, 2L));
+    }
+
+    @Test
+    void findImageMetadata_test() throws Exception {
+        String hash = uploadImage(300, 150);
+        ImageMetadata metadata = awaitImageMetadata(VALID_ID, hash);
+        then(metadata).isEqualTo(new ImageMetadata(hash, "png", 300, 150, metadata.getThumbnails()));
+        then(metadata.getThumbnails()).containsOnlyKeys(64, 256);
+        then(ImageIO.read(petRepository.findThumbnail(VALID_ID, hash, 64).toFile()).getHeight()).isEqualTo(32);
+    }
+
+    @Test
+    void findImageMetadata_unsupportedFormat_test() {
+        petRepository.uploadImage(VALID_ID, "Test image", new MockMultipartFile("file", "test_image.png", IMAGE_JPEG_VALUE, "content".getBytes()));
+        thenThrownBy(() -> petRepository.findImageMetadata(VALID_ID, CONTENT_HASH))
+              .isInstanceOf(ResourceNotFoundException.class)
+              .hasMessage(String.format(PET_IMAGE_METADATA_NOT_FOUND, CONTENT_HASH, VALID_ID));
+    }
+
+    @Test
+    void findThumbnail_invalidSize_test() throws Exception {
+        String hash = uploadImage(300, 150);
+        awaitImageMetadata(VALID_ID, hash);
+        thenThrownBy(() -> petRepository.findThumbnail(VALID_ID, hash, 100))
+              .isInstanceOf(ResourceNotFoundException.class)
+              .hasMessage(String.format(PET_THUMBNAIL_NOT_FOUND, 100, hash, VALID_ID));
+    }
+
+    @Test
+    void completeUpload_test() throws Exception {
+        String uploadId = petRepository.createUpload(VALID_ID, 7L, CONTENT_HASH).getId();
+        petRepository.writeUploadChunk(VALID_ID, uploadId, 3L, new ByteArrayInputStream("tent".getBytes()));
+        petRepository.writeUploadChunk(VALID_ID, uploadId, 0L, new ByteArrayInputStream("con".getBytes()));
+        then(petRepository.findUpload(VALID_ID, uploadId).getReceivedRanges()).containsExactly("0-6");
+        HttpResponse result = petRepository.completeUpload(VALID_ID, uploadId, "Test image");
+        then(result).isEqualTo(new HttpResponse(HttpStatus.OK.value(), "unknown", String.format(PET_UPLOADED_IMAGE, "Test image", CONTENT_HASH, 7)));
+        then(petRepository.findById(VALID_ID).getPhotoUrls()).endsWith(CONTENT_HASH);
+        then(Files.readString(petRepository.findImage(VALID_ID, CONTENT_HASH))).isEqualTo("content");
+    }
+
+    @Test
+    void createUpload_invalidId_test() {
+        thenThrownBy(() -> petRepository.createUpload(INVALID_ID, 7L, null))
+              .isInstanceOf(ResourceNotFoundException.class)
+              .hasMessage(String.format(PET_NOT_FOUND, INVALID_ID));
+    }
+
+    @Test
+    void uploadImage_invalidId_test() {
+        MultipartFile file = new MockMultipartFile("file", "test_image.png", IMAGE_JPEG_VALUE, "content".getBytes());
+        thenThrownBy(() -> petRepository.uploadImage(INVALID_ID, "Test image", file))
+              .isInstanceOf(ResourceNotFoundException.class)
+              .hasMessage(String.format(PET_NOT_FOUND, INVALID_ID));
+    }
+
+    private ImageMetadata awaitImageMetadata(Long id, String hash) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            try {
+                return petRepository.findImageMetadata(id, hash);
+            } catch (ResourceNotFoundException e) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw e;
+                }
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    private String uploadImage(int width, int height) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", output);
+        petRepository.uploadImage(VALID_ID, "Test image", new MockMultipartFile("file", "test_image.png", IMAGE_PNG_VALUE, output.toByteArray()));
+        List<String> photoUrls = petRepository.findById(VALID_ID).getPhotoUrls();
+        return photoUrls.get(photoUrls.size() - 1);
     }
 }
@@ -1,5 +1,6 @@
 package com.endava.petstore.integration.repository;
 
+import com.endava.petstore.exception.PreconditionFailedException;
 import com.endava.petstore.exception.ResourceNotFoundException;
 import com.endava.petstore.model.Order;
 import com.endava.petstore.repository.StoreRepositoryImpl;
@@ -66,7 +67,17 @@ class StoreRepositoryIntegrationTest {
 
     @Test
     void updateOrder_test() {
-        then(storeRepository.updateOrder(order1)).isEqualTo(order1);
+        then(storeRepository.updateOrder(order1, null)).isEqualTo(order1);
+    }
+
+    @Test
+    void updateOrder_staleVersion_test() {
+        Long version = storeRepository.findOrderById(VALID_ID).getVersion();
+        Long currentVersion = storeRepository.updateOrder(order1.toBuilder().quantity(5).build(), version).getVersion();
+        thenThrownBy(() -> storeRepository.updateOrder(order1, version))
+              .isInstanceOf(PreconditionFailedException.class)
+              .hasMessage(String.format(VERSION_MISMATCH, version, VALID_ID, currentVersion));
+        then(storeRepository.findOrderById(VALID_ID).getQuantity()).isEqualTo(5);
     }
 
     @Test
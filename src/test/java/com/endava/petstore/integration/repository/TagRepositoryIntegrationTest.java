@@ -0,0 +1,109 @@
+package com.endava.petstore.integration.repository;
+
+import com.endava.petstore.exception.InvalidRequestException;
+import com.endava.petstore.exception.ResourceNotFoundException;
+import com.endava.petstore.model.Tag;
+import com.endava.petstore.repository.TagRepositoryImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static com.endava.petstore.constants.Constants.*;
+import static com.endava.petstore.mock.TagMock.*;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+
+@SpringBootTest
+class TagRepositoryIntegrationTest {
+
+    @Autowired
+    private TagRepositoryImpl tagRepository;
+
+    private Tag tag1;
+    private List<Tag> tagList;
+
+    @BeforeEach
+    void setUp() {
+        tag1 = getMockedTag1();
+        tagList = getMockedTags();
+        tagRepository.deleteAll();
+        tagList.forEach(tagRepository::save);
+    }
+
+    @Test
+    void findAll_test() {
+        then(tagRepository.findAll()).isEqualTo(tagList);
+    }
+
+    @Test
+    void findById_validId_test() {
+        then(tagRepository.findById(VALID_ID)).isEqualTo(tag1);
+    }
+
+    @Test
+    void findById_invalidId_test() {
+        thenThrownBy(() -> tagRepository.findById(INVALID_ID))
+              .isInstanceOf(ResourceNotFoundException.class)
+              .hasMessage(String.format(TAG_NOT_FOUND, INVALID_ID));
+    }
+
+    @Test
+    void save_knownTag_shouldReturnSharedInstance() {
+        Tag shared = tagRepository.findById(VALID_ID);
+        then(tagRepository.save(getMockedTag1())).isSameAs(shared);
+    }
+
+    @Test
+    void save_newTag_test() {
+        Tag tag4 = getMockedTag4();
+        then(tagRepository.save(tag4)).isSameAs(tag4);
+        then(tagRepository.findById(tag4.getId())).isSameAs(tag4);
+    }
+
+    @Test
+    void save_conflictingName_test() {
+        thenThrownBy(() -> tagRepository.save(Tag.builder().id(VALID_ID).name("Other").build()))
+              .isInstanceOf(InvalidRequestException.class)
+              .hasMessage(String.format(TAG_ALREADY_EXISTS, VALID_ID, tag1.getName()));
+        then(tagRepository.findById(VALID_ID)).isEqualTo(tag1);
+    }
+
+    @Test
+    void save_nullId_test() {
+        thenThrownBy(() -> tagRepository.save(Tag.builder().name("Other").build()))
+              .isInstanceOf(InvalidRequestException.class)
+              .hasMessage(TAG_ID_REQUIRED);
+    }
+
+    @Test
+    void share_conflictingName_shouldReturnOwnCopy() {
+        Tag other = Tag.builder().id(VALID_ID).name("Other").build();
+        then(tagRepository.share(other)).isSameAs(other);
+        then(tagRepository.findById(VALID_ID)).isEqualTo(tag1);
+        Tag tag4 = getMockedTag4();
+        then(tagRepository.share(tag4)).isSameAs(tag4);
+        then(tagRepository.findById(tag4.getId())).isSameAs(tag4);
+    }
+
+    @Test
+    void update_test() {
+        Tag renamed = Tag.builder().id(VALID_ID).name("Renamed").build();
+        then(tagRepository.update(renamed)).isEqualTo(renamed);
+        then(tagRepository.findById(VALID_ID)).isEqualTo(renamed);
+        thenThrownBy(() -> tagRepository.update(Tag.builder().id(INVALID_ID).name("Other").build()))
+              .isInstanceOf(ResourceNotFoundException.class)
+              .hasMessage(String.format(TAG_NOT_FOUND, INVALID_ID));
+    }
+
+    @Test
+    void deleteById_test() {
+        tagRepository.deleteById(VALID_ID);
+        thenThrownBy(() -> tagRepository.findById(VALID_ID)).isInstanceOf(ResourceNotFoundException.class);
+        thenThrownBy(() -> tagRepository.deleteById(VALID_ID))
+              .isInstanceOf(ResourceNotFoundException.class)
+              .hasMessage(String.format(TAG_NOT_FOUND, VALID_ID));
+    }
+}
@@ -1,6 +1,7 @@
 package com.endava.petstore.integration.repository;
 
 import com.endava.petstore.exception.InvalidRequestException;
+import com.endava.petstore.exception.PreconditionFailedException;
 import com.endava.petstore.exception.ResourceNotFoundException;
 import com.endava.petstore.model.HttpResponse;
 import com.endava.petstore.model.User;
@@ -68,7 +69,18 @@ class UserRepositoryIntegrationTest {
 
     @Test
     void update_test() {
-        then(userRepository.update(user1)).isEqualTo(user1);
+        then(userRepository.update(user1, null)).isEqualTo(user1);
+    }
+
+    @Test
+    void updateByUsername_staleVersion_test() {
+        Long version = userRepository.findByUsername(VALID_USERNAME).getVersion();
+        userRepository.login(VALID_USERNAME, user1.getPassword());
+        Long currentVersion = userRepository.findByUsername(VALID_USERNAME).getVersion();
+        then(currentVersion).isGreaterThan(version);
+        thenThrownBy(() -> userRepository.updateByUsername(user1, VALID_USERNAME, version))
+              .isInstanceOf(PreconditionFailedException.class)
+              .hasMessage(String.format(VERSION_MISMATCH, version, VALID_ID, currentVersion));
     }
 
     @Test
@@ -112,7 +124,26 @@ class UserRepositoryIntegrationTest {
 
     @Test
     void updateByUsername_test() {
-        then(userRepository.updateByUsername(user1, VALID_USERNAME)).isEqualTo(user1);
+        then(userRepository.updateByUsername(user1, VALID_USERNAME, null)).isEqualTo(user1);
+    }
+
+    @Test
+    void updateByUsername_usernameChanged_shouldReindexUser() {
+        User renamedUser = user1.toBuilder().username("Renamed1").build();
+        then(userRepository.updateByUsername(renamedUser, VALID_USERNAME, null)).isEqualTo(renamedUser);
+        then(userRepository.findByUsername("Renamed1")).isEqualTo(renamedUser);
+        thenThrownBy(() -> userRepository.findByUsername(VALID_USERNAME))
+              .isInstanceOf(ResourceNotFoundException.class)
+              .hasMessage(String.format(USERNAME_NOT_FOUND, VALID_USERNAME));
+    }
+
+    @Test
+    void save_duplicateUsername_test() {
+        User duplicateUser = user3.toBuilder().username(VALID_USERNAME).build();
+        thenThrownBy(() -> userRepository.save(duplicateUser))
+              .isInstanceOf(InvalidRequestException.class)
+              .hasMessage(String.format(USERNAME_ALREADY_EXISTS, VALID_USERNAME));
+        then(userRepository.findAll()).isEqualTo(users);
     }
 
     @Test
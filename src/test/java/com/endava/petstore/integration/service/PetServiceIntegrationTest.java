@@ -76,8 +76,8 @@ class PetServiceIntegrationTest {
 
     @Test
     void update_test() {
-        given(petRepository.update(any(Pet.class))).willReturn(pet2);
-        Pet result = petService.update(pet1);
+        given(petRepository.update(any(Pet.class), any())).willReturn(pet2);
+        Pet result = petService.update(pet1, null);
         then(result).isEqualTo(pet2);
     }
 
@@ -0,0 +1,31 @@
+package com.endava.petstore.mock;
+
+import com.endava.petstore.model.Category;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CategoryMock {
+
+    public static List<Category> getMockedCategories() {
+        return List.of(getMockedCategory1(), getMockedCategory2(), getMockedCategory3());
+    }
+
+    public static Category getMockedCategory1() {
+        return Category.builder().id(1L).name("Category1").build();
+    }
+
+    public static Category getMockedCategory2() {
+        return Category.builder().id(2L).name("Category2").build();
+    }
+
+    public static Category getMockedCategory3() {
+        return Category.builder().id(3L).name("Category3").build();
+    }
+
+    public static Category getMockedCategory4() {
+        return Category.builder().id(4L).name("Category4").build();
+    }
+}
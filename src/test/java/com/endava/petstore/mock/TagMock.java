@@ -0,0 +1,31 @@
+package com.endava.petstore.mock;
+
+import com.endava.petstore.model.Tag;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TagMock {
+
+    public static List<Tag> getMockedTags() {
+        return List.of(getMockedTag1(), getMockedTag2(), getMockedTag3());
+    }
+
+    public static Tag getMockedTag1() {
+        return Tag.builder().id(1L).name("Tag1").build();
+    }
+
+    public static Tag getMockedTag2() {
+        return Tag.builder().id(2L).name("Tag2").build();
+    }
+
+    public static Tag getMockedTag3() {
+        return Tag.builder().id(3L).name("Tag3").build();
+    }
+
+    public static Tag getMockedTag4() {
+        return Tag.builder().id(4L).name("Tag4").build();
+    }
+}
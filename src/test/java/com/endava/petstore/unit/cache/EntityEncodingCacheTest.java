@@ -0,0 +1,79 @@
+package com.endava.petstore.unit.cache;
+
+import com.endava.petstore.cache.EntityEncodingCache;
+import com.endava.petstore.model.Pet;
+import com.endava.petstore.model.User;
+import com.endava.petstore.storage.EntityListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.endava.petstore.mock.PetMock.getMockedPet1;
+import static com.endava.petstore.mock.UserMock.getMockedUser1;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class EntityEncodingCacheTest {
+    private static final long MAX_BYTES = 64 * 1024;
+    private static final byte[] BODY = {'{', '}'};
+
+    private MeterRegistry meterRegistry;
+    private EntityEncodingCache encodingCache;
+    private Pet pet1;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        encodingCache = new EntityEncodingCache(MAX_BYTES, meterRegistry);
+        pet1 = getMockedPet1().withVersion(1L);
+    }
+
+    @Test
+    void find_test() {
+        encodingCache.put(pet1, BODY);
+        then(encodingCache.find(pet1)).containsSame(BODY);
+        then(encodingCache.find(getMockedUser1().withVersion(1L))).isEmpty();
+        then(meterRegistry.counter("petstore.encodings.cache.hits").count()).isEqualTo(1);
+        then(meterRegistry.counter("petstore.encodings.cache.misses").count()).isEqualTo(1);
+        then(meterRegistry.get("petstore.encodings.cache.bytes").gauge().value()).isPositive();
+    }
+
+    @Test
+    void find_otherVersion_shouldMiss() {
+        encodingCache.put(pet1, BODY);
+        then(encodingCache.find(pet1.withVersion(2L))).isEmpty();
+        then(encodingCache.find(pet1.withVersion(null))).isEmpty();
+        then(meterRegistry.counter("petstore.encodings.cache.misses").count()).isEqualTo(2);
+    }
+
+    @Test
+    void put_withoutVersion_shouldNotCache() {
+        encodingCache.put(getMockedPet1(), BODY);
+        then(encodingCache.size()).isZero();
+    }
+
+    @Test
+    void put_beyondMaxBytes_shouldEvict() {
+        for (long id = 1; id <= 256; id++) {
+            encodingCache.put(pet1.toBuilder().id(id).build(), new byte[1024]);
+        }
+        then(encodingCache.size()).isLessThan(64);
+        then(meterRegistry.counter("petstore.encodings.cache.evictions").count()).isEqualTo(256 - encodingCache.size());
+        then(meterRegistry.get("petstore.encodings.cache.bytes").gauge().value()).isLessThanOrEqualTo(MAX_BYTES);
+    }
+
+    @Test
+    void invalidator_test() {
+        User user1 = getMockedUser1().withVersion(1L);
+        encodingCache.put(pet1, BODY);
+        encodingCache.put(user1, BODY);
+        EntityListener<Pet> invalidator = encodingCache.invalidator();
+        invalidator.onChange(null, pet1);
+        then(encodingCache.find(pet1)).containsSame(BODY);
+        invalidator.onChange(pet1, pet1.withVersion(2L));
+        then(encodingCache.find(pet1)).isEmpty();
+        then(encodingCache.find(user1)).containsSame(BODY);
+        then(encodingCache.size()).isEqualTo(1);
+        then(meterRegistry.get("petstore.encodings.cache.bytes").gauge().value()).isEqualTo(64 + BODY.length);
+    }
+}
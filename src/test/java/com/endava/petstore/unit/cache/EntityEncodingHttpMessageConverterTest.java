@@ -0,0 +1,64 @@
+package com.endava.petstore.unit.cache;
+
+import com.endava.petstore.cache.EntityEncodingCache;
+import com.endava.petstore.cache.EntityEncodingHttpMessageConverter;
+import com.endava.petstore.model.Pet;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.endava.petstore.mock.PetMock.getMockedPet1;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class EntityEncodingHttpMessageConverterTest {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private EntityEncodingCache encodingCache;
+    private EntityEncodingHttpMessageConverter converter;
+    private Pet pet1;
+
+    @BeforeEach
+    void setUp() {
+        encodingCache = new EntityEncodingCache(1 << 20, new SimpleMeterRegistry());
+        converter = new EntityEncodingHttpMessageConverter(encodingCache, objectMapper);
+        pet1 = getMockedPet1().withVersion(1L);
+    }
+
+    @Test
+    void canWrite_test() {
+        then(converter.canWrite(Pet.class, MediaType.APPLICATION_JSON)).isTrue();
+        then(converter.canWrite(Pet.class, MediaType.APPLICATION_XML)).isFalse();
+        then(converter.canWrite(List.class, MediaType.APPLICATION_JSON)).isFalse();
+        then(converter.canRead(Pet.class, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    @Test
+    void write_test() throws IOException {
+        MockHttpOutputMessage outputMessage = write(pet1);
+        then(outputMessage.getBodyAsBytes()).isEqualTo(objectMapper.writeValueAsBytes(pet1));
+        then(outputMessage.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        then(outputMessage.getHeaders().getContentLength()).isEqualTo(outputMessage.getBodyAsBytes().length);
+        then(encodingCache.find(pet1)).hasValueSatisfying(body -> then(body).isEqualTo(outputMessage.getBodyAsBytes()));
+    }
+
+    @Test
+    void write_sameVersion_shouldWriteCachedEncoding() throws IOException {
+        write(pet1);
+        Pet renamedPet = pet1.toBuilder().name("Renamed Pet").build();
+        then(write(renamedPet).getBodyAsBytes()).isEqualTo(objectMapper.writeValueAsBytes(pet1));
+        Pet updatedPet = renamedPet.withVersion(2L);
+        then(write(updatedPet).getBodyAsBytes()).isEqualTo(objectMapper.writeValueAsBytes(updatedPet));
+    }
+
+    private MockHttpOutputMessage write(Pet pet) throws IOException {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(pet, MediaType.APPLICATION_JSON, outputMessage);
+        return outputMessage;
+    }
+}
@@ -0,0 +1,95 @@
+package com.endava.petstore.unit.cache;
+
+import com.endava.petstore.cache.ResponseCache;
+import com.endava.petstore.cache.ResponseCacheFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_XML_VALUE;
+
+class ResponseCacheFilterTest {
+    private final AtomicLong writeVersion = new AtomicLong();
+    private final AtomicInteger computations = new AtomicInteger();
+    private ResponseCacheFilter filter;
+    private HttpStatus status;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ResponseCacheFilter(new ResponseCache(1 << 20, new SimpleMeterRegistry()), writeVersion::get);
+        status = HttpStatus.OK;
+    }
+
+    @Test
+    void doFilter_sameQueryInAnyOrder_shouldComputeOnce() throws Exception {
+        MockHttpServletResponse first = perform(request(Map.of("tags", new String[]{"Tag2", "Tag1"}, "match", new String[]{"all"})));
+        MockHttpServletResponse second = perform(request(Map.of("match", new String[]{"all"}, "tags", new String[]{"Tag1,Tag2"})));
+        then(computations).hasValue(1);
+        then(second.getContentAsString()).isEqualTo(first.getContentAsString()).isEqualTo("response 1");
+        then(second.getContentType()).isEqualTo(APPLICATION_JSON_VALUE);
+        then(second.getContentLength()).isEqualTo(first.getContentAsByteArray().length);
+    }
+
+    @Test
+    void doFilter_otherQueryOrAccept_shouldComputeAgain() throws Exception {
+        perform(request(Map.of("tags", new String[]{"Tag1"})));
+        perform(request(Map.of("tags", new String[]{"Tag1", "Tag2"})));
+        MockHttpServletRequest xmlRequest = request(Map.of("tags", new String[]{"Tag1"}));
+        xmlRequest.addHeader(HttpHeaders.ACCEPT, APPLICATION_XML_VALUE);
+        perform(xmlRequest);
+        then(computations).hasValue(3);
+    }
+
+    @Test
+    void doFilter_afterWrite_shouldComputeAgain() throws Exception {
+        perform(request(Map.of("status", new String[]{"SOLD"})));
+        writeVersion.incrementAndGet();
+        then(perform(request(Map.of("status", new String[]{"SOLD"}))).getContentAsString()).isEqualTo("response 2");
+        then(perform(request(Map.of("status", new String[]{"SOLD"}))).getContentAsString()).isEqualTo("response 2");
+        then(computations).hasValue(2);
+    }
+
+    @Test
+    void doFilter_unsuccessfulResponse_shouldNotBeCached() throws Exception {
+        status = HttpStatus.BAD_REQUEST;
+        then(perform(request(Map.of("status", new String[]{"sold"}))).getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        status = HttpStatus.OK;
+        then(perform(request(Map.of("status", new String[]{"sold"}))).getStatus()).isEqualTo(HttpStatus.OK.value());
+        then(computations).hasValue(2);
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                response.setStatus(status.value());
+                response.setContentType(APPLICATION_JSON_VALUE);
+                response.getWriter().write("response " + computations.incrementAndGet());
+            }
+        }));
+        return response;
+    }
+
+    private static MockHttpServletRequest request(Map<String, String[]> parameters) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/pet/findByTags");
+        request.setParameters(parameters);
+        return request;
+    }
+}
@@ -0,0 +1,74 @@
+package com.endava.petstore.unit.cache;
+
+import com.endava.petstore.cache.ResponseCache;
+import com.endava.petstore.cache.ResponseCache.CachedResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+class ResponseCacheTest {
+    private static final long MAX_BYTES = 64 * 1024;
+
+    private MeterRegistry meterRegistry;
+    private ResponseCache responseCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        responseCache = new ResponseCache(MAX_BYTES, meterRegistry);
+    }
+
+    @Test
+    void find_test() {
+        CachedResponse response = response(1, "[]");
+        responseCache.put("/pet/findByStatus?status=SOLD&|", response);
+        then(responseCache.find("/pet/findByStatus?status=SOLD&|", 1)).containsSame(response);
+        then(responseCache.find("/pet/findByStatus?status=PENDING&|", 1)).isEmpty();
+        then(meterRegistry.counter("petstore.responses.cache.hits").count()).isEqualTo(1);
+        then(meterRegistry.counter("petstore.responses.cache.misses").count()).isEqualTo(1);
+        then(meterRegistry.get("petstore.responses.cache.bytes").gauge().value()).isPositive();
+    }
+
+    @Test
+    void find_outdatedWriteVersion_shouldMiss() {
+        responseCache.put("key", response(1, "[]"));
+        then(responseCache.find("key", 2)).isEmpty();
+        then(meterRegistry.counter("petstore.responses.cache.misses").count()).isEqualTo(1);
+        CachedResponse response = response(2, "[{}]");
+        responseCache.put("key", response);
+        then(responseCache.find("key", 2)).containsSame(response);
+        then(responseCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void put_beyondMaxBytes_shouldEvict() {
+        String body = "x".repeat(1024);
+        for (int i = 0; i < 256; i++) {
+            responseCache.put("key" + i, response(1, body));
+        }
+        then(responseCache.size()).isLessThan(64);
+        then(meterRegistry.counter("petstore.responses.cache.evictions").count()).isEqualTo(256 - responseCache.size());
+        then(meterRegistry.get("petstore.responses.cache.bytes").gauge().value()).isLessThanOrEqualTo(MAX_BYTES);
+    }
+
+    @Test
+    void put_frequentlyRequestedEntry_shouldSurviveOneOffEntries() {
+        String body = "x".repeat(1024);
+        responseCache.put("hot", response(1, body));
+        for (int i = 0; i < 1000; i++) {
+            responseCache.find("hot", 1);
+            responseCache.put("cold" + i, response(1, body));
+        }
+        then(responseCache.find("hot", 1)).isPresent();
+    }
+
+    private static CachedResponse response(long writeVersion, String body) {
+        return new CachedResponse(writeVersion, APPLICATION_JSON_VALUE, body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,84 @@
+package com.endava.petstore.unit.controller;
+
+import com.endava.petstore.controller.CategoryController;
+import com.endava.petstore.model.Category;
+import com.endava.petstore.service.CategoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static com.endava.petstore.constants.Constants.VALID_ID;
+import static com.endava.petstore.mock.CategoryMock.*;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryControllerTest {
+
+    @InjectMocks
+    private CategoryController categoryController;
+
+    @Mock
+    private CategoryService categoryService;
+
+    private Category category1;
+    private List<Category> categoryList;
+
+    @BeforeEach
+    void setUp() {
+        category1 = getMockedCategory1();
+        categoryList = getMockedCategories();
+    }
+
+    @Test
+    void findAll_test() {
+        given(categoryService.findAll()).willReturn(categoryList);
+        ResponseEntity<List<Category>> response = categoryController.findAll();
+        then(response).isNotNull();
+        then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(response.getBody()).isEqualTo(categoryList);
+    }
+
+    @Test
+    void findById_test() {
+        given(categoryService.findById(VALID_ID)).willReturn(category1);
+        ResponseEntity<Category> response = categoryController.findById(VALID_ID);
+        then(response).isNotNull();
+        then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(response.getBody()).isEqualTo(category1);
+    }
+
+    @Test
+    void save_test() {
+        given(categoryService.save(category1)).willReturn(category1);
+        ResponseEntity<Category> response = categoryController.save(category1);
+        then(response).isNotNull();
+        then(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        then(response.getBody()).isEqualTo(category1);
+    }
+
+    @Test
+    void update_test() {
+        given(categoryService.update(category1)).willReturn(category1);
+        ResponseEntity<Category> response = categoryController.update(category1);
+        then(response).isNotNull();
+        then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(response.getBody()).isEqualTo(category1);
+    }
+
+    @Test
+    void deleteById_test() {
+        ResponseEntity<Void> response = categoryController.deleteById(VALID_ID);
+        verify(categoryService).deleteById(VALID_ID);
+        then(response).isNotNull();
+        then(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+    }
+}
@@ -1,8 +1,12 @@
 package com.endava.petstore.unit.controller;
 
 import com.endava.petstore.controller.PetController;
+import com.endava.petstore.enums.NameMatch;
 import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.enums.TagMatch;
+import com.endava.petstore.model.BulkImportResult;
 import com.endava.petstore.model.HttpResponse;
+import com.endava.petstore.model.Page;
 import com.endava.petstore.model.Pet;
 import com.endava.petstore.model.PetUpdateFormDataRequest;
 import com.endava.petstore.model.PetUploadImageRequest;
@@ -18,6 +22,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.List;
 
 import static com.endava.petstore.constants.Constants.*;
@@ -50,11 +56,50 @@ class PetControllerTest {
 
     @Test
     void findAll_test() {
-        given(petService.findAll()).willReturn(pets);
-        ResponseEntity<List<Pet>> response = petController.findAll();
+        given(petService.findAll(null, null)).willReturn(new Page<>(pets, null));
+        ResponseEntity<List<Pet>> response = petController.findAll(null, null);
         then(response).isNotNull();
         then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         then(response.getBody()).isEqualTo(pets);
+        then(response.getHeaders().containsKey(NEXT_PAGE_TOKEN_HEADER)).isFalse();
+    }
+
+    @Test
+    void findAll_withNextPage_test() {
+        given(petService.findAll("MQ", 1)).willReturn(new Page<>(List.of(pets.get(1)), "Mg"));
+        ResponseEntity<List<Pet>> response = petController.findAll("MQ", 1);
+        then(response).isNotNull();
+        then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(response.getBody()).isEqualTo(List.of(pets.get(1)));
+        then(response.getHeaders().getFirst(NEXT_PAGE_TOKEN_HEADER)).isEqualTo("Mg");
+    }
+
+    @Test
+    void findByCategory_test() {
+        given(petService.findByCategory(VALID_ID, null, 1)).willReturn(new Page<>(List.of(pet1), "MQ"));
+        ResponseEntity<List<Pet>> response = petController.findByCategory(VALID_ID, null, 1);
+        then(response).isNotNull();
+        then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(response.getBody()).isEqualTo(List.of(pet1));
+        then(response.getHeaders().getFirst(NEXT_PAGE_TOKEN_HEADER)).isEqualTo("MQ");
+    }
+
+    @Test
+    void findByName_prefix_test() {
+        given(petService.findByNamePrefix("Pet", null)).willReturn(pets);
+        ResponseEntity<List<Pet>> response = petController.findByName("Pet", NameMatch.PREFIX, null);
+        then(response).isNotNull();
+        then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(response.getBody()).isEqualTo(pets);
+    }
+
+    @Test
+    void findByName_fuzzy_test() {
+        given(petService.findBySimilarName("Pte1", 5)).willReturn(List.of(pet1));
+        ResponseEntity<List<Pet>> response = petController.findByName("Pte1", NameMatch.FUZZY, 5);
+        then(response).isNotNull();
+        then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(response.getBody()).isEqualTo(List.of(pet1));
     }
 
     @Test
@@ -66,6 +111,12 @@ class PetControllerTest {
         then(response.getBody()).isEqualTo(pet1);
     }
 
+    @Test
+    void findById_versionedPet_shouldSetETag() {
+        given(petService.findById(VALID_ID)).willReturn(pet1.withVersion(42L));
+        then(petController.findById(VALID_ID).getHeaders().getETag()).isEqualTo("W/\"42\"");
+    }
+
     @Test
     void save_test() {
         given(petService.save(any(Pet.class))).willReturn(pet1);
@@ -75,15 +126,52 @@ class PetControllerTest {
         then(response.getBody()).isEqualTo(pet1);
     }
 
+    @Test
+    void saveAll_test() {
+        BulkImportResult bulkImportResult = new BulkImportResult(2L, 2L, 0L, List.of());
+        InputStream ndjson = new ByteArrayInputStream("{}\n{}".getBytes());
+        given(petService.saveAll(ndjson)).willReturn(bulkImportResult);
+        ResponseEntity<BulkImportResult> response = petController.saveAll(ndjson);
+        then(response).isNotNull();
+        then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(response.getBody()).isEqualTo(bulkImportResult);
+    }
+
+    @Test
+    void updateStatusWhere_test() {
+        HttpResponse httpResponse = new HttpResponse(HttpStatus.OK.value(), "unknown", String.format(PETS_UPDATED, 2, PetStatus.SOLD));
+        given(petService.updateStatusWhere(null, List.of("Tag1"), null, PetStatus.SOLD)).willReturn(httpResponse);
+        ResponseEntity<HttpResponse> response = petController.updateStatusWhere(PetStatus.SOLD, null, List.of("Tag1"), null);
+        then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(response.getBody()).isEqualTo(httpResponse);
+    }
+
+    @Test
+    void deleteWhere_test() {
+        HttpResponse httpResponse = new HttpResponse(HttpStatus.OK.value(), "unknown", String.format(PETS_DELETED, 2));
+        given(petService.deleteWhere(null, null, VALID_ID)).willReturn(httpResponse);
+        ResponseEntity<HttpResponse> response = petController.deleteWhere(null, null, VALID_ID);
+        then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(response.getBody()).isEqualTo(httpResponse);
+    }
+
     @Test
     void update_test() {
-        given(petService.update(any(Pet.class))).willReturn(pet2);
-        ResponseEntity<Pet> response = petController.update(pet1);
+        given(petService.update(any(Pet.class), any())).willReturn(pet2);
+        ResponseEntity<Pet> response = petController.update(pet1, null);
         then(response).isNotNull();
         then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         then(response.getBody()).isEqualTo(pet2);
     }
 
+    @Test
+    void update_ifMatch_shouldPassVersion() {
+        given(petService.update(pet1, 42L)).willReturn(pet2.withVersion(43L));
+        ResponseEntity<Pet> response = petController.update(pet1, "W/\"42\"");
+        then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(response.getHeaders().getETag()).isEqualTo("W/\"43\"");
+    }
+
     @Test
     void deleteById_test() {
         ResponseEntity<Void> response = petController.deleteById(VALID_ID);
@@ -106,12 +194,22 @@ class PetControllerTest {
     void findByTags_test() {
         List<String> tagNames = List.of("Tag1", "Tag2", "Tag3");
         given(petService.findByTags(tagNames)).willReturn(List.of(pet1, pet2));
-        ResponseEntity<List<Pet>> response = petController.findByTags(tagNames);
+        ResponseEntity<List<Pet>> response = petController.findByTags(tagNames, TagMatch.ANY);
         then(response).isNotNull();
         then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         then(response.getBody()).isEqualTo(List.of(pet1, pet2));
     }
 
+    @Test
+    void findByTags_matchAll_test() {
+        List<String> tagNames = List.of("Tag1", "Tag2");
+        given(petService.findByAllTags(tagNames)).willReturn(List.of(pet1));
+        ResponseEntity<List<Pet>> response = petController.findByTags(tagNames, TagMatch.ALL);
+        then(response).isNotNull();
+        then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(response.getBody()).isEqualTo(List.of(pet1));
+    }
+
     @Test
     void updateWithFormData_test() {
         String name = "Test pet";
@@ -2,6 +2,7 @@ package com.endava.petstore.unit.controller;
 
 import com.endava.petstore.controller.StoreController;
 import com.endava.petstore.model.Order;
+import com.endava.petstore.model.Page;
 import com.endava.petstore.service.StoreService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +16,7 @@ import org.springframework.http.ResponseEntity;
 import java.util.List;
 import java.util.Map;
 
+import static com.endava.petstore.constants.Constants.NEXT_PAGE_TOKEN_HEADER;
 import static com.endava.petstore.constants.Constants.VALID_ID;
 import static com.endava.petstore.mock.StoreMock.*;
 import static org.assertj.core.api.BDDAssertions.then;
@@ -45,11 +47,22 @@ class StoreControllerTest {
 
     @Test
     void findAllOrders_test() {
-        given(storeService.findAllOrders()).willReturn(orders);
-        ResponseEntity<List<Order>> response = storeController.findAllOrders();
+        given(storeService.findAllOrders(null, null)).willReturn(new Page<>(orders, null));
+        ResponseEntity<List<Order>> response = storeController.findAllOrders(null, null);
         then(response).isNotNull();
         then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         then(response.getBody()).isEqualTo(orders);
+        then(response.getHeaders().containsKey(NEXT_PAGE_TOKEN_HEADER)).isFalse();
+    }
+
+    @Test
+    void findAllOrders_withNextPage_test() {
+        given(storeService.findAllOrders("MQ", 1)).willReturn(new Page<>(List.of(orders.get(1)), "Mg"));
+        ResponseEntity<List<Order>> response = storeController.findAllOrders("MQ", 1);
+        then(response).isNotNull();
+        then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(response.getBody()).isEqualTo(List.of(orders.get(1)));
+        then(response.getHeaders().getFirst(NEXT_PAGE_TOKEN_HEADER)).isEqualTo("Mg");
     }
 
     @Test
@@ -72,8 +85,8 @@ class StoreControllerTest {
 
     @Test
     void updateOrder_test() {
-        given(storeService.updateOrder(any(Order.class))).willReturn(order2);
-        ResponseEntity<Order> response = storeController.updateOrder(order1);
+        given(storeService.updateOrder(any(Order.class), any())).willReturn(order2);
+        ResponseEntity<Order> response = storeController.updateOrder(order1, null);
         then(response).isNotNull();
         then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         then(response.getBody()).isEqualTo(order2);
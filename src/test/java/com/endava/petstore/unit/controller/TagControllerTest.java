@@ -0,0 +1,84 @@
+package com.endava.petstore.unit.controller;
+
+import com.endava.petstore.controller.TagController;
+import com.endava.petstore.model.Tag;
+import com.endava.petstore.service.TagService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static com.endava.petstore.constants.Constants.VALID_ID;
+import static com.endava.petstore.mock.TagMock.*;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TagControllerTest {
+
+    @InjectMocks
+    private TagController tagController;
+
+    @Mock
+    private TagService tagService;
+
+    private Tag tag1;
+    private List<Tag> tagList;
+
+    @BeforeEach
+    void setUp() {
+        tag1 = getMockedTag1();
+        tagList = getMockedTags();
+    }
+
+    @Test
+    void findAll_test() {
+        given(tagService.findAll()).willReturn(tagList);
+        ResponseEntity<List<Tag>> response = tagController.findAll();
+        then(response).isNotNull();
+        then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(response.getBody()).isEqualTo(tagList);
+    }
+
+    @Test
+    void findById_test() {
+        given(tagService.findById(VALID_ID)).willReturn(tag1);
+        ResponseEntity<Tag> response = tagController.findById(VALID_ID);
+        then(response).isNotNull();
+        then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(response.getBody()).isEqualTo(tag1);
+    }
+
+    @Test
+    void save_test() {
+        given(tagService.save(tag1)).willReturn(tag1);
+        ResponseEntity<Tag> response = tagController.save(tag1);
+        then(response).isNotNull();
+        then(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        then(response.getBody()).isEqualTo(tag1);
+    }
+
+    @Test
+    void update_test() {
+        given(tagService.update(tag1)).willReturn(tag1);
+        ResponseEntity<Tag> response = tagController.update(tag1);
+        then(response).isNotNull();
+        then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(response.getBody()).isEqualTo(tag1);
+    }
+
+    @Test
+    void deleteById_test() {
+        ResponseEntity<Void> response = tagController.deleteById(VALID_ID);
+        verify(tagService).deleteById(VALID_ID);
+        then(response).isNotNull();
+        then(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+    }
+}
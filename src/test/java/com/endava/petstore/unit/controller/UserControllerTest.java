@@ -2,6 +2,7 @@ package com.endava.petstore.unit.controller;
 
 import com.endava.petstore.controller.UserController;
 import com.endava.petstore.model.HttpResponse;
+import com.endava.petstore.model.Page;
 import com.endava.petstore.model.User;
 import com.endava.petstore.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -49,11 +50,22 @@ class UserControllerTest {
 
     @Test
     void findAll_test() {
-        given(userService.findAll()).willReturn(users);
-        ResponseEntity<List<User>> response = userController.findAll();
+        given(userService.findAll(null, null)).willReturn(new Page<>(users, null));
+        ResponseEntity<List<User>> response = userController.findAll(null, null);
         then(response).isNotNull();
         then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         then(response.getBody()).isEqualTo(users);
+        then(response.getHeaders().containsKey(NEXT_PAGE_TOKEN_HEADER)).isFalse();
+    }
+
+    @Test
+    void findAll_withNextPage_test() {
+        given(userService.findAll("MQ", 1)).willReturn(new Page<>(List.of(users.get(1)), "Mg"));
+        ResponseEntity<List<User>> response = userController.findAll("MQ", 1);
+        then(response).isNotNull();
+        then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        then(response.getBody()).isEqualTo(List.of(users.get(1)));
+        then(response.getHeaders().getFirst(NEXT_PAGE_TOKEN_HEADER)).isEqualTo("Mg");
     }
 
     @Test
@@ -76,8 +88,8 @@ class UserControllerTest {
 
     @Test
     void update_test() {
-        given(userService.update(any(User.class))).willReturn(user2);
-        ResponseEntity<User> response = userController.update(user1);
+        given(userService.update(any(User.class), any())).willReturn(user2);
+        ResponseEntity<User> response = userController.update(user1, null);
         then(response).isNotNull();
         then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         then(response.getBody()).isEqualTo(user2);
@@ -121,8 +133,8 @@ class UserControllerTest {
 
     @Test
     void updateByUsername_test() {
-        given(userService.updateByUsername(any(User.class), any(String.class))).willReturn(user2);
-        ResponseEntity<User> response = userController.updateByUsername(user1, VALID_USERNAME);
+        given(userService.updateByUsername(any(User.class), any(String.class), any())).willReturn(user2);
+        ResponseEntity<User> response = userController.updateByUsername(user1, VALID_USERNAME, null);
         then(response).isNotNull();
         then(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         then(response.getBody()).isEqualTo(user2);
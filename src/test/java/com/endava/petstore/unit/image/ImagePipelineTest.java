@@ -0,0 +1,195 @@
+package com.endava.petstore.unit.image;
+
+import com.endava.petstore.image.ImagePipeline;
+import com.endava.petstore.model.ImageMetadata;
+import com.endava.petstore.storage.BlobStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class ImagePipelineTest {
+    private static final int[] THUMBNAIL_SIZES = {256, 64};
+    private static final long MAX_PIXELS = 1_000_000;
+    private static final long TIMEOUT_MILLIS = 10_000;
+    private static final int METADATA_CACHE_SIZE = 100;
+
+    @TempDir
+    Path directory;
+
+    private BlobStore blobStore;
+    private SimpleMeterRegistry meterRegistry;
+    private ImagePipeline imagePipeline;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new BlobStore(directory);
+        meterRegistry = new SimpleMeterRegistry();
+        imagePipeline = new ImagePipeline(blobStore, meterRegistry, THUMBNAIL_SIZES, 2, 16, MAX_PIXELS, METADATA_CACHE_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        imagePipeline.shutdown();
+    }
+
+    @Test
+    void submit_test() throws IOException {
+        String hash = blobStore.store(new ByteArrayInputStream(createImage(800, 400, "jpg")));
+        then(imagePipeline.submit(hash)).isTrue();
+        ImageMetadata metadata = await(() -> imagePipeline.findMetadata(hash));
+        then(metadata.getHash()).isEqualTo(hash);
+        then(metadata.getFormat()).isEqualTo("jpeg");
+        then(metadata.getWidth()).isEqualTo(800);
+        then(metadata.getHeight()).isEqualTo(400);
+        then(metadata.getThumbnails()).containsOnlyKeys(64, 256);
+        then(readImage(metadata.getThumbnails().get(64))).satisfies(thumbnail -> {
+            then(thumbnail.getWidth()).isEqualTo(64);
+            then(thumbnail.getHeight()).isEqualTo(32);
+        });
+        then(readImage(metadata.getThumbnails().get(256))).satisfies(thumbnail -> {
+            then(thumbnail.getWidth()).isEqualTo(256);
+            then(thumbnail.getHeight()).isEqualTo(128);
+        });
+        then(meterRegistry.get("petstore.images.processing").tag("outcome", "success").timer().count()).isEqualTo(1);
+        then(meterRegistry.get("petstore.images.queue.wait").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void submit_smallImage_shouldNotScaleUp() throws IOException {
+        String hash = blobStore.store(new ByteArrayInputStream(createImage(40, 100, "png")));
+        imagePipeline.submit(hash);
+        ImageMetadata metadata = await(() -> imagePipeline.findMetadata(hash));
+        then(metadata.getFormat()).isEqualTo("png");
+        then(readImage(metadata.getThumbnails().get(64)).getHeight()).isEqualTo(64);
+        then(readImage(metadata.getThumbnails().get(256)).getHeight()).isEqualTo(100);
+    }
+
+    @Test
+    void submit_oversizedImage_shouldOnlyExtractMetadata() throws IOException {
+        String hash = blobStore.store(new ByteArrayInputStream(createImage(2000, 1000, "png")));
+        imagePipeline.submit(hash);
+        ImageMetadata metadata = await(() -> imagePipeline.findMetadata(hash));
+        then(metadata.getWidth()).isEqualTo(2000);
+        then(metadata.getHeight()).isEqualTo(1000);
+        then(metadata.getThumbnails()).isEmpty();
+    }
+
+    @Test
+    void submit_unsupportedFormat_test() throws IOException {
+        String hash = blobStore.store(new ByteArrayInputStream("content".getBytes(StandardCharsets.UTF_8)));
+        imagePipeline.submit(hash);
+        await(() -> Optional.ofNullable(meterRegistry.find("petstore.images.processing").tag("outcome", "unsupported").timer()));
+        then(imagePipeline.findMetadata(hash)).isEmpty();
+        then(imagePipeline.submit(hash)).isTrue();
+        then(meterRegistry.get("petstore.images.queue.wait").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void submit_fullQueue_shouldRejectAndRetryOnLookup() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        BlobStore blockingBlobStore = new BlobStore(directory) {
+            @Override
+            public Optional<Path> find(String hash) {
+                if (Thread.currentThread().getName().startsWith("image-worker")) {
+                    started.countDown();
+                    try {
+                        released.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.find(hash);
+            }
+        };
+        SimpleMeterRegistry boundedMeterRegistry = new SimpleMeterRegistry();
+        ImagePipeline boundedPipeline = new ImagePipeline(blockingBlobStore, boundedMeterRegistry, THUMBNAIL_SIZES, 1, 1, MAX_PIXELS, METADATA_CACHE_SIZE);
+        try {
+            String first = blobStore.store(new ByteArrayInputStream(createImage(10, 10, "png")));
+            String second = blobStore.store(new ByteArrayInputStream(createImage(20, 20, "png")));
+            String third = blobStore.store(new ByteArrayInputStream(createImage(30, 30, "png")));
+            then(boundedPipeline.submit(first)).isTrue();
+            then(started.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isTrue();
+            then(boundedPipeline.submit(second)).isTrue();
+            then(boundedMeterRegistry.get("petstore.images.queue.depth").gauge().value()).isEqualTo(1);
+            then(boundedPipeline.submit(third)).isFalse();
+            then(boundedMeterRegistry.get("petstore.images.rejected").counter().count()).isEqualTo(1);
+            released.countDown();
+            await(() -> boundedPipeline.findMetadata(second));
+            then(await(() -> boundedPipeline.findMetadata(third)).getWidth()).isEqualTo(30);
+            then(boundedMeterRegistry.get("petstore.images.queue.depth").gauge().value()).isZero();
+        } finally {
+            released.countDown();
+            boundedPipeline.shutdown();
+        }
+    }
+
+    @Test
+    void findMetadata_evictedMetadata_shouldProcessAgain() throws IOException {
+        SimpleMeterRegistry boundedMeterRegistry = new SimpleMeterRegistry();
+        ImagePipeline boundedPipeline = new ImagePipeline(blobStore, boundedMeterRegistry, THUMBNAIL_SIZES, 1, 16, MAX_PIXELS, 1);
+        try {
+            String first = blobStore.store(new ByteArrayInputStream(createImage(10, 10, "png")));
+            String second = blobStore.store(new ByteArrayInputStream(createImage(20, 20, "png")));
+            boundedPipeline.submit(first);
+            ImageMetadata firstMetadata = await(() -> boundedPipeline.findMetadata(first));
+            boundedPipeline.submit(second);
+            ImageMetadata secondMetadata = await(() -> boundedPipeline.findMetadata(second));
+            await(() -> Optional.of(boundedMeterRegistry.get("petstore.images.metadata.size").gauge().value()).filter(size -> size == 1));
+            then(await(() -> boundedPipeline.findMetadata(first))).isEqualTo(firstMetadata);
+            then(await(() -> boundedPipeline.findMetadata(second))).isEqualTo(secondMetadata);
+            then(boundedMeterRegistry.get("petstore.images.processing").tag("outcome", "success").timer().count()).isGreaterThanOrEqualTo(3);
+        } finally {
+            boundedPipeline.shutdown();
+        }
+    }
+
+    private BufferedImage readImage(String hash) {
+        try {
+            return ImageIO.read(blobStore.find(hash).orElseThrow().toFile());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] createImage(int width, int height, String format) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, (x * 255 / width) << 16 | (y * 255 / height) << 8);
+            }
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, format, output);
+        return output.toByteArray();
+    }
+
+    private static <T> T await(Supplier<Optional<T>> supplier) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            Optional<T> value = supplier.get();
+            if (value.isPresent()) {
+                return value.get();
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        throw new AssertionError("Timed out waiting for the image pipeline");
+    }
+}
@@ -0,0 +1,65 @@
+package com.endava.petstore.unit.index;
+
+import com.endava.petstore.index.CountingBloomFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class CountingBloomFilterTest {
+    private static final int ENTRIES = 10_000;
+
+    private final CountingBloomFilter filter = new CountingBloomFilter(ENTRIES);
+
+    @Test
+    void mightContain_addedKeys_shouldHaveNoFalseNegatives() {
+        LongStream.rangeClosed(1, ENTRIES).forEach(filter::add);
+        then(LongStream.rangeClosed(1, ENTRIES).allMatch(filter::mightContain)).isTrue();
+    }
+
+    @Test
+    void mightContain_unknownKeys_shouldRarelyBeFalsePositives() {
+        LongStream.rangeClosed(1, ENTRIES).forEach(filter::add);
+        long falsePositives = LongStream.rangeClosed(ENTRIES + 1, ENTRIES * 11L).filter(filter::mightContain).count();
+        then(falsePositives).isLessThan(ENTRIES * 10L / 100);
+    }
+
+    @Test
+    void remove_test() {
+        filter.add(1L);
+        filter.add(2L);
+        filter.remove(1L);
+        then(filter.mightContain(1L)).isFalse();
+        then(filter.mightContain(2L)).isTrue();
+        filter.remove(2L);
+        then(filter.mightContain(2L)).isFalse();
+    }
+
+    @Test
+    void remove_keyAddedTwice_shouldStayUntilRemovedTwice() {
+        filter.add(1L);
+        filter.add(1L);
+        filter.remove(1L);
+        then(filter.mightContain(1L)).isTrue();
+        filter.remove(1L);
+        then(filter.mightContain(1L)).isFalse();
+    }
+
+    @Test
+    void remove_saturatedCounters_shouldKeepKey() {
+        for (int i = 0; i < 20; i++) {
+            filter.add(1L);
+        }
+        for (int i = 0; i < 20; i++) {
+            filter.remove(1L);
+        }
+        then(filter.mightContain(1L)).isTrue();
+    }
+
+    @Test
+    void hash_test() {
+        then(CountingBloomFilter.hash("Username1")).isEqualTo(CountingBloomFilter.hash("Username1"));
+        then(CountingBloomFilter.hash("Username1")).isNotEqualTo(CountingBloomFilter.hash("Username2"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.endava.petstore.unit.index;
+
+import com.endava.petstore.index.KeyFilter;
+import com.endava.petstore.model.User;
+import com.endava.petstore.storage.EntityStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static com.endava.petstore.constants.Constants.*;
+import static com.endava.petstore.mock.UserMock.*;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class KeyFilterTest {
+    private static final int INITIAL_ENTRIES = 1 << 10;
+    private static final int STORED_KEYS = 100_000;
+    private static final int WRITERS = 4;
+
+    private KeyFilter<User> idFilter;
+    private KeyFilter<User> usernameFilter;
+    private User user1;
+
+    @BeforeEach
+    void setUp() {
+        user1 = getMockedUser1();
+        idFilter = new KeyFilter<>(User::getId, Stream::empty);
+        usernameFilter = new KeyFilter<>(User::getUsername, Stream::empty);
+        getMockedUsers().forEach(user -> {
+            idFilter.onChange(null, user);
+            usernameFilter.onChange(null, user);
+        });
+    }
+
+    @Test
+    void mightContain_test() {
+        then(idFilter.mightContain(VALID_ID)).isTrue();
+        then(idFilter.mightContain(INVALID_ID)).isFalse();
+        then(idFilter.mightContain(null)).isFalse();
+        then(usernameFilter.mightContain(VALID_USERNAME)).isTrue();
+        then(usernameFilter.mightContain(INVALID_USERNAME)).isFalse();
+    }
+
+    @Test
+    void onChange_keyChanged_shouldReleasePreviousKey() {
+        User renamedUser = user1.toBuilder().username("Renamed1").build();
+        usernameFilter.onChange(user1, renamedUser);
+        idFilter.onChange(user1, renamedUser);
+        then(usernameFilter.mightContain(VALID_USERNAME)).isFalse();
+        then(usernameFilter.mightContain("Renamed1")).isTrue();
+        then(idFilter.mightContain(VALID_ID)).isTrue();
+    }
+
+    @Test
+    void onChange_removedEntity_shouldReleaseKey() {
+        idFilter.onChange(user1, null);
+        usernameFilter.onChange(user1, null);
+        then(idFilter.mightContain(VALID_ID)).isFalse();
+        then(usernameFilter.mightContain(VALID_USERNAME)).isFalse();
+    }
+
+    @Test
+    void onChange_moreKeysThanCapacity_shouldRebuildLargerFilter() {
+        List<Long> stored = new ArrayList<>();
+        KeyFilter<Long> filter = new KeyFilter<>(key -> key, stored::stream, INITIAL_ENTRIES, Runnable::run);
+        for (long key = 0; key < STORED_KEYS; key++) {
+            stored.add(key);
+            filter.onChange(null, key);
+        }
+        then(filter.getCapacity()).isGreaterThanOrEqualTo(STORED_KEYS);
+        then(LongStream.range(0, STORED_KEYS).allMatch(filter::mightContain)).isTrue();
+        long falsePositives = LongStream.range(STORED_KEYS, 2L * STORED_KEYS).filter(filter::mightContain).count();
+        then(falsePositives).isLessThan(STORED_KEYS / 100);
+    }
+
+    @Test
+    void onChange_rebuildWhileWritersInsert_shouldKeepEveryStoredKey() throws Exception {
+        EntityStore<Long> store = new EntityStore<>();
+        ExecutorService rebuilder = Executors.newSingleThreadExecutor();
+        ExecutorService writers = Executors.newFixedThreadPool(WRITERS);
+        KeyFilter<Long> filter = new KeyFilter<>(key -> key, store::stream, 16, rebuilder);
+        store.addListener(filter);
+        try {
+            List<Future<?>> inserts = new ArrayList<>();
+            for (int writer = 0; writer < WRITERS; writer++) {
+                long firstKey = writer;
+                inserts.add(writers.submit(() -> {
+                    for (long key = firstKey; key < STORED_KEYS; key += WRITERS) {
+                        store.save(key, key);
+                    }
+                }));
+            }
+            for (Future<?> insert : inserts) {
+                insert.get();
+            }
+            long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1);
+            while (filter.getCapacity() < STORED_KEYS && System.currentTimeMillis() < deadline) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            }
+        } finally {
+            writers.shutdown();
+            rebuilder.shutdown();
+        }
+        then(rebuilder.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        then(filter.getCapacity()).isGreaterThanOrEqualTo(STORED_KEYS);
+        then(LongStream.range(0, STORED_KEYS).filter(key -> !filter.mightContain(key)).boxed().toList()).isEmpty();
+    }
+}
@@ -0,0 +1,59 @@
+package com.endava.petstore.unit.index;
+
+import com.endava.petstore.index.PetCategoryIndex;
+import com.endava.petstore.model.Category;
+import com.endava.petstore.model.Pet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.endava.petstore.mock.PetMock.*;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class PetCategoryIndexTest {
+
+    private PetCategoryIndex categoryIndex;
+    private Pet pet1;
+
+    @BeforeEach
+    void setUp() {
+        pet1 = getMockedPet1();
+        categoryIndex = new PetCategoryIndex();
+        getMockedPets().forEach(pet -> categoryIndex.onChange(null, pet));
+        categoryIndex.onChange(null, getMockedPet4().toBuilder().category(pet1.getCategory()).build());
+    }
+
+    @Test
+    void findIdsByCategory_test() {
+        then(categoryIndex.findIdsByCategory(1L, null, 10)).isEqualTo(List.of(1L, 4L));
+        then(categoryIndex.findIdsByCategory(2L, null, 10)).isEqualTo(List.of(2L));
+        then(categoryIndex.findIdsByCategory(99L, null, 10)).isEmpty();
+    }
+
+    @Test
+    void findIdsByCategory_afterIdAndLimit_test() {
+        then(categoryIndex.findIdsByCategory(1L, null, 1)).isEqualTo(List.of(1L));
+        then(categoryIndex.findIdsByCategory(1L, 1L, 1)).isEqualTo(List.of(4L));
+        then(categoryIndex.findIdsByCategory(1L, 4L, 1)).isEmpty();
+    }
+
+    @Test
+    void onChange_categoryUpdated_shouldMovePetId() {
+        categoryIndex.onChange(pet1, pet1.toBuilder().category(Category.builder().id(2L).name("Category2").build()).build());
+        then(categoryIndex.findIdsByCategory(1L, null, 10)).isEqualTo(List.of(4L));
+        then(categoryIndex.findIdsByCategory(2L, null, 10)).isEqualTo(List.of(1L, 2L));
+    }
+
+    @Test
+    void onChange_petDeleted_shouldRemovePetId() {
+        categoryIndex.onChange(getMockedPet2(), null);
+        then(categoryIndex.findIdsByCategory(2L, null, 10)).isEmpty();
+    }
+
+    @Test
+    void onChange_categoryRemoved_shouldRemovePetId() {
+        categoryIndex.onChange(pet1, pet1.toBuilder().category(null).build());
+        then(categoryIndex.findIdsByCategory(1L, null, 10)).isEqualTo(List.of(4L));
+    }
+}
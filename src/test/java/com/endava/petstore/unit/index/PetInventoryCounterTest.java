@@ -0,0 +1,49 @@
+package com.endava.petstore.unit.index;
+
+import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.index.PetInventoryCounter;
+import com.endava.petstore.model.Pet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static com.endava.petstore.mock.PetMock.*;
+import static com.endava.petstore.mock.StoreMock.getMockedInventory;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class PetInventoryCounterTest {
+
+    private PetInventoryCounter inventoryCounter;
+    private Pet pet1;
+
+    @BeforeEach
+    void setUp() {
+        pet1 = getMockedPet1();
+        inventoryCounter = new PetInventoryCounter();
+        getMockedPets().forEach(pet -> inventoryCounter.onChange(null, pet));
+    }
+
+    @Test
+    void getInventory_test() {
+        then(inventoryCounter.getInventory()).isEqualTo(getMockedInventory());
+    }
+
+    @Test
+    void onChange_statusUpdated_shouldMoveCount() {
+        inventoryCounter.onChange(pet1, pet1.toBuilder().status(PetStatus.SOLD).build());
+        then(inventoryCounter.getInventory()).isEqualTo(Map.of("AVAILABLE", 0, "PENDING", 1, "SOLD", 2));
+    }
+
+    @Test
+    void onChange_petReplacedWithSameStatus_shouldKeepCount() {
+        inventoryCounter.onChange(pet1, pet1.toBuilder().name("Updated Pet").build());
+        then(inventoryCounter.getInventory()).isEqualTo(getMockedInventory());
+    }
+
+    @Test
+    void onChange_petDeleted_shouldDecrementCount() {
+        inventoryCounter.onChange(pet1, null);
+        then(inventoryCounter.getInventory()).isEqualTo(Map.of("AVAILABLE", 0, "PENDING", 1, "SOLD", 1));
+    }
+}
@@ -0,0 +1,64 @@
+package com.endava.petstore.unit.index;
+
+import com.endava.petstore.index.PetNameIndex;
+import com.endava.petstore.model.Pet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.endava.petstore.mock.PetMock.*;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class PetNameIndexTest {
+
+    private PetNameIndex nameIndex;
+    private Pet pet1;
+
+    @BeforeEach
+    void setUp() {
+        pet1 = getMockedPet1();
+        nameIndex = new PetNameIndex();
+        getMockedPets().forEach(pet -> nameIndex.onChange(null, pet));
+        nameIndex.onChange(null, Pet.builder().id(10L).name("Bella").build());
+        nameIndex.onChange(null, Pet.builder().id(11L).name("Belle").build());
+        nameIndex.onChange(null, Pet.builder().id(12L).name("Maximilian").build());
+    }
+
+    @Test
+    void findIdsByNamePrefix_test() {
+        then(nameIndex.findIdsByNamePrefix("pet", 10)).isEqualTo(List.of(1L, 2L, 3L));
+        then(nameIndex.findIdsByNamePrefix("BEL", 10)).isEqualTo(List.of(10L, 11L));
+        then(nameIndex.findIdsByNamePrefix("Pet", 2)).isEqualTo(List.of(1L, 2L));
+        then(nameIndex.findIdsByNamePrefix("Dog", 10)).isEmpty();
+    }
+
+    @Test
+    void findIdsBySimilarName_test() {
+        then(nameIndex.findIdsBySimilarName("Bella", 10)).isEqualTo(List.of(10L, 11L));
+        then(nameIndex.findIdsBySimilarName("Blela", 10)).isEqualTo(List.of(10L));
+        then(nameIndex.findIdsBySimilarName("pet7", 10)).isEqualTo(List.of(1L, 2L, 3L));
+        then(nameIndex.findIdsBySimilarName("Maxmilain", 10)).isEqualTo(List.of(12L));
+        then(nameIndex.findIdsBySimilarName("Rex", 10)).isEmpty();
+    }
+
+    @Test
+    void findIdsBySimilarName_limit_test() {
+        then(nameIndex.findIdsBySimilarName("Pet2", 2)).isEqualTo(List.of(2L, 1L));
+    }
+
+    @Test
+    void onChange_nameUpdated_shouldReindexPet() {
+        nameIndex.onChange(pet1, pet1.toBuilder().name("Bello").build());
+        then(nameIndex.findIdsByNamePrefix("Pet", 10)).isEqualTo(List.of(2L, 3L));
+        then(nameIndex.findIdsByNamePrefix("Bel", 10)).isEqualTo(List.of(10L, 11L, 1L));
+        then(nameIndex.findIdsBySimilarName("Pet1", 10)).isEqualTo(List.of(2L, 3L));
+    }
+
+    @Test
+    void onChange_petDeleted_shouldRemovePet() {
+        nameIndex.onChange(pet1, null);
+        then(nameIndex.findIdsByNamePrefix("Pet", 10)).isEqualTo(List.of(2L, 3L));
+        then(nameIndex.findIdsBySimilarName("Pet1", 10)).isEqualTo(List.of(2L, 3L));
+    }
+}
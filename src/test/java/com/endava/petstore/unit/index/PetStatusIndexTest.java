@@ -0,0 +1,44 @@
+package com.endava.petstore.unit.index;
+
+import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.index.PetStatusIndex;
+import com.endava.petstore.model.Pet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.endava.petstore.mock.PetMock.*;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class PetStatusIndexTest {
+
+    private PetStatusIndex statusIndex;
+    private Pet pet1;
+
+    @BeforeEach
+    void setUp() {
+        pet1 = getMockedPet1();
+        statusIndex = new PetStatusIndex();
+        getMockedPets().forEach(pet -> statusIndex.onChange(null, pet));
+    }
+
+    @Test
+    void findIdsByStatuses_test() {
+        then(statusIndex.findIdsByStatuses(new PetStatus[]{PetStatus.AVAILABLE})).isEqualTo(List.of(1L));
+        then(statusIndex.findIdsByStatuses(new PetStatus[]{PetStatus.SOLD, PetStatus.AVAILABLE, PetStatus.SOLD})).isEqualTo(List.of(1L, 3L));
+    }
+
+    @Test
+    void onChange_statusUpdated_shouldMovePetId() {
+        statusIndex.onChange(pet1, pet1.toBuilder().status(PetStatus.SOLD).build());
+        then(statusIndex.findIdsByStatuses(new PetStatus[]{PetStatus.AVAILABLE})).isEmpty();
+        then(statusIndex.findIdsByStatuses(new PetStatus[]{PetStatus.SOLD})).isEqualTo(List.of(1L, 3L));
+    }
+
+    @Test
+    void onChange_petDeleted_shouldRemovePetId() {
+        statusIndex.onChange(pet1, null);
+        then(statusIndex.findIdsByStatuses(PetStatus.values())).isEqualTo(List.of(2L, 3L));
+    }
+}
@@ -0,0 +1,52 @@
+package com.endava.petstore.unit.index;
+
+import com.endava.petstore.index.PetTagIndex;
+import com.endava.petstore.model.Pet;
+import com.endava.petstore.model.Tag;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.endava.petstore.mock.PetMock.*;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class PetTagIndexTest {
+
+    private PetTagIndex tagIndex;
+    private Pet pet1;
+
+    @BeforeEach
+    void setUp() {
+        pet1 = getMockedPet1();
+        tagIndex = new PetTagIndex();
+        getMockedPets().forEach(pet -> tagIndex.onChange(null, pet));
+    }
+
+    @Test
+    void findIdsByAnyTag_test() {
+        then(tagIndex.findIdsByAnyTag(List.of("Tag1", "Tag2", "Tag3"))).containsExactly(1L, 2L);
+        then(tagIndex.findIdsByAnyTag(List.of("Tag999"))).isEmpty();
+    }
+
+    @Test
+    void findIdsByAllTags_test() {
+        then(tagIndex.findIdsByAllTags(List.of("Tag1", "Tag2"))).containsExactly(1L);
+        then(tagIndex.findIdsByAllTags(List.of("Tag1", "Tag3"))).isEmpty();
+        then(tagIndex.findIdsByAllTags(List.of("Tag1", "Tag999"))).isEmpty();
+    }
+
+    @Test
+    void onChange_tagsUpdated_shouldMovePetId() {
+        tagIndex.onChange(pet1, pet1.toBuilder().tags(List.of(Tag.builder().id(3L).name("Tag3").build())).build());
+        then(tagIndex.findIdsByAnyTag(List.of("Tag1", "Tag2"))).isEmpty();
+        then(tagIndex.findIdsByAllTags(List.of("Tag3", "Tag4"))).containsExactly(2L);
+        then(tagIndex.findIdsByAnyTag(List.of("Tag3"))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void onChange_petDeleted_shouldRemovePetId() {
+        tagIndex.onChange(pet1, null);
+        then(tagIndex.findIdsByAnyTag(List.of("Tag1", "Tag2", "Tag5"))).containsExactly(3L);
+    }
+}
@@ -0,0 +1,55 @@
+package com.endava.petstore.unit.index;
+
+import com.endava.petstore.exception.InvalidRequestException;
+import com.endava.petstore.index.UsernameIndex;
+import com.endava.petstore.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.endava.petstore.constants.Constants.*;
+import static com.endava.petstore.mock.UserMock.*;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+
+class UsernameIndexTest {
+
+    private UsernameIndex usernameIndex;
+    private User user1;
+    private User user2;
+
+    @BeforeEach
+    void setUp() {
+        user1 = getMockedUser1();
+        user2 = getMockedUser2();
+        usernameIndex = new UsernameIndex();
+        getMockedUsers().forEach(user -> usernameIndex.onChange(null, user));
+    }
+
+    @Test
+    void findIdByUsername_test() {
+        then(usernameIndex.findIdByUsername(VALID_USERNAME)).contains(VALID_ID);
+        then(usernameIndex.findIdByUsername(INVALID_USERNAME)).isEmpty();
+    }
+
+    @Test
+    void onChange_usernameChanged_shouldReleasePreviousUsername() {
+        usernameIndex.onChange(user1, user1.toBuilder().username("Renamed1").build());
+        then(usernameIndex.findIdByUsername(VALID_USERNAME)).isEmpty();
+        then(usernameIndex.findIdByUsername("Renamed1")).contains(VALID_ID);
+    }
+
+    @Test
+    void onChange_usernameTaken_shouldThrowInvalidRequestException() {
+        thenThrownBy(() -> usernameIndex.onChange(user2, user2.toBuilder().username(VALID_USERNAME).build()))
+              .isInstanceOf(InvalidRequestException.class)
+              .hasMessage(String.format(USERNAME_ALREADY_EXISTS, VALID_USERNAME));
+        then(usernameIndex.findIdByUsername(VALID_USERNAME)).contains(VALID_ID);
+        then(usernameIndex.findIdByUsername(user2.getUsername())).contains(user2.getId());
+    }
+
+    @Test
+    void onChange_userDeleted_shouldReleaseUsername() {
+        usernameIndex.onChange(user1, null);
+        then(usernameIndex.findIdByUsername(VALID_USERNAME)).isEmpty();
+    }
+}
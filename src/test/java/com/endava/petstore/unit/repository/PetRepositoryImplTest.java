@@ -80,8 +80,8 @@ class PetRepositoryImplTest {
 
     @Test
     void update_test() {
-        given(petRepository.update(any(Pet.class))).willReturn(pet2);
-        Pet result = petRepository.update(pet1);
+        given(petRepository.update(any(Pet.class), any())).willReturn(pet2);
+        Pet result = petRepository.update(pet1, null);
         then(result).isEqualTo(pet2);
     }
 
@@ -77,8 +77,8 @@ class StoreRepositoryImplTest {
 
     @Test
     void updateOrder_forValidPet_test() {
-        given(storeRepository.updateOrder(any(Order.class))).willReturn(order2);
-        Order result = storeRepository.updateOrder(order1);
+        given(storeRepository.updateOrder(any(Order.class), any())).willReturn(order2);
+        Order result = storeRepository.updateOrder(order1, null);
         then(result).isEqualTo(order2);
     }
 
@@ -83,8 +83,8 @@ class UserRepositoryImplTest {
 
     @Test
     void update_test() {
-        given(userRepository.update(any(User.class))).willReturn(user2);
-        User result = userRepository.update(user1);
+        given(userRepository.update(any(User.class), any())).willReturn(user2);
+        User result = userRepository.update(user1, null);
         then(result).isEqualTo(user2);
     }
 
@@ -135,8 +135,8 @@ class UserRepositoryImplTest {
 
     @Test
     void updateByUsername_test() {
-        given(userRepository.updateByUsername(any(User.class), any(String.class))).willReturn(user2);
-        User result = userRepository.updateByUsername(user1, VALID_USERNAME);
+        given(userRepository.updateByUsername(any(User.class), any(String.class), any())).willReturn(user2);
+        User result = userRepository.updateByUsername(user1, VALID_USERNAME, null);
         then(result).isEqualTo(user2);
     }
 
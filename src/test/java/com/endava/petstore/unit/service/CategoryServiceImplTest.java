@@ -0,0 +1,69 @@
+package com.endava.petstore.unit.service;
+
+import com.endava.petstore.model.Category;
+import com.endava.petstore.repository.CategoryRepository;
+import com.endava.petstore.service.CategoryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static com.endava.petstore.constants.Constants.VALID_ID;
+import static com.endava.petstore.mock.CategoryMock.*;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryServiceImplTest {
+
+    @InjectMocks
+    private CategoryServiceImpl categoryService;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private Category category1;
+    private List<Category> categoryList;
+
+    @BeforeEach
+    void setUp() {
+        category1 = getMockedCategory1();
+        categoryList = getMockedCategories();
+    }
+
+    @Test
+    void findAll_test() {
+        given(categoryRepository.findAll()).willReturn(categoryList);
+        then(categoryService.findAll()).isEqualTo(categoryList);
+    }
+
+    @Test
+    void findById_test() {
+        given(categoryRepository.findById(VALID_ID)).willReturn(category1);
+        then(categoryService.findById(VALID_ID)).isEqualTo(category1);
+    }
+
+    @Test
+    void save_test() {
+        given(categoryRepository.save(category1)).willReturn(category1);
+        then(categoryService.save(category1)).isSameAs(category1);
+        verify(categoryRepository).save(category1);
+    }
+
+    @Test
+    void update_test() {
+        given(categoryRepository.update(category1)).willReturn(category1);
+        then(categoryService.update(category1)).isSameAs(category1);
+    }
+
+    @Test
+    void deleteById_test() {
+        categoryService.deleteById(VALID_ID);
+        verify(categoryRepository).deleteById(VALID_ID);
+    }
+}
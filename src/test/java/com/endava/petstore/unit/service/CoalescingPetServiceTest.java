@@ -0,0 +1,101 @@
+package com.endava.petstore.unit.service;
+
+import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.model.Pet;
+import com.endava.petstore.repository.PetRepository;
+import com.endava.petstore.service.CoalescingPetService;
+import com.endava.petstore.service.PetServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.endava.petstore.mock.PetMock.getMockedPet1;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingPetServiceTest {
+
+    @Mock
+    private PetServiceImpl delegate;
+
+    @Mock
+    private PetRepository petRepository;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+    private MeterRegistry meterRegistry;
+    private CoalescingPetService petService;
+    private Pet pet1;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        petService = new CoalescingPetService(delegate, petRepository, meterRegistry);
+        pet1 = getMockedPet1();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void findById_concurrentCalls_shouldCollapseUnlessPetsChanged() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        given(petRepository.getWriteVersion()).willReturn(1L, 1L, 2L);
+        given(delegate.findById(1L)).willAnswer(invocation -> {
+            then(release.await(5, TimeUnit.SECONDS)).isTrue();
+            return pet1;
+        });
+        Future<Pet> first = executor.submit(() -> petService.findById(1L));
+        awaitInFlight(1);
+        Future<Pet> collapsed = executor.submit(() -> petService.findById(1L));
+        while (meterRegistry.get("petstore.coalescing.collapsed").counter().count() == 0) {
+            Thread.sleep(1);
+        }
+        Future<Pet> afterWrite = executor.submit(() -> petService.findById(1L));
+        awaitInFlight(2);
+        release.countDown();
+        then(first.get(5, TimeUnit.SECONDS)).isEqualTo(pet1);
+        then(collapsed.get(5, TimeUnit.SECONDS)).isEqualTo(pet1);
+        then(afterWrite.get(5, TimeUnit.SECONDS)).isEqualTo(pet1);
+        then(meterRegistry.get("petstore.coalescing.collapsed").counter().count()).isEqualTo(1);
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    void findByStatuses_test() {
+        given(delegate.findByStatuses(new PetStatus[]{PetStatus.AVAILABLE})).willReturn(List.of(pet1));
+        then(petService.findByStatuses(new PetStatus[]{PetStatus.AVAILABLE})).isEqualTo(List.of(pet1));
+        then(meterRegistry.get("petstore.coalescing.calls").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void update_shouldPassThrough() {
+        given(delegate.update(pet1, 3L)).willReturn(pet1);
+        then(petService.update(pet1, 3L)).isEqualTo(pet1);
+        verify(petRepository, never()).getWriteVersion();
+        then(meterRegistry.get("petstore.coalescing.calls").counter().count()).isZero();
+    }
+
+    private void awaitInFlight(int calls) throws InterruptedException {
+        while (meterRegistry.get("petstore.coalescing.in-flight").gauge().value() < calls) {
+            Thread.sleep(1);
+        }
+    }
+}
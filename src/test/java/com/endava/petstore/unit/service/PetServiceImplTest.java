@@ -1,11 +1,19 @@
 package com.endava.petstore.unit.service;
 
 import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.exception.InvalidRequestException;
 import com.endava.petstore.exception.ResourceNotFoundException;
+import com.endava.petstore.model.BulkImportError;
+import com.endava.petstore.model.BulkImportResult;
 import com.endava.petstore.model.HttpResponse;
+import com.endava.petstore.model.ImageMetadata;
+import com.endava.petstore.model.Page;
 import com.endava.petstore.model.Pet;
+import com.endava.petstore.model.UploadSession;
 import com.endava.petstore.repository.PetRepository;
 import com.endava.petstore.service.PetServiceImpl;
+import com.endava.petstore.utils.PageUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,13 +21,22 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static com.endava.petstore.constants.Constants.*;
 import static com.endava.petstore.mock.PetMock.*;
@@ -27,6 +44,7 @@ import static org.assertj.core.api.BDDAssertions.then;
 import static org.assertj.core.api.BDDAssertions.thenThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.springframework.http.MediaType.IMAGE_JPEG_VALUE;
 
@@ -39,6 +57,12 @@ class PetServiceImplTest {
     @Mock
     private PetRepository petRepository;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @Captor
     private ArgumentCaptor<Pet> petCaptor;
 
@@ -75,10 +99,78 @@ class PetServiceImplTest {
         then(result).isEqualTo(petCaptor.getValue());
     }
 
+    @Test
+    void saveAll_test() throws IOException {
+        String ndjson = objectMapper.writeValueAsString(pet1) + "\n\n" + objectMapper.writeValueAsString(pet2) + "\n";
+        BulkImportResult result = petService.saveAll(stream(ndjson));
+        verify(petRepository).saveAll(List.of(pet1, pet2));
+        then(result).isEqualTo(new BulkImportResult(2L, 2L, 0L, List.of()));
+    }
+
+    @Test
+    void saveAll_invalidLines_shouldReportThemAndImportTheOthers() throws IOException {
+        String ndjson = String.join("\n",
+              objectMapper.writeValueAsString(pet1),
+              "{\"id\": 2, \"name\": ",
+              objectMapper.writeValueAsString(pet2.toBuilder().id(6L).name("").build()),
+              objectMapper.writeValueAsString(pet2.toBuilder().id(null).build()),
+              "null",
+              "{\"name\": \"" + "a".repeat(MAX_BULK_LINE_LENGTH) + "\"}");
+        BulkImportResult result = petService.saveAll(stream(ndjson));
+        verify(petRepository).saveAll(List.of(pet1));
+        then(result.getReceived()).isEqualTo(6);
+        then(result.getImported()).isEqualTo(1);
+        then(result.getFailed()).isEqualTo(5);
+        then(result.getErrors()).extracting(BulkImportError::getLine).containsExactly(2L, 3L, 4L, 5L, 6L);
+        then(result.getErrors()).extracting(BulkImportError::getId).containsExactly(null, 6L, null, null, null);
+        then(result.getErrors().get(0).getMessage()).startsWith(String.format(BULK_LINE_MALFORMED, ""));
+        then(result.getErrors().get(1).getMessage()).isEqualTo("name: Pet name must be between 3 and 30 characters, name: Pet name must not be blank");
+        then(result.getErrors()).extracting(BulkImportError::getMessage).endsWith(
+              PET_ID_REQUIRED,
+              BULK_LINE_NOT_A_PET,
+              String.format(BULK_LINE_TOO_LONG, MAX_BULK_LINE_LENGTH));
+    }
+
+    @Test
+    void saveAll_manyLines_shouldSaveThemInBatches() throws IOException {
+        StringBuilder ndjson = new StringBuilder();
+        for (long id = 1; id <= BULK_BATCH_SIZE * 2L + 1; id++) {
+            ndjson.append(objectMapper.writeValueAsString(pet1.toBuilder().id(id).build())).append('\n');
+        }
+        BulkImportResult result = petService.saveAll(stream(ndjson.toString()));
+        verify(petRepository, times(3)).saveAll(any());
+        then(result).isEqualTo(new BulkImportResult(BULK_BATCH_SIZE * 2L + 1, BULK_BATCH_SIZE * 2L + 1, 0L, List.of()));
+    }
+
+    @Test
+    void updateStatusWhere_test() {
+        PetStatus[] statuses = {PetStatus.AVAILABLE};
+        HttpResponse httpResponse = new HttpResponse(HttpStatus.OK.value(), "unknown", String.format(PETS_UPDATED, 1, PetStatus.SOLD));
+        given(petRepository.updateStatusWhere(statuses, null, null, PetStatus.SOLD)).willReturn(httpResponse);
+        then(petService.updateStatusWhere(statuses, null, null, PetStatus.SOLD)).isEqualTo(httpResponse);
+    }
+
+    @Test
+    void deleteWhere_test() {
+        HttpResponse httpResponse = new HttpResponse(HttpStatus.OK.value(), "unknown", String.format(PETS_DELETED, 1));
+        given(petRepository.deleteWhere(null, List.of("Tag1"), VALID_ID)).willReturn(httpResponse);
+        then(petService.deleteWhere(null, List.of("Tag1"), VALID_ID)).isEqualTo(httpResponse);
+    }
+
+    @Test
+    void deleteWhere_noCriteria_test() {
+        thenThrownBy(() -> petService.deleteWhere(new PetStatus[0], List.of(), null))
+              .isInstanceOf(InvalidRequestException.class)
+              .hasMessage(PET_CRITERIA_REQUIRED);
+        thenThrownBy(() -> petService.updateStatusWhere(null, null, null, PetStatus.SOLD))
+              .isInstanceOf(InvalidRequestException.class)
+              .hasMessage(PET_CRITERIA_REQUIRED);
+    }
+
     @Test
     void update_test() {
-        given(petRepository.update(any(Pet.class))).willReturn(pet2);
-        Pet result = petService.update(pet1);
+        given(petRepository.update(any(Pet.class), any())).willReturn(pet2);
+        Pet result = petService.update(pet1, null);
         then(result).isEqualTo(pet2);
     }
 
@@ -112,6 +204,56 @@ class PetServiceImplTest {
               .hasMessage(TAGS_NOT_FOUND);
     }
 
+    @Test
+    void findByCategory_test() {
+        given(petRepository.findByCategory(VALID_ID, null, 2)).willReturn(List.of(pet1, pet2));
+        Page<Pet> result = petService.findByCategory(VALID_ID, null, 1);
+        then(result.getContent()).isEqualTo(List.of(pet1));
+        then(result.getNextPageToken()).isEqualTo(PageUtils.encodePageToken(pet1.getId()));
+    }
+
+    @Test
+    void findByNamePrefix_test() {
+        given(petRepository.findByNamePrefix("Pet", DEFAULT_PAGE_SIZE)).willReturn(pets);
+        then(petService.findByNamePrefix("Pet", null)).isEqualTo(pets);
+    }
+
+    @Test
+    void findBySimilarName_test() {
+        given(petRepository.findBySimilarName("Pte1", 1)).willReturn(List.of(pet1));
+        then(petService.findBySimilarName("Pte1", 1)).isEqualTo(List.of(pet1));
+    }
+
+    @Test
+    void findByNamePrefix_blankName_test() {
+        thenThrownBy(() -> petService.findByNamePrefix(" ", null))
+              .isInstanceOf(InvalidRequestException.class)
+              .hasMessage(PET_NAME_REQUIRED);
+    }
+
+    @Test
+    void findBySimilarName_invalidLimit_test() {
+        thenThrownBy(() -> petService.findBySimilarName("Pet", MAX_PAGE_SIZE + 1))
+              .isInstanceOf(InvalidRequestException.class)
+              .hasMessage(String.format(INVALID_PAGE_SIZE, MAX_PAGE_SIZE));
+    }
+
+    @Test
+    void findByAllTags_test() {
+        List<String> tagNames = List.of("Tag1", "Tag2");
+        given(petRepository.findByAllTags(tagNames)).willReturn(List.of(pet1));
+        List<Pet> result = petService.findByAllTags(tagNames);
+        then(result).isEqualTo(List.of(pet1));
+    }
+
+    @Test
+    void findByAllTags_emptyList_test() {
+        List<String> tagNames = Collections.emptyList();
+        thenThrownBy(() -> petService.findByAllTags(tagNames))
+              .isInstanceOf(ResourceNotFoundException.class)
+              .hasMessage(TAGS_NOT_FOUND);
+    }
+
     @Test
     void updateWithFormData_test() {
         String name = "Test pet";
@@ -131,4 +273,64 @@ class PetServiceImplTest {
         HttpResponse result = petService.uploadImage(VALID_ID, additionalMetadata, file);
         then(result).isEqualTo(httpResponse);
     }
+
+    @Test
+    void findImage_test() {
+        Path image = Path.of("data", "blobs", "image");
+        given(petRepository.findImage(VALID_ID, "hash")).willReturn(image);
+        then(petService.findImage(VALID_ID, "hash")).isEqualTo(image);
+    }
+
+    @Test
+    void findImageMetadata_test() {
+        ImageMetadata metadata = new ImageMetadata("hash", "png", 300, 150, Map.of(64, "thumbnail"));
+        given(petRepository.findImageMetadata(VALID_ID, "hash")).willReturn(metadata);
+        then(petService.findImageMetadata(VALID_ID, "hash")).isEqualTo(metadata);
+    }
+
+    @Test
+    void findThumbnail_test() {
+        Path thumbnail = Path.of("data", "blobs", "thumbnail");
+        given(petRepository.findThumbnail(VALID_ID, "hash", 64)).willReturn(thumbnail);
+        then(petService.findThumbnail(VALID_ID, "hash", 64)).isEqualTo(thumbnail);
+    }
+
+    @Test
+    void createUpload_test() {
+        UploadSession session = new UploadSession("upload", VALID_ID, 7L, null, 0L, List.of());
+        given(petRepository.createUpload(VALID_ID, 7L, null)).willReturn(session);
+        then(petService.createUpload(VALID_ID, 7L, null)).isEqualTo(session);
+    }
+
+    @Test
+    void findUpload_test() {
+        UploadSession session = new UploadSession("upload", VALID_ID, 7L, null, 0L, List.of());
+        given(petRepository.findUpload(VALID_ID, "upload")).willReturn(session);
+        then(petService.findUpload(VALID_ID, "upload")).isEqualTo(session);
+    }
+
+    @Test
+    void writeUploadChunk_test() {
+        UploadSession session = new UploadSession("upload", VALID_ID, 7L, null, 0L, List.of());
+        InputStream content = new ByteArrayInputStream("content".getBytes());
+        given(petRepository.writeUploadChunk(VALID_ID, "upload", 0L, content)).willReturn(session);
+        then(petService.writeUploadChunk(VALID_ID, "upload", 0L, content)).isEqualTo(session);
+    }
+
+    @Test
+    void completeUpload_test() {
+        HttpResponse httpResponse = new HttpResponse(HttpStatus.OK.value(), "unknown", String.format(PET_UPLOADED_IMAGE, "Test image", "hash", 7));
+        given(petRepository.completeUpload(VALID_ID, "upload", "Test image")).willReturn(httpResponse);
+        then(petService.completeUpload(VALID_ID, "upload", "Test image")).isEqualTo(httpResponse);
+    }
+
+    @Test
+    void abortUpload_test() {
+        petService.abortUpload(VALID_ID, "upload");
+        verify(petRepository).abortUpload(VALID_ID, "upload");
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
 }
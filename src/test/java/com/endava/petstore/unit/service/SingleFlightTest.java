@@ -0,0 +1,111 @@
+package com.endava.petstore.unit.service;
+
+import com.endava.petstore.exception.ResourceNotFoundException;
+import com.endava.petstore.service.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+
+class SingleFlightTest {
+    private static final int CALLERS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private MeterRegistry meterRegistry;
+    private SingleFlight singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight("pet", meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_concurrentIdenticalCalls_shouldShareOneComputation() throws Exception {
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = callConcurrently(() -> singleFlight.execute(() -> {
+            computations.incrementAndGet();
+            await(release);
+            return "Pet1";
+        }, "findById", 1L));
+        release.countDown();
+        for (Future<String> result : results) {
+            then(result.get(5, TimeUnit.SECONDS)).isEqualTo("Pet1");
+        }
+        then(computations).hasValue(1);
+        then(meterRegistry.get("petstore.coalescing.calls").tag("service", "pet").counter().count()).isEqualTo(CALLERS);
+        then(meterRegistry.get("petstore.coalescing.collapsed").tag("service", "pet").counter().count()).isEqualTo(CALLERS - 1);
+        then(meterRegistry.get("petstore.coalescing.in-flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void execute_failedComputation_shouldThrowToEveryCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = callConcurrently(() -> singleFlight.execute(() -> {
+            await(release);
+            throw new ResourceNotFoundException("Pet not found");
+        }, "findById", 1L));
+        release.countDown();
+        for (Future<String> result : results) {
+            thenThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                  .hasCauseInstanceOf(ResourceNotFoundException.class)
+                  .hasRootCauseMessage("Pet not found");
+        }
+    }
+
+    @Test
+    void execute_otherKey_shouldComputeSeparately() {
+        AtomicInteger computations = new AtomicInteger();
+        String result = singleFlight.execute(() -> singleFlight.execute(() -> "Pet" + computations.incrementAndGet(), "findById", null, 2L),
+              "findById", null, 1L);
+        then(result).isEqualTo("Pet1");
+        then(singleFlight.execute(() -> "Pet" + computations.incrementAndGet(), "findById", null, 1L)).isEqualTo("Pet2");
+        then(meterRegistry.get("petstore.coalescing.collapsed").counter().count()).isZero();
+    }
+
+    /**
+     * Starts every caller and returns once all of them but the first are waiting for its computation.
+     */
+    private List<Future<String>> callConcurrently(Supplier<String> call) throws InterruptedException {
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(call::get));
+        while (meterRegistry.get("petstore.coalescing.in-flight").gauge().value() == 0) {
+            Thread.sleep(1);
+        }
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(executor.submit(call::get));
+        }
+        while (meterRegistry.get("petstore.coalescing.collapsed").counter().count() < CALLERS - 1) {
+            Thread.sleep(1);
+        }
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            then(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -71,8 +71,8 @@ class StoreServiceImplTest {
 
     @Test
     void updateOrder_test() {
-        given(storeRepository.updateOrder(any(Order.class))).willReturn(order2);
-        Order result = storeService.updateOrder(order1);
+        given(storeRepository.updateOrder(any(Order.class), any())).willReturn(order2);
+        Order result = storeService.updateOrder(order1, null);
         then(result).isEqualTo(order2);
     }
 
@@ -0,0 +1,69 @@
+package com.endava.petstore.unit.service;
+
+import com.endava.petstore.model.Tag;
+import com.endava.petstore.repository.TagRepository;
+import com.endava.petstore.service.TagServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static com.endava.petstore.constants.Constants.VALID_ID;
+import static com.endava.petstore.mock.TagMock.*;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TagServiceImplTest {
+
+    @InjectMocks
+    private TagServiceImpl tagService;
+
+    @Mock
+    private TagRepository tagRepository;
+
+    private Tag tag1;
+    private List<Tag> tagList;
+
+    @BeforeEach
+    void setUp() {
+        tag1 = getMockedTag1();
+        tagList = getMockedTags();
+    }
+
+    @Test
+    void findAll_test() {
+        given(tagRepository.findAll()).willReturn(tagList);
+        then(tagService.findAll()).isEqualTo(tagList);
+    }
+
+    @Test
+    void findById_test() {
+        given(tagRepository.findById(VALID_ID)).willReturn(tag1);
+        then(tagService.findById(VALID_ID)).isEqualTo(tag1);
+    }
+
+    @Test
+    void save_test() {
+        given(tagRepository.save(tag1)).willReturn(tag1);
+        then(tagService.save(tag1)).isSameAs(tag1);
+        verify(tagRepository).save(tag1);
+    }
+
+    @Test
+    void update_test() {
+        given(tagRepository.update(tag1)).willReturn(tag1);
+        then(tagService.update(tag1)).isSameAs(tag1);
+    }
+
+    @Test
+    void deleteById_test() {
+        tagService.deleteById(VALID_ID);
+        verify(tagRepository).deleteById(VALID_ID);
+    }
+}
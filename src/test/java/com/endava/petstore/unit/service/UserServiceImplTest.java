@@ -77,8 +77,8 @@ class UserServiceImplTest {
 
     @Test
     void update_test() {
-        given(userRepository.update(any(User.class))).willReturn(user2);
-        User result = userService.update(user1);
+        given(userRepository.update(any(User.class), any())).willReturn(user2);
+        User result = userService.update(user1, null);
         then(result).isEqualTo(user2);
     }
 
@@ -113,8 +113,8 @@ class UserServiceImplTest {
 
     @Test
     void updateByUsername_test() {
-        given(userRepository.updateByUsername(any(User.class), any(String.class))).willReturn(user2);
-        User result = userService.updateByUsername(user1, VALID_USERNAME);
+        given(userRepository.updateByUsername(any(User.class), any(String.class), any())).willReturn(user2);
+        User result = userService.updateByUsername(user1, VALID_USERNAME, null);
         then(result).isEqualTo(user2);
     }
 
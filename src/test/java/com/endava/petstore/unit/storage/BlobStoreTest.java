@@ -0,0 +1,157 @@
+package com.endava.petstore.unit.storage;
+
+import com.endava.petstore.storage.BlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.springframework.http.MediaType.IMAGE_JPEG_VALUE;
+
+class BlobStoreTest {
+    private static final String CONTENT_HASH = "ed7002b439e9ac845f22357d822bac1444730fbdb6016d3ec9432297b9ec9f73";
+    private static final int THREADS = 16;
+
+    @TempDir
+    Path directory;
+
+    private BlobStore blobStore;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new BlobStore(directory);
+    }
+
+    @Test
+    void store_test() throws IOException {
+        String hash = blobStore.store(new MockMultipartFile("file", "test_image.png", IMAGE_JPEG_VALUE, "content".getBytes(StandardCharsets.UTF_8)));
+        then(hash).isEqualTo(CONTENT_HASH);
+        then(blobStore.find(hash)).hasValueSatisfying(blob -> then(readString(blob)).isEqualTo("content"));
+    }
+
+    @Test
+    void store_duplicateContent_shouldStoreItOnce() throws IOException {
+        then(blobStore.store(new MockMultipartFile("file", "first.png", IMAGE_JPEG_VALUE, "content".getBytes(StandardCharsets.UTF_8)))).isEqualTo(CONTENT_HASH);
+        then(blobStore.store(new MockMultipartFile("file", "second.png", IMAGE_JPEG_VALUE, "content".getBytes(StandardCharsets.UTF_8)))).isEqualTo(CONTENT_HASH);
+        then(countBlobs()).isEqualTo(1);
+    }
+
+    @Test
+    void store_largeStream_test() throws Exception {
+        long size = 64L << 20;
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        try (InputStream expected = new DigestInputStream(new PatternInputStream(size), digest)) {
+            expected.transferTo(OutputStream.nullOutputStream());
+        }
+        String hash = blobStore.store(new PatternInputStream(size));
+        then(hash).isEqualTo(HexFormat.of().formatHex(digest.digest()));
+        then(blobStore.find(hash)).hasValueSatisfying(blob -> then(blob.toFile().length()).isEqualTo(size));
+    }
+
+    @Test
+    void store_concurrentDuplicates_shouldKeepOneCompleteBlob() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                futures.add(executor.submit(() -> blobStore.store(new MockMultipartFile("file", "test_image.png", IMAGE_JPEG_VALUE, "content".getBytes(StandardCharsets.UTF_8)))));
+            }
+            for (Future<String> future : futures) {
+                then(future.get()).isEqualTo(CONTENT_HASH);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        then(countBlobs()).isEqualTo(1);
+        then(blobStore.find(CONTENT_HASH)).hasValueSatisfying(blob -> then(readString(blob)).isEqualTo("content"));
+    }
+
+    @Test
+    void store_temporaryFile_shouldMoveIt() throws IOException {
+        Path temporaryFile = Files.writeString(blobStore.createTemporaryFile(), "content");
+        then(blobStore.store(temporaryFile, null)).isEqualTo(CONTENT_HASH);
+        then(temporaryFile).doesNotExist();
+        then(blobStore.find(CONTENT_HASH)).hasValueSatisfying(blob -> then(readString(blob)).isEqualTo("content"));
+    }
+
+    @Test
+    void store_temporaryFileWithUnexpectedHash_shouldDeleteIt() throws IOException {
+        Path temporaryFile = Files.writeString(blobStore.createTemporaryFile(), "content");
+        then(blobStore.store(temporaryFile, "0".repeat(64))).isEqualTo(CONTENT_HASH);
+        then(temporaryFile).doesNotExist();
+        then(blobStore.find(CONTENT_HASH)).isEmpty();
+    }
+
+    @Test
+    void find_unknownOrMalformedHash_test() {
+        then(blobStore.find(CONTENT_HASH)).isEmpty();
+        then(blobStore.find("../" + CONTENT_HASH.substring(3))).isEmpty();
+        then(blobStore.find(null)).isEmpty();
+    }
+
+    @Test
+    void constructor_shouldDeleteUnfinishedUploads() throws IOException {
+        Path unfinished = Files.writeString(directory.resolve("tmp").resolve("upload123"), "partial");
+        new BlobStore(directory);
+        then(unfinished).doesNotExist();
+    }
+
+    private long countBlobs() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private static String readString(Path file) {
+        try {
+            return Files.readString(file);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Produces {@code size} bytes of a repeating pattern without holding them in memory.
+     */
+    private static class PatternInputStream extends InputStream {
+        private long remaining;
+
+        PatternInputStream(long size) {
+            this.remaining = size;
+        }
+
+        @Override
+        public int read() {
+            return remaining-- > 0 ? (int) (remaining % 251) : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int count = (int) Math.min(length, remaining);
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = (byte) (--remaining % 251);
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.endava.petstore.unit.storage;
+
+import com.endava.petstore.enums.DurabilityMode;
+import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.index.KeyFilter;
+import com.endava.petstore.index.PetStatusIndex;
+import com.endava.petstore.model.Pet;
+import com.endava.petstore.storage.EntityJournal;
+import com.endava.petstore.storage.EntityStore;
+import com.endava.petstore.storage.WriteAheadLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.endava.petstore.enums.PetStatus.AVAILABLE;
+import static com.endava.petstore.enums.PetStatus.SOLD;
+import static com.endava.petstore.mock.PetMock.*;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+
+class EntityJournalTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recover_emptyJournal_test() throws IOException {
+        EntityStore<Pet> store = new EntityStore<>();
+        try (EntityJournal<Pet> journal = openJournal()) {
+            then(store.recover(journal, 1)).isFalse();
+        }
+        then(store.size()).isZero();
+    }
+
+    @Test
+    void recover_afterRestart_shouldReplayAllChanges() throws IOException {
+        EntityStore<Pet> store = new EntityStore<>();
+        try (EntityJournal<Pet> journal = openJournal()) {
+            store.recover(journal, 1);
+            getMockedPets().forEach(pet -> store.save(pet.getId(), pet));
+            store.update(1L, pet -> pet.toBuilder().name("Updated Pet").status(SOLD).build());
+            store.deleteById(2L);
+        }
+
+        PetStatusIndex statusIndex = new PetStatusIndex();
+        EntityStore<Pet> recoveredStore = new EntityStore<>(statusIndex);
+        try (EntityJournal<Pet> journal = openJournal()) {
+            then(recoveredStore.recover(journal, 1)).isTrue();
+            then(recoveredStore.findAll()).isEqualTo(store.findAll());
+            then(statusIndex.findIdsByStatuses(new PetStatus[]{SOLD})).isEqualTo(List.of(1L, 3L));
+
+            recoveredStore.save(getMockedPet4().getId(), getMockedPet4());
+        }
+
+        EntityStore<Pet> storeAfterSecondRestart = new EntityStore<>();
+        try (EntityJournal<Pet> journal = openJournal()) {
+            storeAfterSecondRestart.recover(journal, 1);
+        }
+        then(storeAfterSecondRestart.findAll()).isEqualTo(List.of(store.findById(1L).orElseThrow(), getMockedPet3(), getMockedPet4()));
+    }
+
+    @Test
+    void recover_afterRestart_shouldKeepVersions() throws IOException {
+        EntityStore<Pet> store = new EntityStore<>();
+        try (EntityJournal<Pet> journal = openJournal()) {
+            store.recover(journal, 1);
+            getMockedPets().forEach(pet -> store.save(pet.getId(), pet));
+            store.update(1L, pet -> pet.toBuilder().name("Updated Pet").build());
+        }
+
+        EntityStore<Pet> recoveredStore = new EntityStore<>();
+        try (EntityJournal<Pet> journal = openJournal()) {
+            recoveredStore.recover(journal, 1);
+            then(recoveredStore.findAll()).extracting(Pet::getVersion).isEqualTo(store.findAll().stream().map(Pet::getVersion).toList());
+            then(recoveredStore.update(3L, pet -> pet.toBuilder().name("Updated Pet").build()).orElseThrow().getVersion())
+                  .isGreaterThan(store.findById(1L).orElseThrow().getVersion());
+        }
+    }
+
+    @Test
+    void recover_afterSaveAll_shouldReplayTheWholeBatch() throws IOException {
+        EntityStore<Pet> store = new EntityStore<>();
+        try (EntityJournal<Pet> journal = openJournal()) {
+            store.recover(journal, 1);
+            store.saveAll(getMockedPets(), Pet::getId);
+        }
+
+        EntityStore<Pet> recoveredStore = new EntityStore<>();
+        try (EntityJournal<Pet> journal = openJournal()) {
+            then(recoveredStore.recover(journal, 1)).isTrue();
+        }
+        then(recoveredStore.findAll()).isEqualTo(getMockedPets());
+    }
+
+    @Test
+    void recover_afterUpdateAllAndDeleteAll_shouldReplayTheChanges() throws IOException {
+        EntityStore<Pet> store = new EntityStore<>();
+        try (EntityJournal<Pet> journal = openJournal()) {
+            store.recover(journal, 1);
+            store.saveAll(getMockedPets(), Pet::getId);
+            store.updateAll(new long[]{1L, 2L}, pet -> pet.toBuilder().status(SOLD).build());
+            store.deleteAll(new long[]{3L}, pet -> true);
+        }
+
+        EntityStore<Pet> recoveredStore = new EntityStore<>();
+        try (EntityJournal<Pet> journal = openJournal()) {
+            recoveredStore.recover(journal, 1);
+        }
+        then(recoveredStore.findAll()).isEqualTo(store.findAll());
+        then(recoveredStore.findAll()).extracting(Pet::getStatus).containsExactly(SOLD, SOLD);
+    }
+
+    @Test
+    void save_failedAppend_shouldRevertListeners() throws IOException {
+        PetStatusIndex statusIndex = new PetStatusIndex();
+        KeyFilter<Pet> idFilter = new KeyFilter<>(Pet::getId, Stream::empty);
+        EntityStore<Pet> store = new EntityStore<>(statusIndex, idFilter);
+        EntityJournal<Pet> journal = openJournal();
+        store.recover(journal, 1);
+        store.saveAll(getMockedPets(), Pet::getId);
+        List<Pet> pets = store.findAll();
+        journal.close();
+
+        thenThrownBy(() -> store.update(1L, pet -> pet.toBuilder().status(SOLD).build())).isInstanceOf(IllegalStateException.class);
+        thenThrownBy(() -> store.deleteById(1L)).isInstanceOf(IllegalStateException.class);
+        thenThrownBy(() -> store.save(getMockedPet4().getId(), getMockedPet4())).isInstanceOf(IllegalStateException.class);
+        then(store.findAll()).isEqualTo(pets);
+        then(statusIndex.findIdsByStatuses(new PetStatus[]{AVAILABLE})).isEqualTo(List.of(1L));
+        then(statusIndex.findIdsByStatuses(new PetStatus[]{SOLD})).isEqualTo(List.of(3L));
+        then(idFilter.mightContain(1L)).isTrue();
+        then(idFilter.mightContain(getMockedPet4().getId())).isFalse();
+    }
+
+    private EntityJournal<Pet> openJournal() throws IOException {
+        return new EntityJournal<>(new WriteAheadLog(directory, "pets", DurabilityMode.GROUP, Duration.ofMillis(10)), objectMapper, Pet.class);
+    }
+}
@@ -0,0 +1,247 @@
+package com.endava.petstore.unit.storage;
+
+import com.endava.petstore.enums.PetStatus;
+import com.endava.petstore.exception.PreconditionFailedException;
+import com.endava.petstore.model.Pet;
+import com.endava.petstore.storage.EntityStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.endava.petstore.constants.Constants.INVALID_ID;
+import static com.endava.petstore.constants.Constants.VALID_ID;
+import static com.endava.petstore.constants.Constants.VERSION_MISMATCH;
+import static com.endava.petstore.mock.PetMock.*;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+import static org.assertj.core.api.BDDAssertions.entry;
+
+class EntityStoreTest {
+    private static final int THREADS = 64;
+    private static final int OPERATIONS_PER_THREAD = 1_000;
+
+    private EntityStore<Pet> store;
+    private Pet pet1;
+    private Pet pet2;
+
+    @BeforeEach
+    void setUp() {
+        pet1 = getMockedPet1();
+        pet2 = getMockedPet2();
+        store = new EntityStore<>();
+        getMockedPets().forEach(pet -> store.save(pet.getId(), pet));
+    }
+
+    @Test
+    void findById_validId_test() {
+        then(store.findById(VALID_ID)).contains(pet1);
+    }
+
+    @Test
+    void findById_invalidId_test() {
+        then(store.findById(INVALID_ID)).isEmpty();
+        then(store.findById(null)).isEmpty();
+    }
+
+    @Test
+    void findAll_afterId_test() {
+        then(store.findAll(null, 2)).isEqualTo(List.of(pet1, pet2));
+        then(store.findAll(1L, 5)).isEqualTo(List.of(pet2, getMockedPet3()));
+        then(store.findAll(3L, 5)).isEmpty();
+    }
+
+    @Test
+    void saveAll_test() {
+        Pet pet4 = getMockedPet4();
+        Pet updatedPet1 = pet1.toBuilder().name("Updated Pet").build();
+        store.saveAll(List.of(pet4, updatedPet1), Pet::getId);
+        then(store.findAll()).isEqualTo(List.of(updatedPet1, pet2, getMockedPet3(), pet4));
+    }
+
+    @Test
+    void saveAll_rejectedEntity_shouldKeepTheEntitiesBeforeIt() {
+        EntityStore<Pet> validatingStore = new EntityStore<>((previous, current) -> {
+            if (current != null && current.getName().isBlank()) {
+                throw new IllegalArgumentException("Pet name must not be blank");
+            }
+        });
+        Pet pet4 = getMockedPet4();
+        thenThrownBy(() -> validatingStore.saveAll(List.of(pet1, pet2.toBuilder().name(" ").build(), pet4), Pet::getId))
+              .isInstanceOf(IllegalArgumentException.class);
+        then(validatingStore.findAll()).isEqualTo(List.of(pet1));
+    }
+
+    @Test
+    void updateAll_test() {
+        int updated = store.updateAll(new long[]{1L, 2L, 3L, INVALID_ID}, pet -> pet.getStatus() == PetStatus.SOLD ? pet : pet.toBuilder().status(PetStatus.SOLD).build());
+        then(updated).isEqualTo(2);
+        then(store.findAll()).extracting(Pet::getStatus).containsOnly(PetStatus.SOLD);
+    }
+
+    @Test
+    void updateAll_unchangedEntity_shouldNotNotifyListeners() {
+        List<Pet> changes = new ArrayList<>();
+        EntityStore<Pet> listenedStore = new EntityStore<>((previous, current) -> changes.add(current));
+        listenedStore.save(VALID_ID, pet1);
+        then(listenedStore.updateAll(new long[]{VALID_ID}, pet -> pet)).isZero();
+        then(changes).containsExactly(pet1);
+    }
+
+    @Test
+    void addListener_shouldSeeFurtherChanges() {
+        List<Pet> changes = new ArrayList<>();
+        store.addListener((previous, current) -> changes.add(previous));
+        Pet updated = store.update(VALID_ID, pet -> pet.toBuilder().name("Updated Pet").build()).orElseThrow();
+        store.deleteById(VALID_ID);
+        then(changes).containsExactly(pet1, updated);
+    }
+
+    @Test
+    void deleteAll_matchingCondition_test() {
+        then(store.deleteAll(new long[]{1L, 2L, INVALID_ID}, pet -> pet.getStatus() == PetStatus.PENDING)).isEqualTo(1);
+        then(store.findAll()).isEqualTo(List.of(pet1, getMockedPet3()));
+        then(store.findAll(1L, 5)).isEqualTo(List.of(getMockedPet3()));
+    }
+
+    @Test
+    void saveIfAbsent_test() {
+        Pet existing = store.findById(VALID_ID).orElseThrow();
+        then(store.saveIfAbsent(VALID_ID, getMockedPet4())).isSameAs(existing);
+        Pet pet4 = getMockedPet4();
+        then(store.saveIfAbsent(pet4.getId(), pet4)).isEqualTo(pet4);
+        then(store.size()).isEqualTo(4);
+    }
+
+    @Test
+    void update_validId_test() {
+        then(store.update(VALID_ID, pet -> pet.toBuilder().name("Updated Pet").build()).map(Pet::getName)).contains("Updated Pet");
+        then(store.findById(VALID_ID).map(Pet::getName)).contains("Updated Pet");
+    }
+
+    @Test
+    void update_invalidId_test() {
+        then(store.update(INVALID_ID, pet -> pet)).isEmpty();
+        then(store.size()).isEqualTo(3);
+    }
+
+    @Test
+    void save_shouldAssignIncreasingVersions() {
+        Long version = store.findById(VALID_ID).orElseThrow().getVersion();
+        then(version).isNotNull();
+        then(store.findById(2L).orElseThrow().getVersion()).isGreaterThan(version);
+        then(store.save(VALID_ID, pet1).getVersion()).isGreaterThan(store.findById(3L).orElseThrow().getVersion());
+        then(pet1.getVersion()).isNull();
+    }
+
+    @Test
+    void update_shouldAssignNewVersion() {
+        Long version = store.findById(VALID_ID).orElseThrow().getVersion();
+        then(store.update(VALID_ID, pet -> pet.toBuilder().name("Updated Pet").build()).orElseThrow().getVersion()).isGreaterThan(version);
+    }
+
+    @Test
+    void update_expectedVersion_test() {
+        Long version = store.findById(VALID_ID).orElseThrow().getVersion();
+        Pet updated = store.update(VALID_ID, version, pet -> pet.toBuilder().name("Updated Pet").build()).orElseThrow();
+        thenThrownBy(() -> store.update(VALID_ID, version, pet -> pet.toBuilder().name("Lost Update").build()))
+              .isInstanceOf(PreconditionFailedException.class)
+              .hasMessage(String.format(VERSION_MISMATCH, version, VALID_ID, updated.getVersion()));
+        then(store.findById(VALID_ID)).contains(updated);
+        then(store.findById(VALID_ID).map(Pet::getName)).contains("Updated Pet");
+    }
+
+    @Test
+    void getWriteVersion_shouldIncreaseOnEveryWrite() {
+        long writeVersion = store.getWriteVersion();
+        store.findById(VALID_ID);
+        then(store.getWriteVersion()).isEqualTo(writeVersion);
+        store.save(VALID_ID, pet1);
+        then(store.getWriteVersion()).isGreaterThan(writeVersion);
+        writeVersion = store.getWriteVersion();
+        store.update(VALID_ID, pet -> pet.toBuilder().name("Updated Pet").build());
+        then(store.getWriteVersion()).isGreaterThan(writeVersion);
+        writeVersion = store.getWriteVersion();
+        store.deleteById(2L);
+        then(store.getWriteVersion()).isGreaterThan(writeVersion);
+    }
+
+    @Test
+    void restore_shouldKeepRecordedVersion() {
+        Pet pet4 = getMockedPet4().withVersion(Long.MAX_VALUE - 1);
+        then(store.restore(pet4.getId(), pet4).getVersion()).isEqualTo(Long.MAX_VALUE - 1);
+        then(store.save(VALID_ID, pet1).getVersion()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void deleteById_test() {
+        then(store.deleteById(2L)).contains(pet2);
+        then(store.deleteById(2L)).isEmpty();
+        then(store.size()).isEqualTo(2);
+    }
+
+    @Test
+    void forEachLocked_test() {
+        Map<Long, Pet> visited = new LinkedHashMap<>();
+        store.forEachLocked(visited::put);
+        then(visited).containsExactly(entry(1L, pet1), entry(2L, pet2), entry(3L, getMockedPet3()));
+    }
+
+    @Test
+    void update_concurrentUpdates_shouldNotLoseAnyUpdate() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        store.update(VALID_ID, pet -> {
+                            List<String> photoUrls = new ArrayList<>(pet.getPhotoUrls());
+                            photoUrls.add("https://www.petstore.com/image.png");
+                            return pet.toBuilder().photoUrls(photoUrls).build();
+                        });
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        then(store.findById(VALID_ID).orElseThrow().getPhotoUrls()).hasSize(pet1.getPhotoUrls().size() + THREADS * OPERATIONS_PER_THREAD);
+    }
+
+    @Test
+    void save_concurrentInserts_shouldKeepEveryEntity() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                long firstId = 1_000L + (long) thread * OPERATIONS_PER_THREAD;
+                futures.add(executor.submit(() -> {
+                    for (long id = firstId; id < firstId + OPERATIONS_PER_THREAD; id++) {
+                        store.save(id, getMockedPet4().toBuilder().id(id).build());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        then(store.size()).isEqualTo(3 + THREADS * OPERATIONS_PER_THREAD);
+    }
+}
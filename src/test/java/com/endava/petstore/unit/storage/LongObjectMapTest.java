@@ -0,0 +1,114 @@
+package com.endava.petstore.unit.storage;
+
+import com.endava.petstore.storage.LongObjectMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+
+class LongObjectMapTest {
+    private static final int THREADS = 16;
+    private static final int KEYS_PER_THREAD = 10_000;
+
+    private final LongObjectMap<String> map = new LongObjectMap<>();
+
+    @Test
+    void compute_insertReplaceRemove_test() {
+        then(map.compute(1L, previous -> "first")).isEqualTo("first");
+        then(map.compute(1L, previous -> previous + "-updated")).isEqualTo("first-updated");
+        then(map.get(1L)).isEqualTo("first-updated");
+        then(map.size()).isEqualTo(1);
+        then(map.compute(1L, previous -> null)).isNull();
+        then(map.get(1L)).isNull();
+        then(map.size()).isZero();
+    }
+
+    @Test
+    void computeIfPresent_absentKey_shouldNotCallFunction() {
+        then(map.computeIfPresent(1L, previous -> "value")).isNull();
+        then(map.get(1L)).isNull();
+    }
+
+    @Test
+    void computeAllIfPresent_test() {
+        long[] keys = new long[1_000];
+        for (int key = 0; key < keys.length; key++) {
+            keys[key] = key;
+            if (key % 2 == 0) {
+                map.compute(key, previous -> "value");
+            }
+        }
+        map.computeAllIfPresent(keys, (key, value) -> key % 4 == 0 ? null : value + key);
+        then(map.size()).isEqualTo(250);
+        then(map.get(2L)).isEqualTo("value2");
+        then(map.get(4L)).isNull();
+        then(map.get(3L)).isNull();
+    }
+
+    @Test
+    void compute_throwingFunction_shouldLeaveMapUnchanged() {
+        map.compute(1L, previous -> "value");
+        thenThrownBy(() -> map.compute(1L, previous -> {
+            throw new IllegalStateException();
+        })).isInstanceOf(IllegalStateException.class);
+        then(map.get(1L)).isEqualTo("value");
+    }
+
+    @Test
+    void randomOperations_shouldMatchHashMap() {
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(5_000) - 100;
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map.compute(key, previous -> null);
+            } else {
+                String value = "value" + i;
+                expected.put(key, value);
+                map.compute(key, previous -> value);
+            }
+        }
+        then(map.size()).isEqualTo(expected.size());
+        for (long key = -100; key < 4_900; key++) {
+            then(map.get(key)).isEqualTo(expected.get(key));
+            then(map.getLocked(key)).isEqualTo(expected.get(key));
+        }
+    }
+
+    @Test
+    void compute_concurrentWriters_shouldKeepEveryEntry() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                long firstKey = (long) thread * KEYS_PER_THREAD;
+                futures.add(executor.submit(() -> {
+                    for (long key = firstKey; key < firstKey + KEYS_PER_THREAD; key++) {
+                        long value = key;
+                        map.compute(key, previous -> String.valueOf(value));
+                        then(map.get(key)).isEqualTo(String.valueOf(value));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        then(map.size()).isEqualTo(THREADS * KEYS_PER_THREAD);
+        for (long key = 0; key < THREADS * KEYS_PER_THREAD; key++) {
+            then(map.get(key)).isEqualTo(String.valueOf(key));
+        }
+    }
+}
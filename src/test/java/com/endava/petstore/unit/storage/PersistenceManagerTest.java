@@ -0,0 +1,95 @@
+package com.endava.petstore.unit.storage;
+
+import com.endava.petstore.enums.DurabilityMode;
+import com.endava.petstore.index.PetTagIndex;
+import com.endava.petstore.model.Order;
+import com.endava.petstore.model.Pet;
+import com.endava.petstore.storage.EntityStore;
+import com.endava.petstore.storage.PersistenceManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.endava.petstore.mock.PetMock.*;
+import static com.endava.petstore.mock.StoreMock.getMockedOrders;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class PersistenceManagerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recover_disabled_shouldLoadSeed() {
+        EntityStore<Pet> pets = new EntityStore<>();
+        EntityStore<Order> orders = new EntityStore<>();
+        PersistenceManager persistenceManager = PersistenceManager.disabled();
+        persistenceManager.recover(pets, "pets", Pet.class, Pet::getId);
+        persistenceManager.recover(orders, "orders", Order.class, Order::getId);
+        then(pets.findAll()).isEqualTo(getMockedPets());
+        then(orders.findAll()).isEqualTo(getMockedOrders());
+    }
+
+    @Test
+    void recover_afterSnapshot_shouldLoadSnapshotAndLogTail() throws IOException {
+        PersistenceManager persistenceManager = openPersistenceManager();
+        PersistenceManager recoveredPersistenceManager = openPersistenceManager();
+        try {
+            EntityStore<Pet> pets = new EntityStore<>();
+            persistenceManager.recover(pets, "pets", Pet.class, Pet::getId);
+            pets.save(getMockedPet4().getId(), getMockedPet4());
+            persistenceManager.snapshot();
+            pets.update(1L, pet -> pet.toBuilder().name("Updated Pet").build());
+            pets.deleteById(2L);
+
+            PetTagIndex tagIndex = new PetTagIndex();
+            EntityStore<Pet> recoveredPets = new EntityStore<>(tagIndex);
+            recoveredPersistenceManager.recover(recoveredPets, "pets", Pet.class, Pet::getId);
+            then(recoveredPets.findAll()).isEqualTo(pets.findAll());
+            then(tagIndex.findIdsByAnyTag(List.of("Tag1", "Tag3", "Tag5"))).containsExactly(1L, 3L);
+        } finally {
+            recoveredPersistenceManager.close();
+            persistenceManager.close();
+        }
+    }
+
+    @Test
+    void snapshot_shouldDeleteCoveredLogSegmentsAndOlderSnapshots() throws IOException {
+        PersistenceManager persistenceManager = openPersistenceManager();
+        try {
+            EntityStore<Pet> pets = new EntityStore<>();
+            persistenceManager.recover(pets, "pets", Pet.class, Pet::getId);
+            persistenceManager.snapshot();
+            pets.deleteById(3L);
+            persistenceManager.snapshot();
+            then(listFiles()).containsExactly("pets.0000000003.snapshot", "pets.0000000003.wal");
+        } finally {
+            persistenceManager.close();
+        }
+        then(listFiles()).containsExactly("pets.0000000004.snapshot", "pets.0000000004.wal");
+
+        EntityStore<Pet> recoveredPets = new EntityStore<>();
+        PersistenceManager recoveredPersistenceManager = openPersistenceManager();
+        try {
+            recoveredPersistenceManager.recover(recoveredPets, "pets", Pet.class, Pet::getId);
+        } finally {
+            recoveredPersistenceManager.close();
+        }
+        then(recoveredPets.findAll()).isEqualTo(List.of(getMockedPet1(), getMockedPet2()));
+    }
+
+    private PersistenceManager openPersistenceManager() {
+        return new PersistenceManager(true, directory, DurabilityMode.SYNC, 0, 0);
+    }
+
+    private List<String> listFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.endava.petstore.unit.storage;
+
+import com.endava.petstore.storage.SortedIdSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class SortedIdSetTest {
+    private static final int THREADS = 16;
+    private static final int IDS_PER_THREAD = 10_000;
+
+    private SortedIdSet ids;
+
+    @BeforeEach
+    void setUp() {
+        ids = new SortedIdSet();
+        LongStream.of(5, -3, 1_000, 1, Long.MAX_VALUE, 0).forEach(ids::add);
+    }
+
+    @Test
+    void streamAfter_null_shouldReturnAllIdsInAscendingOrder() {
+        then(ids.streamAfter(null).toArray()).containsExactly(-3, 0, 1, 5, 1_000, Long.MAX_VALUE);
+    }
+
+    @Test
+    void streamAfter_id_shouldReturnGreaterIds() {
+        then(ids.streamAfter(1L).toArray()).containsExactly(5, 1_000, Long.MAX_VALUE);
+        then(ids.streamAfter(-10L).limit(2).toArray()).containsExactly(-3, 0);
+        then(ids.streamAfter(Long.MAX_VALUE).toArray()).isEmpty();
+    }
+
+    @Test
+    void remove_test() {
+        ids.remove(5);
+        ids.remove(42);
+        then(ids.streamAfter(null).toArray()).containsExactly(-3, 0, 1, 1_000, Long.MAX_VALUE);
+    }
+
+    @Test
+    void streamAfter_manyIds_test() {
+        SortedIdSet manyIds = new SortedIdSet();
+        LongStream.rangeClosed(1, 10_000).forEach(manyIds::add);
+        then(manyIds.streamAfter(null).toArray()).isEqualTo(LongStream.rangeClosed(1, 10_000).toArray());
+        then(manyIds.streamAfter(9_990L).count()).isEqualTo(10);
+    }
+
+    @Test
+    void remove_lastIdOfWord_shouldAllowAddingItAgain() {
+        ids.remove(1_000);
+        then(ids.streamAfter(999L).toArray()).containsExactly(Long.MAX_VALUE);
+        ids.add(1_000);
+        then(ids.streamAfter(999L).toArray()).containsExactly(1_000, Long.MAX_VALUE);
+    }
+
+    @Test
+    void add_concurrentWritersOfSameWords_shouldKeepEveryId() throws Exception {
+        SortedIdSet concurrentIds = new SortedIdSet();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int offset = thread;
+                futures.add(executor.submit(() -> {
+                    for (long id = offset; id < (long) THREADS * IDS_PER_THREAD; id += THREADS) {
+                        concurrentIds.add(id);
+                        concurrentIds.add(-id - 1);
+                        concurrentIds.remove(-id - 1);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        then(concurrentIds.streamAfter(null).toArray()).isEqualTo(LongStream.range(0, (long) THREADS * IDS_PER_THREAD).toArray());
+    }
+}
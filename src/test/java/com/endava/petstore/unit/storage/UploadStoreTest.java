@@ -0,0 +1,252 @@
+package com.endava.petstore.unit.storage;
+
+import com.endava.petstore.exception.InvalidRequestException;
+import com.endava.petstore.exception.ResourceNotFoundException;
+import com.endava.petstore.model.UploadSession;
+import com.endava.petstore.storage.BlobStore;
+import com.endava.petstore.storage.UploadStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import static com.endava.petstore.constants.Constants.*;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+
+class UploadStoreTest {
+    private static final String CONTENT_HASH = "ed7002b439e9ac845f22357d822bac1444730fbdb6016d3ec9432297b9ec9f73";
+    private static final long MAX_SIZE = 1 << 24;
+    private static final int THREADS = 16;
+    private static final int MAX_SESSIONS = 3;
+    private static final int MAX_SESSIONS_PER_PET = 2;
+
+    @TempDir
+    Path directory;
+
+    private BlobStore blobStore;
+    private UploadStore uploadStore;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new BlobStore(directory);
+        uploadStore = new UploadStore(blobStore, MAX_SIZE, 60, MAX_SESSIONS, MAX_SESSIONS_PER_PET);
+    }
+
+    @Test
+    void create_test() throws IOException {
+        UploadSession session = uploadStore.create(VALID_ID, 7, CONTENT_HASH);
+        then(session.getId()).isNotBlank();
+        then(session).isEqualTo(new UploadSession(session.getId(), VALID_ID, 7L, CONTENT_HASH, 0L, List.of()));
+        then(countFiles(directory.resolve("tmp"))).isEqualTo(1);
+    }
+
+    @Test
+    void create_invalidSize_test() {
+        thenThrownBy(() -> uploadStore.create(VALID_ID, 0, null))
+              .isInstanceOf(InvalidRequestException.class)
+              .hasMessage(String.format(INVALID_UPLOAD_SIZE, MAX_SIZE));
+        thenThrownBy(() -> uploadStore.create(VALID_ID, MAX_SIZE + 1, null))
+              .isInstanceOf(InvalidRequestException.class)
+              .hasMessage(String.format(INVALID_UPLOAD_SIZE, MAX_SIZE));
+    }
+
+    @Test
+    void create_invalidHash_test() {
+        thenThrownBy(() -> uploadStore.create(VALID_ID, 7, "hash"))
+              .isInstanceOf(InvalidRequestException.class)
+              .hasMessage(String.format(INVALID_UPLOAD_HASH, "hash"));
+    }
+
+    @Test
+    void create_shouldDiscardExpiredUploads() throws IOException {
+        UploadStore expiringUploadStore = new UploadStore(blobStore, MAX_SIZE, 0, MAX_SESSIONS, MAX_SESSIONS_PER_PET);
+        String uploadId = expiringUploadStore.create(VALID_ID, 7, null).getId();
+        expiringUploadStore.create(VALID_ID, 7, null);
+        thenThrownBy(() -> expiringUploadStore.find(VALID_ID, uploadId))
+              .isInstanceOf(ResourceNotFoundException.class)
+              .hasMessage(String.format(UPLOAD_NOT_FOUND, uploadId, VALID_ID));
+        then(countFiles(directory.resolve("tmp"))).isEqualTo(1);
+    }
+
+    @Test
+    void create_tooManyUploads_test() {
+        uploadStore.create(VALID_ID, 7, null);
+        uploadStore.create(VALID_ID, 7, null);
+        thenThrownBy(() -> uploadStore.create(VALID_ID, 7, null))
+              .isInstanceOf(InvalidRequestException.class)
+              .hasMessage(String.format(TOO_MANY_PET_UPLOADS, VALID_ID, MAX_SESSIONS_PER_PET));
+        uploadStore.create(2L, 7, null);
+        thenThrownBy(() -> uploadStore.create(3L, 7, null))
+              .isInstanceOf(InvalidRequestException.class)
+              .hasMessage(String.format(TOO_MANY_UPLOADS, MAX_SESSIONS));
+    }
+
+    @Test
+    void discardExpiredUploads_test() throws IOException {
+        UploadStore expiringUploadStore = new UploadStore(blobStore, MAX_SIZE, 0, MAX_SESSIONS, MAX_SESSIONS_PER_PET);
+        String uploadId = expiringUploadStore.create(VALID_ID, 7, null).getId();
+        expiringUploadStore.discardExpiredUploads();
+        thenThrownBy(() -> expiringUploadStore.find(VALID_ID, uploadId)).isInstanceOf(ResourceNotFoundException.class);
+        then(countFiles(directory.resolve("tmp"))).isZero();
+    }
+
+    @Test
+    void find_otherPet_test() {
+        String uploadId = uploadStore.create(VALID_ID, 7, null).getId();
+        thenThrownBy(() -> uploadStore.find(2L, uploadId))
+              .isInstanceOf(ResourceNotFoundException.class)
+              .hasMessage(String.format(UPLOAD_NOT_FOUND, uploadId, 2L));
+    }
+
+    @Test
+    void write_outOfOrder_shouldMergeRanges() {
+        String uploadId = uploadStore.create(VALID_ID, 10, null).getId();
+        then(uploadStore.write(VALID_ID, uploadId, 6, stream("6789")).getReceivedRanges()).containsExactly("6-9");
+        then(uploadStore.write(VALID_ID, uploadId, 0, stream("01")).getReceivedRanges()).containsExactly("0-1", "6-9");
+        UploadSession session = uploadStore.write(VALID_ID, uploadId, 1, stream("12345"));
+        then(session.getReceivedRanges()).containsExactly("0-9");
+        then(session.getReceivedBytes()).isEqualTo(10);
+    }
+
+    @Test
+    void write_invalidOffset_test() {
+        String uploadId = uploadStore.create(VALID_ID, 7, null).getId();
+        thenThrownBy(() -> uploadStore.write(VALID_ID, uploadId, 7, stream("c")))
+              .isInstanceOf(InvalidRequestException.class)
+              .hasMessage(String.format(INVALID_CHUNK_OFFSET, 7, uploadId, 7));
+    }
+
+    @Test
+    void write_chunkExceedingUpload_shouldKeepTheBytesThatFit() {
+        String uploadId = uploadStore.create(VALID_ID, 7, null).getId();
+        thenThrownBy(() -> uploadStore.write(VALID_ID, uploadId, 4, stream("entity")))
+              .isInstanceOf(InvalidRequestException.class)
+              .hasMessage(String.format(CHUNK_EXCEEDS_UPLOAD, 4, uploadId, 7));
+        then(uploadStore.find(VALID_ID, uploadId).getReceivedRanges()).containsExactly("4-6");
+    }
+
+    @Test
+    void write_brokenStream_shouldKeepTheBytesReceived() {
+        String uploadId = uploadStore.create(VALID_ID, 7, null).getId();
+        InputStream brokenStream = new InputStream() {
+            private int remaining = 3;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining-- <= 0) {
+                    throw new IOException("Connection reset");
+                }
+                return 'c';
+            }
+        };
+        thenThrownBy(() -> uploadStore.write(VALID_ID, uploadId, 0, brokenStream)).isInstanceOf(UncheckedIOException.class);
+        then(uploadStore.find(VALID_ID, uploadId).getReceivedRanges()).containsExactly("0-2");
+        uploadStore.write(VALID_ID, uploadId, 3, stream("tent"));
+        then(uploadStore.complete(VALID_ID, uploadId)).isEqualTo(HexFormat.of().formatHex(sha256("ccctent".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void complete_test() throws IOException {
+        String uploadId = uploadStore.create(VALID_ID, 7, CONTENT_HASH).getId();
+        uploadStore.write(VALID_ID, uploadId, 3, stream("tent"));
+        uploadStore.write(VALID_ID, uploadId, 0, stream("con"));
+        then(uploadStore.complete(VALID_ID, uploadId)).isEqualTo(CONTENT_HASH);
+        then(Files.readString(blobStore.find(CONTENT_HASH).orElseThrow())).isEqualTo("content");
+        then(countFiles(directory.resolve("tmp"))).isZero();
+        thenThrownBy(() -> uploadStore.find(VALID_ID, uploadId)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void complete_parallelChunks_test() throws Exception {
+        int chunkSize = 1 << 16;
+        byte[] content = new byte[THREADS * chunkSize];
+        ThreadLocalRandom.current().nextBytes(content);
+        String hash = HexFormat.of().formatHex(sha256(content));
+        String uploadId = uploadStore.create(VALID_ID, content.length, hash).getId();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<UploadSession>> futures = new ArrayList<>();
+            for (int chunk = THREADS - 1; chunk >= 0; chunk--) {
+                int offset = chunk * chunkSize;
+                futures.add(executor.submit(() -> uploadStore.write(VALID_ID, uploadId, offset, new ByteArrayInputStream(content, offset, chunkSize))));
+            }
+            for (Future<UploadSession> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        then(uploadStore.find(VALID_ID, uploadId).getReceivedRanges()).containsExactly("0-" + (content.length - 1));
+        then(uploadStore.complete(VALID_ID, uploadId)).isEqualTo(hash);
+        then(Files.readAllBytes(blobStore.find(hash).orElseThrow())).isEqualTo(content);
+    }
+
+    @Test
+    void complete_incomplete_test() {
+        String uploadId = uploadStore.create(VALID_ID, 7, null).getId();
+        uploadStore.write(VALID_ID, uploadId, 0, stream("cont"));
+        thenThrownBy(() -> uploadStore.complete(VALID_ID, uploadId))
+              .isInstanceOf(InvalidRequestException.class)
+              .hasMessage(String.format(UPLOAD_INCOMPLETE, uploadId, 3, 7));
+        then(uploadStore.find(VALID_ID, uploadId).getReceivedBytes()).isEqualTo(4);
+    }
+
+    @Test
+    void complete_hashMismatch_shouldDiscardUpload() throws IOException {
+        String uploadId = uploadStore.create(VALID_ID, 7, CONTENT_HASH).getId();
+        uploadStore.write(VALID_ID, uploadId, 0, stream("contest"));
+        String hash = HexFormat.of().formatHex(sha256("contest".getBytes(StandardCharsets.UTF_8)));
+        thenThrownBy(() -> uploadStore.complete(VALID_ID, uploadId))
+              .isInstanceOf(InvalidRequestException.class)
+              .hasMessage(String.format(UPLOAD_HASH_MISMATCH, uploadId, hash, CONTENT_HASH));
+        then(blobStore.find(hash)).isEmpty();
+        then(countFiles(directory.resolve("tmp"))).isZero();
+        thenThrownBy(() -> uploadStore.find(VALID_ID, uploadId)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void abort_test() throws IOException {
+        String uploadId = uploadStore.create(VALID_ID, 7, null).getId();
+        uploadStore.abort(VALID_ID, uploadId);
+        then(countFiles(directory.resolve("tmp"))).isZero();
+        thenThrownBy(() -> uploadStore.write(VALID_ID, uploadId, 0, stream("content")))
+              .isInstanceOf(ResourceNotFoundException.class)
+              .hasMessage(String.format(UPLOAD_NOT_FOUND, uploadId, VALID_ID));
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long countFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
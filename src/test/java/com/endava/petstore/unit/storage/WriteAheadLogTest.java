@@ -0,0 +1,155 @@
+package com.endava.petstore.unit.storage;
+
+import com.endava.petstore.enums.DurabilityMode;
+import com.endava.petstore.storage.WriteAheadLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+
+class WriteAheadLogTest {
+    private static final int THREADS = 16;
+    private static final int RECORDS_PER_THREAD = 200;
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @EnumSource(DurabilityMode.class)
+    void replay_afterClose_shouldReturnRecordsInOrder(DurabilityMode durabilityMode) throws IOException {
+        Path file = directory.resolve("test.0000000001.wal");
+        try (WriteAheadLog log = new WriteAheadLog(directory, "test", durabilityMode, Duration.ofMillis(10))) {
+            for (int i = 0; i < 10; i++) {
+                log.awaitDurable(log.append(("record" + i).getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+        then(replay()).containsExactly("record0", "record1", "record2", "record3", "record4", "record5", "record6", "record7", "record8", "record9");
+    }
+
+    @Test
+    void awaitDurable_groupCommit_shouldPersistEveryRecordOfConcurrentWriters() throws Exception {
+        Path file = directory.resolve("test.0000000001.wal");
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try (WriteAheadLog log = new WriteAheadLog(directory, "test", DurabilityMode.GROUP, Duration.ofMillis(10))) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < RECORDS_PER_THREAD; i++) {
+                        log.awaitDurable(log.append(new byte[]{1, 2, 3}));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            then(Files.size(file)).isEqualTo((long) THREADS * RECORDS_PER_THREAD * (Integer.BYTES * 2 + 3));
+        } finally {
+            executor.shutdownNow();
+        }
+        then(replay()).hasSize(THREADS * RECORDS_PER_THREAD);
+    }
+
+    @Test
+    void replay_tornRecord_shouldTruncateLog() throws IOException {
+        Path file = directory.resolve("test.0000000001.wal");
+        try (WriteAheadLog log = new WriteAheadLog(directory, "test", DurabilityMode.SYNC, Duration.ZERO)) {
+            log.awaitDurable(log.append("intact".getBytes(StandardCharsets.UTF_8)));
+            log.awaitDurable(log.append("torn".getBytes(StandardCharsets.UTF_8)));
+        }
+        long intactSize = Integer.BYTES * 2 + "intact".length();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 2);
+        }
+        then(replay()).containsExactly("intact");
+        then(Files.size(file)).isEqualTo(intactSize);
+    }
+
+    @Test
+    void replay_corruptedRecord_shouldStopAtLastIntactRecord() throws IOException {
+        Path file = directory.resolve("test.0000000001.wal");
+        try (WriteAheadLog log = new WriteAheadLog(directory, "test", DurabilityMode.SYNC, Duration.ZERO)) {
+            log.awaitDurable(log.append("first".getBytes(StandardCharsets.UTF_8)));
+            log.awaitDurable(log.append("second".getBytes(StandardCharsets.UTF_8)));
+        }
+        byte[] content = Files.readAllBytes(file);
+        content[content.length - 1] ^= 1;
+        Files.write(file, content);
+        then(replay()).containsExactly("first");
+    }
+
+    @Test
+    void awaitDurable_failedFlush_shouldRejectEveryLaterWrite() throws IOException {
+        try (WriteAheadLog log = new WriteAheadLog(directory, "test", DurabilityMode.SYNC, Duration.ZERO)) {
+            log.awaitDurable(log.append("durable".getBytes(StandardCharsets.UTF_8)));
+            long first = log.append("lost1".getBytes(StandardCharsets.UTF_8));
+            long second = log.append("lost2".getBytes(StandardCharsets.UTF_8));
+            Thread.currentThread().interrupt();
+            try {
+                thenThrownBy(() -> log.awaitDurable(first)).isInstanceOf(UncheckedIOException.class);
+            } finally {
+                Thread.interrupted();
+            }
+            thenThrownBy(() -> log.awaitDurable(second)).isInstanceOf(UncheckedIOException.class);
+            thenThrownBy(() -> log.append("rejected".getBytes(StandardCharsets.UTF_8))).isInstanceOf(UncheckedIOException.class);
+            thenThrownBy(log::flush).isInstanceOf(UncheckedIOException.class);
+            thenThrownBy(log::roll).isInstanceOf(UncheckedIOException.class);
+        }
+        then(replay()).containsExactly("durable");
+    }
+
+    @Test
+    void roll_shouldStartNewSegmentAndKeepOlderRecordsUntilDeleted() throws IOException {
+        try (WriteAheadLog log = new WriteAheadLog(directory, "test", DurabilityMode.SYNC, Duration.ZERO)) {
+            log.awaitDurable(log.append("first".getBytes(StandardCharsets.UTF_8)));
+            then(log.roll()).isEqualTo(2);
+            log.awaitDurable(log.append("second".getBytes(StandardCharsets.UTF_8)));
+        }
+        then(replay()).containsExactly("first", "second");
+
+        List<String> records = new ArrayList<>();
+        try (WriteAheadLog log = new WriteAheadLog(directory, "test", DurabilityMode.SYNC, Duration.ZERO)) {
+            then(log.getSegment()).isEqualTo(2);
+            log.replay(2, record -> records.add(new String(record, StandardCharsets.UTF_8)));
+            log.deleteSegmentsBefore(2);
+        }
+        then(records).containsExactly("second");
+        then(Files.exists(directory.resolve("test.0000000001.wal"))).isFalse();
+        then(replay()).containsExactly("second");
+    }
+
+    @Test
+    void replay_fromMissingSegment_shouldAppendToThatSegment() throws IOException {
+        try (WriteAheadLog log = new WriteAheadLog(directory, "test", DurabilityMode.SYNC, Duration.ZERO)) {
+            log.replay(5, record -> {
+            });
+            log.awaitDurable(log.append("record".getBytes(StandardCharsets.UTF_8)));
+            then(log.getSegment()).isEqualTo(5);
+        }
+        then(Files.exists(directory.resolve("test.0000000005.wal"))).isTrue();
+    }
+
+    private List<String> replay() throws IOException {
+        List<String> records = new ArrayList<>();
+        try (WriteAheadLog log = new WriteAheadLog(directory, "test", DurabilityMode.SYNC, Duration.ZERO)) {
+            log.replay(1, record -> records.add(new String(record, StandardCharsets.UTF_8)));
+        }
+        return records;
+    }
+}
@@ -0,0 +1,53 @@
+package com.endava.petstore.unit.utils;
+
+import com.endava.petstore.exception.InvalidRequestException;
+import com.endava.petstore.model.Pet;
+import com.endava.petstore.utils.ETagUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static com.endava.petstore.constants.Constants.INVALID_IF_MATCH;
+import static com.endava.petstore.mock.PetMock.getMockedPet1;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+
+class ETagUtilsTest {
+
+    @Test
+    void toResponseEntity_test() {
+        Pet pet = getMockedPet1().withVersion(42L);
+        ResponseEntity<Pet> response = ETagUtils.toResponseEntity(HttpStatus.CREATED, pet);
+        then(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        then(response.getHeaders().getETag()).isEqualTo("W/\"42\"");
+        then(response.getBody()).isSameAs(pet);
+    }
+
+    @Test
+    void toResponseEntity_withoutVersion_shouldNotSetETag() {
+        then(ETagUtils.toResponseEntity(HttpStatus.OK, getMockedPet1()).getHeaders().getETag()).isNull();
+    }
+
+    @Test
+    void parseIfMatch_test() {
+        then(ETagUtils.parseIfMatch("W/\"42\"")).isEqualTo(42L);
+        then(ETagUtils.parseIfMatch(" \"42\" ")).isEqualTo(42L);
+        then(ETagUtils.parseIfMatch(ETagUtils.toETag(7L))).isEqualTo(7L);
+    }
+
+    @Test
+    void parseIfMatch_absentOrAny_shouldReturnNull() {
+        then(ETagUtils.parseIfMatch(null)).isNull();
+        then(ETagUtils.parseIfMatch(" ")).isNull();
+        then(ETagUtils.parseIfMatch("*")).isNull();
+    }
+
+    @Test
+    void parseIfMatch_invalidTag_test() {
+        for (String ifMatch : new String[]{"42", "W/42", "\"abc\"", "\"1\", \"2\"", "\"" + "9".repeat(19) + "\""}) {
+            thenThrownBy(() -> ETagUtils.parseIfMatch(ifMatch))
+                  .isInstanceOf(InvalidRequestException.class)
+                  .hasMessage(String.format(INVALID_IF_MATCH, ifMatch));
+        }
+    }
+}
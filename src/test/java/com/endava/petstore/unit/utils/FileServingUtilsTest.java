@@ -0,0 +1,123 @@
+package com.endava.petstore.unit.utils;
+
+import com.endava.petstore.utils.FileServingUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.springframework.http.MediaType.APPLICATION_OCTET_STREAM_VALUE;
+import static org.springframework.http.MediaType.IMAGE_PNG_VALUE;
+
+class FileServingUtilsTest {
+    private static final String ENTITY_TAG = "abc123";
+    private static final byte[] PNG_CONTENT = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 1, 2, 3, 4, 5, 6, 7, 8};
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.write(directory.resolve("image"), PNG_CONTENT);
+        request = new MockHttpServletRequest("GET", "/pet/1/images/" + ENTITY_TAG);
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void serve_test() throws IOException {
+        FileServingUtils.serve(file, ENTITY_TAG, request, response);
+        then(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        then(response.getContentAsByteArray()).isEqualTo(PNG_CONTENT);
+        then(response.getContentType()).isEqualTo(IMAGE_PNG_VALUE);
+        then(response.getContentLengthLong()).isEqualTo(PNG_CONTENT.length);
+        then(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"" + ENTITY_TAG + "\"");
+        then(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo(FileServingUtils.IMMUTABLE_CACHE_CONTROL);
+        then(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+    }
+
+    @Test
+    void serve_unknownFormat_test() throws IOException {
+        Files.writeString(file, "plain text", StandardCharsets.UTF_8);
+        FileServingUtils.serve(file, ENTITY_TAG, request, response);
+        then(response.getContentType()).isEqualTo(APPLICATION_OCTET_STREAM_VALUE);
+    }
+
+    @Test
+    void serve_range_test() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=8-11");
+        FileServingUtils.serve(file, ENTITY_TAG, request, response);
+        then(response.getStatus()).isEqualTo(HttpStatus.PARTIAL_CONTENT.value());
+        then(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 8-11/16");
+        then(response.getContentAsByteArray()).isEqualTo(new byte[]{1, 2, 3, 4});
+    }
+
+    @Test
+    void serve_suffixRange_test() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+        FileServingUtils.serve(file, ENTITY_TAG, request, response);
+        then(response.getStatus()).isEqualTo(HttpStatus.PARTIAL_CONTENT.value());
+        then(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 13-15/16");
+        then(response.getContentAsByteArray()).isEqualTo(new byte[]{6, 7, 8});
+    }
+
+    @Test
+    void serve_unsatisfiableRange_test() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=16-");
+        FileServingUtils.serve(file, ENTITY_TAG, request, response);
+        then(response.getStatus()).isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+        then(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */16");
+        then(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void serve_ifRangeMismatch_shouldSendWholeFile() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-3");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"other\"");
+        FileServingUtils.serve(file, ENTITY_TAG, request, response);
+        then(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        then(response.getContentAsByteArray()).isEqualTo(PNG_CONTENT);
+    }
+
+    @Test
+    void serve_multipleRanges_shouldSendWholeFile() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1,4-5");
+        FileServingUtils.serve(file, ENTITY_TAG, request, response);
+        then(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        then(response.getContentAsByteArray()).isEqualTo(PNG_CONTENT);
+    }
+
+    @Test
+    void serve_ifNoneMatch_shouldReturnNotModified() throws IOException {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", W/\"" + ENTITY_TAG + "\"");
+        FileServingUtils.serve(file, ENTITY_TAG, request, response);
+        then(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        then(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"" + ENTITY_TAG + "\"");
+        then(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void serve_sendfileSupported_shouldDelegateToConnector() throws IOException {
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=4-");
+        FileServingUtils.serve(file, ENTITY_TAG, request, response);
+        then(response.getStatus()).isEqualTo(HttpStatus.PARTIAL_CONTENT.value());
+        then(response.getContentLengthLong()).isEqualTo(12);
+        then(response.getContentAsByteArray()).isEmpty();
+        then(request.getAttribute("org.apache.tomcat.sendfile.filename")).isEqualTo(file.toAbsolutePath().toString());
+        then(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(4L);
+        then(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(16L);
+    }
+}
@@ -0,0 +1,68 @@
+package com.endava.petstore.unit.utils;
+
+import com.endava.petstore.utils.NdjsonReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class NdjsonReaderTest {
+
+    @Test
+    void next_test() throws IOException {
+        NdjsonReader reader = new NdjsonReader(stream("{\"id\":1}\r\n\n  \n{\"id\":2}"), 100);
+        List<String> lines = readAll(reader);
+        then(lines).containsExactly("1:{\"id\":1}", "2:", "3:  ", "4:{\"id\":2}");
+        then(reader.next()).isNull();
+    }
+
+    @Test
+    void next_trailingNewline_shouldNotAddEmptyLine() throws IOException {
+        then(readAll(new NdjsonReader(stream("{}\n{}\n"), 100))).containsExactly("1:{}", "2:{}");
+        then(readAll(new NdjsonReader(stream(""), 100))).isEmpty();
+    }
+
+    @Test
+    void next_lineLongerThanMaxLength_shouldBeSkipped() throws IOException {
+        String longLine = "x".repeat(200_000);
+        NdjsonReader reader = new NdjsonReader(stream("{}\n" + longLine + "\n" + "y".repeat(10) + "\r\n{}"), 10);
+        then(reader.next().isTooLong()).isFalse();
+        NdjsonReader.Line line = reader.next();
+        then(line.getNumber()).isEqualTo(2);
+        then(line.isTooLong()).isTrue();
+        then(line.isBlank()).isFalse();
+        then(new String(reader.next().getContent(), StandardCharsets.UTF_8)).isEqualTo("y".repeat(10));
+        then(reader.next().getNumber()).isEqualTo(4);
+        then(reader.next()).isNull();
+    }
+
+    @Test
+    void next_lineSplitAcrossReads_test() throws IOException {
+        String content = "{\"name\":\"" + "a".repeat(100_000) + "\"}\n{\"id\":2}\n";
+        InputStream trickle = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int read(byte[] buffer, int offset, int length) {
+                return super.read(buffer, offset, Math.min(length, 7));
+            }
+        };
+        then(readAll(new NdjsonReader(trickle, 1 << 20))).containsExactly("1:" + content.split("\n")[0], "2:{\"id\":2}");
+    }
+
+    private static List<String> readAll(NdjsonReader reader) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (NdjsonReader.Line line = reader.next(); line != null; line = reader.next()) {
+            lines.add(line.getNumber() + ":" + new String(line.getContent(), StandardCharsets.UTF_8));
+        }
+        return lines;
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
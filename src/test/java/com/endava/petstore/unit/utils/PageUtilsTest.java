@@ -0,0 +1,59 @@
+package com.endava.petstore.unit.utils;
+
+import com.endava.petstore.exception.InvalidRequestException;
+import com.endava.petstore.model.Page;
+import com.endava.petstore.model.Pet;
+import com.endava.petstore.utils.PageUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.endava.petstore.constants.Constants.*;
+import static com.endava.petstore.mock.PetMock.*;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+
+class PageUtilsTest {
+
+    private List<Pet> pets;
+
+    @BeforeEach
+    void setUp() {
+        pets = getMockedPets();
+    }
+
+    @Test
+    void getPage_firstPage_test() {
+        Page<Pet> page = PageUtils.getPage(null, 2, Pet::getId, (afterId, limit) -> {
+            then(afterId).isNull();
+            return pets.stream().limit(limit).toList();
+        });
+        then(page.getContent()).isEqualTo(pets.subList(0, 2));
+        then(PageUtils.decodePageToken(page.getNextPageToken())).isEqualTo(2L);
+    }
+
+    @Test
+    void getPage_lastPage_test() {
+        Page<Pet> page = PageUtils.getPage(PageUtils.encodePageToken(2L), 2, Pet::getId, (afterId, limit) -> {
+            then(afterId).isEqualTo(2L);
+            return pets.stream().filter(pet -> pet.getId() > afterId).limit(limit).toList();
+        });
+        then(page.getContent()).isEqualTo(List.of(pets.get(2)));
+        then(page.getNextPageToken()).isNull();
+    }
+
+    @Test
+    void getPage_invalidLimit_test() {
+        thenThrownBy(() -> PageUtils.getPage(null, MAX_PAGE_SIZE + 1, Pet::getId, (afterId, limit) -> pets))
+              .isInstanceOf(InvalidRequestException.class)
+              .hasMessage(String.format(INVALID_PAGE_SIZE, MAX_PAGE_SIZE));
+    }
+
+    @Test
+    void decodePageToken_invalidToken_test() {
+        thenThrownBy(() -> PageUtils.decodePageToken("not a token"))
+              .isInstanceOf(InvalidRequestException.class)
+              .hasMessage(String.format(INVALID_PAGE_TOKEN, "not a token"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.endava.petstore.unit.utils;
+
+import com.endava.petstore.model.Pet;
+import com.endava.petstore.utils.StreamingUtils;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.endava.petstore.mock.PetMock.getMockedPets;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class StreamingUtilsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<Pet> pets;
+
+    @BeforeEach
+    void setUp() {
+        pets = getMockedPets();
+    }
+
+    @Test
+    void toJsonArray_test() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        StreamingUtils.toJsonArray(pets.stream().onClose(() -> closed.set(true)), objectMapper).writeTo(outputStream);
+        then(objectMapper.readValue(outputStream.toByteArray(), new TypeReference<List<Pet>>() {})).isEqualTo(pets);
+        then(closed).isTrue();
+    }
+
+    @Test
+    void toJsonArray_empty_test() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        StreamingUtils.toJsonArray(List.<Pet>of().stream(), objectMapper).writeTo(outputStream);
+        then(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("[]");
+    }
+
+    @Test
+    void toNdjson_test() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        StreamingUtils.toNdjson(pets.stream(), objectMapper).writeTo(outputStream);
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        then(lines).hasSize(pets.size());
+        for (int i = 0; i < pets.size(); ++i) {
+            then(objectMapper.readValue(lines[i], Pet.class)).isEqualTo(pets.get(i));
+        }
+        then(outputStream.toString(StandardCharsets.UTF_8)).endsWith("}\n");
+    }
+
+    @Test
+    void toNdjson_shouldNotFlushAfterEveryEntity() throws Exception {
+        AtomicInteger flushes = new AtomicInteger();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+        StreamingUtils.toNdjson(pets.stream(), objectMapper).writeTo(outputStream);
+        StreamingUtils.toJsonArray(pets.stream(), objectMapper).writeTo(outputStream);
+        then(flushes).hasValueLessThanOrEqualTo(2);
+    }
+}